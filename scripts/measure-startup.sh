@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera respuesta HTTP y el RSS del proceso en ese instante.
+# Uso: scripts/measure-startup.sh <etiqueta> <argumentos de java...>
+# Ejemplos:
+#   scripts/measure-startup.sh "jar actual" -jar build/libs/resilient-api-0.0.1-SNAPSHOT.jar
+#   scripts/measure-startup.sh "aot + cds" -XX:SharedArchiveFile=build/cds/application.jsa \
+#       -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar build/cds/resilient-api-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+PORT=${PORT:-8083}
+JAVA=${JAVA:-java}
+label=$1
+shift
+
+start=$(date +%s%N)
+"$JAVA" "$@" > /dev/null 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true' EXIT
+
+# Cualquier respuesta HTTP (también 503 si la BD no está disponible) cuenta como primera petición atendida
+until curl -s -o /dev/null "http://localhost:${PORT}/actuator/health"; do
+  kill -0 "$pid" 2>/dev/null || { echo "$label: el proceso terminó antes de responder" >&2; exit 1; }
+  sleep 0.02
+done
+elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+
+kill "$pid"
+wait "$pid" 2>/dev/null || true
+printf '%-32s first request: %6d ms   RSS: %5d MB\n' "$label" "$elapsed" "$((rss_kb / 1024))"
@@ -2,8 +2,10 @@ package com.example.resilient_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 
-@SpringBootApplication
+// El pool JDBC solo existe con el perfil jdbc (JdbcConfig); sin esto Boot intentaría crear uno con spring.datasource.*
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
 public class ResilientApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,39 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.infrastructure.adapters.notification.PostgresUserChangeSubscriber;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "users.change-notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeNotificationConfig {
+
+    @Bean
+    public PostgresUserChangeSubscriber postgresUserChangeSubscriber(
+            @Value("${spring.r2dbc.url}") String url,
+            @Value("${spring.r2dbc.username}") String username,
+            @Value("${spring.r2dbc.password}") String password,
+            @Value("${users.change-notifications.min-backoff:PT1S}") Duration minBackoff,
+            @Value("${users.change-notifications.max-backoff:PT30S}") Duration maxBackoff,
+            ObjectProvider<UserChangeListener> listeners,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        // Conexión dedicada fuera del pool: LISTEN vive mientras la conexión esté abierta
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new PostgresUserChangeSubscriber(ConnectionFactories.get(options), listeners.orderedStream().toList(),
+                objectMapper, meterRegistry, minBackoff, maxBackoff);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReplicaAwareRoutingConnectionFactory;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReplicaHealthMonitor;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReplicaTarget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "users.datasource.replicas")
+public class DatabaseRoutingConfig {
+
+    @Value("${users.datasource.replicas}")
+    private List<String> replicaUrls;
+
+    @Bean
+    public ReplicaAwareRoutingConnectionFactory connectionFactory(R2dbcProperties properties, MeterRegistry meterRegistry) {
+        ConnectionPool primary = ConnectionPools.create(properties.getUrl(), ReplicaAwareRoutingConnectionFactory.PRIMARY, properties, meterRegistry);
+        List<ReplicaTarget> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + i;
+            replicas.add(new ReplicaTarget(name, ConnectionPools.create(replicaUrls.get(i).trim(), name, properties, meterRegistry)));
+        }
+        return new ReplicaAwareRoutingConnectionFactory(primary, replicas, meterRegistry);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaAwareRoutingConnectionFactory connectionFactory,
+                                                     MeterRegistry meterRegistry,
+                                                     @Value("${users.datasource.replica-health-interval:PT2S}") Duration interval,
+                                                     @Value("${users.datasource.replica-max-lag:PT5S}") Duration maxLag,
+                                                     @Value("${users.datasource.replica-probe-timeout:PT1S}") Duration probeTimeout) {
+        return new ReplicaHealthMonitor(connectionFactory.getReplicas(), interval, maxLag, probeTimeout, meterRegistry);
+    }
+}
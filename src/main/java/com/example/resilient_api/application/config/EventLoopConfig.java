@@ -0,0 +1,26 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.infrastructure.adapters.eventloop.EventLoopLagProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+// Los mismos event loops que el servidor HTTP, del ReactorResourceFactory compartido
+@Configuration
+@ConditionalOnProperty(name = "eventloop.lag.enabled", havingValue = "true", matchIfMissing = true)
+public class EventLoopConfig {
+
+    @Bean
+    public EventLoopLagProbe eventLoopLagProbe(ReactorResourceFactory reactorResourceFactory, MeterRegistry meterRegistry,
+                                               @Value("${eventloop.lag.interval:PT0.1S}") Duration interval,
+                                               @Value("${eventloop.lag.stall-threshold:PT0.1S}") Duration stallThreshold) {
+        return new EventLoopLagProbe(reactorResourceFactory.getLoopResources().onServer(LoopResources.DEFAULT_NATIVE),
+                interval, stallThreshold, meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjectingPasswordEncoderPort;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjector;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultSpec;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory.InMemoryUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.security.PasswordEncoderAdapter;
+import com.example.resilient_api.infrastructure.entrypoints.actuator.FaultsEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+@Slf4j
+@Configuration
+@Profile("faults")
+public class FaultInjectionConfig {
+
+    @Bean
+    public FaultInjector faultInjector(Environment environment, MeterRegistry meterRegistry) {
+        Map<String, FaultSpec> initial = Binder.get(environment)
+                .bind("faults.operations", Bindable.mapOf(String.class, FaultSpec.class))
+                .orElse(Map.of());
+        log.warn("Fault injection enabled ({} initial specs): not for production", initial.size());
+        return new FaultInjector(initial, meterRegistry);
+    }
+
+    @Bean
+    public FaultsEndpoint faultsEndpoint(FaultInjector faultInjector) {
+        return new FaultsEndpoint(faultInjector);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "faults.backend", havingValue = "memory")
+    public InMemoryUserPersistenceAdapter inMemoryUserPersistenceAdapter() {
+        return new InMemoryUserPersistenceAdapter();
+    }
+
+    // Con tracing activo es TracingConfig quien envuelve el adapter (y los spans incluyen la latencia inyectada)
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "tracing.tail.enabled", havingValue = "false")
+    public PasswordEncoderPort faultInjectingPasswordEncoderPort(PasswordEncoderAdapter passwordEncoderAdapter,
+                                                                 FaultInjector faultInjector) {
+        return new FaultInjectingPasswordEncoderPort(passwordEncoderAdapter, faultInjector);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.jdbc.JdbcUserPersistenceAdapter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@Profile("jdbc")
+@ConditionalOnProperty(name = "users.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class JdbcConfig {
+
+    private static final String R2DBC_PREFIX = "r2dbc:";
+    private static final String POOL_PREFIX = "pool:";
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource usersJdbcDataSource(R2dbcProperties r2dbcProperties, MeterRegistry meterRegistry,
+                                                @Value("${users.jdbc.url:}") String url,
+                                                @Value("${users.jdbc.maximum-pool-size:20}") int maximumPoolSize,
+                                                @Value("${users.jdbc.connection-timeout:PT5S}") Duration connectionTimeout) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("users-jdbc");
+        config.setJdbcUrl(url.isBlank() ? jdbcUrl(r2dbcProperties.getUrl()) : url);
+        config.setUsername(r2dbcProperties.getUsername());
+        config.setPassword(r2dbcProperties.getPassword());
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        log.info("Users persistence on JDBC ({}, {} connections) with virtual threads", config.getJdbcUrl(), maximumPoolSize);
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService usersJdbcExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("users-jdbc-", 0).factory());
+    }
+
+    @Bean
+    public JdbcUserPersistenceAdapter jdbcUserPersistenceAdapter(HikariDataSource usersJdbcDataSource,
+                                                                 ExecutorService usersJdbcExecutor) {
+        Scheduler scheduler = Schedulers.fromExecutorService(usersJdbcExecutor, "users-jdbc");
+        return new JdbcUserPersistenceAdapter(usersJdbcDataSource, scheduler);
+    }
+
+    // r2dbc:postgresql://host:5432/db (o r2dbc:pool:postgresql://...) -> jdbc:postgresql://host:5432/db
+    static String jdbcUrl(String r2dbcUrl) {
+        if (r2dbcUrl == null || !r2dbcUrl.startsWith(R2DBC_PREFIX)) {
+            throw new IllegalStateException("Set users.jdbc.url: cannot derive it from spring.r2dbc.url " + r2dbcUrl);
+        }
+        String url = r2dbcUrl.substring(R2DBC_PREFIX.length());
+        return "jdbc:" + (url.startsWith(POOL_PREFIX) ? url.substring(POOL_PREFIX.length()) : url);
+    }
+}
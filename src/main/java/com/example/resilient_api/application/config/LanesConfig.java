@@ -0,0 +1,67 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.infrastructure.adapters.lane.DatabaseShare;
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLane;
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLanes;
+import com.example.resilient_api.infrastructure.adapters.lane.Lane;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// La admisión nunca espera: un lane lleno responde 503
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "lanes.enabled", havingValue = "true", matchIfMissing = true)
+public class LanesConfig {
+
+    @Bean
+    public BulkheadRegistry laneBulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom().maxWaitDuration(Duration.ZERO).build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public ExecutionLanes executionLanes(BulkheadRegistry laneBulkheadRegistry, MeterRegistry meterRegistry,
+                                         @Value("${lanes.public.max-concurrent-requests:64}") int publicRequests,
+                                         @Value("${lanes.public.db-connections:4}") int publicConnections,
+                                         @Value("${lanes.public.worker-threads:2}") int publicWorkers,
+                                         @Value("${lanes.internal.max-concurrent-requests:512}") int internalRequests,
+                                         @Value("${lanes.internal.db-connections:0}") int internalConnections,
+                                         @Value("${lanes.internal.worker-threads:0}") int internalWorkers,
+                                         @Value("${lanes.internal.priority-reserve:32}") int priorityReserve) {
+        Map<Lane, ExecutionLane> lanes = new EnumMap<>(Lane.class);
+        lanes.put(Lane.PUBLIC, lane(Lane.PUBLIC, publicRequests, publicConnections, publicWorkers, laneBulkheadRegistry, meterRegistry));
+        lanes.put(Lane.INTERNAL, lane(Lane.INTERNAL, internalRequests, internalConnections, internalWorkers, laneBulkheadRegistry, meterRegistry));
+        log.info("Execution lanes: public {} requests / {} connections / {} workers, internal {} requests / {} connections / {} workers, reserve {}",
+                publicRequests, publicConnections, publicWorkers, internalRequests, internalConnections, internalWorkers, priorityReserve);
+        return new ExecutionLanes(lanes, priorityReserve, meterRegistry);
+    }
+
+    private static ExecutionLane lane(Lane lane, int maxRequests, int dbConnections, int workerThreads,
+                                      BulkheadRegistry registry, MeterRegistry meterRegistry) {
+        String name = lane.name().toLowerCase();
+        Bulkhead admission = registry.bulkhead("lane-" + name + "-requests",
+                BulkheadConfig.from(registry.getDefaultConfig()).maxConcurrentCalls(maxRequests).build());
+        DatabaseShare database = dbConnections > 0
+                ? new DatabaseShare(name, dbConnections, maxRequests, meterRegistry)
+                : null;
+        // Hilos propios con cola: el hash de un lane nunca corre en el event loop ni en los hilos de otro lane.
+        // boundedElastic y no parallel: BCrypt lee de SecureRandom, que puede bloquear
+        Scheduler workers = workerThreads > 0 ? Schedulers.newBoundedElastic(workerThreads, maxRequests, "lane-" + name) : null;
+        return new ExecutionLane(lane, admission, database, workers);
+    }
+}
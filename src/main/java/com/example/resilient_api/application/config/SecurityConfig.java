@@ -1,7 +1,13 @@
 package com.example.resilient_api.application.config;
 
+import com.example.resilient_api.infrastructure.adapters.security.BCryptStrengthCalibrator;
 import com.example.resilient_api.infrastructure.adapters.security.JwtAuthenticationFilter;
+import com.example.resilient_api.infrastructure.adapters.security.RoutePolicy;
+import com.example.resilient_api.infrastructure.adapters.security.RoutePolicy.Access;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,31 +15,62 @@ import org.springframework.security.config.annotation.web.reactive.EnableWebFlux
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 @EnableWebFluxSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String BCRYPT = "bcrypt";
+    private static final String PBKDF2 = "pbkdf2";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${auth.password.encoder:bcrypt}")
+    private String encoderId;
+
+    @Value("${auth.password.bcrypt-strength:0}")
+    private int bcryptStrength;
+
+    @Value("${auth.password.target-latency:PT0.25S}")
+    private Duration targetLatency;
+
+    @Value("${auth.password.min-strength:10}")
+    private int minStrength;
+
+    @Value("${auth.password.max-strength:14}")
+    private int maxStrength;
+
+    // Estático: JwtAuthenticationFilter lo necesita antes de que exista esta configuración
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public static RoutePolicy routePolicy() {
+        return RoutePolicy.builder()
+                // Public endpoints
+                .route(Access.PERMIT_ALL, "/auth/login", "/auth/refresh", "/auth/revoke")
+                .route(Access.PERMIT_ALL, HttpMethod.POST, "/users")
+                .route(Access.PERMIT_ALL, "/actuator/**")
+                // Admin UI typeahead: exact path, wins over the internal /users/** rule
+                .route(Access.ADMIN, HttpMethod.GET, "/users/search")
+                // Internal endpoints (called by other microservices)
+                .route(Access.PERMIT_ALL, HttpMethod.POST, "/users/**")
+                .route(Access.PERMIT_ALL, HttpMethod.GET, "/users/**")
+                // All other endpoints require authentication
+                .otherwise(Access.AUTHENTICATED);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, RoutePolicy routePolicy) {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
-                .authorizeExchange(exchanges -> exchanges
-                        // Public endpoints
-                        .pathMatchers("/auth/login").permitAll()
-                        .pathMatchers(HttpMethod.POST, "/users").permitAll()
-                        .pathMatchers("/actuator/**").permitAll()
-                        // Internal endpoints (called by other microservices)
-                        .pathMatchers(HttpMethod.POST, "/users/**").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/users/**").permitAll()
-                        // All other endpoints require authentication
-                        .anyExchange().authenticated()
-                )
+                // Misma tabla que consulta el filtro JWT: no pueden divergir
+                .authorizeExchange(exchanges -> exchanges.anyExchange().access(routePolicy.authorizationManager()))
                 .addFilterAt(jwtAuthenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
                 .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
@@ -41,7 +78,19 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        // 0 = calibrar en el arranque según auth.password.target-latency
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : new BCryptStrengthCalibrator(targetLatency, minStrength, maxStrength).calibrate();
+        Gauge.builder("auth.password.bcrypt.strength", () -> strength).register(meterRegistry);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, Map.of(
+                BCRYPT, bcrypt,
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        // Hashes anteriores sin prefijo {id}: BCrypt; se reescriben con prefijo en el siguiente login
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 }
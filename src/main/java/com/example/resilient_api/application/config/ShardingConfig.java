@@ -0,0 +1,82 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding.ReshardingTool;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding.ShardSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// El perfil reshard ejecuta ReshardingTool hacia users.resharding.target-shards y termina
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "users.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final String SCHEMA_SEPARATOR = ";;";
+
+    @Value("${users.sharding.shards}")
+    private List<String> shardUrls;
+
+    @Value("${users.sharding.directory-url:${spring.r2dbc.url}}")
+    private String directoryUrl;
+
+    @Value("${users.sharding.init-schema:true}")
+    private boolean initSchema;
+
+    @Bean
+    public ShardSet shardSet(R2dbcProperties properties, MeterRegistry meterRegistry) {
+        DatabaseClient directory = client(directoryUrl, "directory", "db/sharding/directory.sql", properties, meterRegistry);
+        List<String> urls = trimmed(shardUrls);
+        List<DatabaseClient> shards = clients(urls, "shard-", properties, meterRegistry);
+        log.info("Users sharded across {} databases", shards.size());
+        return new ShardSet(directory, shards, urls);
+    }
+
+    @Bean
+    @Profile("reshard")
+    public ApplicationRunner reshardingRunner(ShardSet shardSet, R2dbcProperties properties, MeterRegistry meterRegistry,
+                                              @Value("${users.resharding.target-shards}") List<String> targetShardUrls) {
+        return args -> {
+            List<String> urls = trimmed(targetShardUrls);
+            List<DatabaseClient> targets = clients(urls, "target-shard-", properties, meterRegistry);
+            new ReshardingTool(shardSet, targets, urls).run().block();
+        };
+    }
+
+    private List<DatabaseClient> clients(List<String> urls, String namePrefix,
+                                         R2dbcProperties properties, MeterRegistry meterRegistry) {
+        List<DatabaseClient> clients = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            clients.add(client(urls.get(i), namePrefix + i, "schema.sql", properties, meterRegistry));
+        }
+        return List.copyOf(clients);
+    }
+
+    private DatabaseClient client(String url, String name, String schema,
+                                  R2dbcProperties properties, MeterRegistry meterRegistry) {
+        ConnectionPool pool = ConnectionPools.create(url, name, properties, meterRegistry);
+        if (initSchema) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(schema));
+            populator.setSeparator(SCHEMA_SEPARATOR);
+            populator.populate(pool).block();
+        }
+        return DatabaseClient.create(pool);
+    }
+
+    private static List<String> trimmed(List<String> urls) {
+        return urls.stream().map(String::trim).toList();
+    }
+}
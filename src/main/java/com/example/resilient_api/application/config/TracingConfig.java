@@ -0,0 +1,88 @@
+package com.example.resilient_api.application.config;
+
+import brave.Tracing;
+import brave.TracingCustomizer;
+import com.example.resilient_api.domain.api.JwtPort;
+import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjectingPasswordEncoderPort;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjector;
+import com.example.resilient_api.infrastructure.adapters.security.JwtAdapter;
+import com.example.resilient_api.infrastructure.adapters.security.PasswordEncoderAdapter;
+import com.example.resilient_api.infrastructure.adapters.tracing.FileTraceExporter;
+import com.example.resilient_api.infrastructure.adapters.tracing.InMemoryTraceExporter;
+import com.example.resilient_api.infrastructure.adapters.tracing.ReactiveSpans;
+import com.example.resilient_api.infrastructure.adapters.tracing.TailSamplingSpanHandler;
+import com.example.resilient_api.infrastructure.adapters.tracing.TraceExporter;
+import com.example.resilient_api.infrastructure.adapters.tracing.TracingJwtPort;
+import com.example.resilient_api.infrastructure.adapters.tracing.TracingPasswordEncoderPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Tail sampling: la traza solo se exporta si fue lenta, falló o cae en sample-rate
+@Configuration
+@ConditionalOnProperty(name = "tracing.tail.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.tail.exporter", havingValue = "file")
+    public FileTraceExporter fileTraceExporter(MeterRegistry meterRegistry,
+                                               @Value("${tracing.tail.file:traces.ndjson}") Path file,
+                                               @Value("${tracing.tail.file-max-pending:1000}") int maxPending) {
+        return new FileTraceExporter(file, maxPending, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.tail.exporter", havingValue = "memory", matchIfMissing = true)
+    public InMemoryTraceExporter inMemoryTraceExporter(@Value("${tracing.tail.memory-capacity:200}") int capacity) {
+        return new InMemoryTraceExporter(capacity);
+    }
+
+    // Sin esto Brave no graba los spans que el muestreo de cabecera descarta y no habría nada que decidir al final
+    @Bean
+    public TracingCustomizer alwaysSampleLocal() {
+        return Tracing.Builder::alwaysSampleLocal;
+    }
+
+    // Brave registra todos los SpanHandler del contexto
+    @Bean
+    public TailSamplingSpanHandler tailSamplingSpanHandler(TraceExporter traceExporter, MeterRegistry meterRegistry,
+                                                           @Value("${tracing.tail.slow-threshold:PT0.5S}") Duration slowThreshold,
+                                                           @Value("${tracing.tail.sample-rate:0.001}") double sampleRate,
+                                                           @Value("${tracing.tail.max-pending-traces:10000}") int maxPendingTraces,
+                                                           @Value("${tracing.tail.max-spans-per-trace:128}") int maxSpansPerTrace) {
+        return new TailSamplingSpanHandler(slowThreshold, sampleRate, maxPendingTraces, maxSpansPerTrace,
+                traceExporter, meterRegistry);
+    }
+
+    @Bean
+    public ReactiveSpans reactiveSpans(Tracer tracer) {
+        return new ReactiveSpans(tracer);
+    }
+
+    @Bean
+    @Primary
+    public PasswordEncoderPort tracingPasswordEncoderPort(PasswordEncoderAdapter passwordEncoderAdapter,
+                                                          ReactiveSpans reactiveSpans,
+                                                          ObjectProvider<FaultInjector> faultInjector) {
+        FaultInjector faults = faultInjector.getIfAvailable();
+        PasswordEncoderPort encoder = faults != null
+                ? new FaultInjectingPasswordEncoderPort(passwordEncoderAdapter, faults)
+                : passwordEncoderAdapter;
+        return new TracingPasswordEncoderPort(encoder, reactiveSpans);
+    }
+
+    @Bean
+    @Primary
+    public JwtPort tracingJwtPort(JwtAdapter jwtAdapter, ReactiveSpans reactiveSpans) {
+        return new TracingJwtPort(jwtAdapter, reactiveSpans);
+    }
+}
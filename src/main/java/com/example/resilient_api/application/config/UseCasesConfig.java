@@ -3,37 +3,267 @@ package com.example.resilient_api.application.config;
 import com.example.resilient_api.domain.api.AuthServicePort;
 import com.example.resilient_api.domain.api.JwtPort;
 import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import com.example.resilient_api.domain.api.RefreshTokenPort;
 import com.example.resilient_api.domain.api.UserServicePort;
+import com.example.resilient_api.domain.spi.RefreshTokenPersistencePort;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
 import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.domain.spi.UserSearchPort;
 import com.example.resilient_api.domain.usecase.AuthUseCase;
 import com.example.resilient_api.domain.usecase.UserUseCase;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjector;
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLanes;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.RefreshTokenPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.UserChangePersistenceAdapter;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.UserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.batch.CoalescingUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.batch.UserInsertCoalescer;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.changes.UserChangeSequencer;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.deadline.DeadlineUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.fault.FaultInjectingUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.index.IndexedUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.index.UserIdBitmapIndex;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.index.UserIdIndexLoader;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.jdbc.JdbcUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.lane.LaneLimitedUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.RefreshTokenEntityMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserChangeEntityMapper;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory.InMemoryUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.refreshtoken.CachedRefreshTokenPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.refreshtoken.RefreshTokenPurger;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.RefreshTokenRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserChangeRepository;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.search.SearchIndexingUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.search.SearchableUser;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.search.UserPrefixIndex;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.search.UserSearchIndexLoader;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding.ShardSet;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding.ShardedUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary.SummaryCachingUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary.UserSummaryCache;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary.UserSummarySnapshotter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.tracing.TracingUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.version.UserVersionCache;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.version.VersionCachingUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.tracing.ReactiveSpans;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Configuration
 @RequiredArgsConstructor
 public class UseCasesConfig {
     private final UserRepository userRepository;
     private final UserEntityMapper userEntityMapper;
+    private final ObjectProvider<ShardSet> shardSet;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenEntityMapper refreshTokenEntityMapper;
+    private final UserChangeRepository userChangeRepository;
+    private final UserChangeEntityMapper userChangeEntityMapper;
+
+    @Value("${users.id-index.enabled:true}")
+    private boolean idIndexEnabled;
+
+    @Value("${users.search-index.enabled:true}")
+    private boolean searchIndexEnabled;
+
+    @Bean
+    public UserIdBitmapIndex userIdBitmapIndex(MeterRegistry meterRegistry) {
+        return new UserIdBitmapIndex(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "users.id-index.enabled", havingValue = "true", matchIfMissing = true)
+    public UserIdIndexLoader userIdIndexLoader(UserIdBitmapIndex userIdBitmapIndex,
+                                               @Value("${users.id-index.reconcile-interval:PT5M}") Duration reconcileInterval) {
+        ShardSet shards = shardSet.getIfAvailable();
+        return new UserIdIndexLoader(shards != null ? shards::streamAllIds : userRepository::findAllIds,
+                userIdBitmapIndex, reconcileInterval);
+    }
+
+    @Bean
+    public UserPrefixIndex userPrefixIndex(MeterRegistry meterRegistry) {
+        return new UserPrefixIndex(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "users.search-index.enabled", havingValue = "true", matchIfMissing = true)
+    public UserSearchIndexLoader userSearchIndexLoader(UserPrefixIndex userPrefixIndex, DatabaseClient databaseClient,
+                                                       @Value("${users.search-index.rebuild-interval:PT10M}") Duration rebuildInterval) {
+        ShardSet shards = shardSet.getIfAvailable();
+        return new UserSearchIndexLoader(shards != null
+                ? () -> shards.streamAll(SearchableUser.SELECT_ALL, SearchableUser::fromRow)
+                : () -> databaseClient.sql(SearchableUser.SELECT_ALL)
+                        .map((row, metadata) -> SearchableUser.fromRow(row))
+                        .all(),
+                userPrefixIndex, rebuildInterval);
+    }
+
+    // Solo sobre la base R2DBC única: con jdbc, memoria o sharding nadie lo usaría y no debe arrancar
+    @Bean
+    @Profile("!jdbc")
+    @ConditionalOnExpression("${users.insert-coalescing.enabled:true} and !${users.sharding.enabled:false}"
+            + " and '${faults.backend:database}' != 'memory'")
+    public UserInsertCoalescer userInsertCoalescer(DatabaseClient databaseClient, MeterRegistry meterRegistry,
+                                                   @Value("${users.insert-coalescing.max-batch-size:64}") int maxBatchSize,
+                                                   @Value("${users.insert-coalescing.linger:PT0.002S}") Duration linger,
+                                                   @Value("${users.insert-coalescing.max-concurrent-batches:4}") int maxConcurrentBatches) {
+        return new UserInsertCoalescer(databaseClient, new UserPersistenceAdapter(userRepository, userEntityMapper, databaseClient),
+                maxBatchSize, linger, maxConcurrentBatches, meterRegistry);
+    }
+
+    // Solo con notificaciones: sin ellas la caché no se enteraría de los cambios hechos por otros nodos
+    @Bean
+    @ConditionalOnProperty(name = "users.change-notifications.enabled", havingValue = "true", matchIfMissing = true)
+    public UserVersionCache userVersionCache(MeterRegistry meterRegistry,
+                                             @Value("${users.version-cache.max-entries:100000}") int maxEntries) {
+        return new UserVersionCache(maxEntries, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "users.change-notifications.enabled", havingValue = "true", matchIfMissing = true)
+    public UserSummaryCache userSummaryCache(MeterRegistry meterRegistry,
+                                             @Value("${users.summary-cache.max-entries:100000}") int maxEntries) {
+        return new UserSummaryCache(maxEntries, meterRegistry);
+    }
+
+    // Se pone al día con el outbox, que no existe con sharding
+    @Bean
+    @ConditionalOnExpression("${users.summary-snapshot.enabled:false} and ${users.change-notifications.enabled:true}"
+            + " and !${users.sharding.enabled:false}")
+    public UserSummarySnapshotter userSummarySnapshotter(UserSummaryCache userSummaryCache,
+                                                         UserChangePersistencePort userChangePersistencePort,
+                                                         MeterRegistry meterRegistry,
+                                                         @Value("${users.summary-snapshot.file:users-summary.snapshot}") Path file,
+                                                         @Value("${users.summary-snapshot.interval:PT1M}") Duration interval) {
+        return new UserSummarySnapshotter(userSummaryCache, userChangePersistencePort, file, interval, meterRegistry);
+    }
+
+    @Bean
+    public UserPersistencePort userPersistencePort(DatabaseClient databaseClient,
+                                                   UserIdBitmapIndex userIdBitmapIndex,
+                                                   UserPrefixIndex userPrefixIndex,
+                                                   ObjectProvider<UserInsertCoalescer> userInsertCoalescer,
+                                                   ObjectProvider<UserVersionCache> userVersionCache,
+                                                   ObjectProvider<UserSummaryCache> userSummaryCache,
+                                                   ObjectProvider<ExecutionLanes> executionLanes,
+                                                   ObjectProvider<ReactiveSpans> reactiveSpans,
+                                                   ObjectProvider<FaultInjector> faultInjector,
+                                                   ObjectProvider<InMemoryUserPersistenceAdapter> inMemoryBackend,
+                                                   ObjectProvider<JdbcUserPersistenceAdapter> jdbcBackend,
+                                                   MeterRegistry meterRegistry) {
+        ShardSet shards = shardSet.getIfAvailable();
+        UserInsertCoalescer coalescer = userInsertCoalescer.getIfAvailable();
+        UserVersionCache versionCache = userVersionCache.getIfAvailable();
+        UserSummaryCache summaryCache = userSummaryCache.getIfAvailable();
+        UserPersistencePort adapter;
+        InMemoryUserPersistenceAdapter inMemory = inMemoryBackend.getIfAvailable();
+        JdbcUserPersistenceAdapter jdbc = jdbcBackend.getIfAvailable();
+        if (inMemory != null) {
+            // Perfil faults con faults.backend=memory: pruebas de carga sin base de datos de usuarios
+            adapter = inMemory;
+        } else if (jdbc != null) {
+            // Perfil jdbc: JDBC bloqueante sobre hilos virtuales; sin group commit, que va por R2DBC
+            adapter = jdbc;
+        } else if (shards != null) {
+            // Con sharding cada alta pasa por el directorio; el group commit solo aplica a una base
+            adapter = new ShardedUserPersistenceAdapter(shards);
+        } else {
+            adapter = new UserPersistenceAdapter(userRepository, userEntityMapper, databaseClient);
+            if (coalescer != null) {
+                adapter = new CoalescingUserPersistenceAdapter(adapter, coalescer);
+            }
+        }
+        // Los fallos se inyectan donde estaría la BD: cachés, índice, lanes y deadline reaccionan como en producción
+        FaultInjector faults = faultInjector.getIfAvailable();
+        if (faults != null) {
+            adapter = new FaultInjectingUserPersistenceAdapter(adapter, faults);
+        }
+        // Justo sobre la BD: lo que resuelven el índice o la caché de versiones no gasta cupo de conexiones
+        if (executionLanes.getIfAvailable() != null) {
+            adapter = new LaneLimitedUserPersistenceAdapter(adapter);
+        }
+        if (idIndexEnabled) {
+            adapter = new IndexedUserPersistenceAdapter(adapter, userIdBitmapIndex);
+        }
+        if (searchIndexEnabled) {
+            adapter = new SearchIndexingUserPersistenceAdapter(adapter, userPrefixIndex);
+        }
+        // Las notificaciones se escuchan en la base principal, no en los shards
+        if (summaryCache != null && shards == null) {
+            adapter = new SummaryCachingUserPersistenceAdapter(adapter, summaryCache);
+        }
+        if (versionCache != null && shards == null) {
+            adapter = new VersionCachingUserPersistenceAdapter(adapter, versionCache);
+        }
+        // Con el deadline vencido ninguna llamada llega a cachés, índice ni BD
+        adapter = new DeadlineUserPersistenceAdapter(adapter, meterRegistry);
+        ReactiveSpans spans = reactiveSpans.getIfAvailable();
+        return spans != null ? new TracingUserPersistenceAdapter(adapter, spans) : adapter;
+    }
+
+    @Bean
+    public RefreshTokenPersistencePort refreshTokenPersistencePort(
+            MeterRegistry meterRegistry,
+            @Value("${auth.refresh-tokens.cache-size:100000}") int cacheSize) {
+        return new CachedRefreshTokenPersistenceAdapter(
+                new RefreshTokenPersistenceAdapter(refreshTokenRepository, refreshTokenEntityMapper), cacheSize, meterRegistry);
+    }
+
+    @Bean
+    public RefreshTokenPurger refreshTokenPurger(
+            @Value("${auth.refresh-tokens.purge-interval:PT1H}") Duration purgeInterval,
+            @Value("${auth.refresh-tokens.purge-retention:P7D}") Duration purgeRetention) {
+        return new RefreshTokenPurger(refreshTokenRepository, purgeInterval, purgeRetention);
+    }
+
+    @Bean
+    public UserChangePersistencePort userChangePersistencePort() {
+        return new UserChangePersistenceAdapter(userChangeRepository, userChangeEntityMapper);
+    }
 
+    // El outbox vive en la base de los users; con sharding cada shard tendría su propia numeración
     @Bean
-    public UserPersistencePort userPersistencePort() {
-        return new UserPersistenceAdapter(userRepository, userEntityMapper);
+    @ConditionalOnProperty(name = "users.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public UserChangeSequencer userChangeSequencer(
+            DatabaseClient databaseClient,
+            TransactionalOperator transactionalOperator,
+            @Value("${users.changes.sequencer-interval:PT0.1S}") Duration interval,
+            @Value("${users.changes.sequencer-batch-size:1000}") int batchSize,
+            @Value("${users.changes.retention:P7D}") Duration retention) {
+        return new UserChangeSequencer(databaseClient, transactionalOperator, userChangeRepository,
+                interval, batchSize, retention);
     }
 
     @Bean
-    public UserServicePort userServicePort(UserPersistencePort userPersistencePort, PasswordEncoderPort passwordEncoderPort) {
-        return new UserUseCase(userPersistencePort, passwordEncoderPort);
+    public UserServicePort userServicePort(UserPersistencePort userPersistencePort, PasswordEncoderPort passwordEncoderPort,
+                                           UserChangePersistencePort userChangePersistencePort,
+                                           UserSearchPort userSearchPort,
+                                           @Value("${users.signup.email-pre-check:false}") boolean emailPreCheck) {
+        return new UserUseCase(userPersistencePort, passwordEncoderPort, userChangePersistencePort, userSearchPort,
+                emailPreCheck);
     }
 
     @Bean
     public AuthServicePort authServicePort(UserPersistencePort userPersistencePort,
                                           PasswordEncoderPort passwordEncoderPort,
-                                          JwtPort jwtPort) {
-        return new AuthUseCase(userPersistencePort, passwordEncoderPort, jwtPort);
+                                          JwtPort jwtPort,
+                                          RefreshTokenPersistencePort refreshTokenPersistencePort,
+                                          RefreshTokenPort refreshTokenPort) {
+        return new AuthUseCase(userPersistencePort, passwordEncoderPort, jwtPort,
+                refreshTokenPersistencePort, refreshTokenPort);
     }
 }
@@ -7,5 +7,7 @@ import reactor.core.publisher.Mono;
 
 public interface AuthServicePort {
     Mono<LoginResponse> login(LoginRequest loginRequest, String messageId);
+    Mono<LoginResponse> refresh(String refreshToken, String messageId);
+    Mono<Void> revoke(String refreshToken, String messageId);
     Mono<JwtPayload> validateToken(String token);
 }
@@ -0,0 +1,9 @@
+package com.example.resilient_api.domain.api;
+
+import java.time.Duration;
+
+public interface RefreshTokenPort {
+    String generate();
+    String hash(String refreshToken);
+    Duration timeToLive();
+}
@@ -1,6 +1,10 @@
 package com.example.resilient_api.domain.api;
 
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.domain.model.UserExistence;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -9,7 +13,14 @@ import java.util.Map;
 
 public interface UserServicePort {
     Mono<User> registerUser(User user, String messageId);
-    Mono<User> getUserById(Long id, String messageId);
+    Mono<UserSummary> getUserById(Long id, String messageId);
     Mono<Map<Long, Boolean>> checkUsersExist(List<Long> ids, String messageId);
-    Flux<User> getUsersByIds(List<Long> ids, String messageId);
+    Flux<UserSummary> getUsersByIds(List<Long> ids, String messageId);
+    // Para listas de cualquier tamaño: se leen y responden por chunks acotados
+    Flux<UserExistence> streamUsersExistence(Flux<Long> ids, String messageId);
+    Flux<UserSummary> streamUsersByIds(Flux<Long> ids, String messageId);
+    Flux<UserVersion> getUserVersions(List<Long> ids, String messageId);
+    // limit por defecto 10, máximo 50
+    Flux<UserSummary> searchUsers(String query, Integer limit, String messageId);
+    Flux<UserChange> getUserChanges(Long since, String messageId);
 }
@@ -11,6 +11,8 @@ public enum TechnicalMessage {
     INVALID_REQUEST("400", "Bad Request, please verify data", ""),
     INVALID_PARAMETERS(INVALID_REQUEST.getCode(), "Bad Parameters, please verify data", ""),
     UNSUPPORTED_OPERATION("501", "Method not supported, please try again", ""),
+    DEADLINE_EXCEEDED("504", "Request deadline exceeded", ""),
+    LANE_SATURATED("503", "Service busy, please retry shortly", ""),
     USER_CREATED("201", "User created successfully", ""),
     USER_ALREADY_EXISTS("400", "User with this email already exists", "email"),
     USER_NOT_FOUND("404", "User not found", "id"),
@@ -22,10 +24,16 @@ public enum TechnicalMessage {
     USER_ROLE_REQUIRED("400", "User role (isAdmin) is required", "isAdmin"),
     USER_ID_REQUIRED("400", "User ID is required", "id"),
     USER_PASSWORD_REQUIRED("400", "User password is required", "password"),
+    USER_IDS_INVALID("400", "User ids must be sent as {\"ids\": [integers]}", "ids"),
+    TOO_MANY_USER_IDS("400", "Too many user ids in one request", "ids"),
+    INVALID_CHANGE_OFFSET("400", "Change offset must be zero or positive", "since"),
+    SEARCH_QUERY_REQUIRED("400", "Search query is required", "q"),
+    INVALID_SEARCH_LIMIT("400", "Search limit must be between 1 and 50", "limit"),
     INVALID_CREDENTIALS("401", "Invalid email or password", "credentials"),
     TOKEN_EXPIRED("401", "Token has expired", "token"),
     TOKEN_INVALID("401", "Token is invalid", "token"),
     TOKEN_MISSING("401", "Authentication token is missing", "token"),
+    REFRESH_TOKEN_REUSED("401", "Refresh token was already used, session revoked", "refreshToken"),
     UNAUTHORIZED("401", "Unauthorized access", "")
     ;
 
@@ -0,0 +1,62 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record Deadline(Instant expiresAt) {
+
+    public static final String CONTEXT_KEY = "request.deadline";
+
+    public Duration remaining() {
+        return Duration.between(Instant.now(), expiresAt);
+    }
+
+    public boolean isExpired() {
+        return !remaining().isPositive();
+    }
+
+    public static boolean isDeadlineExceeded(Throwable throwable) {
+        return throwable instanceof TechnicalException technicalException
+                && technicalException.getTechnicalMessage() == TechnicalMessage.DEADLINE_EXCEEDED;
+    }
+
+    public static <T> Mono<T> bound(Mono<T> mono) {
+        return Mono.deferContextual(context -> context.<Deadline>getOrEmpty(CONTEXT_KEY)
+                .map(deadline -> {
+                    Duration remaining = deadline.remaining();
+                    if (!remaining.isPositive()) {
+                        return Mono.<T>error(exceeded());
+                    }
+                    return mono.timeout(remaining, Mono.error(Deadline::exceeded));
+                })
+                .orElse(mono));
+    }
+
+    public static <T> Flux<T> bound(Flux<T> flux) {
+        return Flux.deferContextual(context -> context.<Deadline>getOrEmpty(CONTEXT_KEY)
+                .map(deadline -> {
+                    Duration remaining = deadline.remaining();
+                    if (!remaining.isPositive()) {
+                        return Flux.<T>error(exceeded());
+                    }
+                    // El plazo es absoluto: cada elemento rearma el temporizador con lo que queda, no con el total
+                    return flux.timeout(Mono.delay(remaining),
+                            item -> Mono.delay(positive(deadline.remaining())),
+                            Flux.error(Deadline::exceeded));
+                })
+                .orElse(flux));
+    }
+
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    private static TechnicalException exceeded() {
+        return new TechnicalException(TechnicalMessage.DEADLINE_EXCEEDED);
+    }
+}
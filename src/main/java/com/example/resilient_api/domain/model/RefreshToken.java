@@ -0,0 +1,20 @@
+package com.example.resilient_api.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record RefreshToken(String tokenHash, UUID familyId, Long userId, Instant expiresAt,
+                           Instant usedAt, Instant revokedAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public boolean isUsed() {
+        return usedAt != null;
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+}
@@ -1,4 +1,9 @@
 package com.example.resilient_api.domain.model;
 
-public record User(Long id, String name, String email, String password, Boolean isAdmin) {
+// version la asigna la BD; null si el usuario no se ha leído de ella
+public record User(Long id, String name, String email, String password, Boolean isAdmin, Long version) {
+
+    public User(Long id, String name, String email, String password, Boolean isAdmin) {
+        this(id, name, email, password, isAdmin, null);
+    }
 }
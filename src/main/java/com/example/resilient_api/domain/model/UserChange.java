@@ -0,0 +1,8 @@
+package com.example.resilient_api.domain.model;
+
+import java.time.Instant;
+
+// offset sin huecos y creciente: el consumidor retoma tras el último que aplicó
+public record UserChange(long offset, String operation, Long userId, String name, String email, Boolean isAdmin,
+                         Instant occurredAt) {
+}
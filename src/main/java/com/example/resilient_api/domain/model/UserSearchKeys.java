@@ -0,0 +1,52 @@
+package com.example.resilient_api.domain.model;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// "jo", "john d", "doe" y "john.doe@" encuentran a "John Doe <john.doe@example.com>"
+public final class UserSearchKeys {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private UserSearchKeys() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    public static List<String> keysOf(String name, String email) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalizedName = normalize(name);
+        if (!normalizedName.isEmpty()) {
+            keys.add(normalizedName);
+            for (int space = normalizedName.indexOf(' '); space >= 0; space = normalizedName.indexOf(' ', space + 1)) {
+                keys.add(normalizedName.substring(space + 1));
+            }
+        }
+        String normalizedEmail = normalize(email);
+        if (!normalizedEmail.isEmpty()) {
+            keys.add(normalizedEmail);
+        }
+        return List.copyOf(keys);
+    }
+
+    // prefix ya normalizado
+    public static boolean matches(String name, String email, String prefix) {
+        for (String key : keysOf(name, email)) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
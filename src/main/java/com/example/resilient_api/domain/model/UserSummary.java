@@ -0,0 +1,5 @@
+package com.example.resilient_api.domain.model;
+
+// Sin hash de contraseña; version solo alimenta el ETag
+public record UserSummary(Long id, String name, String email, Boolean isAdmin, Long version) {
+}
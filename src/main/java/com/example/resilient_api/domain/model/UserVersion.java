@@ -0,0 +1,4 @@
+package com.example.resilient_api.domain.model;
+
+public record UserVersion(Long id, long version) {
+}
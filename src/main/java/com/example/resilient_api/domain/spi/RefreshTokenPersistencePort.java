@@ -0,0 +1,14 @@
+package com.example.resilient_api.domain.spi;
+
+import com.example.resilient_api.domain.model.RefreshToken;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface RefreshTokenPersistencePort {
+    Mono<RefreshToken> save(RefreshToken refreshToken);
+    Mono<RefreshToken> findByTokenHash(String tokenHash);
+    // Atómico: false si ya estaba usado o revocado
+    Mono<Boolean> markUsed(String tokenHash);
+    Mono<Void> revokeFamily(UUID familyId);
+}
@@ -0,0 +1,11 @@
+package com.example.resilient_api.domain.spi;
+
+import com.example.resilient_api.domain.model.UserChange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface UserChangePersistencePort {
+    Flux<UserChange> findChangesAfter(long offset, int limit);
+    // 0 si el feed está vacío
+    Mono<Long> findLatestOffset();
+}
@@ -1,6 +1,8 @@
 package com.example.resilient_api.domain.spi;
 
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -8,10 +10,18 @@ import java.util.List;
 
 public interface UserPersistencePort {
     Mono<User> save(User user);
+    // Vacío si el email (sin distinguir mayúsculas) ya existe
+    Mono<User> insertIfAbsent(User user);
     Mono<User> findById(Long id);
     Mono<User> findByEmail(String email);
+    // Solo id, email, password e isAdmin (name null), sin distinguir mayúsculas: para el login
+    Mono<User> findCredentialsByEmail(String email);
     Mono<Boolean> existsByEmail(String email);
+    // Solo si el hash sigue siendo previousPassword; false si no
+    Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword);
     Flux<Long> findExistingIdsByIds(List<Long> ids);
-    Flux<User> findAllByIdIn(List<Long> ids);
+    Mono<UserSummary> findSummaryById(Long id);
+    Flux<UserSummary> findSummariesByIds(List<Long> ids);
+    Flux<UserVersion> findVersionsByIds(List<Long> ids);
 }
 
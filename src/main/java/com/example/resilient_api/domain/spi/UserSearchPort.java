@@ -0,0 +1,8 @@
+package com.example.resilient_api.domain.spi;
+
+import reactor.core.publisher.Flux;
+
+// Puede ir por detrás de las escrituras y guardar usuarios renombrados o borrados: el llamante vuelve a comprobar
+public interface UserSearchPort {
+    Flux<Long> findIdsByPrefix(String prefix, int limit);
+}
@@ -3,24 +3,36 @@ package com.example.resilient_api.domain.usecase;
 import com.example.resilient_api.domain.api.AuthServicePort;
 import com.example.resilient_api.domain.api.JwtPort;
 import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import com.example.resilient_api.domain.api.RefreshTokenPort;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.Deadline;
 import com.example.resilient_api.domain.model.JwtPayload;
 import com.example.resilient_api.domain.model.LoginRequest;
 import com.example.resilient_api.domain.model.LoginResponse;
+import com.example.resilient_api.domain.model.RefreshToken;
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.RefreshTokenPersistencePort;
 import com.example.resilient_api.domain.spi.UserPersistencePort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
 @RequiredArgsConstructor
 @Slf4j
 public class AuthUseCase implements AuthServicePort {
 
+    private static final Duration REHASH_TIMEOUT = Duration.ofSeconds(2);
+
     private final UserPersistencePort userPersistencePort;
     private final PasswordEncoderPort passwordEncoderPort;
     private final JwtPort jwtPort;
+    private final RefreshTokenPersistencePort refreshTokenPersistencePort;
+    private final RefreshTokenPort refreshTokenPort;
 
     @Override
     public Mono<LoginResponse> login(LoginRequest loginRequest, String messageId) {
@@ -29,20 +41,55 @@ public class AuthUseCase implements AuthServicePort {
         return Mono.defer(() -> {
                     try {
                         validateLoginRequestSync(loginRequest);
-                        return userPersistencePort.findByEmail(loginRequest.email());
+                        return userPersistencePort.findCredentialsByEmail(loginRequest.email());
                     } catch (BusinessException e) {
                         return Mono.error(e);
                     }
                 })
                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.INVALID_CREDENTIALS)))
                 .flatMap(user -> validatePassword(loginRequest.password(), user))
-                .map(this::buildJwtPayload)
-                .map(payload -> buildLoginResponse(payload, jwtPort.generateToken(payload)))
+                .flatMap(user -> rehashIfNeeded(user, loginRequest.password(), messageId).thenReturn(user))
+                .flatMap(user -> issueTokens(user, UUID.randomUUID()))
                 .doOnSuccess(response -> log.info("Login successful for user: {} with messageId: {}",
                         response.userId(), messageId))
                 .doOnError(ex -> log.error("Login failed with messageId: {}", messageId, ex));
     }
 
+    @Override
+    public Mono<LoginResponse> refresh(String refreshToken, String messageId) {
+        log.info("Starting token refresh with messageId: {}", messageId);
+
+        // Sin hashing de contraseña: solo SHA-256 del token opaco y un UPDATE atómico para rotarlo
+        return findRefreshToken(refreshToken)
+                .flatMap(this::validateRefreshToken)
+                .flatMap(stored -> refreshTokenPersistencePort.markUsed(stored.tokenHash())
+                        .flatMap(marked -> {
+                            if (Boolean.TRUE.equals(marked)) {
+                                return Mono.just(stored);
+                            }
+                            // Token ya rotado presentado de nuevo: posible robo, se revoca toda la familia
+                            log.warn("Refresh token reuse detected for user: {} with messageId: {}",
+                                    stored.userId(), messageId);
+                            return revokeFamilyAndFail(stored, TechnicalMessage.REFRESH_TOKEN_REUSED);
+                        }))
+                .flatMap(stored -> userPersistencePort.findById(stored.userId())
+                        .switchIfEmpty(Mono.defer(() -> revokeFamilyAndFail(stored, TechnicalMessage.TOKEN_INVALID)))
+                        .flatMap(user -> issueTokens(user, stored.familyId())))
+                .doOnSuccess(response -> log.info("Token refresh successful for user: {} with messageId: {}",
+                        response.userId(), messageId))
+                .doOnError(ex -> log.error("Token refresh failed with messageId: {}", messageId, ex));
+    }
+
+    @Override
+    public Mono<Void> revoke(String refreshToken, String messageId) {
+        log.info("Starting refresh token revocation with messageId: {}", messageId);
+
+        return findRefreshToken(refreshToken)
+                .flatMap(stored -> refreshTokenPersistencePort.revokeFamily(stored.familyId()))
+                .doOnSuccess(done -> log.info("Refresh token family revoked with messageId: {}", messageId))
+                .doOnError(ex -> log.error("Refresh token revocation failed with messageId: {}", messageId, ex));
+    }
+
     @Override
     public Mono<JwtPayload> validateToken(String token) {
         return jwtPort.validateAndExtractPayload(token);
@@ -74,11 +121,69 @@ public class AuthUseCase implements AuthServicePort {
                 });
     }
 
+    // Tras un login correcto es el único momento con la contraseña en claro: se migra el hash (coste o formato
+    // antiguo) dentro del propio login, así usa el lane y el deadline de la petición y nunca hay rehashes sin
+    // límite en segundo plano. Solo paga el primer login de cada usuario migrado; si falla, el login sigue
+    private Mono<Void> rehashIfNeeded(User user, String rawPassword, String messageId) {
+        if (!passwordEncoderPort.needsRehash(user.password())) {
+            return Mono.empty();
+        }
+        return Deadline.bound(Mono.defer(() -> passwordEncoderPort.encode(rawPassword)))
+                .flatMap(newPassword -> userPersistencePort.updatePassword(user.id(), user.password(), newPassword))
+                .timeout(REHASH_TIMEOUT)
+                .doOnNext(updated -> log.info("Password rehash for user: {} applied: {} with messageId: {}",
+                        user.id(), updated, messageId))
+                // Con el deadline vencido el llamante ya no espera: el login falla como cualquier otra petición
+                .onErrorResume(ex -> !Deadline.isDeadlineExceeded(ex), ex -> {
+                    log.warn("Password rehash failed for user: {} with messageId: {}", user.id(), messageId, ex);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<RefreshToken> findRefreshToken(String refreshToken) {
+        return Mono.defer(() -> {
+                    if (refreshToken == null || refreshToken.isBlank()) {
+                        return Mono.error(new BusinessException(TechnicalMessage.TOKEN_MISSING));
+                    }
+                    return refreshTokenPersistencePort.findByTokenHash(refreshTokenPort.hash(refreshToken));
+                })
+                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.TOKEN_INVALID)));
+    }
+
+    private Mono<RefreshToken> validateRefreshToken(RefreshToken stored) {
+        if (stored.isUsed()) {
+            return revokeFamilyAndFail(stored, TechnicalMessage.REFRESH_TOKEN_REUSED);
+        }
+        if (stored.isRevoked()) {
+            return Mono.error(new BusinessException(TechnicalMessage.TOKEN_INVALID));
+        }
+        if (stored.isExpired(Instant.now())) {
+            return Mono.error(new BusinessException(TechnicalMessage.TOKEN_EXPIRED));
+        }
+        return Mono.just(stored);
+    }
+
+    private <T> Mono<T> revokeFamilyAndFail(RefreshToken stored, TechnicalMessage technicalMessage) {
+        return refreshTokenPersistencePort.revokeFamily(stored.familyId())
+                .then(Mono.error(new BusinessException(technicalMessage)));
+    }
+
+    private Mono<LoginResponse> issueTokens(User user, UUID familyId) {
+        String refreshToken = refreshTokenPort.generate();
+        RefreshToken stored = new RefreshToken(refreshTokenPort.hash(refreshToken), familyId, user.id(),
+                Instant.now().plus(refreshTokenPort.timeToLive()), null, null);
+        JwtPayload payload = buildJwtPayload(user);
+        return refreshTokenPersistencePort.save(stored)
+                .flatMap(saved -> jwtPort.generateToken(payload))
+                .map(token -> buildLoginResponse(payload, token, refreshToken));
+    }
+
     private JwtPayload buildJwtPayload(User user) {
         return new JwtPayload(user.id(), user.email(), user.isAdmin());
     }
 
-    private LoginResponse buildLoginResponse(JwtPayload payload, String token) {
-        return new LoginResponse(token, payload.userId(), payload.email(), payload.isAdmin());
+    private LoginResponse buildLoginResponse(JwtPayload payload, String token, String refreshToken) {
+        return new LoginResponse(token, payload.userId(), payload.email(), payload.isAdmin(), refreshToken);
     }
 }
@@ -3,14 +3,26 @@ package com.example.resilient_api.domain.usecase;
 import com.example.resilient_api.domain.api.PasswordEncoderPort;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.Deadline;
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.domain.model.UserExistence;
+import com.example.resilient_api.domain.model.UserSearchKeys;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
 import com.example.resilient_api.domain.api.UserServicePort;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
 import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.domain.spi.UserSearchPort;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -18,42 +30,68 @@ public class UserUseCase implements UserServicePort {
 
     private static final int MAX_NAME_LENGTH = 100;
     private static final int MAX_EMAIL_LENGTH = 150;
+    static final int CHANGES_PAGE_SIZE = 500;
+    static final Duration CHANGES_POLL_INTERVAL = Duration.ofSeconds(1);
+    // Listas de ids grandes: consultas de como mucho ID_CHUNK_SIZE ids, ID_CHUNK_CONCURRENCY a la vez
+    static final int ID_CHUNK_SIZE = 1000;
+    static final int ID_CHUNK_CONCURRENCY = 4;
+    static final int DEFAULT_SEARCH_LIMIT = 10;
+    static final int MAX_SEARCH_LIMIT = 50;
+    // Margen para las entradas del índice que ya no coinciden (renombrados, borrados)
+    private static final int SEARCH_CANDIDATES_PER_RESULT = 2;
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
 
     private final UserPersistencePort userPersistencePort;
     private final PasswordEncoderPort passwordEncoderPort;
+    private final UserChangePersistencePort userChangePersistencePort;
+    private final UserSearchPort userSearchPort;
+    private final boolean emailPreCheck;
 
-    public UserUseCase(UserPersistencePort userPersistencePort, PasswordEncoderPort passwordEncoderPort) {
+    public UserUseCase(UserPersistencePort userPersistencePort, PasswordEncoderPort passwordEncoderPort,
+                       UserChangePersistencePort userChangePersistencePort, UserSearchPort userSearchPort) {
+        this(userPersistencePort, passwordEncoderPort, userChangePersistencePort, userSearchPort, false);
+    }
+
+    public UserUseCase(UserPersistencePort userPersistencePort, PasswordEncoderPort passwordEncoderPort,
+                       UserChangePersistencePort userChangePersistencePort, UserSearchPort userSearchPort,
+                       boolean emailPreCheck) {
         this.userPersistencePort = userPersistencePort;
         this.passwordEncoderPort = passwordEncoderPort;
+        this.userChangePersistencePort = userChangePersistencePort;
+        this.userSearchPort = userSearchPort;
+        this.emailPreCheck = emailPreCheck;
     }
 
     @Override
     public Mono<User> registerUser(User user, String messageId) {
+        // Un solo INSERT ... ON CONFLICT DO NOTHING decide: sin carrera entre registros simultáneos
         return Mono.defer(() -> {
                     try {
                         validateUserSync(user);
-                        return userPersistencePort.existsByEmail(user.email());
                     } catch (BusinessException e) {
                         return Mono.error(e);
                     }
+                    // Desactivada por defecto: un alta correcta serían dos viajes a la base de datos. El abuso con
+                    // emails ya registrados lo frenan el rate limit y el carril público; esto solo ahorra el hash
+                    Mono<Boolean> absent = emailPreCheck
+                            ? Deadline.bound(Mono.defer(() -> userPersistencePort.existsByEmail(user.email()))).map(exists -> !exists)
+                            : Mono.just(true);
+                    // El hash es el paso más caro del alta: no se empieza si el llamante ya no espera la respuesta
+                    return absent.filter(Boolean::booleanValue)
+                            .flatMap(ok -> Deadline.bound(Mono.defer(() -> passwordEncoderPort.encode(user.password()))))
+                            .flatMap(encodedPassword -> userPersistencePort.insertIfAbsent(
+                                    new User(user.id(), user.name(), user.email(), encodedPassword, user.isAdmin())));
                 })
-                .filter(exists -> !exists)
-                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.USER_ALREADY_EXISTS)))
-                .map(exists -> {
-                    String encodedPassword = passwordEncoderPort.encode(user.password());
-                    return new User(user.id(), user.name(), user.email(), encodedPassword, user.isAdmin());
-                })
-                .flatMap(userPersistencePort::save);
+                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.USER_ALREADY_EXISTS)));
     }
 
     @Override
-    public Mono<User> getUserById(Long id, String messageId) {
+    public Mono<UserSummary> getUserById(Long id, String messageId) {
         if (id == null) {
             return Mono.error(new BusinessException(TechnicalMessage.USER_ID_REQUIRED));
         }
 
-        return userPersistencePort.findById(id)
+        return userPersistencePort.findSummaryById(id)
                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.USER_NOT_FOUND)));
     }
 
@@ -74,12 +112,86 @@ public class UserUseCase implements UserServicePort {
     }
 
     @Override
-    public Flux<User> getUsersByIds(List<Long> ids, String messageId) {
+    public Flux<UserSummary> getUsersByIds(List<Long> ids, String messageId) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return userPersistencePort.findSummariesByIds(ids);
+    }
+
+    @Override
+    public Flux<UserExistence> streamUsersExistence(Flux<Long> ids, String messageId) {
+        return chunks(ids)
+                .flatMap(chunk -> userPersistencePort.findExistingIdsByIds(chunk)
+                        .collect(Collectors.toSet())
+                        .flatMapIterable(existingIds -> new LinkedHashSet<>(chunk).stream()
+                                .map(id -> new UserExistence(id, existingIds.contains(id)))
+                                .toList()), ID_CHUNK_CONCURRENCY);
+    }
+
+    @Override
+    public Flux<UserSummary> streamUsersByIds(Flux<Long> ids, String messageId) {
+        return chunks(ids).flatMap(userPersistencePort::findSummariesByIds, ID_CHUNK_CONCURRENCY);
+    }
+
+    @Override
+    public Flux<UserVersion> getUserVersions(List<Long> ids, String messageId) {
         if (ids == null || ids.isEmpty()) {
             return Flux.empty();
         }
 
-        return userPersistencePort.findAllByIdIn(ids);
+        return userPersistencePort.findVersionsByIds(ids);
+    }
+
+    @Override
+    public Flux<UserSummary> searchUsers(String query, Integer limit, String messageId) {
+        String prefix = UserSearchKeys.normalize(query);
+        if (prefix.isEmpty()) {
+            return Flux.error(new BusinessException(TechnicalMessage.SEARCH_QUERY_REQUIRED));
+        }
+        int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (maxResults < 1 || maxResults > MAX_SEARCH_LIMIT) {
+            return Flux.error(new BusinessException(TechnicalMessage.INVALID_SEARCH_LIMIT));
+        }
+
+        // El índice da candidatos en orden de clave; la fila actual decide si siguen coincidiendo
+        return userSearchPort.findIdsByPrefix(prefix, maxResults * SEARCH_CANDIDATES_PER_RESULT)
+                .collectList()
+                .filter(candidates -> !candidates.isEmpty())
+                .flatMapMany(candidates -> userPersistencePort.findSummariesByIds(candidates)
+                        .filter(user -> UserSearchKeys.matches(user.name(), user.email(), prefix))
+                        .collectMap(UserSummary::id)
+                        .flatMapIterable(found -> candidates.stream()
+                                .map(found::get)
+                                .filter(Objects::nonNull)
+                                .limit(maxResults)
+                                .toList()));
+    }
+
+    @Override
+    public Flux<UserChange> getUserChanges(Long since, String messageId) {
+        if (since != null && since < 0) {
+            return Flux.error(new BusinessException(TechnicalMessage.INVALID_CHANGE_OFFSET));
+        }
+        AtomicLong cursor = new AtomicLong(since == null ? 0 : since);
+        // Lectura por páginas bajo demanda: repeat solo pide la siguiente cuando el suscriptor consumió la anterior
+        return Mono.defer(() -> userChangePersistencePort.findChangesAfter(cursor.get(), CHANGES_PAGE_SIZE).collectList())
+                .flatMap(page -> {
+                    if (page.isEmpty()) {
+                        // Al día: espera antes de volver a consultar
+                        return Mono.delay(CHANGES_POLL_INTERVAL).thenReturn(page);
+                    }
+                    cursor.set(page.get(page.size() - 1).offset());
+                    return Mono.just(page);
+                })
+                .repeat()
+                .concatMapIterable(page -> page);
+    }
+
+    // buffer solo pide ids al origen cuando flatMap tiene hueco: en memoria como mucho unos pocos chunks
+    private static Flux<List<Long>> chunks(Flux<Long> ids) {
+        return ids.filter(Objects::nonNull).buffer(ID_CHUNK_SIZE);
     }
 
     private void validateUserSync(User user) {
@@ -0,0 +1,136 @@
+package com.example.resilient_api.infrastructure.adapters.eventloop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Mide cuánto espera en cola una tarea vacía en cada event loop; si pasa de stallThreshold cuenta una vez y registra el stack del hilo
+@Slf4j
+public class EventLoopLagProbe implements SmartLifecycle {
+
+    private final List<LoopProbe> probes = new ArrayList<>();
+    private final Duration interval;
+    private final long stallThresholdNanos;
+    private final Timer lag;
+    private volatile Disposable subscription;
+
+    public EventLoopLagProbe(EventExecutorGroup loops, Duration interval, Duration stallThreshold,
+                             MeterRegistry meterRegistry) {
+        this.interval = interval;
+        this.stallThresholdNanos = stallThreshold.toNanos();
+        this.lag = Timer.builder("eventloop.lag")
+                .description("Time a task waits in an event loop's queue before it runs")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        for (EventExecutor loop : loops) {
+            String name = String.valueOf(probes.size());
+            LoopProbe probe = new LoopProbe(loop, name, Counter.builder("eventloop.stalls")
+                    .description("Probes that waited longer than the stall threshold")
+                    .tag("loop", name)
+                    .register(meterRegistry));
+            Gauge.builder("eventloop.lag.current", probe, LoopProbe::currentLagSeconds)
+                    .baseUnit("seconds")
+                    .tag("loop", name)
+                    .register(meterRegistry);
+            probes.add(probe);
+        }
+    }
+
+    @Override
+    public void start() {
+        subscription = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .subscribe(tick -> probes.forEach(this::probe));
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    private void probe(LoopProbe probe) {
+        long now = System.nanoTime();
+        long submittedAt = probe.submittedAt;
+        if (submittedAt != 0) {
+            // La anterior sigue en cola: no se encola otra, se mira si el loop está atascado
+            if (!probe.stallReported && now - submittedAt > stallThresholdNanos) {
+                probe.stallReported = true;
+                probe.stalls.increment();
+                reportStall(probe, now - submittedAt);
+            }
+            return;
+        }
+        probe.submittedAt = now;
+        try {
+            probe.loop.execute(() -> {
+                long waited = System.nanoTime() - probe.submittedAt;
+                lag.record(waited, TimeUnit.NANOSECONDS);
+                probe.thread = Thread.currentThread();
+                probe.lastLagNanos = waited;
+                probe.stallReported = false;
+                probe.submittedAt = 0;
+            });
+        } catch (RejectedExecutionException ex) {
+            // Loop cerrándose (apagado del servidor): se deja de medir
+            probe.submittedAt = 0;
+        }
+    }
+
+    private void reportStall(LoopProbe probe, long waitedNanos) {
+        Thread thread = probe.thread;
+        if (thread == null) {
+            log.warn("Event loop {} has not run a probe for {} ms", probe.name, waitedNanos / 1_000_000);
+            return;
+        }
+        Throwable stack = new Throwable("Stack of " + thread.getName());
+        stack.setStackTrace(thread.getStackTrace());
+        log.warn("Event loop {} ({}) stalled: probe waiting for {} ms", probe.name, thread.getName(),
+                waitedNanos / 1_000_000, stack);
+    }
+
+    private static final class LoopProbe {
+
+        private final EventExecutor loop;
+        private final String name;
+        private final Counter stalls;
+        private volatile long submittedAt;
+        private volatile long lastLagNanos;
+        private volatile boolean stallReported;
+        private volatile Thread thread;
+
+        private LoopProbe(EventExecutor loop, String name, Counter stalls) {
+            this.loop = loop;
+            this.name = name;
+            this.stalls = stalls;
+        }
+
+        private double currentLagSeconds() {
+            long pendingSince = submittedAt;
+            long lagNanos = pendingSince != 0 ? System.nanoTime() - pendingSince : lastLagNanos;
+            return lagNanos / 1_000_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.resilient_api.infrastructure.adapters.fault;
+
+import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class FaultInjectingPasswordEncoderPort implements PasswordEncoderPort {
+    private final PasswordEncoderPort delegate;
+    private final FaultInjector faults;
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return faults.inject("password.encode", Mono.defer(() -> delegate.encode(rawPassword)),
+                () -> new IllegalStateException("Injected fault in password.encode"));
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return faults.inject("password.matches", Mono.defer(() -> delegate.matches(rawPassword, encodedPassword)),
+                () -> new IllegalStateException("Injected fault in password.matches"));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return delegate.needsRehash(encodedPassword);
+    }
+}
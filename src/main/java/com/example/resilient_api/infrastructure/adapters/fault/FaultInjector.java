@@ -0,0 +1,107 @@
+package com.example.resilient_api.infrastructure.adapters.fault;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// La spec de la operación gana a la de su grupo (users, password)
+@Slf4j
+public class FaultInjector {
+
+    // z de la normal estándar en el percentil 99
+    private static final double Z_99 = 2.3263;
+
+    private final Map<String, FaultSpec> specs = new ConcurrentHashMap<>();
+    private final Map<String, Counter> injected = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public FaultInjector(Map<String, FaultSpec> initialSpecs, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        initialSpecs.forEach(this::set);
+    }
+
+    public void set(String target, FaultSpec spec) {
+        specs.put(target, spec);
+        log.warn("Fault injection for {}: {}", target, spec);
+    }
+
+    public void clear(String target) {
+        if (specs.remove(target) != null) {
+            log.warn("Fault injection for {} cleared", target);
+        }
+    }
+
+    public void clearAll() {
+        specs.clear();
+        log.warn("Fault injection cleared");
+    }
+
+    public Map<String, FaultSpec> specs() {
+        return new TreeMap<>(specs);
+    }
+
+    public <T> Mono<T> inject(String operation, Mono<T> call, Supplier<? extends Throwable> error) {
+        return Mono.defer(() -> {
+            FaultSpec spec = specFor(operation);
+            if (spec == null) {
+                return call;
+            }
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < spec.stallRate()) {
+                count(operation, "stall");
+                return Mono.never();
+            }
+            Duration latency = sampleLatency(spec);
+            Mono<T> outcome = roll < spec.stallRate() + spec.errorRate()
+                    ? Mono.defer(() -> {
+                        count(operation, "error");
+                        return Mono.error(error.get());
+                    })
+                    : call;
+            if (latency.isZero()) {
+                return outcome;
+            }
+            count(operation, "latency");
+            return Mono.delay(latency).then(outcome);
+        });
+    }
+
+    public <T> Flux<T> inject(String operation, Flux<T> call, Supplier<? extends Throwable> error) {
+        return inject(operation, Mono.just(true), error).thenMany(call);
+    }
+
+    private FaultSpec specFor(String operation) {
+        FaultSpec spec = specs.get(operation);
+        if (spec == null) {
+            int dot = operation.indexOf('.');
+            spec = dot > 0 ? specs.get(operation.substring(0, dot)) : null;
+        }
+        return spec;
+    }
+
+    static Duration sampleLatency(FaultSpec spec) {
+        long median = spec.medianLatency().toNanos();
+        long p99 = spec.p99Latency().toNanos();
+        if (median == 0 || p99 == median) {
+            return Duration.ofNanos(median);
+        }
+        double sigma = Math.log((double) p99 / median) / Z_99;
+        return Duration.ofNanos((long) (median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian())));
+    }
+
+    private void count(String operation, String fault) {
+        injected.computeIfAbsent(operation + '|' + fault, key -> Counter.builder("faults.injected")
+                .tag("operation", operation)
+                .tag("fault", fault)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.resilient_api.infrastructure.adapters.fault;
+
+import java.time.Duration;
+
+// Latencia log-normal (mediana y p99); stallRate de las llamadas no terminan nunca, hasta que las corta el deadline
+public record FaultSpec(Duration medianLatency, Duration p99Latency, double errorRate, double stallRate) {
+
+    public static final FaultSpec NONE = new FaultSpec(Duration.ZERO, Duration.ZERO, 0, 0);
+
+    public FaultSpec {
+        medianLatency = medianLatency == null ? Duration.ZERO : medianLatency;
+        p99Latency = p99Latency == null ? medianLatency : p99Latency;
+        if (medianLatency.isNegative() || p99Latency.compareTo(medianLatency) < 0) {
+            throw new IllegalArgumentException("Latency must satisfy 0 <= median <= p99, got " + medianLatency + " / " + p99Latency);
+        }
+        if (errorRate < 0 || stallRate < 0 || errorRate + stallRate > 1) {
+            throw new IllegalArgumentException("Error and stall rates must be in [0, 1] and add up to at most 1");
+        }
+    }
+}
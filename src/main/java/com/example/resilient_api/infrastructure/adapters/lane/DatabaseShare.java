@@ -0,0 +1,96 @@
+package com.example.resilient_api.infrastructure.adapters.lane;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Por encima del cupo se espera en una FIFO acotada, sin ocupar hilo y solo detrás de llamadas del mismo lane
+public class DatabaseShare {
+
+    private final int permits;
+    private final int maxWaiting;
+    private final Deque<MonoSink<DatabaseShare>> waiting = new ArrayDeque<>();
+    private int inUse;
+
+    public DatabaseShare(String lane, int permits, int maxWaiting, MeterRegistry meterRegistry) {
+        this.permits = permits;
+        this.maxWaiting = maxWaiting;
+        Gauge.builder("lanes.db.in_use", this, DatabaseShare::inUse)
+                .description("Database calls in flight for the lane")
+                .tag("lane", lane)
+                .register(meterRegistry);
+        Gauge.builder("lanes.db.waiting", this, DatabaseShare::waiting)
+                .description("Database calls queued behind the lane's share")
+                .tag("lane", lane)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> run(Mono<T> call) {
+        return Mono.usingWhen(acquire(), permit -> call, DatabaseShare::release);
+    }
+
+    public <T> Flux<T> run(Flux<T> call) {
+        return Flux.usingWhen(acquire(), permit -> call, DatabaseShare::release);
+    }
+
+    private Mono<DatabaseShare> acquire() {
+        return Mono.create(sink -> {
+            synchronized (this) {
+                if (inUse < permits) {
+                    inUse++;
+                } else if (waiting.size() < maxWaiting) {
+                    waiting.addLast(sink);
+                    sink.onCancel(() -> abandon(sink));
+                    return;
+                } else {
+                    sink.error(new TechnicalException(TechnicalMessage.LANE_SATURATED));
+                    return;
+                }
+            }
+            sink.success(this);
+        });
+    }
+
+    private Mono<Void> release() {
+        return Mono.fromRunnable(this::releasePermit);
+    }
+
+    // El permiso pasa directamente al primero de la cola; solo vuelve al cupo si no espera nadie
+    private void releasePermit() {
+        MonoSink<DatabaseShare> next;
+        synchronized (this) {
+            next = waiting.pollFirst();
+            if (next == null) {
+                inUse--;
+                return;
+            }
+        }
+        next.success(this);
+    }
+
+    private void abandon(MonoSink<DatabaseShare> sink) {
+        boolean removed;
+        synchronized (this) {
+            removed = waiting.remove(sink);
+        }
+        if (!removed) {
+            // Ya se le había traspasado un permiso que nunca va a usar
+            releasePermit();
+        }
+    }
+
+    private synchronized int inUse() {
+        return inUse;
+    }
+
+    private synchronized int waiting() {
+        return waiting.size();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.resilient_api.infrastructure.adapters.lane;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+public record ExecutionLane(Lane lane, Bulkhead admission, DatabaseShare database, Scheduler workers) {
+
+    public static final String CONTEXT_KEY = "request.lane";
+
+    public static <T> Mono<T> onWorkers(Mono<T> work) {
+        return Mono.deferContextual(context -> context.<ExecutionLane>getOrEmpty(CONTEXT_KEY)
+                .filter(executionLane -> executionLane.workers() != null)
+                .map(executionLane -> work.subscribeOn(executionLane.workers()))
+                .orElse(work));
+    }
+
+    public static <T> Mono<T> onWorkers(Mono<T> work, Scheduler fallback) {
+        return Mono.deferContextual(context -> work.subscribeOn(context.<ExecutionLane>getOrEmpty(CONTEXT_KEY)
+                .map(ExecutionLane::workers)
+                .orElse(fallback)));
+    }
+
+    public static <T> Mono<T> withDatabasePermit(Mono<T> call) {
+        return Mono.deferContextual(context -> context.<ExecutionLane>getOrEmpty(CONTEXT_KEY)
+                .filter(executionLane -> executionLane.database() != null)
+                .map(executionLane -> executionLane.database().run(call))
+                .orElse(call));
+    }
+
+    public static <T> Flux<T> withDatabasePermit(Flux<T> call) {
+        return Flux.deferContextual(context -> context.<ExecutionLane>getOrEmpty(CONTEXT_KEY)
+                .filter(executionLane -> executionLane.database() != null)
+                .map(executionLane -> executionLane.database().run(call))
+                .orElse(call));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.resilient_api.infrastructure.adapters.lane;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+// PUBLIC también se rechaza mientras queden menos de priorityReserve permisos libres de INTERNAL
+public class ExecutionLanes implements DisposableBean {
+
+    public enum Admission { ADMITTED, QUOTA_EXCEEDED, YIELDED_TO_PRIORITY }
+
+    private final Map<Lane, ExecutionLane> lanes;
+    private final int priorityReserve;
+    private final Map<Lane, Counter> quotaRejections = new EnumMap<>(Lane.class);
+    private final Counter priorityRejections;
+
+    public ExecutionLanes(Map<Lane, ExecutionLane> lanes, int priorityReserve, MeterRegistry meterRegistry) {
+        this.lanes = new EnumMap<>(lanes);
+        this.priorityReserve = priorityReserve;
+        for (Lane lane : Lane.values()) {
+            quotaRejections.put(lane, rejections(lane, "quota", meterRegistry));
+        }
+        this.priorityRejections = rejections(Lane.PUBLIC, "priority", meterRegistry);
+    }
+
+    public ExecutionLane get(Lane lane) {
+        return lanes.get(lane);
+    }
+
+    // Con ADMITTED el llamante se queda un permiso y tiene que hacer release
+    public Admission tryAdmit(Lane lane) {
+        if (lane == Lane.PUBLIC
+                && lanes.get(Lane.INTERNAL).admission().getMetrics().getAvailableConcurrentCalls() < priorityReserve) {
+            priorityRejections.increment();
+            return Admission.YIELDED_TO_PRIORITY;
+        }
+        if (!lanes.get(lane).admission().tryAcquirePermission()) {
+            quotaRejections.get(lane).increment();
+            return Admission.QUOTA_EXCEEDED;
+        }
+        return Admission.ADMITTED;
+    }
+
+    public void release(Lane lane) {
+        lanes.get(lane).admission().onComplete();
+    }
+
+    @Override
+    public void destroy() {
+        lanes.values().stream()
+                .map(ExecutionLane::workers)
+                .filter(Objects::nonNull)
+                .forEach(Scheduler::dispose);
+    }
+
+    private static Counter rejections(Lane lane, String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("lanes.rejected")
+                .description("Requests turned away at admission because their lane was full or yielded to a higher-priority lane")
+                .tag("lane", lane.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
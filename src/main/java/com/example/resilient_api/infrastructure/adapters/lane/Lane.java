@@ -0,0 +1,6 @@
+package com.example.resilient_api.infrastructure.adapters.lane;
+
+public enum Lane {
+    PUBLIC,
+    INTERNAL
+}
@@ -0,0 +1,133 @@
+package com.example.resilient_api.infrastructure.adapters.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Conexión propia (fuera del pool) en LISTEN; al reconectar se pide resync: lo notificado mientras tanto se perdió
+@Slf4j
+public class PostgresUserChangeSubscriber implements SmartLifecycle {
+
+    public static final String CHANNEL = "users_changes";
+
+    private final ConnectionFactory connectionFactory;
+    private final List<UserChangeListener> listeners;
+    private final ObjectMapper objectMapper;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final Timer lagTimer;
+    private final Counter receivedCounter;
+    private final Counter reconnectCounter;
+    private final AtomicBoolean connectedBefore = new AtomicBoolean();
+    private volatile Disposable subscription;
+
+    public PostgresUserChangeSubscriber(ConnectionFactory connectionFactory, List<UserChangeListener> listeners,
+                                        ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                        Duration minBackoff, Duration maxBackoff) {
+        this.connectionFactory = connectionFactory;
+        this.listeners = listeners;
+        this.objectMapper = objectMapper;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lagTimer = Timer.builder("users.notifications.lag")
+                .description("Time from the users trigger firing to this node receiving the notification")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("users.notifications.received").register(meterRegistry);
+        this.reconnectCounter = Counter.builder("users.notifications.reconnects").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        subscription = listen()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Change notification connection lost, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::dispatch);
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    private Flux<Notification> listen() {
+        return Flux.usingWhen(
+                Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                connection -> connection.createStatement("LISTEN " + CHANNEL)
+                        .execute()
+                        .flatMap(PostgresqlResult::getRowsUpdated)
+                        .then(Mono.fromRunnable(this::onConnected))
+                        .thenMany(connection.getNotifications())
+                        // El flujo termina cuando se cierra la conexión: se trata como error para reconectar
+                        .concatWith(Mono.error(() -> new IllegalStateException("Notification connection closed"))),
+                PostgresqlConnection::close);
+    }
+
+    private void onConnected() {
+        if (connectedBefore.getAndSet(true)) {
+            reconnectCounter.increment();
+            log.info("Change notification connection re-established, resyncing local state");
+            listeners.forEach(this::resync);
+        } else {
+            log.info("Listening for user changes on channel {}", CHANNEL);
+        }
+    }
+
+    private void dispatch(Notification notification) {
+        if (!CHANNEL.equals(notification.getName()) || notification.getParameter() == null) {
+            return;
+        }
+        try {
+            UserChangeNotification change = objectMapper.readValue(notification.getParameter(), UserChangeNotification.class);
+            receivedCounter.increment();
+            lagTimer.record(Math.max(0, System.currentTimeMillis() - change.timestamp()), TimeUnit.MILLISECONDS);
+            listeners.forEach(listener -> notify(listener, change));
+        } catch (JsonProcessingException ex) {
+            log.error("Invalid user change notification payload: {}", notification.getParameter(), ex);
+        }
+    }
+
+    private void notify(UserChangeListener listener, UserChangeNotification change) {
+        try {
+            listener.onUserChanged(change);
+        } catch (RuntimeException ex) {
+            log.error("Error applying user change {} to {}", change, listener.getClass().getSimpleName(), ex);
+        }
+    }
+
+    private void resync(UserChangeListener listener) {
+        try {
+            listener.onResync();
+        } catch (RuntimeException ex) {
+            log.error("Error resyncing {}", listener.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.resilient_api.infrastructure.adapters.notification;
+
+public interface UserChangeListener {
+
+    void onUserChanged(UserChangeNotification notification);
+
+    // Tras reconectar: los cambios hechos mientras la conexión estaba caída no llegaron
+    void onResync();
+}
@@ -0,0 +1,17 @@
+package com.example.resilient_api.infrastructure.adapters.notification;
+
+public record UserChangeNotification(String operation, Long id, String name, String email, String previousEmail,
+                                     Long version, long timestamp) {
+
+    public static final String INSERT = "INSERT";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    public boolean isInsert() {
+        return INSERT.equals(operation);
+    }
+
+    public boolean isDelete() {
+        return DELETE.equals(operation);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.RefreshToken;
+import com.example.resilient_api.domain.spi.RefreshTokenPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.RefreshTokenEntityMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.RefreshTokenRepository;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+public class RefreshTokenPersistenceAdapter implements RefreshTokenPersistencePort {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenEntityMapper refreshTokenEntityMapper;
+
+    @Override
+    public Mono<RefreshToken> save(RefreshToken refreshToken) {
+        return refreshTokenRepository.insert(refreshToken.tokenHash(), refreshToken.familyId(),
+                        refreshToken.userId(), refreshToken.expiresAt())
+                .thenReturn(refreshToken);
+    }
+
+    @Override
+    public Mono<RefreshToken> findByTokenHash(String tokenHash) {
+        return refreshTokenRepository.findById(tokenHash)
+                .map(refreshTokenEntityMapper::toModel);
+    }
+
+    @Override
+    public Mono<Boolean> markUsed(String tokenHash) {
+        return refreshTokenRepository.markUsed(tokenHash)
+                .map(updated -> updated == 1);
+    }
+
+    @Override
+    public Mono<Void> revokeFamily(UUID familyId) {
+        return refreshTokenRepository.revokeFamily(familyId).then();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserChangeEntityMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserChangeRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReadWriteRouting;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+public class UserChangePersistenceAdapter implements UserChangePersistencePort {
+    private final UserChangeRepository userChangeRepository;
+    private final UserChangeEntityMapper userChangeEntityMapper;
+
+    @Override
+    public Flux<UserChange> findChangesAfter(long offset, int limit) {
+        // Una réplica atrasada solo devuelve menos filas: los offsets son los mismos en todas las bases
+        return userChangeRepository.findChangesAfter(offset, limit)
+                .map(userChangeEntityMapper::toModel)
+                .contextWrite(ReadWriteRouting.readReplica());
+    }
+
+    @Override
+    public Mono<Long> findLatestOffset() {
+        return userChangeRepository.findLatestOffset()
+                .contextWrite(ReadWriteRouting.readReplica());
+    }
+}
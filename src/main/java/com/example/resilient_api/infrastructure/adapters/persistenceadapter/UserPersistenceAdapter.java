@@ -1,11 +1,14 @@
 package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
 
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
 import com.example.resilient_api.domain.spi.UserPersistencePort;
-import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserEntity;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapper;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReadWriteRouting;
 import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -15,6 +18,7 @@ import java.util.List;
 public class UserPersistenceAdapter implements UserPersistencePort {
     private final UserRepository userRepository;
     private final UserEntityMapper userEntityMapper;
+    private final DatabaseClient databaseClient;
 
     @Override
     public Mono<User> save(User user) {
@@ -22,10 +26,17 @@ public class UserPersistenceAdapter implements UserPersistencePort {
                 .map(userEntityMapper::toModel);
     }
 
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return userRepository.insertIfAbsent(user.name(), user.email(), user.password(), user.isAdmin())
+                .map(userEntityMapper::toModel);
+    }
+
     @Override
     public Mono<User> findById(Long id) {
         return userRepository.findById(id)
-                .map(userEntityMapper::toModel);
+                .map(userEntityMapper::toModel)
+                .contextWrite(ReadWriteRouting.readReplica());
     }
 
     @Override
@@ -34,21 +45,52 @@ public class UserPersistenceAdapter implements UserPersistencePort {
                 .map(userEntityMapper::toModel);
     }
 
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return userRepository.findCredentialsByEmail(email)
+                .map(userEntityMapper::toModel);
+    }
+
     @Override
     public Mono<Boolean> existsByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .hasElement();
+        return userRepository.existsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return userRepository.updatePassword(id, previousPassword, newPassword)
+                .map(updated -> updated == 1);
     }
 
     @Override
     public Flux<Long> findExistingIdsByIds(List<Long> ids) {
-        return userRepository.findAllByIdIn(ids)
-                .map(UserEntity::getId);
+        return userRepository.findExistingIds(ids.toArray(Long[]::new))
+                .contextWrite(ReadWriteRouting.readReplica());
     }
 
+    // Lecturas de las rutas: la fila va directa a UserSummary, sin UserEntity ni mapper, y sin leer el hash
     @Override
-    public Flux<User> findAllByIdIn(List<Long> ids) {
-        return userRepository.findAllByIdIn(ids)
-                .map(userEntityMapper::toModel);
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return databaseClient.sql("SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> UserSummaryRows.toSummary(row))
+                .one()
+                .contextWrite(ReadWriteRouting.readReplica());
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return databaseClient.sql("SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(Long[]::new))
+                .map((row, metadata) -> UserSummaryRows.toSummary(row))
+                .all()
+                .contextWrite(ReadWriteRouting.readReplica());
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return userRepository.findVersionsByIds(ids.toArray(Long[]::new))
+                .map(entity -> new UserVersion(entity.getId(), entity.getVersion()))
+                .contextWrite(ReadWriteRouting.readReplica());
     }
 }
@@ -0,0 +1,20 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import io.r2dbc.spi.Row;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class UserSummaryRows {
+
+    public static final String COLUMNS = "id, name, email, is_admin, version";
+
+    public static UserSummary toSummary(Row row) {
+        return new UserSummary(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("is_admin", Boolean.class),
+                row.get("version", Long.class));
+    }
+}
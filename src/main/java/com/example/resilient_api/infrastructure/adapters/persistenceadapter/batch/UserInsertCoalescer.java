@@ -0,0 +1,177 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.batch;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Group commit: las altas concurrentes van en un solo INSERT multi-fila; si falla, se reintentan una a una
+@Slf4j
+public class UserInsertCoalescer implements SmartLifecycle {
+
+    private static final String RETURNING_COLUMNS = "id, name, email, password, is_admin, version";
+
+    private final DatabaseClient databaseClient;
+    private final UserPersistencePort fallback;
+    private final int maxBatchSize;
+    private final Duration linger;
+    private final int maxConcurrentBatches;
+    private final DistributionSummary batchSizes;
+    private final Timer lingerTimer;
+    private final Counter fallbackCounter;
+    private volatile FluxSink<PendingInsert> sink;
+    private volatile Disposable subscription;
+
+    public UserInsertCoalescer(DatabaseClient databaseClient, UserPersistencePort fallback, int maxBatchSize,
+                               Duration linger, int maxConcurrentBatches, MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.fallback = fallback;
+        this.maxBatchSize = maxBatchSize;
+        this.linger = linger;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.batchSizes = DistributionSummary.builder("users.insert.batch.size")
+                .description("Users written per multi-row INSERT")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.lingerTimer = Timer.builder("users.insert.batch.linger")
+                .description("Time a registration waited for its batch to be flushed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("users.insert.batch.fallbacks")
+                .description("Batches retried row by row after the multi-row INSERT failed")
+                .register(meterRegistry);
+    }
+
+    public Mono<User> insertIfAbsent(User user) {
+        return Mono.defer(() -> {
+            FluxSink<PendingInsert> current = sink;
+            if (current == null) {
+                return fallback.insertIfAbsent(user);
+            }
+            Sinks.One<User> result = Sinks.one();
+            current.next(new PendingInsert(user, result, System.nanoTime()));
+            return result.asMono();
+        });
+    }
+
+    @Override
+    public void start() {
+        subscription = Flux.<PendingInsert>create(created -> sink = created)
+                // Backpressure justa: con todos los lotes en vuelo los pendientes esperan en el sink en vez de fallar
+                .bufferTimeout(maxBatchSize, linger, true)
+                .flatMap(this::write, maxConcurrentBatches)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        // Completar el sink vacía el último lote antes de terminar
+        FluxSink<PendingInsert> current = sink;
+        sink = null;
+        if (current != null) {
+            current.complete();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sink != null && subscription != null && !subscription.isDisposed();
+    }
+
+    private Mono<Void> write(List<PendingInsert> batch) {
+        long flushedAt = System.nanoTime();
+        batchSizes.record(batch.size());
+        batch.forEach(pending -> lingerTimer.record(flushedAt - pending.enqueuedAt(), TimeUnit.NANOSECONDS));
+
+        // Mismo email dos veces en el lote: solo el primero entra en el INSERT, el resto es conflicto
+        Map<String, PendingInsert> unique = new LinkedHashMap<>();
+        for (PendingInsert pending : batch) {
+            if (unique.putIfAbsent(pending.user().email().toLowerCase(Locale.ROOT), pending) != null) {
+                pending.result().tryEmitEmpty();
+            }
+        }
+        List<PendingInsert> rows = new ArrayList<>(unique.values());
+        return insertBatch(rows)
+                .doOnNext(inserted -> {
+                    Map<String, User> insertedByEmail = new HashMap<>();
+                    inserted.forEach(user -> insertedByEmail.put(user.email(), user));
+                    rows.forEach(pending -> complete(pending, insertedByEmail.get(pending.user().email())));
+                })
+                .then()
+                .onErrorResume(ex -> {
+                    log.warn("Multi-row insert of {} users failed, retrying one by one", rows.size(), ex);
+                    fallbackCounter.increment();
+                    return Flux.fromIterable(rows)
+                            .flatMap(pending -> fallback.insertIfAbsent(pending.user())
+                                    .doOnSuccess(user -> complete(pending, user))
+                                    .doOnError(pending.result()::tryEmitError)
+                                    .onErrorResume(rowError -> Mono.empty()))
+                            .then();
+                });
+    }
+
+    private Mono<List<User>> insertBatch(List<PendingInsert> rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO users (name, email, password, is_admin) VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:name").append(i)
+                    .append(", :email").append(i)
+                    .append(", :password").append(i)
+                    .append(", :isAdmin").append(i).append(')');
+        }
+        sql.append(" ON CONFLICT DO NOTHING RETURNING ").append(RETURNING_COLUMNS);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            User user = rows.get(i).user();
+            spec = spec.bind("name" + i, user.name())
+                    .bind("email" + i, user.email())
+                    .bind("password" + i, user.password())
+                    .bind("isAdmin" + i, user.isAdmin());
+        }
+        return spec.map((row, metadata) -> toUser(row))
+                .all()
+                .collectList();
+    }
+
+    private static void complete(PendingInsert pending, User inserted) {
+        if (inserted != null) {
+            pending.result().tryEmitValue(inserted);
+        } else {
+            pending.result().tryEmitEmpty();
+        }
+    }
+
+    private static User toUser(Row row) {
+        return new User(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("password", String.class),
+                row.get("is_admin", Boolean.class),
+                row.get("version", Long.class));
+    }
+
+    private record PendingInsert(User user, Sinks.One<User> result, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.changes;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Numera el outbox después del commit y bajo advisory lock: un BIGSERIAL al insertar dejaría ver huecos con transacciones concurrentes
+@Slf4j
+@RequiredArgsConstructor
+public class UserChangeSequencer implements SmartLifecycle {
+
+    // Clave arbitraria pero fija: solo una instancia secuencia a la vez, el resto pasa el ciclo
+    private static final long SEQUENCER_LOCK_KEY = 0x75736572_63686e67L;
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final UserChangeRepository userChangeRepository;
+    private final Duration interval;
+    private final int batchSize;
+    private final Duration retention;
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        Flux<Long> sequencing = Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sequencePending()
+                        .onErrorResume(ex -> {
+                            log.error("Error sequencing user changes", ex);
+                            return Mono.empty();
+                        }), 1);
+        Flux<Integer> purging = Flux.interval(PURGE_INTERVAL)
+                .onBackpressureDrop()
+                .concatMap(tick -> userChangeRepository.deleteSequencedBefore(Instant.now().minus(retention))
+                        .doOnNext(deleted -> log.info("Purged {} user changes", deleted))
+                        .onErrorResume(ex -> {
+                            log.error("Error purging user changes", ex);
+                            return Mono.empty();
+                        }), 1);
+        subscription = Flux.merge(sequencing, purging).subscribe();
+    }
+
+    Mono<Long> sequencePending() {
+        return sequenceBatch()
+                .expand(sequenced -> sequenced == batchSize ? sequenceBatch() : Mono.empty())
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> sequenceBatch() {
+        return databaseClient.sql("SELECT pg_try_advisory_xact_lock(:key) AS acquired")
+                .bind("key", SEQUENCER_LOCK_KEY)
+                .map((row, metadata) -> row.get("acquired", Boolean.class))
+                .one()
+                // Con el lock, cada lote sigue al máximo offset ya publicado y respeta el orden de commit (id)
+                .flatMap(acquired -> !Boolean.TRUE.equals(acquired) ? Mono.just(0L) : databaseClient.sql("""
+                                WITH last AS (
+                                    SELECT coalesce(max(stream_offset), 0) AS value FROM user_changes
+                                ), pending AS (
+                                    SELECT id, row_number() OVER (ORDER BY id) AS rn
+                                    FROM user_changes
+                                    WHERE stream_offset IS NULL
+                                    ORDER BY id
+                                    LIMIT :batchSize
+                                )
+                                UPDATE user_changes c SET stream_offset = last.value + pending.rn
+                                FROM pending, last
+                                WHERE c.id = pending.id""")
+                        .bind("batchSize", batchSize)
+                        .fetch()
+                        .rowsUpdated())
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+}
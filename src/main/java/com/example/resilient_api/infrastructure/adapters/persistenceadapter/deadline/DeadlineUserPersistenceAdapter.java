@@ -0,0 +1,99 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.deadline;
+
+import com.example.resilient_api.domain.model.Deadline;
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cancelar la suscripción R2DBC deja de leer filas y devuelve la conexión al pool
+public class DeadlineUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> exceeded = new ConcurrentHashMap<>();
+
+    public DeadlineUserPersistenceAdapter(UserPersistencePort delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return bound("save", delegate.save(user));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return bound("insertIfAbsent", delegate.insertIfAbsent(user));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return bound("findById", delegate.findById(id));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return bound("findByEmail", delegate.findByEmail(email));
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return bound("findCredentialsByEmail", delegate.findCredentialsByEmail(email));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return bound("existsByEmail", delegate.existsByEmail(email));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return bound("updatePassword", delegate.updatePassword(id, previousPassword, newPassword));
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return bound("findExistingIdsByIds", delegate.findExistingIdsByIds(ids));
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return bound("findSummaryById", delegate.findSummaryById(id));
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return bound("findSummariesByIds", delegate.findSummariesByIds(ids));
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return bound("findVersionsByIds", delegate.findVersionsByIds(ids));
+    }
+
+    private <T> Mono<T> bound(String operation, Mono<T> call) {
+        return Deadline.bound(call)
+                .doOnError(Deadline::isDeadlineExceeded, ex -> counter(operation).increment());
+    }
+
+    private <T> Flux<T> bound(String operation, Flux<T> call) {
+        return Deadline.bound(call)
+                .doOnError(Deadline::isDeadlineExceeded, ex -> counter(operation).increment());
+    }
+
+    private Counter counter(String operation) {
+        return exceeded.computeIfAbsent(operation, key -> Counter.builder("users.persistence.deadline_exceeded")
+                .description("Persistence calls skipped or cancelled because the request deadline passed")
+                .tag("operation", key)
+                .register(meterRegistry));
+    }
+}
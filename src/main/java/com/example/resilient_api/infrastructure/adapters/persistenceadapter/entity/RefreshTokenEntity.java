@@ -0,0 +1,38 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenEntity {
+    @Id
+    @Column("token_hash")
+    private String tokenHash;
+
+    @Column("family_id")
+    private UUID familyId;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("expires_at")
+    private Instant expiresAt;
+
+    @Column("used_at")
+    private Instant usedAt;
+
+    @Column("revoked_at")
+    private Instant revokedAt;
+}
@@ -0,0 +1,39 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table(name = "user_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeEntity {
+    @Id
+    private Long id;
+
+    @Column("stream_offset")
+    private Long streamOffset;
+
+    private String operation;
+
+    @Column("user_id")
+    private Long userId;
+
+    private String name;
+
+    private String email;
+
+    @Column("is_admin")
+    private Boolean isAdmin;
+
+    @Column("occurred_at")
+    private Instant occurredAt;
+}
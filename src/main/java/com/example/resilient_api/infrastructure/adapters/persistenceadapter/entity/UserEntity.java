@@ -22,5 +22,8 @@ public class UserEntity {
 
     @Column("is_admin")
     private Boolean isAdmin;
+
+    // Lo asigna el trigger version_users; no es el @Version de Spring Data (no hay bloqueo optimista)
+    private Long version;
 }
 
@@ -0,0 +1,82 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.fault;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjector;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class FaultInjectingUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+    private final FaultInjector faults;
+
+    @Override
+    public Mono<User> save(User user) {
+        return inject("users.save", Mono.defer(() -> delegate.save(user)));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return inject("users.insertIfAbsent", Mono.defer(() -> delegate.insertIfAbsent(user)));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return inject("users.findById", Mono.defer(() -> delegate.findById(id)));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return inject("users.findByEmail", Mono.defer(() -> delegate.findByEmail(email)));
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return inject("users.findCredentialsByEmail", Mono.defer(() -> delegate.findCredentialsByEmail(email)));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return inject("users.existsByEmail", Mono.defer(() -> delegate.existsByEmail(email)));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return inject("users.updatePassword", Mono.defer(() -> delegate.updatePassword(id, previousPassword, newPassword)));
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return inject("users.findExistingIdsByIds", Flux.defer(() -> delegate.findExistingIdsByIds(ids)));
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return inject("users.findSummaryById", Mono.defer(() -> delegate.findSummaryById(id)));
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return inject("users.findSummariesByIds", Flux.defer(() -> delegate.findSummariesByIds(ids)));
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return inject("users.findVersionsByIds", Flux.defer(() -> delegate.findVersionsByIds(ids)));
+    }
+
+    private <T> Mono<T> inject(String operation, Mono<T> call) {
+        return faults.inject(operation, call, () -> new R2dbcTransientResourceException("Injected fault in " + operation));
+    }
+
+    private <T> Flux<T> inject(String operation, Flux<T> call) {
+        return faults.inject(operation, call, () -> new R2dbcTransientResourceException("Injected fault in " + operation));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.index;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class IndexedUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+    private final UserIdBitmapIndex userIdIndex;
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user)
+                .doOnNext(saved -> userIdIndex.add(saved.id()));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return delegate.insertIfAbsent(user)
+                .doOnNext(saved -> userIdIndex.add(saved.id()));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return delegate.findCredentialsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return delegate.updatePassword(id, previousPassword, newPassword);
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        // Mientras el índice se calienta se consulta la BD
+        if (!userIdIndex.isReady()) {
+            return delegate.findExistingIdsByIds(ids);
+        }
+        // Se filtra antes de Flux.fromIterable, que no admite elementos null
+        return Flux.fromIterable(ids.stream()
+                .filter(id -> id != null && userIdIndex.contains(id))
+                .distinct()
+                .toList());
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return delegate.findSummaryById(id);
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return delegate.findSummariesByIds(ids);
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        // Los ids que el índice sabe inexistentes no llegan a la BD
+        if (!userIdIndex.isReady()) {
+            return delegate.findVersionsByIds(ids);
+        }
+        List<Long> known = ids.stream()
+                .filter(id -> id != null && userIdIndex.contains(id))
+                .distinct()
+                .toList();
+        return known.isEmpty() ? Flux.empty() : delegate.findVersionsByIds(known);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.index;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Solo responde tras una carga completa; hasta entonces se consulta la BD
+public class UserIdBitmapIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Roaring64Bitmap bitmap = new Roaring64Bitmap();
+    // Altas y bajas desde que empezó la reconstrucción anterior (previous) y la actual (current), como en
+    // UserPrefixIndex: una réplica atrasada puede no tener todavía ninguna de las dos, así que se reaplican al cambiar
+    private Delta previous = new Delta();
+    private Delta current = new Delta();
+    private volatile boolean ready;
+
+    public UserIdBitmapIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("users.id.index.bytes", this, UserIdBitmapIndex::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("users.id.index.cardinality", this, UserIdBitmapIndex::cardinality)
+                .register(meterRegistry);
+        Gauge.builder("users.id.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return bitmap.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(long id) {
+        lock.writeLock().lock();
+        try {
+            bitmap.addLong(id);
+            current.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            bitmap.removeLong(id);
+            // El bitmap que se está leyendo de la BD puede traer todavía el id borrado
+            current.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lo anterior a previous ya lo cubrió una reconstrucción completa
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            previous = current;
+            current = new Delta();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeRebuild(Roaring64Bitmap rebuilt) {
+        lock.writeLock().lock();
+        try {
+            previous.applyTo(rebuilt);
+            current.applyTo(rebuilt);
+            rebuilt.runOptimize();
+            bitmap = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            // Sin reconstrucción completa los cambios de previous no están en ningún otro sitio
+            current.applyTo(previous);
+            current = previous;
+            previous = new Delta();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return bitmap.getLongSizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long cardinality() {
+        lock.readLock().lock();
+        try {
+            return bitmap.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Delta {
+        private final Roaring64Bitmap adds = new Roaring64Bitmap();
+        private final Roaring64Bitmap removes = new Roaring64Bitmap();
+
+        void add(long id) {
+            adds.addLong(id);
+            removes.removeLong(id);
+        }
+
+        void remove(long id) {
+            adds.removeLong(id);
+            removes.addLong(id);
+        }
+
+        void applyTo(Roaring64Bitmap target) {
+            target.or(adds);
+            target.andNot(removes);
+        }
+
+        void applyTo(Delta target) {
+            adds.forEach(target::add);
+            removes.forEach(target::remove);
+        }
+    }
+}
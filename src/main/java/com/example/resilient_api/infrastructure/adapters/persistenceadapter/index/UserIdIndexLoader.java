@@ -0,0 +1,96 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.index;
+
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeListener;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReadWriteRouting;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@RequiredArgsConstructor
+public class UserIdIndexLoader implements SmartLifecycle, UserChangeListener {
+
+    private final Supplier<Flux<Long>> idSource;
+    private final UserIdBitmapIndex userIdIndex;
+    private final Duration reconcileInterval;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        subscription = Flux.interval(Duration.ZERO, reconcileInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    @Override
+    public void onUserChanged(UserChangeNotification notification) {
+        if (notification.isInsert()) {
+            userIdIndex.add(notification.id());
+        } else if (notification.isDelete()) {
+            userIdIndex.remove(notification.id());
+        }
+    }
+
+    // Las notificaciones perdidas no están en ningún delta: solo el primario tiene seguro esos ids
+    @Override
+    public void onResync() {
+        rebuild(false).subscribe();
+    }
+
+    public Mono<Roaring64Bitmap> rebuild() {
+        return rebuild(true);
+    }
+
+    private Mono<Roaring64Bitmap> rebuild(boolean fromReplica) {
+        return Mono.defer(() -> {
+                    if (!rebuilding.compareAndSet(false, true)) {
+                        return Mono.<Roaring64Bitmap>empty();
+                    }
+                    userIdIndex.beginRebuild();
+                    long startedAt = System.nanoTime();
+                    return idSource.get()
+                            .reduce(new Roaring64Bitmap(), (bitmap, id) -> {
+                                bitmap.addLong(id);
+                                return bitmap;
+                            })
+                            .doOnNext(rebuilt -> {
+                                userIdIndex.completeRebuild(rebuilt);
+                                log.info("User id index rebuilt: {} ids, {} bytes in {} ms",
+                                        userIdIndex.cardinality(), userIdIndex.sizeInBytes(),
+                                        Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+                            })
+                            .doOnError(ex -> {
+                                userIdIndex.abortRebuild();
+                                log.error("Error rebuilding user id index", ex);
+                            })
+                            .doFinally(signal -> rebuilding.set(false))
+                            .contextWrite(fromReplica ? ReadWriteRouting.readReplica() : Function.identity());
+                })
+                .onErrorResume(ex -> Mono.empty());
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.jdbc;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.UserSummaryRows;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cada llamada en su hilo virtual; una llamada cancelada interrumpe el hilo y el driver cierra esa conexión
+public class JdbcUserPersistenceAdapter implements UserPersistencePort {
+
+    private static final String USER_COLUMNS = "id, name, email, password, is_admin, version";
+    // Mismo predicado que UserRepository: usa users_email_hash_covering
+    private static final String BY_EMAIL = "email_hash = hashtextextended(lower(?), 0) AND lower(email) = lower(?)";
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String INTEGRITY_VIOLATION_CLASS = "23";
+    private static final String CONNECTION_EXCEPTION_CLASS = "08";
+
+    private final DataSource dataSource;
+    private final Scheduler scheduler;
+
+    public JdbcUserPersistenceAdapter(DataSource dataSource, Scheduler scheduler) {
+        this.dataSource = dataSource;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        if (user.id() == null) {
+            return one("INSERT INTO users (name, email, password, is_admin) VALUES (?, ?, ?, ?) RETURNING " + USER_COLUMNS,
+                    statement -> bindUser(statement, user), JdbcUserPersistenceAdapter::toUser);
+        }
+        return one("UPDATE users SET name = ?, email = ?, password = ?, is_admin = ? WHERE id = ? RETURNING " + USER_COLUMNS,
+                statement -> {
+                    bindUser(statement, user);
+                    statement.setLong(5, user.id());
+                }, JdbcUserPersistenceAdapter::toUser)
+                .switchIfEmpty(Mono.error(() -> new TransientDataAccessResourceException(
+                        "Failed to update table [users]: row with id " + user.id() + " does not exist")));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return one("INSERT INTO users (name, email, password, is_admin) VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING RETURNING "
+                + USER_COLUMNS, statement -> bindUser(statement, user), JdbcUserPersistenceAdapter::toUser);
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return one("SELECT " + USER_COLUMNS + " FROM users WHERE id = ?",
+                statement -> statement.setLong(1, id), JdbcUserPersistenceAdapter::toUser);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return one("SELECT " + USER_COLUMNS + " FROM users WHERE " + BY_EMAIL,
+                statement -> bindEmail(statement, email), JdbcUserPersistenceAdapter::toUser);
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return one("SELECT id, email, password, is_admin FROM users WHERE " + BY_EMAIL,
+                statement -> bindEmail(statement, email),
+                row -> new User(row.getLong("id"), null, row.getString("email"), row.getString("password"),
+                        (Boolean) row.getObject("is_admin")));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return one("SELECT EXISTS (SELECT 1 FROM users WHERE " + BY_EMAIL + ")",
+                statement -> bindEmail(statement, email), row -> row.getBoolean(1));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return call(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE users SET password = ? WHERE id = ? AND password = ?")) {
+                statement.setString(1, newPassword);
+                statement.setLong(2, id);
+                statement.setString(3, previousPassword);
+                return statement.executeUpdate() == 1;
+            }
+        });
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return byIds("SELECT id FROM users WHERE id = ANY(?)", ids, row -> row.getLong("id"));
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return one("SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id = ?",
+                statement -> statement.setLong(1, id), JdbcUserPersistenceAdapter::toSummary);
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return byIds("SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id = ANY(?)", ids,
+                JdbcUserPersistenceAdapter::toSummary);
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return byIds("SELECT id, version FROM users WHERE id = ANY(?)", ids,
+                row -> new UserVersion(row.getLong("id"), row.getLong("version")));
+    }
+
+    private <T> Mono<T> one(String sql, StatementBinder binder, RowMapper<T> mapper) {
+        return call(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? mapper.map(rows) : null;
+                }
+            }
+        });
+    }
+
+    // Un solo parámetro bigint[]: el plan no depende del número de ids
+    private <T> Flux<T> byIds(String sql, List<Long> ids, RowMapper<T> mapper) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return call(connection -> {
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setArray(1, array);
+                List<T> results = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        results.add(mapper.map(rows));
+                    }
+                }
+                return results;
+            } finally {
+                array.free();
+            }
+        }).flatMapIterable(results -> results);
+    }
+
+    private <T> Mono<T> call(ConnectionCallback<T> work) {
+        return Mono.fromCallable(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        return work.doInConnection(connection);
+                    } catch (SQLException ex) {
+                        throw translate(ex);
+                    }
+                })
+                .subscribeOn(scheduler);
+    }
+
+    private static RuntimeException translate(SQLException ex) {
+        String state = ex.getSQLState();
+        if (UNIQUE_VIOLATION.equals(state)) {
+            return new DuplicateKeyException(ex.getMessage(), ex);
+        }
+        if (state != null && state.startsWith(INTEGRITY_VIOLATION_CLASS)) {
+            return new DataIntegrityViolationException(ex.getMessage(), ex);
+        }
+        if (state != null && state.startsWith(CONNECTION_EXCEPTION_CLASS)) {
+            return new DataAccessResourceFailureException(ex.getMessage(), ex);
+        }
+        return new TransientDataAccessResourceException(ex.getMessage(), ex);
+    }
+
+    private static void bindUser(PreparedStatement statement, User user) throws SQLException {
+        statement.setString(1, user.name());
+        statement.setString(2, user.email());
+        statement.setString(3, user.password());
+        statement.setObject(4, user.isAdmin());
+    }
+
+    private static void bindEmail(PreparedStatement statement, String email) throws SQLException {
+        statement.setString(1, email);
+        statement.setString(2, email);
+    }
+
+    private static User toUser(ResultSet row) throws SQLException {
+        return new User(row.getLong("id"), row.getString("name"), row.getString("email"), row.getString("password"),
+                (Boolean) row.getObject("is_admin"), row.getLong("version"));
+    }
+
+    private static UserSummary toSummary(ResultSet row) throws SQLException {
+        return new UserSummary(row.getLong("id"), row.getString("name"), row.getString("email"),
+                (Boolean) row.getObject("is_admin"), row.getLong("version"));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionCallback<T> {
+        T doInConnection(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet row) throws SQLException;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.lane;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLane;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class LaneLimitedUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+
+    @Override
+    public Mono<User> save(User user) {
+        return ExecutionLane.withDatabasePermit(delegate.save(user));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return ExecutionLane.withDatabasePermit(delegate.insertIfAbsent(user));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return ExecutionLane.withDatabasePermit(delegate.findById(id));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return ExecutionLane.withDatabasePermit(delegate.findByEmail(email));
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return ExecutionLane.withDatabasePermit(delegate.findCredentialsByEmail(email));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return ExecutionLane.withDatabasePermit(delegate.existsByEmail(email));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return ExecutionLane.withDatabasePermit(delegate.updatePassword(id, previousPassword, newPassword));
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return ExecutionLane.withDatabasePermit(delegate.findExistingIdsByIds(ids));
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return ExecutionLane.withDatabasePermit(delegate.findSummaryById(id));
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return ExecutionLane.withDatabasePermit(delegate.findSummariesByIds(ids));
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return ExecutionLane.withDatabasePermit(delegate.findVersionsByIds(ids));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper;
+
+import com.example.resilient_api.domain.model.RefreshToken;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.RefreshTokenEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface RefreshTokenEntityMapper {
+    RefreshToken toModel(RefreshTokenEntity entity);
+}
@@ -0,0 +1,12 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper;
+
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserChangeEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface UserChangeEntityMapper {
+    @Mapping(source = "streamOffset", target = "offset")
+    UserChange toModel(UserChangeEntity entity);
+}
@@ -0,0 +1,160 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Misma semántica que la tabla users: emails únicos sin distinguir mayúsculas y version solo sube con nombre, email o rol
+public class InMemoryUserPersistenceAdapter implements UserPersistencePort {
+
+    private final Map<Long, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Las escrituras se serializan como lo haría la UNIQUE de email; las lecturas no bloquean
+    private final Object writeLock = new Object();
+
+    @Override
+    public Mono<User> save(User user) {
+        return Mono.fromCallable(() -> {
+            synchronized (writeLock) {
+                if (user.id() == null) {
+                    return insert(user);
+                }
+                User existing = usersById.get(user.id());
+                if (existing == null) {
+                    throw new TransientDataAccessResourceException("Failed to update table [users]: row with id "
+                            + user.id() + " does not exist");
+                }
+                Long owner = idsByEmail.get(key(user.email()));
+                if (owner != null && !owner.equals(user.id())) {
+                    throw new DuplicateKeyException("Duplicate email " + user.email());
+                }
+                boolean changed = !Objects.equals(existing.name(), user.name())
+                        || !Objects.equals(existing.email(), user.email())
+                        || !Objects.equals(existing.isAdmin(), user.isAdmin());
+                User updated = new User(user.id(), user.name(), user.email(), user.password(), user.isAdmin(),
+                        changed ? existing.version() + 1 : existing.version());
+                idsByEmail.remove(key(existing.email()));
+                idsByEmail.put(key(updated.email()), updated.id());
+                usersById.put(updated.id(), updated);
+                return updated;
+            }
+        });
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return Mono.fromCallable(() -> {
+            synchronized (writeLock) {
+                return idsByEmail.containsKey(key(user.email())) ? null : insert(user);
+            }
+        });
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return Mono.fromSupplier(() -> usersById.get(id));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return Mono.fromSupplier(() -> byEmail(email));
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return Mono.fromSupplier(() -> byEmail(email));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return Mono.fromSupplier(() -> idsByEmail.containsKey(key(email)));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return Mono.fromSupplier(() -> {
+            synchronized (writeLock) {
+                User existing = usersById.get(id);
+                if (existing == null || !Objects.equals(existing.password(), previousPassword)) {
+                    return false;
+                }
+                usersById.put(id, new User(id, existing.name(), existing.email(), newPassword, existing.isAdmin(),
+                        existing.version()));
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return Flux.defer(() -> Flux.fromStream(distinct(ids).stream().filter(usersById::containsKey)));
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return findById(id).map(InMemoryUserPersistenceAdapter::summary);
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return Flux.defer(() -> Flux.fromStream(distinct(ids).stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryUserPersistenceAdapter::summary)));
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return Flux.defer(() -> Flux.fromStream(distinct(ids).stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(user -> new UserVersion(user.id(), user.version()))));
+    }
+
+    public int size() {
+        return usersById.size();
+    }
+
+    private User insert(User user) {
+        if (idsByEmail.containsKey(key(user.email()))) {
+            throw new DuplicateKeyException("Duplicate email " + user.email());
+        }
+        User inserted = new User(sequence.incrementAndGet(), user.name(), user.email(), user.password(), user.isAdmin(), 1L);
+        usersById.put(inserted.id(), inserted);
+        idsByEmail.put(key(inserted.email()), inserted.id());
+        return inserted;
+    }
+
+    private User byEmail(String email) {
+        Long id = idsByEmail.get(key(email));
+        return id != null ? usersById.get(id) : null;
+    }
+
+    private static UserSummary summary(User user) {
+        return new UserSummary(user.id(), user.name(), user.email(), user.isAdmin(), user.version());
+    }
+
+    private static LinkedHashSet<Long> distinct(List<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        return distinct;
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+}
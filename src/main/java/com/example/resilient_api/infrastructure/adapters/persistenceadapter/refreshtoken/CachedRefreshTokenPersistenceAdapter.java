@@ -0,0 +1,86 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.refreshtoken;
+
+import com.example.resilient_api.domain.model.RefreshToken;
+import com.example.resilient_api.domain.spi.RefreshTokenPersistencePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Copia de lectura: la rotación y la revocación las sigue decidiendo el UPDATE condicional en la BD
+public class CachedRefreshTokenPersistenceAdapter implements RefreshTokenPersistencePort {
+
+    private final RefreshTokenPersistencePort delegate;
+    private final Map<String, RefreshToken> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachedRefreshTokenPersistenceAdapter(RefreshTokenPersistencePort delegate, int maxEntries,
+                                                MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RefreshToken> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter("auth.refresh_tokens.cache", "result", "hit");
+        this.misses = meterRegistry.counter("auth.refresh_tokens.cache", "result", "miss");
+        meterRegistry.gauge("auth.refresh_tokens.cache.size", this, CachedRefreshTokenPersistenceAdapter::size);
+    }
+
+    @Override
+    public Mono<RefreshToken> save(RefreshToken refreshToken) {
+        return delegate.save(refreshToken)
+                .doOnNext(this::put);
+    }
+
+    @Override
+    public Mono<RefreshToken> findByTokenHash(String tokenHash) {
+        return Mono.defer(() -> {
+            RefreshToken cached = get(tokenHash);
+            if (cached != null) {
+                hits.increment();
+                return Mono.just(cached);
+            }
+            misses.increment();
+            return delegate.findByTokenHash(tokenHash)
+                    .doOnNext(this::put);
+        });
+    }
+
+    @Override
+    public Mono<Boolean> markUsed(String tokenHash) {
+        return delegate.markUsed(tokenHash)
+                .doFinally(signal -> remove(tokenHash));
+    }
+
+    @Override
+    public Mono<Void> revokeFamily(UUID familyId) {
+        return delegate.revokeFamily(familyId)
+                .doFinally(signal -> removeFamily(familyId));
+    }
+
+    private synchronized RefreshToken get(String tokenHash) {
+        return cache.get(tokenHash);
+    }
+
+    private synchronized void put(RefreshToken refreshToken) {
+        cache.put(refreshToken.tokenHash(), refreshToken);
+    }
+
+    private synchronized void remove(String tokenHash) {
+        cache.remove(tokenHash);
+    }
+
+    private synchronized void removeFamily(UUID familyId) {
+        cache.values().removeIf(token -> token.familyId().equals(familyId));
+    }
+
+    private synchronized double size() {
+        return cache.size();
+    }
+}
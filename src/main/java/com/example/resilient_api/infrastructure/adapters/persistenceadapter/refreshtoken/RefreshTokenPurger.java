@@ -0,0 +1,49 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.refreshtoken;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Usados y revocados se guardan hasta la retención para seguir detectando reutilizaciones
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenPurger implements SmartLifecycle {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration interval;
+    private final Duration retention;
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        subscription = Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshTokenRepository.deleteExpiredBefore(Instant.now().minus(retention))
+                        .doOnNext(deleted -> log.info("Purged {} expired refresh tokens", deleted))
+                        .onErrorResume(ex -> {
+                            log.error("Error purging expired refresh tokens", ex);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.RefreshTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends ReactiveCrudRepository<RefreshTokenEntity, String> {
+
+    // El id (hash) lo asigna la aplicación, save() haría UPDATE
+    @Modifying
+    @Query("""
+            INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at)
+            VALUES (:tokenHash, :familyId, :userId, :expiresAt)""")
+    Mono<Integer> insert(String tokenHash, UUID familyId, Long userId, Instant expiresAt);
+
+    @Modifying
+    @Query("""
+            UPDATE refresh_tokens SET used_at = now()
+            WHERE token_hash = :tokenHash AND used_at IS NULL AND revoked_at IS NULL""")
+    Mono<Integer> markUsed(String tokenHash);
+
+    @Modifying
+    @Query("UPDATE refresh_tokens SET revoked_at = now() WHERE family_id = :familyId AND revoked_at IS NULL")
+    Mono<Integer> revokeFamily(UUID familyId);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE expires_at < :before")
+    Mono<Integer> deleteExpiredBefore(Instant before);
+}
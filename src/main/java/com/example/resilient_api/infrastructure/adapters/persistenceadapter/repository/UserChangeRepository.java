@@ -0,0 +1,35 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserChangeEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+public interface UserChangeRepository extends ReactiveCrudRepository<UserChangeEntity, Long> {
+
+    // Solo filas ya secuenciadas: las pendientes (stream_offset NULL) no cumplen el > y no se saltan
+    @Query("""
+            SELECT id, stream_offset, operation, user_id, name, email, is_admin, occurred_at
+            FROM user_changes
+            WHERE stream_offset > :offset
+            ORDER BY stream_offset
+            LIMIT :limit""")
+    Flux<UserChangeEntity> findChangesAfter(long offset, int limit);
+
+    @Query("SELECT coalesce(max(stream_offset), 0) FROM user_changes")
+    Mono<Long> findLatestOffset();
+
+    // La fila con el mayor offset se conserva siempre: es el punto desde el que el secuenciador sigue numerando
+    @Modifying
+    @Query("""
+            DELETE FROM user_changes
+            WHERE stream_offset IS NOT NULL AND occurred_at < :before
+              AND stream_offset < (SELECT max(stream_offset) FROM user_changes)""")
+    Mono<Integer> deleteSequencedBefore(Instant before);
+}
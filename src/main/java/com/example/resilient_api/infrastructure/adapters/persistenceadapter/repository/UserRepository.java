@@ -1,16 +1,52 @@
 package com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository;
 
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @Repository
 public interface UserRepository extends ReactiveCrudRepository<UserEntity, Long> {
+    // email_hash/email_normalized los mantiene el trigger normalize_users_email (lower(email))
+    @Query("""
+            SELECT * FROM users
+            WHERE email_hash = hashtextextended(lower(:email), 0) AND lower(email) = lower(:email)""")
     Mono<UserEntity> findByEmail(String email);
-    Flux<UserEntity> findAllByIdIn(List<Long> ids);
+
+    // Index-only scan sobre users_email_hash_covering: no lee name ni va al heap
+    @Query("""
+            SELECT id, email, password, is_admin FROM users
+            WHERE email_hash = hashtextextended(lower(:email), 0) AND lower(email) = lower(:email)""")
+    Mono<UserEntity> findCredentialsByEmail(String email);
+
+    // Sin destino de conflicto: cubre users_email_normalized_key (mayúsculas) además de la UNIQUE sobre email
+    @Query("""
+            INSERT INTO users (name, email, password, is_admin)
+            VALUES (:name, :email, :password, :isAdmin)
+            ON CONFLICT DO NOTHING
+            RETURNING id, name, email, password, is_admin, version""")
+    Mono<UserEntity> insertIfAbsent(String name, String email, String password, Boolean isAdmin);
+
+    @Modifying
+    @Query("UPDATE users SET password = :newPassword WHERE id = :id AND password = :previousPassword")
+    Mono<Integer> updatePassword(Long id, String previousPassword, String newPassword);
+
+    @Query("""
+            SELECT EXISTS (SELECT 1 FROM users
+                           WHERE email_hash = hashtextextended(lower(:email), 0) AND lower(email) = lower(:email))""")
+    Mono<Boolean> existsByEmail(String email);
+
+    // Un solo parámetro bigint[] en vez de IN ($1..$n): el mismo SQL, y la misma sentencia preparada, para cualquier número de ids
+    @Query("SELECT id FROM users WHERE id = ANY(:ids)")
+    Flux<Long> findExistingIds(Long[] ids);
+
+    @Query("SELECT id, version FROM users WHERE id = ANY(:ids)")
+    Flux<UserEntity> findVersionsByIds(Long[] ids);
+
+    @Query("SELECT id FROM users")
+    Flux<Long> findAllIds();
 }
 
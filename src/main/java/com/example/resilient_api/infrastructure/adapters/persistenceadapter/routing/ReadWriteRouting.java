@@ -0,0 +1,22 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing;
+
+import lombok.experimental.UtilityClass;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Function;
+
+@UtilityClass
+public class ReadWriteRouting {
+
+    public static final String ROUTE_KEY = "users.db.route";
+    public static final String READ_REPLICA = "read-replica";
+
+    public static Function<Context, Context> readReplica() {
+        return context -> context.put(ROUTE_KEY, READ_REPLICA);
+    }
+
+    public static boolean isReadReplica(ContextView context) {
+        return READ_REPLICA.equals(context.getOrDefault(ROUTE_KEY, null));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sin réplicas sanas las lecturas vuelven al primario
+public class ReplicaAwareRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final ConnectionFactory primary;
+    @Getter
+    private final List<ReplicaTarget> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryWrites;
+    private final Counter primaryFallbacks;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    public ReplicaAwareRoutingConnectionFactory(ConnectionFactory primary, List<ReplicaTarget> replicas,
+                                                MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        Map<String, ConnectionFactory> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> {
+            targets.put(replica.getName(), replica.getConnectionFactory());
+            replicaReads.put(replica.getName(), routeCounter(meterRegistry, replica.getName(), "read"));
+        });
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+        this.primaryWrites = routeCounter(meterRegistry, PRIMARY, "primary");
+        this.primaryFallbacks = routeCounter(meterRegistry, PRIMARY, "replica-fallback");
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!ReadWriteRouting.isReadReplica(context)) {
+                primaryWrites.increment();
+                return Mono.just(PRIMARY);
+            }
+            ReplicaTarget replica = nextHealthyReplica();
+            if (replica == null) {
+                primaryFallbacks.increment();
+                return Mono.just(PRIMARY);
+            }
+            replicaReads.get(replica.getName()).increment();
+            return Mono.just(replica.getName());
+        });
+    }
+
+    @Override
+    public void destroy() {
+        dispose(primary);
+        replicas.forEach(replica -> dispose(replica.getConnectionFactory()));
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private ReplicaTarget nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaTarget candidate = replicas.get((start + i) % size);
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target, String route) {
+        return Counter.builder("users.db.route")
+                .description("Connections acquired per routing target")
+                .tag("target", target)
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+public class ReplicaHealthMonitor implements SmartLifecycle {
+
+    // Sin WAL pendiente de aplicar el retraso es 0 aunque el primario esté inactivo
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END::float8""";
+
+    private final List<ReplicaTarget> replicas;
+    private final Duration interval;
+    private final Duration maxLag;
+    private final Duration probeTimeout;
+    private volatile Disposable subscription;
+
+    public ReplicaHealthMonitor(List<ReplicaTarget> replicas, Duration interval, Duration maxLag,
+                                Duration probeTimeout, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.interval = interval;
+        this.maxLag = maxLag;
+        this.probeTimeout = probeTimeout;
+        replicas.forEach(replica -> {
+            Gauge.builder("users.db.replica.lag", replica, ReplicaTarget::getLagSeconds)
+                    .baseUnit("seconds")
+                    .tag("target", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("users.db.replica.healthy", replica, target -> target.isHealthy() ? 1 : 0)
+                    .tag("target", replica.getName())
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public void start() {
+        subscription = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Flux.fromIterable(replicas).flatMap(this::probe).then(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    private Mono<Void> probe(ReplicaTarget replica) {
+        return Mono.usingWhen(
+                        replica.getConnectionFactory().create(),
+                        connection -> Mono.from(connection.createStatement(LAG_QUERY).execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Double.class)))),
+                        Connection::close)
+                .timeout(probeTimeout)
+                .doOnNext(lag -> update(replica, lag, lag <= maxLag.toMillis() / 1000.0))
+                .doOnError(ex -> {
+                    update(replica, replica.getLagSeconds(), false);
+                    log.warn("Replica {} health probe failed: {}", replica.getName(), ex.getMessage());
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    private void update(ReplicaTarget replica, double lagSeconds, boolean healthy) {
+        if (replica.isHealthy() != healthy) {
+            log.info("Replica {} is now {} (lag {} s)", replica.getName(), healthy ? "routable" : "excluded", lagSeconds);
+        }
+        replica.setLagSeconds(lagSeconds);
+        replica.setHealthy(healthy);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@RequiredArgsConstructor
+public class ReplicaTarget {
+    private final String name;
+    private final ConnectionFactory connectionFactory;
+
+    @Setter
+    private volatile boolean healthy;
+
+    @Setter
+    private volatile double lagSeconds;
+}
@@ -0,0 +1,74 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.search;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SearchIndexingUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+    private final UserPrefixIndex prefixIndex;
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user)
+                .doOnNext(saved -> prefixIndex.add(saved.id(), saved.name(), saved.email()));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return delegate.insertIfAbsent(user)
+                .doOnNext(saved -> prefixIndex.add(saved.id(), saved.name(), saved.email()));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return delegate.findCredentialsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return delegate.updatePassword(id, previousPassword, newPassword);
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return delegate.findExistingIdsByIds(ids);
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return delegate.findSummaryById(id);
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return delegate.findSummariesByIds(ids);
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return delegate.findVersionsByIds(ids);
+    }
+}
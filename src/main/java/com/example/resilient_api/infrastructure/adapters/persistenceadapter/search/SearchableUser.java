@@ -0,0 +1,12 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.search;
+
+import io.r2dbc.spi.Row;
+
+public record SearchableUser(long id, String name, String email) {
+
+    public static final String SELECT_ALL = "SELECT id, name, email FROM users";
+
+    public static SearchableUser fromRow(Row row) {
+        return new SearchableUser(row.get("id", Long.class), row.get("name", String.class), row.get("email", String.class));
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.search;
+
+import com.example.resilient_api.domain.model.UserSearchKeys;
+import com.example.resilient_api.domain.spi.UserSearchPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Cada clave son sus primeros KEY_BYTES bytes UTF-8 en dos longs junto al id, en un array ordenado: búsqueda binaria más
+// un recorrido de como mucho limit. Las escrituras van a un delta ordenado; renombrados y borrados siguen hasta el rebuild
+public class UserPrefixIndex implements UserSearchPort {
+
+    static final int KEY_BYTES = 2 * Long.BYTES;
+    private static final int STRIDE = 3;
+    // Mismo orden que compare(): bytes sin signo y, a igual clave, por id
+    private static final Comparator<Entry> KEY_ORDER = Comparator
+            .comparing(Entry::high, Long::compareUnsigned)
+            .thenComparing(Entry::low, Long::compareUnsigned)
+            .thenComparingLong(Entry::id);
+
+    private volatile State state = new State(new long[0], newDelta(), newDelta());
+
+    public UserPrefixIndex(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("users.search_index.keys", this, UserPrefixIndex::keyCount);
+        meterRegistry.gauge("users.search_index.bytes", this, UserPrefixIndex::sizeInBytes);
+    }
+
+    @Override
+    public Flux<Long> findIdsByPrefix(String prefix, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(find(prefix, limit)));
+    }
+
+    public List<Long> find(String prefix, int limit) {
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        Entry from = entry(bytes, (byte) 0x00, Long.MIN_VALUE);
+        Entry to = entry(bytes, (byte) 0xff, Long.MAX_VALUE);
+        State current = state;
+
+        List<Entry> candidates = new ArrayList<>();
+        long[] sorted = current.sorted();
+        for (int i = lowerBound(sorted, from); i < sorted.length / STRIDE && candidates.size() < limit; i++) {
+            Entry entry = new Entry(sorted[i * STRIDE], sorted[i * STRIDE + 1], sorted[i * STRIDE + 2]);
+            if (KEY_ORDER.compare(entry, to) > 0) {
+                break;
+            }
+            candidates.add(entry);
+        }
+        addFirst(current.previous().subSet(from, true, to, true), limit, candidates);
+        addFirst(current.current().subSet(from, true, to, true), limit, candidates);
+        candidates.sort(KEY_ORDER);
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Entry candidate : candidates) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(candidate.id());
+        }
+        return List.copyOf(ids);
+    }
+
+    public void add(long id, String name, String email) {
+        NavigableSet<Entry> delta = state.current();
+        for (String key : UserSearchKeys.keysOf(name, email)) {
+            delta.add(entry(key.getBytes(StandardCharsets.UTF_8), (byte) 0x00, id));
+        }
+    }
+
+    public void beginRebuild() {
+        State current = state;
+        // Lo anterior a esta reconstrucción ya lo cubrió la anterior; lo de current puede faltarle a una réplica atrasada
+        state = new State(current.sorted(), current.current(), newDelta());
+    }
+
+    public void completeRebuild(Builder rebuilt) {
+        State current = state;
+        state = new State(rebuilt.build(), current.previous(), current.current());
+    }
+
+    public void abortRebuild() {
+        State current = state;
+        // Sin reconstrucción completa las entradas de previous no están en ningún otro sitio
+        current.current().addAll(current.previous());
+        state = new State(current.sorted(), newDelta(), current.current());
+    }
+
+    public long keyCount() {
+        State current = state;
+        return current.sorted().length / STRIDE + current.previous().size() + current.current().size();
+    }
+
+    public long sizeInBytes() {
+        return (long) state.sorted().length * Long.BYTES;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static void addFirst(NavigableSet<Entry> range, int limit, List<Entry> candidates) {
+        int added = 0;
+        for (Entry entry : range) {
+            if (added++ == limit) {
+                return;
+            }
+            candidates.add(entry);
+        }
+    }
+
+    private static int lowerBound(long[] sorted, Entry key) {
+        int low = 0;
+        int high = sorted.length / STRIDE;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(sorted, middle, key.high(), key.low(), key.id()) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long[] entries, int index, long high, long low, long id) {
+        int base = index * STRIDE;
+        int byHigh = Long.compareUnsigned(entries[base], high);
+        if (byHigh != 0) {
+            return byHigh;
+        }
+        int byLow = Long.compareUnsigned(entries[base + 1], low);
+        return byLow != 0 ? byLow : Long.compare(entries[base + 2], id);
+    }
+
+    private static Entry entry(byte[] key, byte padding, long id) {
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < KEY_BYTES; i++) {
+            long value = (i < key.length ? key[i] : padding) & 0xff;
+            if (i < Long.BYTES) {
+                high = high << 8 | value;
+            } else {
+                low = low << 8 | value;
+            }
+        }
+        return new Entry(high, low, id);
+    }
+
+    private static NavigableSet<Entry> newDelta() {
+        return new ConcurrentSkipListSet<>(KEY_ORDER);
+    }
+
+    private record Entry(long high, long low, long id) {
+    }
+
+    private record State(long[] sorted, NavigableSet<Entry> previous, NavigableSet<Entry> current) {
+    }
+
+    public static final class Builder {
+        private long[] entries = new long[STRIDE * 1024];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(long id, String name, String email) {
+            for (String key : UserSearchKeys.keysOf(name, email)) {
+                if (size + STRIDE > entries.length) {
+                    entries = Arrays.copyOf(entries, entries.length + (entries.length >> 1));
+                }
+                Entry entry = entry(key.getBytes(StandardCharsets.UTF_8), (byte) 0x00, id);
+                entries[size++] = entry.high();
+                entries[size++] = entry.low();
+                entries[size++] = entry.id();
+            }
+            return this;
+        }
+
+        long[] build() {
+            long[] sorted = size == entries.length ? entries : Arrays.copyOf(entries, size);
+            entries = null;
+            sort(sorted, 0, sorted.length / STRIDE - 1);
+            return sorted;
+        }
+
+        // Quicksort sobre el array con paso 3: ordenar objetos Entry duplicaría la memoria del índice
+        private static void sort(long[] entries, int from, int to) {
+            while (to - from > 16) {
+                int pivot = medianOfThree(entries, from, (from + to) >>> 1, to);
+                long high = entries[pivot * STRIDE];
+                long low = entries[pivot * STRIDE + 1];
+                long id = entries[pivot * STRIDE + 2];
+                int left = from;
+                int right = to;
+                while (left <= right) {
+                    while (compare(entries, left, high, low, id) < 0) {
+                        left++;
+                    }
+                    while (compare(entries, right, high, low, id) > 0) {
+                        right--;
+                    }
+                    if (left <= right) {
+                        swap(entries, left++, right--);
+                    }
+                }
+                // Recursión sobre la mitad menor: la pila queda en O(log n)
+                if (right - from < to - left) {
+                    sort(entries, from, right);
+                    from = left;
+                } else {
+                    sort(entries, left, to);
+                    to = right;
+                }
+            }
+            for (int i = from + 1; i <= to; i++) {
+                for (int j = i; j > from && compare(entries, j - 1, entries[j * STRIDE], entries[j * STRIDE + 1],
+                        entries[j * STRIDE + 2]) > 0; j--) {
+                    swap(entries, j, j - 1);
+                }
+            }
+        }
+
+        private static int medianOfThree(long[] entries, int a, int b, int c) {
+            if (compareAt(entries, a, b) > 0) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            if (compareAt(entries, b, c) > 0) {
+                b = compareAt(entries, a, c) > 0 ? a : c;
+            }
+            return b;
+        }
+
+        private static int compareAt(long[] entries, int left, int right) {
+            return compare(entries, left, entries[right * STRIDE], entries[right * STRIDE + 1], entries[right * STRIDE + 2]);
+        }
+
+        private static void swap(long[] entries, int left, int right) {
+            for (int offset = 0; offset < STRIDE; offset++) {
+                long value = entries[left * STRIDE + offset];
+                entries[left * STRIDE + offset] = entries[right * STRIDE + offset];
+                entries[right * STRIDE + offset] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.search;
+
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeListener;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReadWriteRouting;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Slf4j
+@RequiredArgsConstructor
+public class UserSearchIndexLoader implements SmartLifecycle, UserChangeListener {
+
+    private final Supplier<Flux<SearchableUser>> userSource;
+    private final UserPrefixIndex prefixIndex;
+    private final Duration rebuildInterval;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        subscription = Flux.interval(Duration.ZERO, rebuildInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    @Override
+    public void onUserChanged(UserChangeNotification notification) {
+        // Las bajas y los valores anteriores se quedan hasta la siguiente reconstrucción; el caso de uso los filtra
+        if (!notification.isDelete() && notification.id() != null) {
+            prefixIndex.add(notification.id(), notification.name(), notification.email());
+        }
+    }
+
+    @Override
+    public void onResync() {
+        rebuild().subscribe();
+    }
+
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+                    if (!rebuilding.compareAndSet(false, true)) {
+                        return Mono.<Void>empty();
+                    }
+                    prefixIndex.beginRebuild();
+                    long startedAt = System.nanoTime();
+                    return userSource.get()
+                            .reduce(UserPrefixIndex.builder(), (builder, user) -> builder.add(user.id(), user.name(), user.email()))
+                            .doOnNext(rebuilt -> {
+                                prefixIndex.completeRebuild(rebuilt);
+                                log.info("User search index rebuilt: {} keys, {} bytes in {} ms",
+                                        prefixIndex.keyCount(), prefixIndex.sizeInBytes(),
+                                        Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+                            })
+                            .doOnError(ex -> {
+                                prefixIndex.abortRebuild();
+                                log.error("Error rebuilding user search index", ex);
+                            })
+                            .doFinally(signal -> rebuilding.set(false))
+                            .contextWrite(ReadWriteRouting.readReplica())
+                            .then();
+                })
+                .onErrorResume(ex -> Mono.empty());
+    }
+}
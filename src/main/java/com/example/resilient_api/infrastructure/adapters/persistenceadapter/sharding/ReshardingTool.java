@@ -0,0 +1,88 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+import com.example.resilient_api.domain.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Con las escrituras paradas; los shards destino con la misma URL que el origen conservan sus filas
+@Slf4j
+public class ReshardingTool {
+
+    private static final int MOVE_CONCURRENCY = 8;
+
+    private final ShardSet source;
+    private final List<DatabaseClient> targets;
+    private final List<String> targetUrls;
+    private final ShardRouter targetRouter;
+
+    public ReshardingTool(ShardSet source, List<DatabaseClient> targets, List<String> targetUrls) {
+        this.source = source;
+        this.targets = targets;
+        this.targetUrls = targetUrls;
+        this.targetRouter = new ShardRouter(targets.size());
+    }
+
+    public Mono<Long> run() {
+        AtomicLong moved = new AtomicLong();
+        log.info("Resharding users from {} to {} shards", source.size(), targets.size());
+        return Flux.range(0, source.size())
+                .concatMap(sourceShard -> reshard(sourceShard, moved))
+                .then(Mono.fromSupplier(moved::get))
+                .doOnNext(count -> log.info("Resharding finished: {} users moved", count));
+    }
+
+    private Mono<Void> reshard(int sourceShard, AtomicLong moved) {
+        DatabaseClient from = source.getShards().get(sourceShard);
+        String fromUrl = source.getShardUrls().get(sourceShard);
+        return from.sql("SELECT " + ShardedUserPersistenceAdapter.SELECT_COLUMNS + " FROM users ORDER BY id")
+                .map((row, metadata) -> ShardedUserPersistenceAdapter.toUser(row))
+                .all()
+                .flatMap(user -> {
+                    int targetShard = targetRouter.shardOf(user.id());
+                    Mono<Void> directoryUpdate = updateDirectory(user.id(), targetShard);
+                    if (targetUrls.get(targetShard).equals(fromUrl)) {
+                        return directoryUpdate;
+                    }
+                    return copy(user, targets.get(targetShard))
+                            .then(from.sql("DELETE FROM users WHERE id = :id").bind("id", user.id()).then())
+                            .then(directoryUpdate)
+                            .doOnSuccess(done -> {
+                                long count = moved.incrementAndGet();
+                                if (count % 10_000 == 0) {
+                                    log.info("Resharding progress: {} users moved", count);
+                                }
+                            });
+                }, MOVE_CONCURRENCY)
+                .then();
+    }
+
+    private Mono<Void> copy(User user, DatabaseClient target) {
+        return target.sql("""
+                        INSERT INTO users (id, name, email, password, is_admin, version)
+                        VALUES (:id, :name, :email, :password, :isAdmin, :version)
+                        ON CONFLICT (id) DO UPDATE
+                        SET name = EXCLUDED.name, email = EXCLUDED.email,
+                            password = EXCLUDED.password, is_admin = EXCLUDED.is_admin""")
+                .bind("id", user.id())
+                .bind("name", user.name())
+                .bind("email", user.email())
+                .bind("password", user.password())
+                .bind("isAdmin", user.isAdmin())
+                // Conserva la versión: un ETag anterior al resharding no debe coincidir con otro contenido
+                .bind("version", user.version())
+                .then();
+    }
+
+    private Mono<Void> updateDirectory(Long userId, int shard) {
+        return source.getDirectory()
+                .sql("UPDATE user_directory SET shard = :shard WHERE user_id = :userId")
+                .bind("shard", shard)
+                .bind("userId", userId)
+                .then();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+// Los ids salen de una secuencia global: se mezclan (finalizador de MurmurHash3) antes del módulo para repartir ids consecutivos
+public class ShardRouter {
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(long id) {
+        return (int) Math.floorMod(mix(id), (long) shardCount);
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
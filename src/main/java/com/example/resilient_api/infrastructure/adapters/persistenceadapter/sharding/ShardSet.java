@@ -0,0 +1,48 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+import io.r2dbc.spi.Row;
+import lombok.Getter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class ShardSet {
+
+    private final DatabaseClient directory;
+    private final List<DatabaseClient> shards;
+    private final List<String> shardUrls;
+    private final ShardRouter router;
+
+    public ShardSet(DatabaseClient directory, List<DatabaseClient> shards, List<String> shardUrls) {
+        this.directory = directory;
+        this.shards = shards;
+        this.shardUrls = shardUrls;
+        this.router = new ShardRouter(shards.size());
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public int shardOf(long id) {
+        return router.shardOf(id);
+    }
+
+    public DatabaseClient shardFor(long id) {
+        return shards.get(shardOf(id));
+    }
+
+    public Flux<Long> streamAllIds() {
+        return streamAll("SELECT id FROM users", row -> row.get("id", Long.class));
+    }
+
+    public <T> Flux<T> streamAll(String sql, Function<Row, T> mapper) {
+        return Flux.fromIterable(shards)
+                .flatMap(shard -> shard.sql(sql)
+                        .map((row, metadata) -> mapper.apply(row))
+                        .all());
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.UserSummaryRows;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// El directorio guarda los emails en minúsculas: las búsquedas por email no distinguen mayúsculas
+@RequiredArgsConstructor
+public class ShardedUserPersistenceAdapter implements UserPersistencePort {
+
+    private static final String USER_COLUMNS = "id, name, email, password, is_admin";
+    static final String SELECT_COLUMNS = USER_COLUMNS + ", version";
+
+    private final ShardSet shardSet;
+
+    @Override
+    public Mono<User> save(User user) {
+        return user.id() == null
+                ? insertIfAbsent(user).switchIfEmpty(Mono.error(() -> new DuplicateKeyException("Email already registered")))
+                : update(user);
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        DatabaseClient directory = shardSet.getDirectory();
+        return directory.sql("SELECT nextval('user_id_seq') AS id")
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                // El directorio es el árbitro de unicidad del email entre shards
+                .flatMap(id -> directory
+                        .sql("""
+                                INSERT INTO user_directory (email, user_id, shard) VALUES (lower(:email), :userId, :shard)
+                                ON CONFLICT (email) DO NOTHING
+                                RETURNING user_id""")
+                        .bind("email", user.email())
+                        .bind("userId", id)
+                        .bind("shard", shardSet.shardOf(id))
+                        .map((row, metadata) -> row.get("user_id", Long.class))
+                        .one())
+                .flatMap(id -> insertIntoShard(new User(id, user.name(), user.email(), user.password(), user.isAdmin()))
+                        // Compensación: si falla el shard se libera el email reservado en el directorio
+                        .onErrorResume(ex -> directory.sql("DELETE FROM user_directory WHERE user_id = :userId")
+                                .bind("userId", id)
+                                .then()
+                                .then(Mono.error(ex))));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return shardSet.shardFor(id)
+                .sql("SELECT " + SELECT_COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toUser(row))
+                .one();
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return shardSet.getDirectory()
+                .sql("SELECT user_id FROM user_directory WHERE email = lower(:email)")
+                .bind("email", email)
+                .map((row, metadata) -> row.get("user_id", Long.class))
+                .one()
+                .flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return findByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return shardSet.getDirectory()
+                .sql("SELECT EXISTS (SELECT 1 FROM user_directory WHERE email = lower(:email)) AS found")
+                .bind("email", email)
+                .map((row, metadata) -> row.get("found", Boolean.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return shardSet.shardFor(id)
+                .sql("UPDATE users SET password = :newPassword WHERE id = :id AND password = :previousPassword")
+                .bind("id", id)
+                .bind("previousPassword", previousPassword)
+                .bind("newPassword", newPassword)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated == 1);
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return scatter(ids, (shard, shardIds) -> shard
+                .sql("SELECT id FROM users WHERE id = ANY(:ids)")
+                .bind("ids", shardIds.toArray(Long[]::new))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .all());
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return shardSet.shardFor(id)
+                .sql("SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> UserSummaryRows.toSummary(row))
+                .one();
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return scatter(ids, (shard, shardIds) -> shard
+                .sql("SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id = ANY(:ids)")
+                .bind("ids", shardIds.toArray(Long[]::new))
+                .map((row, metadata) -> UserSummaryRows.toSummary(row))
+                .all());
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return scatter(ids, (shard, shardIds) -> shard
+                .sql("SELECT id, version FROM users WHERE id = ANY(:ids)")
+                .bind("ids", shardIds.toArray(Long[]::new))
+                .map((row, metadata) -> new UserVersion(row.get("id", Long.class), row.get("version", Long.class)))
+                .all());
+    }
+
+    private Mono<User> insertIntoShard(User user) {
+        return shardSet.shardFor(user.id())
+                .sql("INSERT INTO users (" + USER_COLUMNS + ") VALUES (:id, :name, :email, :password, :isAdmin)")
+                .bind("id", user.id())
+                .bind("name", user.name())
+                .bind("email", user.email())
+                .bind("password", user.password())
+                .bind("isAdmin", user.isAdmin())
+                .then()
+                .thenReturn(new User(user.id(), user.name(), user.email(), user.password(), user.isAdmin(), 1L));
+    }
+
+    private Mono<User> update(User user) {
+        return shardSet.getDirectory()
+                .sql("UPDATE user_directory SET email = lower(:email) WHERE user_id = :userId")
+                .bind("email", user.email())
+                .bind("userId", user.id())
+                .then()
+                .then(shardSet.shardFor(user.id())
+                        .sql("UPDATE users SET name = :name, email = :email, password = :password, is_admin = :isAdmin WHERE id = :id")
+                        .bind("id", user.id())
+                        .bind("name", user.name())
+                        .bind("email", user.email())
+                        .bind("password", user.password())
+                        .bind("isAdmin", user.isAdmin())
+                        .then())
+                .thenReturn(user);
+    }
+
+    private <T> Flux<T> scatter(List<Long> ids, ShardQuery<T> query) {
+        Map<Integer, List<Long>> idsByShard = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.groupingBy(shardSet::shardOf));
+        return Flux.fromIterable(idsByShard.entrySet())
+                .flatMap(entry -> query.run(shardSet.getShards().get(entry.getKey()), entry.getValue()),
+                        Math.max(1, idsByShard.size()));
+    }
+
+    static User toUser(Row row) {
+        return new User(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("password", String.class),
+                row.get("is_admin", Boolean.class),
+                row.get("version", Long.class));
+    }
+
+    @FunctionalInterface
+    private interface ShardQuery<T> {
+        Flux<T> run(DatabaseClient shard, List<Long> shardIds);
+    }
+}
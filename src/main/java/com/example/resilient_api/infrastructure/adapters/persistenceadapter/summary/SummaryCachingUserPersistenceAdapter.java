@@ -0,0 +1,101 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SummaryCachingUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+    private final UserSummaryCache summaryCache;
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user)
+                .doOnNext(saved -> summaryCache.supersede(saved.id(), saved.version()));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return delegate.insertIfAbsent(user);
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return delegate.findCredentialsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        // La contraseña no está en UserSummary
+        return delegate.updatePassword(id, previousPassword, newPassword);
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return delegate.findExistingIdsByIds(ids);
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return Mono.defer(() -> {
+            UserSummary cached = summaryCache.get(id);
+            return cached != null
+                    ? Mono.just(cached)
+                    : delegate.findSummaryById(id).doOnNext(summaryCache::record);
+        });
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return Flux.defer(() -> {
+            List<UserSummary> cached = new ArrayList<>(ids.size());
+            List<Long> missing = new ArrayList<>();
+            for (Long id : new LinkedHashSet<>(ids)) {
+                if (id == null) {
+                    continue;
+                }
+                UserSummary user = summaryCache.get(id);
+                if (user != null) {
+                    cached.add(user);
+                } else {
+                    missing.add(id);
+                }
+            }
+            if (missing.isEmpty()) {
+                return Flux.fromIterable(cached);
+            }
+            return Flux.fromIterable(cached)
+                    .concatWith(delegate.findSummariesByIds(missing)
+                            .doOnNext(summaryCache::record));
+        });
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return delegate.findVersionsByIds(ids);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeListener;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserSummaryCache implements UserChangeListener {
+
+    private final Map<Long, UserSummary> users;
+    // Versión mínima aceptable por id, como UserVersionCache: una lectura iniciada antes de una notificación ya
+    // aplicada no puede volver a cachear la versión vieja (ni escribirla en el snapshot) hasta el próximo cambio
+    private final Map<Long, Long> floors;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserSummaryCache(int maxEntries, MeterRegistry meterRegistry) {
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserSummary> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.floors = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter("users.summary_cache", "result", "hit");
+        this.misses = meterRegistry.counter("users.summary_cache", "result", "miss");
+        meterRegistry.gauge("users.summary_cache.size", this, UserSummaryCache::size);
+    }
+
+    public UserSummary get(Long id) {
+        UserSummary user;
+        synchronized (this) {
+            user = users.get(id);
+        }
+        (user != null ? hits : misses).increment();
+        return user;
+    }
+
+    public synchronized void record(UserSummary user) {
+        if (user.id() == null || user.version() == null) {
+            return;
+        }
+        Long floor = floors.get(user.id());
+        if (floor != null && user.version() < floor) {
+            return;
+        }
+        // Una lectura de réplica atrasada no pisa una versión más nueva
+        users.merge(user.id(), user, (cached, read) -> read.version() >= cached.version() ? read : cached);
+    }
+
+    public synchronized void evict(Long id) {
+        users.remove(id);
+    }
+
+    // Sin versión solo se puede desalojar: no hay suelo con el que rechazar lecturas viejas
+    public synchronized void supersede(Long id, Long version) {
+        if (version == null) {
+            users.remove(id);
+            return;
+        }
+        floors.merge(id, version, Math::max);
+        UserSummary cached = users.get(id);
+        if (cached != null && cached.version() < version) {
+            users.remove(id);
+        }
+    }
+
+    public synchronized void clear() {
+        users.clear();
+    }
+
+    // Del menos al más usado recientemente: el orden que espera restore
+    public synchronized List<UserSummary> entries() {
+        return new ArrayList<>(users.values());
+    }
+
+    public synchronized void restore(List<UserSummary> entries) {
+        entries.forEach(this::record);
+    }
+
+    @Override
+    public synchronized void onUserChanged(UserChangeNotification notification) {
+        if (notification.isInsert()) {
+            return;
+        }
+        // Un borrado deja un tombstone: ninguna lectura en vuelo puede resucitar al usuario
+        supersede(notification.id(), notification.isDelete() ? Long.MAX_VALUE : notification.version());
+    }
+
+    @Override
+    public void onResync() {
+        clear();
+    }
+
+    private synchronized double size() {
+        return users.size();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary;
+
+import com.example.resilient_api.domain.model.UserSummary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Formato (big-endian): magic USNP, versión (short), offset (long), creación en epoch ms (long), nº de usuarios (int);
+// por usuario id y version (long), isAdmin (byte, -1 si null), name y email (longitud int, -1 si null, y UTF-8); CRC32 (int) al final
+public record UserSummarySnapshot(long offset, Instant createdAt, List<UserSummary> users) {
+
+    private static final int MAGIC = 0x55534E50;
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    // Fichero temporal y rename: nunca se lee un snapshot a medias
+    public static void write(Path file, long offset, Collection<UserSummary> users) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream fileOut = Files.newOutputStream(temporary);
+                 CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut, 1 << 16), crc);
+                 DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(MAGIC);
+                out.writeShort(FORMAT_VERSION);
+                out.writeLong(offset);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(users.size());
+                for (UserSummary user : users) {
+                    out.writeLong(user.id());
+                    out.writeLong(user.version());
+                    out.writeByte(user.isAdmin() == null ? -1 : user.isAdmin() ? 1 : 0);
+                    writeString(out, user.name());
+                    writeString(out, user.email());
+                }
+                out.flush();
+                // El CRC no se incluye a sí mismo: se escribe directamente al fichero
+                new DataOutputStream(fileOut).writeInt((int) crc.getValue());
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static UserSummarySnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a users snapshot (size " + size + "): " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodyLength = (int) size - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyLength));
+            if ((int) crc.getValue() != buffer.getInt(bodyLength)) {
+                throw new IOException("Users snapshot checksum mismatch: " + file);
+            }
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a users snapshot: " + file);
+            }
+            short format = buffer.getShort();
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Unsupported users snapshot format " + format + ": " + file);
+            }
+            long offset = buffer.getLong();
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            List<UserSummary> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long version = buffer.getLong();
+                byte isAdmin = buffer.get();
+                String name = readString(buffer);
+                String email = readString(buffer);
+                users.add(new UserSummary(id, name, email, isAdmin < 0 ? null : isAdmin == 1, version));
+            }
+            return new UserSummarySnapshot(offset, createdAt, users);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
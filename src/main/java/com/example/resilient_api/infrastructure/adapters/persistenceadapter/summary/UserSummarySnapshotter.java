@@ -0,0 +1,180 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary;
+
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Si el feed ya no tiene los cambios posteriores al offset del snapshot (retención), el snapshot se descarta
+@Slf4j
+public class UserSummarySnapshotter implements SmartLifecycle {
+
+    private static final int CATCH_UP_BATCH_SIZE = 1000;
+    // Primera pasada pronto: cubre los cambios entre la recuperación y el LISTEN del suscriptor de notificaciones
+    private static final Duration FIRST_TICK_DELAY = Duration.ofSeconds(5);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+    private static final long UNKNOWN_OFFSET = -1;
+
+    private final UserSummaryCache summaryCache;
+    private final UserChangePersistencePort changes;
+    private final Path file;
+    private final Duration interval;
+    private final Timer writeTimer;
+    private final AtomicLong appliedOffset = new AtomicLong(UNKNOWN_OFFSET);
+    private volatile Disposable subscription;
+
+    public UserSummarySnapshotter(UserSummaryCache summaryCache, UserChangePersistencePort changes, Path file,
+                                  Duration interval, MeterRegistry meterRegistry) {
+        this.summaryCache = summaryCache;
+        this.changes = changes;
+        this.file = file;
+        this.interval = interval;
+        this.writeTimer = Timer.builder("users.summary_snapshot.write")
+                .description("Time to catch up with the change feed and write the users snapshot")
+                .register(meterRegistry);
+        meterRegistry.gauge("users.summary_snapshot.offset", appliedOffset, AtomicLong::doubleValue);
+    }
+
+    @Override
+    public void start() {
+        restore();
+        subscription = Flux.interval(FIRST_TICK_DELAY, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> snapshot()
+                        .onErrorResume(ex -> {
+                            log.error("Error writing users snapshot to {}", file, ex);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+        // La instancia que sustituye a esta arranca con lo último que había en caché
+        try {
+            snapshot().block(STOP_TIMEOUT);
+        } catch (RuntimeException ex) {
+            log.warn("Users snapshot not written on shutdown: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    // Antes que el servidor web (DEFAULT_PHASE - 2048): no se aceptan peticiones hasta terminar la recuperación
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    Mono<Void> snapshot() {
+        return catchUp()
+                .then(Mono.fromCallable(() -> {
+                    long offset = appliedOffset.get();
+                    if (offset == UNKNOWN_OFFSET) {
+                        return 0;
+                    }
+                    List<UserSummary> users = summaryCache.entries();
+                    writeTimer.recordCallable(() -> {
+                        UserSummarySnapshot.write(file, offset, users);
+                        return null;
+                    });
+                    return users.size();
+                }).subscribeOn(Schedulers.boundedElastic()))
+                .doOnNext(written -> log.debug("Users snapshot written: {} users up to change {}", written, appliedOffset.get()))
+                .then();
+    }
+
+    void restore() {
+        long startedAt = System.nanoTime();
+        UserSummarySnapshot snapshot;
+        try {
+            snapshot = UserSummarySnapshot.read(file);
+        } catch (NoSuchFileException ex) {
+            log.info("No users snapshot at {}, starting with an empty cache", file);
+            return;
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable users snapshot {}: {}", file, ex.getMessage());
+            deleteQuietly();
+            return;
+        }
+        summaryCache.restore(snapshot.users());
+        appliedOffset.set(snapshot.offset());
+        try {
+            long replayed = catchUp().block();
+            log.info("Restored {} users from snapshot taken at {} and applied {} later changes in {} ms",
+                    snapshot.users().size(), snapshot.createdAt(), replayed,
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        } catch (RuntimeException ex) {
+            // Sin poder ponerse al día el snapshot no es fiable
+            log.warn("Discarding users snapshot: could not read changes after {}: {}", snapshot.offset(), ex.getMessage());
+            summaryCache.clear();
+            appliedOffset.set(UNKNOWN_OFFSET);
+        }
+    }
+
+    private Mono<Long> catchUp() {
+        return Mono.defer(() -> {
+            if (appliedOffset.get() == UNKNOWN_OFFSET) {
+                // Sin snapshot la caché se llenó con lecturas recientes: basta con seguir el feed desde ahora
+                return changes.findLatestOffset()
+                        .doOnNext(appliedOffset::set)
+                        .thenReturn(0L);
+            }
+            return applyBatch()
+                    .expand(applied -> applied == CATCH_UP_BATCH_SIZE ? applyBatch() : Mono.empty())
+                    .reduce(0L, Long::sum);
+        });
+    }
+
+    private Mono<Long> applyBatch() {
+        long from = appliedOffset.get();
+        return changes.findChangesAfter(from, CATCH_UP_BATCH_SIZE)
+                .collectList()
+                .map(batch -> {
+                    // Los offsets no tienen huecos: si el primero no es el siguiente, la retención ya borró cambios
+                    if (!batch.isEmpty() && batch.get(0).offset() != from + 1) {
+                        log.warn("Change feed no longer holds changes after {} (oldest is {}), clearing users cache",
+                                from, batch.get(0).offset());
+                        summaryCache.clear();
+                    }
+                    for (UserChange change : batch) {
+                        if (!UserChangeNotification.INSERT.equals(change.operation())) {
+                            summaryCache.evict(change.userId());
+                        }
+                        appliedOffset.set(change.offset());
+                    }
+                    return (long) batch.size();
+                });
+    }
+
+    private void deleteQuietly() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete users snapshot {}: {}", file, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.tracing;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.tracing.ReactiveSpans;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TracingUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+    private final ReactiveSpans spans;
+
+    @Override
+    public Mono<User> save(User user) {
+        return spans.span("users.save", delegate.save(user));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return spans.span("users.insertIfAbsent", delegate.insertIfAbsent(user));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return spans.span("users.findById", delegate.findById(id));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return spans.span("users.findByEmail", delegate.findByEmail(email));
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return spans.span("users.findCredentialsByEmail", delegate.findCredentialsByEmail(email));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return spans.span("users.existsByEmail", delegate.existsByEmail(email));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        return spans.span("users.updatePassword", delegate.updatePassword(id, previousPassword, newPassword));
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return spans.span("users.findExistingIdsByIds", delegate.findExistingIdsByIds(ids));
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return spans.span("users.findSummaryById", delegate.findSummaryById(id));
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return spans.span("users.findSummariesByIds", delegate.findSummariesByIds(ids));
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return spans.span("users.findVersionsByIds", delegate.findVersionsByIds(ids));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.version;
+
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeListener;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class UserVersionCache implements UserChangeListener {
+
+    private final Map<Long, Long> versions;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserVersionCache(int maxEntries, MeterRegistry meterRegistry) {
+        this.versions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter("users.version_cache", "result", "hit");
+        this.misses = meterRegistry.counter("users.version_cache", "result", "miss");
+        meterRegistry.gauge("users.version_cache.size", this, UserVersionCache::size);
+    }
+
+    public Long get(Long id) {
+        Long version;
+        synchronized (this) {
+            version = versions.get(id);
+        }
+        (version != null ? hits : misses).increment();
+        return version;
+    }
+
+    public synchronized void record(Long id, Long version) {
+        if (id == null || version == null) {
+            return;
+        }
+        // Las versiones solo crecen: una lectura de réplica atrasada no pisa la de una notificación ya aplicada
+        versions.merge(id, version, Math::max);
+    }
+
+    public synchronized void evict(Long id) {
+        versions.remove(id);
+    }
+
+    @Override
+    public void onUserChanged(UserChangeNotification notification) {
+        if (notification.isDelete() || notification.version() == null) {
+            evict(notification.id());
+        } else {
+            record(notification.id(), notification.version());
+        }
+    }
+
+    @Override
+    public synchronized void onResync() {
+        versions.clear();
+    }
+
+    private synchronized double size() {
+        return versions.size();
+    }
+}
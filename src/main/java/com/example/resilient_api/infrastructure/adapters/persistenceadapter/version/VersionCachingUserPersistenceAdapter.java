@@ -0,0 +1,109 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.version;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class VersionCachingUserPersistenceAdapter implements UserPersistencePort {
+    private final UserPersistencePort delegate;
+    private final UserVersionCache versionCache;
+
+    @Override
+    public Mono<User> save(User user) {
+        // El usuario devuelto por save() lleva la versión de entrada, no la que asignó el trigger
+        return delegate.save(user)
+                .doOnNext(saved -> versionCache.evict(saved.id()));
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        return delegate.insertIfAbsent(user)
+                .doOnNext(this::record);
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return delegate.findById(id)
+                .doOnNext(this::record);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Mono<User> findCredentialsByEmail(String email) {
+        return delegate.findCredentialsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(Long id, String previousPassword, String newPassword) {
+        // La contraseña no forma parte de la versión
+        return delegate.updatePassword(id, previousPassword, newPassword);
+    }
+
+    @Override
+    public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+        return delegate.findExistingIdsByIds(ids);
+    }
+
+    @Override
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return delegate.findSummaryById(id)
+                .doOnNext(this::record);
+    }
+
+    @Override
+    public Flux<UserSummary> findSummariesByIds(List<Long> ids) {
+        return delegate.findSummariesByIds(ids)
+                .doOnNext(this::record);
+    }
+
+    @Override
+    public Flux<UserVersion> findVersionsByIds(List<Long> ids) {
+        return Flux.defer(() -> {
+            List<UserVersion> cached = new ArrayList<>(ids.size());
+            List<Long> missing = new ArrayList<>();
+            for (Long id : new LinkedHashSet<>(ids)) {
+                if (id == null) {
+                    continue;
+                }
+                Long version = versionCache.get(id);
+                if (version != null) {
+                    cached.add(new UserVersion(id, version));
+                } else {
+                    missing.add(id);
+                }
+            }
+            if (missing.isEmpty()) {
+                return Flux.fromIterable(cached);
+            }
+            return Flux.fromIterable(cached)
+                    .concatWith(delegate.findVersionsByIds(missing)
+                            .doOnNext(found -> versionCache.record(found.id(), found.version())));
+        });
+    }
+
+    private void record(User user) {
+        versionCache.record(user.id(), user.version());
+    }
+
+    private void record(UserSummary summary) {
+        versionCache.record(summary.id(), summary.version());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.resilient_api.infrastructure.adapters.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Mayor coste cuyo encode mediano cabe en targetLatency; cada punto duplica el trabajo, así que basta medir dos costes
+@Slf4j
+public class BCryptStrengthCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private final Duration targetLatency;
+    private final int minStrength;
+    private final int maxStrength;
+
+    public BCryptStrengthCalibrator(Duration targetLatency, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strength range must be within 4..31");
+        }
+        this.targetLatency = targetLatency;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+    }
+
+    public int calibrate() {
+        long baseNanos = medianEncodeNanos(minStrength);
+        int strength = minStrength;
+        while (strength < maxStrength && baseNanos << (strength + 1 - minStrength) <= targetLatency.toNanos()) {
+            strength++;
+        }
+        // La extrapolación asume escalado 2^n; se comprueba y se baja un nivel si el host no la cumple
+        long measuredNanos = strength == minStrength ? baseNanos : medianEncodeNanos(strength);
+        if (strength > minStrength && measuredNanos > targetLatency.toNanos()) {
+            strength--;
+            measuredNanos = measuredNanos / 2;
+        }
+        log.info("BCrypt strength calibrated to {} (~{} ms per hash, target {} ms, strength {} took {} ms)",
+                strength, Duration.ofNanos(measuredNanos).toMillis(), targetLatency.toMillis(),
+                minStrength, Duration.ofNanos(baseNanos).toMillis());
+        return strength;
+    }
+
+    private static long medianEncodeNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -34,18 +34,20 @@ public class JwtAdapter implements JwtPort {
     }
 
     @Override
-    public String generateToken(JwtPayload payload) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expirationTime);
+    public Mono<String> generateToken(JwtPayload payload) {
+        return Mono.fromCallable(() -> {
+            Date now = new Date();
+            Date expiryDate = new Date(now.getTime() + expirationTime);
 
-        return Jwts.builder()
-                .subject(payload.email())
-                .claim("userId", payload.userId())
-                .claim("isAdmin", payload.isAdmin())
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(secretKey)
-                .compact();
+            return Jwts.builder()
+                    .subject(payload.email())
+                    .claim("userId", payload.userId())
+                    .claim("isAdmin", payload.isAdmin())
+                    .issuedAt(now)
+                    .expiration(expiryDate)
+                    .signWith(secretKey)
+                    .compact();
+        });
     }
 
     @Override
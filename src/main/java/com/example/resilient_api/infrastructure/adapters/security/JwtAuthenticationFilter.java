@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -14,7 +15,6 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.util.Collections;
 import java.util.List;
 
 @Component
@@ -22,15 +22,20 @@ import java.util.List;
 @Slf4j
 public class JwtAuthenticationFilter implements WebFilter {
 
+    static final GrantedAuthority ROLE_ADMIN = new SimpleGrantedAuthority("ROLE_ADMIN");
+    static final GrantedAuthority ROLE_USER = new SimpleGrantedAuthority("ROLE_USER");
+    // Inmutables y compartidas por todas las peticiones
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List.of(ROLE_ADMIN);
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(ROLE_USER);
+
     private static final String BEARER_PREFIX = "Bearer ";
     private final JwtPort jwtPort;
+    private final RoutePolicy routePolicy;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String path = exchange.getRequest().getURI().getPath();
-
-        // Skip authentication for public endpoints
-        if (isPublicEndpoint(path)) {
+        // Skip authentication where the route policy lets everyone through
+        if (!routePolicy.requiresToken(exchange.getRequest())) {
             return chain.filter(exchange);
         }
 
@@ -50,19 +55,11 @@ public class JwtAuthenticationFilter implements WebFilter {
                 });
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return path.equals("/auth/login")
-                || path.equals("/users")
-                || path.startsWith("/actuator");
-    }
-
     private Mono<Void> authenticateUser(JwtPayload payload, ServerWebExchange exchange, WebFilterChain chain) {
-        List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                new SimpleGrantedAuthority(Boolean.TRUE.equals(payload.isAdmin()) ? "ROLE_ADMIN" : "ROLE_USER")
-        );
+        List<GrantedAuthority> authorities = Boolean.TRUE.equals(payload.isAdmin()) ? ADMIN_AUTHORITIES : USER_AUTHORITIES;
 
         UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(payload, null, authorities);
+                UsernamePasswordAuthenticationToken.authenticated(payload, null, authorities);
 
         // Store payload in exchange attributes for later use
         exchange.getAttributes().put("jwtPayload", payload);
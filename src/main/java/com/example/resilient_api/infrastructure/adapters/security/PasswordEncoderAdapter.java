@@ -1,24 +1,76 @@
 package com.example.resilient_api.infrastructure.adapters.security;
 
 import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import com.example.resilient_api.domain.model.Deadline;
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLane;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// El hash nunca va en el event loop: workers del lane de la petición, o boundedElastic si no hay
 @Component
 @RequiredArgsConstructor
 public class PasswordEncoderAdapter implements PasswordEncoderPort {
 
+    private static final Pattern BCRYPT = Pattern.compile("^(?:\\{bcrypt})?\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final Pattern PREFIX = Pattern.compile("^\\{([^}]+)}");
+
     private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
 
     @Override
-    public String encode(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+    public Mono<String> encode(String rawPassword) {
+        return ExecutionLane.onWorkers(Mono.fromCallable(() -> {
+            long startedAt = System.nanoTime();
+            String encoded = passwordEncoder.encode(rawPassword);
+            timer("encode", encoded).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return encoded;
+        }), Schedulers.boundedElastic());
     }
 
     @Override
     public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
-        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        // Un hash no se puede interrumpir: con el deadline vencido ni siquiera se empieza
+        return Deadline.bound(ExecutionLane.onWorkers(Mono.fromCallable(() -> timer("matches", encodedPassword)
+                .recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword))), Schedulers.boundedElastic()));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private Timer timer(String operation, String encodedPassword) {
+        String[] format = describe(encodedPassword);
+        return timers.computeIfAbsent(operation + '|' + format[0] + '|' + format[1], key -> Timer.builder("auth.password.hash")
+                .tag("operation", operation)
+                .tag("algorithm", format[0])
+                .tag("strength", format[1])
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    // Los hashes BCrypt llevan el coste embebido ($2a$NN$); del resto solo se conoce el prefijo {id}
+    static String[] describe(String encodedPassword) {
+        if (encodedPassword == null) {
+            return new String[]{"unknown", "unknown"};
+        }
+        Matcher bcrypt = BCRYPT.matcher(encodedPassword);
+        if (bcrypt.find()) {
+            return new String[]{"bcrypt", String.valueOf(Integer.parseInt(bcrypt.group(1)))};
+        }
+        Matcher prefix = PREFIX.matcher(encodedPassword);
+        return new String[]{prefix.find() ? prefix.group(1) : "unknown", "default"};
     }
 }
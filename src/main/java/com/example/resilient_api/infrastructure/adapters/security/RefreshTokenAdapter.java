@@ -0,0 +1,49 @@
+package com.example.resilient_api.infrastructure.adapters.security;
+
+import com.example.resilient_api.domain.api.RefreshTokenPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+
+// 256 bits aleatorios: con esa entropía basta un SHA-256, no hace falta un hash de contraseña
+@Component
+public class RefreshTokenAdapter implements RefreshTokenPort {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Duration timeToLive;
+
+    public RefreshTokenAdapter(@Value("${jwt.refresh-expiration:2592000000}") long refreshExpiration) {
+        this.timeToLive = Duration.ofMillis(refreshExpiration);
+    }
+
+    @Override
+    public String generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Override
+    public String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public Duration timeToLive() {
+        return timeToLive;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.resilient_api.infrastructure.adapters.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Gana la regla más específica: exacta antes que prefijo, prefijo más largo antes, método concreto antes que cualquiera
+public final class RoutePolicy {
+
+    public enum Access { PERMIT_ALL, AUTHENTICATED, ADMIN }
+
+    private static final String ANY_SUFFIX = "/**";
+    private static final Mono<AuthorizationDecision> GRANTED = Mono.just(new AuthorizationDecision(true));
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Map<String, Rule> exact;
+    private final Map<String, Rule> prefixes;
+    private final Access otherwise;
+
+    private RoutePolicy(Map<String, Rule> exact, Map<String, Rule> prefixes, Access otherwise) {
+        this.exact = Map.copyOf(exact);
+        this.prefixes = Map.copyOf(prefixes);
+        this.otherwise = otherwise;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Access accessFor(ServerHttpRequest request) {
+        return accessFor(request.getMethod(), pathToMatch(request.getPath().pathWithinApplication()));
+    }
+
+    public Access accessFor(HttpMethod method, String path) {
+        Access access = lookup(exact.get(path), method);
+        if (access != null) {
+            return access;
+        }
+        String candidate = path;
+        while (true) {
+            access = lookup(prefixes.get(candidate), method);
+            if (access != null) {
+                return access;
+            }
+            if (candidate.isEmpty()) {
+                return otherwise;
+            }
+            candidate = candidate.substring(0, Math.max(0, candidate.lastIndexOf('/')));
+        }
+    }
+
+    // False en rutas abiertas: validar el token ahí no cambiaría nada
+    public boolean requiresToken(ServerHttpRequest request) {
+        return accessFor(request) != Access.PERMIT_ALL;
+    }
+
+    public ReactiveAuthorizationManager<AuthorizationContext> authorizationManager() {
+        return (authentication, context) -> switch (accessFor(context.getExchange().getRequest())) {
+            case PERMIT_ALL -> GRANTED;
+            case AUTHENTICATED -> authentication
+                    .map(auth -> new AuthorizationDecision(auth.isAuthenticated()))
+                    .defaultIfEmpty(DENIED);
+            case ADMIN -> authentication
+                    .map(auth -> new AuthorizationDecision(auth.isAuthenticated() && isAdmin(auth)))
+                    .defaultIfEmpty(DENIED);
+        };
+    }
+
+    // Segmentos decodificados y sin parámetros de matriz, como los compara PathPattern en el router:
+    // con la ruta cruda, GET /users/%73earch llegaría a searchUsers clasificada como /users/**
+    static String pathToMatch(PathContainer path) {
+        String raw = path.value();
+        if (raw.indexOf('%') < 0 && raw.indexOf(';') < 0) {
+            return raw;
+        }
+        StringBuilder decoded = new StringBuilder(raw.length());
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                String value = segment.valueToMatch();
+                // Un %2F decodificado no puede fabricar un separador que el router no ve
+                decoded.append(value.indexOf('/') < 0 ? value : segment.value());
+            } else {
+                decoded.append(element.value());
+            }
+        }
+        return decoded.toString();
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (JwtAuthenticationFilter.ROLE_ADMIN.equals(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Access lookup(Rule rule, HttpMethod method) {
+        if (rule == null) {
+            return null;
+        }
+        Access access = rule.byMethod().get(method);
+        return access != null ? access : rule.anyMethod();
+    }
+
+    private record Rule(Access anyMethod, Map<HttpMethod, Access> byMethod) {
+
+        Rule with(HttpMethod method, Access access) {
+            if (method == null) {
+                return new Rule(anyMethod != null ? anyMethod : access, byMethod);
+            }
+            Map<HttpMethod, Access> merged = new HashMap<>(byMethod);
+            merged.putIfAbsent(method, access);
+            return new Rule(anyMethod, Map.copyOf(merged));
+        }
+    }
+
+    // Para el mismo patrón y método gana la primera regla
+    public static final class Builder {
+        private final Map<String, Rule> exact = new HashMap<>();
+        private final Map<String, Rule> prefixes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder route(Access access, String... patterns) {
+            return route(access, null, patterns);
+        }
+
+        public Builder route(Access access, HttpMethod method, String... patterns) {
+            for (String pattern : patterns) {
+                boolean prefix = pattern.endsWith(ANY_SUFFIX);
+                String key = prefix ? pattern.substring(0, pattern.length() - ANY_SUFFIX.length()) : pattern;
+                if (key.contains("*") || key.contains("{")) {
+                    throw new IllegalArgumentException("Only exact paths and prefix/** are supported: " + pattern);
+                }
+                (prefix ? prefixes : exact).merge(key, new Rule(null, Map.of()).with(method, access),
+                        (existing, added) -> existing.with(method, access));
+            }
+            return this;
+        }
+
+        public RoutePolicy otherwise(Access access) {
+            return new RoutePolicy(exact, prefixes, access);
+        }
+    }
+}
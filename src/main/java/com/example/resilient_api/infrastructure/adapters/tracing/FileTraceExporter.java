@@ -0,0 +1,72 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import brave.Tags;
+import brave.handler.MutableSpan;
+import brave.handler.MutableSpanBytesEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Una línea por traza (array JSON de Zipkin v2); con maxPending en cola se descartan y se cuentan
+@Slf4j
+public class FileTraceExporter implements TraceExporter, DisposableBean {
+
+    private static final MutableSpanBytesEncoder ENCODER = MutableSpanBytesEncoder.zipkinJsonV2(Tags.ERROR);
+
+    private final Path file;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    // Un solo hilo en el que se puede bloquear (los de newSingle son no bloqueantes)
+    private final Scheduler writer = Schedulers.newBoundedElastic(1, Integer.MAX_VALUE, "trace-export");
+    private final Counter dropped;
+
+    public FileTraceExporter(Path file, int maxPending, MeterRegistry meterRegistry) {
+        this.file = file;
+        this.maxPending = maxPending;
+        this.dropped = Counter.builder("tracing.tail.export.dropped")
+                .description("Kept traces not written because the export queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void export(List<MutableSpan> trace, String reason) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        List<MutableSpan> spans = List.copyOf(trace);
+        writer.schedule(() -> {
+            try {
+                write(spans);
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    private void write(List<MutableSpan> spans) {
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(ENCODER.encodeList(spans));
+            out.write('\n');
+        } catch (IOException ex) {
+            log.warn("Could not write trace to {}: {}", file, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        writer.dispose();
+    }
+}
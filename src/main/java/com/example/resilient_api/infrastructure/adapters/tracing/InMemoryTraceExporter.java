@@ -0,0 +1,32 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import brave.handler.MutableSpan;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+public class InMemoryTraceExporter implements TraceExporter {
+
+    private final int capacity;
+    private final Deque<KeptTrace> traces = new ArrayDeque<>();
+
+    public InMemoryTraceExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void export(List<MutableSpan> trace, String reason) {
+        if (traces.size() == capacity) {
+            traces.removeLast();
+        }
+        traces.addFirst(new KeptTrace(List.copyOf(trace), reason));
+    }
+
+    public synchronized List<KeptTrace> recent() {
+        return List.copyOf(traces);
+    }
+
+    public record KeptTrace(List<MutableSpan> spans, String reason) {
+    }
+}
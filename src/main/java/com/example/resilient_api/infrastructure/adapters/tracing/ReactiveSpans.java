@@ -0,0 +1,62 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+// El span padre sale de la observación que WebFlux deja en el contexto; fuera de una petición trazada no hay span
+@RequiredArgsConstructor
+public class ReactiveSpans {
+
+    private final Tracer tracer;
+
+    public <T> Mono<T> span(String name, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            Span parent = parentSpan(context);
+            if (parent == null) {
+                return call;
+            }
+            Span span = tracer.nextSpan(parent).name(name).start();
+            return call.doOnError(span::error)
+                    .doOnTerminate(span::end)
+                    .doOnCancel(() -> cancel(span));
+        });
+    }
+
+    public <T> Flux<T> span(String name, Flux<T> call) {
+        return Flux.deferContextual(context -> {
+            Span parent = parentSpan(context);
+            if (parent == null) {
+                return call;
+            }
+            Span span = tracer.nextSpan(parent).name(name).start();
+            return call.doOnError(span::error)
+                    .doOnTerminate(span::end)
+                    .doOnCancel(() -> cancel(span));
+        });
+    }
+
+    private Span parentSpan(ContextView context) {
+        Observation observation = context.getOrDefault(ObservationThreadLocalAccessor.KEY, null);
+        if (observation != null) {
+            TracingObservationHandler.TracingContext tracingContext = observation.getContextView()
+                    .get(TracingObservationHandler.TracingContext.class);
+            if (tracingContext != null && tracingContext.getSpan() != null) {
+                return tracingContext.getSpan();
+            }
+        }
+        return tracer.currentSpan();
+    }
+
+    // Cancelado por deadline o por el cliente: útil para explicar una traza lenta
+    private static void cancel(Span span) {
+        span.tag("cancelled", "true");
+        span.end();
+    }
+}
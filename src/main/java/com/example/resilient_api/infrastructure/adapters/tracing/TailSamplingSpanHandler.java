@@ -0,0 +1,138 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Brave graba todo en local aunque el head sampler no muestree nada: aquí se decide al cerrar la raíz
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    private final long slowThresholdMicros;
+    private final double sampleRate;
+    private final int maxPendingTraces;
+    private final int maxSpansPerTrace;
+    private final TraceExporter exporter;
+    private final Map<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final Map<String, Counter> kept = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter discarded;
+    private final Counter overflow;
+
+    public TailSamplingSpanHandler(Duration slowThreshold, double sampleRate, int maxPendingTraces, int maxSpansPerTrace,
+                                   TraceExporter exporter, MeterRegistry meterRegistry) {
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1_000;
+        this.sampleRate = sampleRate;
+        this.maxPendingTraces = maxPendingTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.exporter = exporter;
+        this.meterRegistry = meterRegistry;
+        this.discarded = Counter.builder("tracing.tail.discarded")
+                .description("Traces dropped at the end of a fast, successful request")
+                .register(meterRegistry);
+        this.overflow = Counter.builder("tracing.tail.overflow")
+                .description("Requests not buffered because max-pending-traces requests were already in flight")
+                .register(meterRegistry);
+        Gauge.builder("tracing.tail.pending", pending, Map::size)
+                .description("Requests whose spans are being buffered")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean begin(TraceContext context, MutableSpan span, TraceContext parent) {
+        if (context.isLocalRoot()) {
+            if (pending.size() < maxPendingTraces) {
+                pending.put(context.localRootId(), new PendingTrace());
+            } else {
+                overflow.increment();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (!context.isLocalRoot()) {
+            // Los spans que acaban después de su raíz (trabajo en segundo plano) no encuentran buffer y se descartan
+            PendingTrace trace = pending.get(context.localRootId());
+            if (trace != null && cause != Cause.ABANDONED) {
+                trace.add(span);
+            }
+            return true;
+        }
+        PendingTrace trace = pending.remove(context.localRootId());
+        if (trace == null || cause == Cause.ABANDONED) {
+            return true;
+        }
+        trace.add(span);
+        String reason = decide(span, trace);
+        if (reason == null) {
+            discarded.increment();
+        } else {
+            kept(reason).increment();
+            exporter.export(trace.spans(), reason);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handlesAbandoned() {
+        // Una raíz que nunca termina liberaría su buffer solo así
+        return true;
+    }
+
+    private String decide(MutableSpan root, PendingTrace trace) {
+        if (trace.failed() || isServerError(root)) {
+            return "error";
+        }
+        if (root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros) {
+            return "slow";
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return "sampled";
+        }
+        return null;
+    }
+
+    // Los handlers responden el error sin propagarlo: el span del servidor solo lo refleja en sus etiquetas
+    private static boolean isServerError(MutableSpan root) {
+        String status = root.tag("status");
+        return "SERVER_ERROR".equals(root.tag("outcome")) || (status != null && status.startsWith("5"));
+    }
+
+    private Counter kept(String reason) {
+        return kept.computeIfAbsent(reason, key -> Counter.builder("tracing.tail.kept")
+                .description("Traces kept and exported, by the reason they were kept")
+                .tag("reason", key)
+                .register(meterRegistry));
+    }
+
+    private class PendingTrace {
+        private final List<MutableSpan> spans = new ArrayList<>();
+        private boolean failed;
+
+        synchronized void add(MutableSpan span) {
+            failed |= span.error() != null || span.tag("error") != null;
+            if (spans.size() < maxSpansPerTrace) {
+                spans.add(span);
+            }
+        }
+
+        synchronized boolean failed() {
+            return failed;
+        }
+
+        synchronized List<MutableSpan> spans() {
+            return List.copyOf(spans);
+        }
+    }
+}
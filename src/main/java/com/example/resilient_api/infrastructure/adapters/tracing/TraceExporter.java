@@ -0,0 +1,12 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import brave.handler.MutableSpan;
+
+import java.util.List;
+
+// Se llama en el hilo que cerró la raíz, normalmente un event loop: no puede bloquear
+public interface TraceExporter {
+
+    // reason: slow, error o sampled
+    void export(List<MutableSpan> trace, String reason);
+}
@@ -0,0 +1,22 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import com.example.resilient_api.domain.api.JwtPort;
+import com.example.resilient_api.domain.model.JwtPayload;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class TracingJwtPort implements JwtPort {
+    private final JwtPort delegate;
+    private final ReactiveSpans spans;
+
+    @Override
+    public Mono<String> generateToken(JwtPayload payload) {
+        return spans.span("jwt.generate", delegate.generateToken(payload));
+    }
+
+    @Override
+    public Mono<JwtPayload> validateAndExtractPayload(String token) {
+        return spans.span("jwt.validate", delegate.validateAndExtractPayload(token));
+    }
+}
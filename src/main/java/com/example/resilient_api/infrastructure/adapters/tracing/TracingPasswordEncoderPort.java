@@ -0,0 +1,26 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class TracingPasswordEncoderPort implements PasswordEncoderPort {
+    private final PasswordEncoderPort delegate;
+    private final ReactiveSpans spans;
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return spans.span("password.encode", delegate.encode(rawPassword));
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return spans.span("password.matches", delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return delegate.needsRehash(encodedPassword);
+    }
+}
@@ -20,14 +20,23 @@ public class RouterRest {
     @Bean
     @RouterOperations({
         @RouterOperation(path = "/auth/login", method = RequestMethod.POST, beanClass = AuthHandler.class, beanMethod = "login"),
+        @RouterOperation(path = "/auth/refresh", method = RequestMethod.POST, beanClass = AuthHandler.class, beanMethod = "refresh"),
+        @RouterOperation(path = "/auth/revoke", method = RequestMethod.POST, beanClass = AuthHandler.class, beanMethod = "revoke"),
         @RouterOperation(path = "/users", method = RequestMethod.POST, beanClass = UserHandlerImpl.class, beanMethod = "createUser"),
+        @RouterOperation(path = "/users/changes", method = RequestMethod.GET, beanClass = UserHandlerImpl.class, beanMethod = "getUserChanges"),
+        @RouterOperation(path = "/users/search", method = RequestMethod.GET, beanClass = UserHandlerImpl.class, beanMethod = "searchUsers"),
         @RouterOperation(path = "/users/{id}", method = RequestMethod.GET, beanClass = UserHandlerImpl.class, beanMethod = "getUserById"),
         @RouterOperation(path = "/users/check-exists", method = RequestMethod.POST, beanClass = UserHandlerImpl.class, beanMethod = "checkUsersExist"),
         @RouterOperation(path = "/users/by-ids", method = RequestMethod.POST, beanClass = UserHandlerImpl.class, beanMethod = "getUsersByIds")
     })
     public RouterFunction<ServerResponse> routerFunction(UserHandlerImpl userHandler, AuthHandler authHandler) {
         return route(POST("/auth/login"), authHandler::login)
+            .andRoute(POST("/auth/refresh"), authHandler::refresh)
+            .andRoute(POST("/auth/revoke"), authHandler::revoke)
             .andRoute(POST("/users"), userHandler::createUser)
+            // Antes de /users/{id}: "changes" y "search" no son ids
+            .andRoute(GET("/users/changes"), userHandler::getUserChanges)
+            .andRoute(GET("/users/search"), userHandler::searchUsers)
             .andRoute(GET("/users/{id}"), userHandler::getUserById)
             .andRoute(POST("/users/check-exists"), userHandler::checkUsersExist)
             .andRoute(POST("/users/by-ids"), userHandler::getUsersByIds);
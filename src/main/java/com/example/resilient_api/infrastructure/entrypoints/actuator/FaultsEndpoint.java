@@ -0,0 +1,52 @@
+package com.example.resilient_api.infrastructure.entrypoints.actuator;
+
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjector;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultSpec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+
+// POST /actuator/faults/users.findById {"medianLatency":"20ms","p99Latency":"500ms","errorRate":0.01} degrada una operación;
+// DELETE en la misma ruta la restaura y DELETE /actuator/faults lo restaura todo
+@Endpoint(id = "faults")
+@RequiredArgsConstructor
+public class FaultsEndpoint {
+    private final FaultInjector faultInjector;
+
+    @ReadOperation
+    public Map<String, FaultSpec> faults() {
+        return faultInjector.specs();
+    }
+
+    @WriteOperation
+    public FaultSpec configure(@Selector String target, @Nullable Duration medianLatency, @Nullable Duration p99Latency,
+                               @Nullable Double errorRate, @Nullable Double stallRate) {
+        FaultSpec spec;
+        try {
+            spec = new FaultSpec(medianLatency, p99Latency, errorRate == null ? 0 : errorRate, stallRate == null ? 0 : stallRate);
+        } catch (IllegalArgumentException ex) {
+            // 400 en lugar de 500
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+        faultInjector.set(target, spec);
+        return spec;
+    }
+
+    @DeleteOperation
+    public void clear(@Selector String target) {
+        faultInjector.clear(target);
+    }
+
+    @DeleteOperation
+    public void clearAll() {
+        faultInjector.clearAll();
+    }
+}
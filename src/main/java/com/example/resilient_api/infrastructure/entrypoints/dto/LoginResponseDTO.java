@@ -14,4 +14,5 @@ public class LoginResponseDTO {
     private Long userId;
     private String email;
     private Boolean isAdmin;
+    private String refreshToken;
 }
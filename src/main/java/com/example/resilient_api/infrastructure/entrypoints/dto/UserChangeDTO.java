@@ -0,0 +1,20 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserChangeDTO {
+    private Long offset;
+    private String operation;
+    private Long userId;
+    private String name;
+    private String email;
+    private Boolean isAdmin;
+    private Instant occurredAt;
+}
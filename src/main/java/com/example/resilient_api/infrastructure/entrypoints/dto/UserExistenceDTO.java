@@ -0,0 +1,13 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExistenceDTO {
+    private Long id;
+    private Boolean exists;
+}
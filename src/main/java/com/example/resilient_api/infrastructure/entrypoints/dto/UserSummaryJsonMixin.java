@@ -0,0 +1,15 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.boot.jackson.JsonMixin;
+
+// La versión va en la cabecera ETag, no en el cuerpo
+@JsonMixin(UserSummary.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public abstract class UserSummaryJsonMixin {
+
+    @JsonIgnore
+    abstract Long version();
+}
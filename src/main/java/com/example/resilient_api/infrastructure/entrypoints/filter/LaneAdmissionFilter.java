@@ -0,0 +1,63 @@
+package com.example.resilient_api.infrastructure.entrypoints.filter;
+
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLane;
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLanes;
+import com.example.resilient_api.infrastructure.adapters.lane.Lane;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+// Antes de la autenticación: una petición rechazada no cuesta ni validar el token ni un hash
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "lanes.enabled", havingValue = "true", matchIfMissing = true)
+public class LaneAdmissionFilter implements WebFilter {
+
+    private static final Set<String> PUBLIC_POST_PATHS = Set.of("/auth/login", "/auth/refresh", "/auth/revoke", "/users");
+    // El feed de cambios es una conexión de larga duración: ocuparía un permiso interno indefinidamente
+    private static final Set<String> UNLANED_PATHS = Set.of("/users/changes");
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ExecutionLanes executionLanes;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Lane lane = classify(exchange.getRequest());
+        if (lane == null) {
+            return chain.filter(exchange);
+        }
+        if (executionLanes.tryAdmit(lane) != ExecutionLanes.Admission.ADMITTED) {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return exchange.getResponse().setComplete();
+        }
+        ExecutionLane executionLane = executionLanes.get(lane);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ExecutionLane.CONTEXT_KEY, executionLane))
+                .doFinally(signal -> executionLanes.release(lane));
+    }
+
+    static Lane classify(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        if (HttpMethod.POST.equals(request.getMethod()) && PUBLIC_POST_PATHS.contains(path)) {
+            return Lane.PUBLIC;
+        }
+        if (path.startsWith("/users/") && !UNLANED_PATHS.contains(path)) {
+            return Lane.INTERNAL;
+        }
+        return null;
+    }
+}
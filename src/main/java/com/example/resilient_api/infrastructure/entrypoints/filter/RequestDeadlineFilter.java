@@ -0,0 +1,119 @@
+package com.example.resilient_api.infrastructure.entrypoints.filter;
+
+import com.example.resilient_api.domain.model.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// X-Request-Deadline es absoluto y X-Request-Timeout relativo: gana el más cercano, con tope max-timeout
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestDeadlineFilter implements WebFilter {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    // El feed de cambios no termina: solo se le aplica el deadline que pida el llamante
+    private static final List<String> STREAMING_PATHS = List.of("/users/changes");
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final Counter rejected;
+    private final Timer exceeded;
+    private final Timer late;
+
+    public RequestDeadlineFilter(@Value("${requests.deadline.default-timeout:PT10S}") Duration defaultTimeout,
+                                 @Value("${requests.deadline.max-timeout:PT60S}") Duration maxTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        this.rejected = Counter.builder("requests.deadline.rejected")
+                .description("Requests refused on arrival because their deadline had already passed")
+                .register(meterRegistry);
+        this.exceeded = Timer.builder("requests.deadline.exceeded")
+                .description("Work done on requests abandoned with 504 when their deadline passed")
+                .register(meterRegistry);
+        this.late = Timer.builder("requests.deadline.late")
+                .description("Work done on requests that completed after their deadline, when the caller had given up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Instant now = Instant.now();
+        Deadline deadline = resolve(exchange, now);
+        if (deadline == null) {
+            return chain.filter(exchange);
+        }
+        if (deadline.isExpired()) {
+            rejected.increment();
+            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+            return exchange.getResponse().setComplete();
+        }
+        long startedAt = System.nanoTime();
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(Deadline.CONTEXT_KEY, deadline))
+                .doFinally(signal -> recordWaste(exchange, deadline, signal, System.nanoTime() - startedAt));
+    }
+
+    private void recordWaste(ServerWebExchange exchange, Deadline deadline, SignalType signal, long elapsedNanos) {
+        if (HttpStatus.GATEWAY_TIMEOUT.equals(exchange.getResponse().getStatusCode())) {
+            exceeded.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        } else if (signal != SignalType.CANCEL && deadline.isExpired()) {
+            late.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Deadline resolve(ServerWebExchange exchange, Instant now) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        Instant expiresAt = null;
+        try {
+            String absolute = headers.getFirst(DEADLINE_HEADER);
+            if (absolute != null) {
+                expiresAt = parseInstant(absolute.trim());
+            }
+            String relative = headers.getFirst(TIMEOUT_HEADER);
+            if (relative != null) {
+                Instant fromTimeout = now.plusMillis(Long.parseLong(relative.trim()));
+                expiresAt = expiresAt == null || fromTimeout.isBefore(expiresAt) ? fromTimeout : expiresAt;
+            }
+        } catch (NumberFormatException | DateTimeException ex) {
+            // Una cabecera ilegible no debe tumbar la petición: se trata como ausente
+            log.warn("Ignoring invalid request deadline header: {}", ex.getMessage());
+            expiresAt = null;
+        }
+        if (expiresAt == null) {
+            if (defaultTimeout.isZero() || STREAMING_PATHS.contains(exchange.getRequest().getPath().value())) {
+                return null;
+            }
+            expiresAt = now.plus(defaultTimeout);
+        }
+        Instant cap = now.plus(maxTimeout);
+        return new Deadline(expiresAt.isAfter(cap) ? cap : expiresAt);
+    }
+
+    private static Instant parseInstant(String value) {
+        return value.chars().allMatch(Character::isDigit)
+                ? Instant.ofEpochMilli(Long.parseLong(value))
+                : Instant.parse(value);
+    }
+}
@@ -5,6 +5,7 @@ import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.exceptions.TechnicalException;
 import com.example.resilient_api.infrastructure.entrypoints.dto.LoginRequestDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.RefreshTokenRequestDTO;
 import com.example.resilient_api.infrastructure.entrypoints.mapper.AuthMapper;
 import com.example.resilient_api.infrastructure.entrypoints.util.APIResponse;
 import com.example.resilient_api.infrastructure.entrypoints.util.ErrorDTO;
@@ -59,6 +60,53 @@ public class AuthHandler {
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
+    @Operation(
+        operationId = "refresh",
+        summary = "Renovar token",
+        description = "Rota el refresh token y devuelve un nuevo token JWT sin volver a verificar la contraseña (endpoint público)",
+        tags = {"Autenticación"},
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Tokens renovados"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado o reutilizado")
+        }
+    )
+    public Mono<ServerResponse> refresh(ServerRequest request) {
+        String messageId = getMessageId(request);
+        return request.bodyToMono(RefreshTokenRequestDTO.class)
+                .defaultIfEmpty(new RefreshTokenRequestDTO())
+                .flatMap(refreshRequest -> authServicePort.refresh(refreshRequest.getRefreshToken(), messageId))
+                .flatMap(loginResponse -> ServerResponse.status(HttpStatus.OK)
+                        .bodyValue(authMapper.loginResponseToLoginResponseDTO(loginResponse)))
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error on Refresh - [ERROR]", ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    @Operation(
+        operationId = "revoke",
+        summary = "Cerrar sesión",
+        description = "Revoca el refresh token y todos los emitidos a partir del mismo login (endpoint público)",
+        tags = {"Autenticación"},
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Sesión revocada"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido")
+        }
+    )
+    public Mono<ServerResponse> revoke(ServerRequest request) {
+        String messageId = getMessageId(request);
+        return request.bodyToMono(RefreshTokenRequestDTO.class)
+                .defaultIfEmpty(new RefreshTokenRequestDTO())
+                .flatMap(revokeRequest -> authServicePort.revoke(revokeRequest.getRefreshToken(), messageId))
+                .then(ServerResponse.noContent().build())
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error on Revoke - [ERROR]", ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
     private Mono<ServerResponse> handleBusinessException(BusinessException ex, String messageId) {
         return buildErrorResponse(
                 HttpStatus.UNAUTHORIZED,
@@ -68,6 +116,14 @@ public class AuthHandler {
     }
 
     private Mono<ServerResponse> handleTechnicalException(TechnicalException ex, String messageId) {
+        TechnicalMessage technicalMessage = ex.getTechnicalMessage();
+        if (technicalMessage == TechnicalMessage.DEADLINE_EXCEEDED || technicalMessage == TechnicalMessage.LANE_SATURATED) {
+            return buildErrorResponse(
+                    HttpStatus.valueOf(Integer.parseInt(technicalMessage.getCode())),
+                    messageId,
+                    technicalMessage,
+                    List.of(buildErrorDTO(ex.getTechnicalMessage())));
+        }
         return buildErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 messageId,
@@ -4,10 +4,13 @@ import com.example.resilient_api.domain.api.UserServicePort;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.UserExistence;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserChangeDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.UserDTO;
-import com.example.resilient_api.infrastructure.entrypoints.dto.UserIdsRequest;
 import com.example.resilient_api.infrastructure.entrypoints.mapper.UserMapper;
 import com.example.resilient_api.infrastructure.entrypoints.util.APIResponse;
+import com.example.resilient_api.infrastructure.entrypoints.util.ETags;
 import com.example.resilient_api.infrastructure.entrypoints.util.ErrorDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,15 +18,28 @@ import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.context.Context;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
 
 import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
 
@@ -32,8 +48,17 @@ import static com.example.resilient_api.infrastructure.entrypoints.util.Constant
 @Slf4j
 public class UserHandlerImpl {
 
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final Duration SSE_KEEPALIVE = Duration.ofSeconds(15);
+    // Hasta aquí el cuerpo se lee entero y la respuesta lleva ETag como siempre; unos 8.000 ids
+    private static final long BUFFERED_BODY_MAX_BYTES = 64 * 1024;
+    private static final int EXISTENCE_ENTRIES_PER_BUFFER = 512;
+    private static final ParameterizedTypeReference<ServerSentEvent<UserChangeDTO>> USER_CHANGE_EVENT =
+            new ParameterizedTypeReference<>() {};
+
     private final UserServicePort userServicePort;
     private final UserMapper userMapper;
+    private final UserIdsBodyReader userIdsBodyReader;
 
     @Operation(
         operationId = "createUser",
@@ -64,7 +89,7 @@ public class UserHandlerImpl {
     @Operation(
         operationId = "getUserById",
         summary = "Obtener usuario por ID",
-        description = "Obtiene un usuario por su ID (endpoint interno)",
+        description = "Obtiene un usuario por su ID (endpoint interno). Con If-None-Match igual al ETag responde 304 sin leer la fila",
         tags = {"Usuarios"},
         parameters = @Parameter(name = "id", in = ParameterIn.PATH, description = "ID del usuario")
     )
@@ -72,10 +97,15 @@ public class UserHandlerImpl {
         String messageId = getMessageId(request);
         try {
             Long userId = Long.parseLong(request.pathVariable("id"));
-            return userServicePort.getUserById(userId, messageId)
-                    .doOnSuccess(user -> log.info("User retrieved successfully with messageId: {}", messageId))
-                    .flatMap(user -> ServerResponse.status(HttpStatus.OK)
-                            .bodyValue(userMapper.userToUserDTO(user)))
+            Mono<ServerResponse> response = !ETags.hasIfNoneMatch(request)
+                    ? fetchUser(userId, messageId)
+                    : userServicePort.getUserVersions(List.of(userId), messageId)
+                            .next()
+                            .map(version -> ETags.of(version.version()))
+                            .filter(etag -> ETags.matchesIfNoneMatch(request, etag))
+                            .flatMap(this::notModified)
+                            .switchIfEmpty(Mono.defer(() -> fetchUser(userId, messageId)));
+            return response
                     .contextWrite(Context.of(X_MESSAGE_ID, messageId))
                     .doOnError(ex -> log.error("Error getting user by id for messageId: {}", messageId, ex))
                     .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
@@ -91,20 +121,27 @@ public class UserHandlerImpl {
     @Operation(
         operationId = "checkUsersExist",
         summary = "Verificar existencia de usuarios",
-        description = "Verifica si los usuarios existen (endpoint interno)",
+        description = "Verifica si los usuarios existen (endpoint interno). Cuerpos de más de 64 KB o chunked se responden en streaming",
         tags = {"Usuarios"}
     )
     public Mono<ServerResponse> checkUsersExist(ServerRequest request) {
         String messageId = getMessageId(request);
-        return request.bodyToMono(UserIdsRequest.class)
-                .flatMap(idsRequest -> {
-                    List<Long> ids = idsRequest.getIds() != null ? idsRequest.getIds() : List.of();
-                    return userServicePort.checkUsersExist(ids, messageId)
-                            .doOnSuccess(result -> log.info("Users existence checked successfully with messageId: {}", messageId));
-                })
+        if (isLargeBody(request)) {
+            Flux<UserExistence> existences = userServicePort.streamUsersExistence(userIdsBodyReader.read(request), messageId)
+                    .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                    .doOnError(ex -> log.error("Error streaming users existence for messageId: {}", messageId, ex));
+            return streamed(existences, messageId, all -> ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromDataBuffers(existenceJson(all))));
+        }
+        return userIdsBodyReader.read(request)
+                .collectList()
+                .flatMap(ids -> userServicePort.checkUsersExist(ids, messageId)
+                        .doOnSuccess(result -> log.info("Users existence checked successfully with messageId: {}", messageId)))
                 .flatMap(result -> ServerResponse.status(HttpStatus.OK).bodyValue(result))
                 .contextWrite(Context.of(X_MESSAGE_ID, messageId))
                 .doOnError(ex -> log.error("Error checking users existence for messageId: {}", messageId, ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
                 .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
@@ -112,26 +149,187 @@ public class UserHandlerImpl {
     @Operation(
         operationId = "getUsersByIds",
         summary = "Obtener usuarios por IDs",
-        description = "Obtiene usuarios por sus IDs (endpoint interno)",
+        description = "Obtiene usuarios por sus IDs (endpoint interno). Con If-None-Match igual al ETag de la lista responde 304 sin leer las filas; cuerpos de más de 64 KB o chunked se responden en streaming, sin ETag",
         tags = {"Usuarios"}
     )
     public Mono<ServerResponse> getUsersByIds(ServerRequest request) {
         String messageId = getMessageId(request);
-        return request.bodyToMono(UserIdsRequest.class)
-                .flatMapMany(idsRequest -> {
-                    List<Long> ids = idsRequest.getIds() != null ? idsRequest.getIds() : List.of();
-                    return userServicePort.getUsersByIds(ids, messageId)
-                            .map(userMapper::userToUserDTO)
-                            .doOnComplete(() -> log.info("Users retrieved successfully with messageId: {}", messageId));
+        if (isLargeBody(request)) {
+            // Sin ETag: las cabeceras salen antes de leer el primer usuario
+            Flux<UserSummary> users = userServicePort.streamUsersByIds(userIdsBodyReader.read(request), messageId)
+                    .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                    .doOnError(ex -> log.error("Error streaming users by ids for messageId: {}", messageId, ex));
+            return streamed(users, messageId, all -> ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.noStore())
+                    .body(all, UserSummary.class));
+        }
+        return userIdsBodyReader.read(request)
+                .collectList()
+                .flatMap(ids -> {
+                    if (!ETags.hasIfNoneMatch(request)) {
+                        return fetchUsers(ids, messageId);
+                    }
+                    // El ETag de la lista sale solo de las versiones (caché de versiones o SELECT id, version)
+                    return userServicePort.getUserVersions(ids, messageId)
+                            .collectList()
+                            .map(ETags::ofVersions)
+                            .filter(etag -> ETags.matchesIfNoneMatch(request, etag))
+                            .flatMap(this::notModified)
+                            .switchIfEmpty(Mono.defer(() -> fetchUsers(ids, messageId)));
                 })
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error getting users by ids for messageId: {}", messageId, ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    @Operation(
+        operationId = "searchUsers",
+        summary = "Buscar usuarios",
+        description = "Usuarios cuyo nombre, alguna palabra del nombre o email empieza por q, sin distinguir mayúsculas ni acentos (solo administradores)",
+        tags = {"Usuarios"},
+        parameters = {
+            @Parameter(name = "q", in = ParameterIn.QUERY, description = "Prefijo a buscar"),
+            @Parameter(name = "limit", in = ParameterIn.QUERY, description = "Máximo de resultados (1-50, 10 por defecto)")
+        }
+    )
+    public Mono<ServerResponse> searchUsers(ServerRequest request) {
+        String messageId = getMessageId(request);
+        Integer limit;
+        try {
+            limit = request.queryParam("limit").map(Integer::parseInt).orElse(null);
+        } catch (NumberFormatException e) {
+            log.error("Invalid search limit for messageId: {}", messageId, e);
+            return handleBusinessException(new BusinessException(TechnicalMessage.INVALID_SEARCH_LIMIT), messageId);
+        }
+        return userServicePort.searchUsers(request.queryParam("q").orElse(null), limit, messageId)
                 .collectList()
                 .flatMap(users -> ServerResponse.status(HttpStatus.OK).bodyValue(users))
                 .contextWrite(Context.of(X_MESSAGE_ID, messageId))
-                .doOnError(ex -> log.error("Error getting users by ids for messageId: {}", messageId, ex))
+                .doOnError(ex -> log.error("Error searching users for messageId: {}", messageId, ex))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
                 .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
+    @Operation(
+        operationId = "getUserChanges",
+        summary = "Feed de cambios de usuarios",
+        description = "Cambios posteriores a Last-Event-ID (o al offset since) como NDJSON o SSE; sin fin mientras el cliente lea (endpoint interno)",
+        tags = {"Usuarios"},
+        parameters = @Parameter(name = "since", in = ParameterIn.QUERY, description = "Último offset aplicado por el cliente; Last-Event-ID tiene prioridad")
+    )
+    public Mono<ServerResponse> getUserChanges(ServerRequest request) {
+        String messageId = getMessageId(request);
+        Long since;
+        try {
+            // EventSource reconecta a la misma URL con el since original: Last-Event-ID es el punto real de reanudación
+            since = Optional.ofNullable(request.headers().firstHeader(LAST_EVENT_ID))
+                    .or(() -> request.queryParam("since"))
+                    .map(Long::parseLong)
+                    .orElse(0L);
+        } catch (NumberFormatException e) {
+            log.error("Invalid change offset for messageId: {}", messageId, e);
+            return handleBusinessException(new BusinessException(TechnicalMessage.INVALID_CHANGE_OFFSET), messageId);
+        }
+        // Validado aquí: una vez enviadas las cabeceras del stream ya no se puede responder 400
+        if (since < 0) {
+            return handleBusinessException(new BusinessException(TechnicalMessage.INVALID_CHANGE_OFFSET), messageId);
+        }
+        Flux<UserChangeDTO> changes = userServicePort.getUserChanges(since, messageId)
+                .map(userMapper::userChangeToUserChangeDTO)
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error streaming user changes for messageId: {}", messageId, ex));
+        if (request.headers().accept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            // El id de cada evento es su offset: EventSource lo reenvía como Last-Event-ID al reconectar
+            Flux<ServerSentEvent<UserChangeDTO>> events = changes
+                    .map(change -> ServerSentEvent.builder(change)
+                            .id(String.valueOf(change.getOffset()))
+                            .event("user-change")
+                            .build());
+            Flux<ServerSentEvent<UserChangeDTO>> keepalive = Flux.interval(SSE_KEEPALIVE)
+                    .map(tick -> ServerSentEvent.<UserChangeDTO>builder().comment("keepalive").build());
+            return ServerResponse.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(Flux.merge(events, keepalive), USER_CHANGE_EVENT);
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(changes, UserChangeDTO.class);
+    }
+
+    // El 200 sale con el primer resultado: un error anterior (cuerpo inválido, tope de ids en el primer chunk, deadline)
+    // se responde con su 400/503/504 como en las demás rutas; uno posterior ya solo puede cortar la respuesta
+    private <T> Mono<ServerResponse> streamed(Flux<T> results, String messageId,
+                                              Function<Flux<T>, Mono<ServerResponse>> response) {
+        return results.switchOnFirst((first, all) -> first.isOnError()
+                        ? Mono.<ServerResponse>error(first.getThrowable())
+                        : response.apply(all), false)
+                .singleOrEmpty()
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    // Cuerpos grandes o de tamaño desconocido (chunked) se responden en streaming
+    private static boolean isLargeBody(ServerRequest request) {
+        OptionalLong contentLength = request.headers().contentLength();
+        return contentLength.isEmpty() || contentLength.getAsLong() > BUFFERED_BODY_MAX_BYTES;
+    }
+
+    // Mismo JSON que Map<Long, Boolean> ({"1":true,"2":false}), escrito por lotes según llegan los chunks
+    private static Flux<DataBuffer> existenceJson(Flux<UserExistence> existences) {
+        return Flux.defer(() -> {
+            boolean[] empty = {true};
+            return existences.buffer(EXISTENCE_ENTRIES_PER_BUFFER)
+                    .map(batch -> {
+                        StringBuilder json = new StringBuilder(batch.size() * 16);
+                        for (UserExistence existence : batch) {
+                            json.append(empty[0] ? '{' : ',').append('"').append(existence.id()).append("\":")
+                                    .append(existence.exists());
+                            empty[0] = false;
+                        }
+                        return wrap(json);
+                    })
+                    .concatWith(Mono.fromSupplier(() -> wrap(empty[0] ? "{}" : "}")));
+        });
+    }
+
+    private static DataBuffer wrap(CharSequence json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mono<ServerResponse> fetchUser(Long userId, String messageId) {
+        return userServicePort.getUserById(userId, messageId)
+                .doOnSuccess(user -> log.info("User retrieved successfully with messageId: {}", messageId))
+                // UserSummary se serializa tal cual (UserSummaryJsonMixin): mismo JSON que UserDTO sin copiarlo
+                .flatMap(user -> withValidators(ServerResponse.status(HttpStatus.OK), ETags.of(user))
+                        .bodyValue(user));
+    }
+
+    private Mono<ServerResponse> fetchUsers(List<Long> ids, String messageId) {
+        return userServicePort.getUsersByIds(ids, messageId)
+                .collectList()
+                .doOnSuccess(users -> log.info("Users retrieved successfully with messageId: {}", messageId))
+                .flatMap(users -> withValidators(ServerResponse.status(HttpStatus.OK), ETags.ofUsers(users))
+                        .bodyValue(users));
+    }
+
+    private Mono<ServerResponse> notModified(String etag) {
+        return withValidators(ServerResponse.status(HttpStatus.NOT_MODIFIED), etag).build();
+    }
+
+    // no-cache: las cachés intermedias pueden guardar la respuesta pero revalidan con If-None-Match antes de servirla
+    private static ServerResponse.BodyBuilder withValidators(ServerResponse.BodyBuilder builder, String etag) {
+        builder.cacheControl(CacheControl.noCache());
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder;
+    }
+
     private Mono<ServerResponse> handleBusinessException(BusinessException ex, String messageId) {
         return buildErrorResponse(
                 HttpStatus.BAD_REQUEST,
@@ -141,6 +339,14 @@ public class UserHandlerImpl {
     }
 
     private Mono<ServerResponse> handleTechnicalException(TechnicalException ex, String messageId) {
+        TechnicalMessage technicalMessage = ex.getTechnicalMessage();
+        if (technicalMessage == TechnicalMessage.DEADLINE_EXCEEDED || technicalMessage == TechnicalMessage.LANE_SATURATED) {
+            return buildErrorResponse(
+                    HttpStatus.valueOf(Integer.parseInt(technicalMessage.getCode())),
+                    messageId,
+                    technicalMessage,
+                    List.of(buildErrorDTO(ex.getTechnicalMessage())));
+        }
         return buildErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 messageId,
@@ -0,0 +1,190 @@
+package com.example.resilient_api.infrastructure.entrypoints.handler;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Parser no bloqueante de Jackson: en memoria el buffer actual, sus ids y el conjunto de ids ya vistos (acotado por maxIds)
+@Component
+public class UserIdsBodyReader {
+
+    private static final String IDS_FIELD = "ids";
+
+    private final JsonFactory jsonFactory;
+    private final int maxIds;
+
+    public UserIdsBodyReader(ObjectMapper objectMapper, @Value("${users.ids.max-ids:100000}") int maxIds) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.maxIds = maxIds;
+    }
+
+    public Flux<Long> read(ServerRequest request) {
+        return read(request.bodyToFlux(DataBuffer.class));
+    }
+
+    Flux<Long> read(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            IdsParser parser = new IdsParser(newParser(), maxIds);
+            return body.concatMapIterable(parser::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(parser.end())));
+        });
+    }
+
+    private JsonParser newParser() {
+        try {
+            return jsonFactory.createNonBlockingByteArrayParser();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot create JSON parser", ex);
+        }
+    }
+
+    private enum State { ROOT_EXPECTED, FIELD_EXPECTED, IDS_EXPECTED, IN_IDS, SKIPPING, DONE }
+
+    private static final class IdsParser {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final int maxIds;
+        // Ids ya entregados: cada id sale una sola vez aunque se repita en chunks distintos (como las claves del Map).
+        // Crece con la petición: unos 2 bytes por id en rangos densos y hasta ~32 con ids dispersos, así que
+        // maxIds la acota (100.000 por defecto, ~3 MB en el peor caso)
+        private final Roaring64Bitmap seen = new Roaring64Bitmap();
+        private State state = State.ROOT_EXPECTED;
+        private int skipDepth;
+        private int count;
+
+        private IdsParser(JsonParser parser, int maxIds) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.maxIds = maxIds;
+        }
+
+        List<Long> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException ex) {
+                throw invalid();
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<Long> end() {
+            try {
+                feeder.endOfInput();
+                List<Long> ids = drain();
+                // Cuerpo vacío: sin ids, como bodyToMono(UserIdsRequest) vacío
+                if (state != State.DONE && state != State.ROOT_EXPECTED) {
+                    throw invalid();
+                }
+                return ids;
+            } catch (IOException ex) {
+                throw invalid();
+            } finally {
+                try {
+                    parser.close();
+                } catch (IOException ignored) {
+                    // Sin recursos que liberar: el parser solo tiene los bytes ya entregados
+                }
+            }
+        }
+
+        private List<Long> drain() throws IOException {
+            List<Long> ids = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                accept(token, ids);
+            }
+            return ids;
+        }
+
+        private void accept(JsonToken token, List<Long> ids) throws IOException {
+            switch (state) {
+                case ROOT_EXPECTED -> state = expect(token == JsonToken.START_OBJECT, State.FIELD_EXPECTED);
+                case FIELD_EXPECTED -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        state = State.DONE;
+                    } else {
+                        state = IDS_FIELD.equals(parser.currentName()) ? State.IDS_EXPECTED : State.SKIPPING;
+                    }
+                }
+                case IDS_EXPECTED -> {
+                    if (token == JsonToken.VALUE_NULL) {
+                        state = State.FIELD_EXPECTED;
+                    } else {
+                        state = expect(token == JsonToken.START_ARRAY, State.IN_IDS);
+                    }
+                }
+                case IN_IDS -> {
+                    if (token == JsonToken.END_ARRAY) {
+                        state = State.FIELD_EXPECTED;
+                    } else if (token != JsonToken.VALUE_NULL) {
+                        long id = id(token);
+                        if (!seen.contains(id)) {
+                            seen.addLong(id);
+                            ids.add(id);
+                        }
+                    }
+                }
+                case SKIPPING -> {
+                    if (token.isStructStart()) {
+                        skipDepth++;
+                    } else if (token.isStructEnd()) {
+                        skipDepth--;
+                    }
+                    if (skipDepth == 0) {
+                        state = State.FIELD_EXPECTED;
+                    }
+                }
+                case DONE -> throw invalid();
+            }
+        }
+
+        private Long id(JsonToken token) throws IOException {
+            if (++count > maxIds) {
+                throw new BusinessException(TechnicalMessage.TOO_MANY_USER_IDS);
+            }
+            if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                return parser.getLongValue();
+            }
+            // "123" también vale, como al enlazar List<Long>
+            if (token == JsonToken.VALUE_STRING) {
+                try {
+                    return Long.parseLong(parser.getText().trim());
+                } catch (NumberFormatException ex) {
+                    throw invalid();
+                }
+            }
+            throw invalid();
+        }
+
+        private static State expect(boolean condition, State next) {
+            if (!condition) {
+                throw invalid();
+            }
+            return next;
+        }
+
+        private static BusinessException invalid() {
+            return new BusinessException(TechnicalMessage.USER_IDS_INVALID);
+        }
+    }
+}
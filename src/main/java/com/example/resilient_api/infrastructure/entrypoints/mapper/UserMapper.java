@@ -1,14 +1,19 @@
 package com.example.resilient_api.infrastructure.entrypoints.mapper;
 
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserChangeDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.UserDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface UserMapper {
+    @Mapping(target = "version", ignore = true)
     User userDTOToUser(UserDTO userDTO);
 
     @Mapping(target = "password", ignore = true)
     UserDTO userToUserDTO(User user);
+
+    UserChangeDTO userChangeToUserChangeDTO(UserChange userChange);
 }
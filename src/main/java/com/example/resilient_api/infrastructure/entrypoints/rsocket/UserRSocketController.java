@@ -0,0 +1,77 @@
+package com.example.resilient_api.infrastructure.entrypoints.rsocket;
+
+import com.example.resilient_api.domain.api.UserServicePort;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserExistenceDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserIdsRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
+
+// Las rutas .stream son request-stream: el request(n) del llamante acota las filas en vuelo
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class UserRSocketController {
+
+    private final UserServicePort userServicePort;
+
+    @MessageMapping("users.by-id")
+    public Mono<UserSummary> getUserById(Long id) {
+        String messageId = newMessageId();
+        return userServicePort.getUserById(id, messageId)
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error getting user by id over RSocket for messageId: {}", messageId, ex));
+    }
+
+    @MessageMapping("users.by-ids")
+    public Mono<List<UserSummary>> getUsersByIds(UserIdsRequest idsRequest) {
+        return streamUsersByIds(idsRequest).collectList();
+    }
+
+    @MessageMapping("users.by-ids.stream")
+    public Flux<UserSummary> streamUsersByIds(UserIdsRequest idsRequest) {
+        String messageId = newMessageId();
+        return userServicePort.streamUsersByIds(Flux.fromIterable(idsOf(idsRequest)), messageId)
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error getting users by ids over RSocket for messageId: {}", messageId, ex));
+    }
+
+    @MessageMapping("users.check-exists")
+    public Mono<Map<Long, Boolean>> checkUsersExist(UserIdsRequest idsRequest) {
+        String messageId = newMessageId();
+        return userServicePort.checkUsersExist(idsOf(idsRequest), messageId)
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error checking users existence over RSocket for messageId: {}", messageId, ex));
+    }
+
+    @MessageMapping("users.check-exists.stream")
+    public Flux<UserExistenceDTO> streamUsersExistence(UserIdsRequest idsRequest) {
+        String messageId = newMessageId();
+        return userServicePort.streamUsersExistence(Flux.fromIterable(idsOf(idsRequest)), messageId)
+                .map(existence -> new UserExistenceDTO(existence.id(), existence.exists()))
+                .contextWrite(Context.of(X_MESSAGE_ID, messageId))
+                .doOnError(ex -> log.error("Error checking users existence over RSocket for messageId: {}", messageId, ex));
+    }
+
+    private List<Long> idsOf(UserIdsRequest idsRequest) {
+        return idsRequest != null && idsRequest.getIds() != null ? idsRequest.getIds() : List.of();
+    }
+
+    // Solo traza, no secreto: UUID.randomUUID() lee de SecureRandom en el event loop
+    private String newMessageId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.resilient_api.infrastructure.entrypoints.util;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import lombok.experimental.UtilityClass;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+// Un usuario: su versión; una lista: FNV-1a de 64 bits de los pares (id, version) ordenados por id
+@UtilityClass
+public class ETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(UserSummary user) {
+        return user.version() == null ? null : of(user.version());
+    }
+
+    public static String ofVersions(Collection<UserVersion> versions) {
+        long hash = FNV_OFFSET_BASIS;
+        for (UserVersion version : versions.stream().sorted(Comparator.comparing(UserVersion::id)).toList()) {
+            hash = mix(mix(hash, version.id()), version.version());
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    public static String ofUsers(Collection<UserSummary> users) {
+        if (users.stream().anyMatch(user -> user.version() == null)) {
+            return null;
+        }
+        return ofVersions(users.stream().map(user -> new UserVersion(user.id(), user.version())).toList());
+    }
+
+    // If-None-Match compara en débil: W/"1" equivale a "1"
+    public static boolean matchesIfNoneMatch(ServerRequest request, String etag) {
+        List<String> candidates = request.headers().asHttpHeaders().getIfNoneMatch();
+        for (String candidate : candidates) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean hasIfNoneMatch(ServerRequest request) {
+        return !request.headers().asHttpHeaders().getIfNoneMatch().isEmpty();
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,64 @@
+-- Benchmark del login por email con 10M usuarios, en una base desechable:
+--   createdb users-bench, arrancar la aplicación una vez contra ella (schema.sql crea tabla, trigger e índices)
+--   y después: psql -d users-bench -f benchmark.sql
+-- Compara el índice único original sobre email (index scan + heap) con users_email_hash_covering (index-only).
+\timing on
+
+-- 10M filas; el trigger normalize_users_email rellena email_normalized/email_hash
+TRUNCATE users RESTART IDENTITY;
+ALTER TABLE users DISABLE TRIGGER users_change_notify;
+INSERT INTO users (name, email, password, is_admin)
+SELECT 'User ' || g,
+       'User' || g || '@Example.com',
+       '$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3Q6e3u3p0d5mQ6cM2JkE1xK',
+       g % 1000 = 0
+FROM generate_series(1, 10000000) AS g;
+ALTER TABLE users ENABLE TRIGGER users_change_notify;
+VACUUM (ANALYZE) users;
+
+SELECT pg_size_pretty(pg_relation_size('users')) AS heap,
+       pg_size_pretty(pg_relation_size('users_email_key')) AS email_key,
+       pg_size_pretty(pg_relation_size('users_email_normalized_key')) AS email_normalized_key,
+       pg_size_pretty(pg_relation_size('users_email_hash_covering')) AS email_hash_covering;
+
+-- Antes: igualdad exacta sobre email (consulta derivada anterior de UserRepository.findByEmail)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, email, password, is_admin FROM users WHERE email = 'User7654321@Example.com';
+
+-- Después: login (findCredentialsByEmail) — se espera "Index Only Scan using users_email_hash_covering", Heap Fetches: 0
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, email, password, is_admin FROM users
+WHERE email_hash = hashtextextended(lower('user7654321@example.com'), 0)
+  AND lower(email) = lower('user7654321@example.com');
+
+-- Después: existsByEmail
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT EXISTS (SELECT 1 FROM users
+               WHERE email_hash = hashtextextended(lower('USER7654321@EXAMPLE.COM'), 0)
+                 AND lower(email) = lower('USER7654321@EXAMPLE.COM'));
+
+-- Rendimiento sostenido: 100k búsquedas aleatorias con cada plan
+DO $$
+DECLARE
+    started TIMESTAMPTZ;
+    probe TEXT;
+    found RECORD;
+BEGIN
+    started := clock_timestamp();
+    FOR i IN 1..100000 LOOP
+        probe := 'User' || (1 + floor(random() * 10000000)::BIGINT) || '@Example.com';
+        SELECT id, name, email, password, is_admin INTO found FROM users WHERE email = probe;
+    END LOOP;
+    RAISE NOTICE 'email exacto (heap):        % us/búsqueda',
+        round(extract(epoch FROM clock_timestamp() - started) * 1e6 / 100000, 1);
+
+    started := clock_timestamp();
+    FOR i IN 1..100000 LOOP
+        probe := lower('User' || (1 + floor(random() * 10000000)::BIGINT) || '@Example.com');
+        SELECT id, email, password, is_admin INTO found FROM users
+        WHERE email_hash = hashtextextended(probe, 0) AND lower(email) = probe;
+    END LOOP;
+    RAISE NOTICE 'hash + covering (index-only): % us/búsqueda',
+        round(extract(epoch FROM clock_timestamp() - started) * 1e6 / 100000, 1);
+END;
+$$;
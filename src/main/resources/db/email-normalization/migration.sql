@@ -0,0 +1,82 @@
+-- Migración online de email_normalized/email_hash sobre una tabla users con datos.
+-- Ejecutar con psql paso a paso (NO dentro de una transacción: CONCURRENTLY y los COMMIT del backfill lo impiden):
+--   psql -v ON_ERROR_STOP=1 -d users-db -f migration.sql
+-- Requiere PostgreSQL 12+ (hashtextextended, procedimientos con COMMIT).
+
+-- 1. Columnas nulas y sin default: solo cambia el catálogo, no reescribe la tabla
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_normalized VARCHAR(150);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_hash BIGINT;
+
+-- 2. Trigger: las filas nuevas o con email modificado quedan normalizadas desde ahora
+CREATE OR REPLACE FUNCTION normalize_users_email() RETURNS trigger AS $$
+BEGIN
+    NEW.email_normalized := lower(NEW.email);
+    NEW.email_hash := hashtextextended(NEW.email_normalized, 0);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS users_normalize_email ON users;
+CREATE TRIGGER users_normalize_email
+    BEFORE INSERT OR UPDATE OF email ON users
+    FOR EACH ROW EXECUTE FUNCTION normalize_users_email();
+
+-- El trigger de notificaciones solo debe dispararse con columnas de negocio, así el backfill no inunda users_changes
+DROP TRIGGER IF EXISTS users_change_notify ON users;
+CREATE TRIGGER users_change_notify
+    AFTER INSERT OR DELETE OR UPDATE OF name, email, password, is_admin ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_users_change();
+
+-- 3. Emails que colisionan al ignorar mayúsculas: deben resolverse antes del índice único (paso 5)
+SELECT lower(email) AS email_normalized, array_agg(id ORDER BY id) AS ids
+FROM users
+GROUP BY lower(email)
+HAVING count(*) > 1;
+
+-- 4. Backfill por rangos de id: transacciones cortas (bloqueos de fila breves), pausa entre lotes
+--    para no saturar WAL/réplicas. Es reanudable: solo toca filas con email_normalized nulo.
+CREATE OR REPLACE PROCEDURE backfill_users_email_normalized(batch_size INT DEFAULT 5000,
+                                                            pause_seconds DOUBLE PRECISION DEFAULT 0.05)
+LANGUAGE plpgsql AS $$
+DECLARE
+    from_id BIGINT;
+    max_id BIGINT;
+    updated BIGINT;
+    total BIGINT := 0;
+BEGIN
+    SELECT coalesce(min(id), 0), coalesce(max(id), 0) INTO from_id, max_id
+    FROM users WHERE email_normalized IS NULL;
+    WHILE from_id <= max_id LOOP
+        UPDATE users
+        SET email_normalized = lower(email),
+            email_hash = hashtextextended(lower(email), 0)
+        WHERE id >= from_id AND id < from_id + batch_size
+          AND email_normalized IS NULL;
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        total := total + updated;
+        COMMIT;
+        IF updated > 0 THEN
+            RAISE NOTICE 'backfill: % filas (hasta id %)', total, from_id + batch_size - 1;
+            PERFORM pg_sleep(pause_seconds);
+        END IF;
+        from_id := from_id + batch_size;
+    END LOOP;
+END;
+$$;
+
+CALL backfill_users_email_normalized();
+
+-- 5. Índices sin bloquear escrituras. Si falla (p. ej. duplicados del paso 3) queda INVALID:
+--    DROP INDEX CONCURRENTLY y repetir.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS users_email_normalized_key ON users (email_normalized);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_email_hash_covering
+    ON users (email_hash) INCLUDE (email, id, password, is_admin);
+
+-- 6. NOT NULL sin bloqueo largo: CHECK NOT VALID + VALIDATE (solo SHARE UPDATE EXCLUSIVE)
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_normalized_present;
+ALTER TABLE users ADD CONSTRAINT users_email_normalized_present
+    CHECK (email_normalized IS NOT NULL AND email_hash IS NOT NULL) NOT VALID;
+ALTER TABLE users VALIDATE CONSTRAINT users_email_normalized_present;
+
+-- 7. El index-only scan necesita el visibility map al día tras reescribir todas las filas
+VACUUM (ANALYZE) users;
@@ -0,0 +1,9 @@
+-- Base de datos directorio para el almacenamiento particionado (users.sharding.*)
+-- Genera los ids globales y resuelve email (en minúsculas) -> shard
+CREATE SEQUENCE IF NOT EXISTS user_id_seq;;
+
+CREATE TABLE IF NOT EXISTS user_directory (
+    email VARCHAR(150) PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE,
+    shard INT NOT NULL
+);;
@@ -1,12 +1,138 @@
+-- Las sentencias se separan con ";;" (spring.sql.init.separator) para permitir cuerpos plpgsql
 CREATE TABLE IF NOT EXISTS users (
     id BIGSERIAL PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     email VARCHAR(150) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     is_admin BOOLEAN NOT NULL DEFAULT FALSE
-);
+);;
 
+-- Email normalizado (minúsculas) y su hash de 64 bits, mantenidos por trigger.
+-- En tablas existentes con datos usar db/email-normalization/migration.sql (backfill online).
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_normalized VARCHAR(150);;
 
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_hash BIGINT;;
 
+CREATE OR REPLACE FUNCTION normalize_users_email() RETURNS trigger AS $$
+BEGIN
+    NEW.email_normalized := lower(NEW.email);
+    NEW.email_hash := hashtextextended(NEW.email_normalized, 0);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;;
 
+DROP TRIGGER IF EXISTS users_normalize_email ON users;;
 
+CREATE TRIGGER users_normalize_email
+    BEFORE INSERT OR UPDATE OF email ON users
+    FOR EACH ROW EXECUTE FUNCTION normalize_users_email();;
+
+-- Unicidad sin distinguir mayúsculas
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_normalized_key ON users (email_normalized);;
+
+-- Login y existsByEmail como index-only scan: clave de 8 bytes, email incluido para descartar colisiones
+CREATE INDEX IF NOT EXISTS users_email_hash_covering
+    ON users (email_hash) INCLUDE (email, id, password, is_admin);;
+
+-- Versión de cada usuario para ETag / If-None-Match. DEFAULT constante: ADD COLUMN no reescribe la tabla.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;;
+
+-- Solo cambia con lo que ve un cliente: el rehash de la contraseña no invalida ETags.
+-- Un INSERT con versión explícita (resharding) la conserva.
+CREATE OR REPLACE FUNCTION version_users() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        NEW.version := coalesce(NEW.version, 1);
+    ELSIF (NEW.name, NEW.email, NEW.is_admin) IS DISTINCT FROM (OLD.name, OLD.email, OLD.is_admin) THEN
+        NEW.version := OLD.version + 1;
+    ELSE
+        NEW.version := OLD.version;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;;
+
+DROP TRIGGER IF EXISTS users_version ON users;;
+
+CREATE TRIGGER users_version
+    BEFORE INSERT OR UPDATE ON users
+    FOR EACH ROW EXECUTE FUNCTION version_users();;
+
+-- Notificación de cambios en users para invalidar el estado local de cada nodo
+CREATE OR REPLACE FUNCTION notify_users_change() RETURNS trigger AS $$
+DECLARE
+    changed users;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+    PERFORM pg_notify('users_changes', json_build_object(
+        'operation', TG_OP,
+        'id', changed.id,
+        'name', changed.name,
+        'email', changed.email,
+        'previousEmail', CASE WHEN TG_OP = 'UPDATE' THEN OLD.email END,
+        'version', CASE WHEN TG_OP <> 'DELETE' THEN changed.version END,
+        'timestamp', (extract(epoch FROM clock_timestamp()) * 1000)::BIGINT
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;;
+
+DROP TRIGGER IF EXISTS users_change_notify ON users;;
+
+-- Solo columnas de negocio: el backfill de email_normalized/email_hash no genera notificaciones
+CREATE TRIGGER users_change_notify
+    AFTER INSERT OR DELETE OR UPDATE OF name, email, password, is_admin ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_users_change();;
+
+-- Refresh tokens rotativos: solo se guarda el SHA-256 del token. Sin FK a users para funcionar también con sharding.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    token_hash CHAR(64) PRIMARY KEY,
+    family_id UUID NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    used_at TIMESTAMPTZ,
+    revoked_at TIMESTAMPTZ
+);;
+
+CREATE INDEX IF NOT EXISTS refresh_tokens_family_idx ON refresh_tokens (family_id);;
+
+CREATE INDEX IF NOT EXISTS refresh_tokens_expires_idx ON refresh_tokens (expires_at);;
+
+-- Outbox de cambios de users para réplicas externas (GET /users/changes). El trigger la escribe en la misma
+-- transacción; stream_offset lo asigna UserChangeSequencer tras el commit, sin huecos. Sin contraseña.
+CREATE TABLE IF NOT EXISTS user_changes (
+    id BIGSERIAL PRIMARY KEY,
+    stream_offset BIGINT UNIQUE,
+    operation VARCHAR(10) NOT NULL,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(100),
+    email VARCHAR(150),
+    is_admin BOOLEAN,
+    occurred_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);;
+
+CREATE INDEX IF NOT EXISTS user_changes_unsequenced_idx ON user_changes (id) WHERE stream_offset IS NULL;;
+
+CREATE OR REPLACE FUNCTION record_users_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO user_changes (operation, user_id) VALUES (TG_OP, OLD.id);
+    ELSE
+        INSERT INTO user_changes (operation, user_id, name, email, is_admin)
+        VALUES (TG_OP, NEW.id, NEW.name, NEW.email, NEW.is_admin);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;;
+
+DROP TRIGGER IF EXISTS users_change_outbox ON users;;
+
+-- Los cambios de contraseña no se publican
+CREATE TRIGGER users_change_outbox
+    AFTER INSERT OR DELETE OR UPDATE OF name, email, is_admin ON users
+    FOR EACH ROW EXECUTE FUNCTION record_users_change();;
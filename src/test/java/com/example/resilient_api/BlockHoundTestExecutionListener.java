@@ -0,0 +1,18 @@
+package com.example.resilient_api;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import reactor.blockhound.BlockHound;
+
+// ./gradlew test activa blockhound.enabled; performanceTest no, para que sus números no incluyan la instrumentación
+public class BlockHoundTestExecutionListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (Boolean.getBoolean("blockhound.enabled")) {
+            // El primer frame RSocket inicializa MessageHeaders, que siembra su generador de ids con SecureRandom una sola vez
+            BlockHound.install(builder -> builder.allowBlockingCallsInside(
+                    "org.springframework.messaging.rsocket.annotation.support.MessagingRSocket", "createHeaders"));
+        }
+    }
+}
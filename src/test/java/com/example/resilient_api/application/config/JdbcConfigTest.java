@@ -0,0 +1,32 @@
+package com.example.resilient_api.application.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcConfigTest {
+
+    @Test
+    void jdbcUrl_FromR2dbcUrl_ShouldKeepHostPortDatabaseAndOptions() {
+        assertThat(JdbcConfig.jdbcUrl("r2dbc:postgresql://localhost:5432/users-db"))
+                .isEqualTo("jdbc:postgresql://localhost:5432/users-db");
+        assertThat(JdbcConfig.jdbcUrl("r2dbc:postgresql://db.internal:6432/users?sslmode=require"))
+                .isEqualTo("jdbc:postgresql://db.internal:6432/users?sslmode=require");
+    }
+
+    @Test
+    void jdbcUrl_FromPooledR2dbcUrl_ShouldDropThePoolDriver() {
+        assertThat(JdbcConfig.jdbcUrl("r2dbc:pool:postgresql://localhost:5432/users-db"))
+                .isEqualTo("jdbc:postgresql://localhost:5432/users-db");
+    }
+
+    @Test
+    void jdbcUrl_WithoutR2dbcUrl_ShouldAskForUsersJdbcUrl() {
+        assertThatThrownBy(() -> JdbcConfig.jdbcUrl(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("users.jdbc.url");
+        assertThatThrownBy(() -> JdbcConfig.jdbcUrl("jdbc:postgresql://localhost/users-db"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
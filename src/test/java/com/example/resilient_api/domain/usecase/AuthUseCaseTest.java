@@ -2,12 +2,16 @@ package com.example.resilient_api.domain.usecase;
 
 import com.example.resilient_api.domain.api.JwtPort;
 import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import com.example.resilient_api.domain.api.RefreshTokenPort;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.Deadline;
 import com.example.resilient_api.domain.model.JwtPayload;
 import com.example.resilient_api.domain.model.LoginRequest;
 import com.example.resilient_api.domain.model.LoginResponse;
+import com.example.resilient_api.domain.model.RefreshToken;
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.RefreshTokenPersistencePort;
 import com.example.resilient_api.domain.spi.UserPersistencePort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,8 +21,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
@@ -35,6 +45,12 @@ class AuthUseCaseTest {
     @Mock
     private JwtPort jwtPort;
 
+    @Mock
+    private RefreshTokenPersistencePort refreshTokenPersistencePort;
+
+    @Mock
+    private RefreshTokenPort refreshTokenPort;
+
     @InjectMocks
     private AuthUseCase authUseCase;
 
@@ -55,9 +71,10 @@ class AuthUseCaseTest {
         JwtPayload payload = new JwtPayload(1L, "john@example.com", false);
         String token = "generated-jwt-token";
 
-        when(userPersistencePort.findByEmail(anyString())).thenReturn(Mono.just(validUser));
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(validUser));
         when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
-        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(token);
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just(token));
+        stubRefreshTokenIssue();
 
         // Act & Assert
         StepVerifier.create(authUseCase.login(validLoginRequest, messageId))
@@ -65,19 +82,22 @@ class AuthUseCaseTest {
                         response.token().equals(token) &&
                         response.userId().equals(1L) &&
                         response.email().equals("john@example.com") &&
-                        response.isAdmin().equals(false)
+                        response.isAdmin().equals(false) &&
+                        response.refreshToken().equals("new-refresh-token")
                 )
                 .verifyComplete();
 
-        verify(userPersistencePort).findByEmail("john@example.com");
+        verify(userPersistencePort).findCredentialsByEmail("john@example.com");
         verify(passwordEncoderPort).matches("password123", "encodedPassword");
         verify(jwtPort).generateToken(any(JwtPayload.class));
+        verify(refreshTokenPersistencePort).save(argThat(saved ->
+                saved.tokenHash().equals("new-refresh-hash") && saved.userId().equals(1L) && saved.usedAt() == null));
     }
 
     @Test
     void login_WithInvalidPassword_ShouldThrowBusinessException() {
         // Arrange
-        when(userPersistencePort.findByEmail(anyString())).thenReturn(Mono.just(validUser));
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(validUser));
         when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(false));
 
         // Act & Assert
@@ -86,7 +106,7 @@ class AuthUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.INVALID_CREDENTIALS)
                 .verify();
 
-        verify(userPersistencePort).findByEmail("john@example.com");
+        verify(userPersistencePort).findCredentialsByEmail("john@example.com");
         verify(passwordEncoderPort).matches("password123", "encodedPassword");
         verify(jwtPort, never()).generateToken(any());
     }
@@ -94,7 +114,7 @@ class AuthUseCaseTest {
     @Test
     void login_WithNonExistingEmail_ShouldThrowBusinessException() {
         // Arrange
-        when(userPersistencePort.findByEmail(anyString())).thenReturn(Mono.empty());
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(authUseCase.login(validLoginRequest, messageId))
@@ -102,7 +122,7 @@ class AuthUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.INVALID_CREDENTIALS)
                 .verify();
 
-        verify(userPersistencePort).findByEmail("john@example.com");
+        verify(userPersistencePort).findCredentialsByEmail("john@example.com");
         verify(passwordEncoderPort, never()).matches(anyString(), anyString());
         verify(jwtPort, never()).generateToken(any());
     }
@@ -118,7 +138,7 @@ class AuthUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_EMAIL_REQUIRED)
                 .verify();
 
-        verify(userPersistencePort, never()).findByEmail(anyString());
+        verify(userPersistencePort, never()).findCredentialsByEmail(anyString());
     }
 
     @Test
@@ -132,7 +152,7 @@ class AuthUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_EMAIL_REQUIRED)
                 .verify();
 
-        verify(userPersistencePort, never()).findByEmail(anyString());
+        verify(userPersistencePort, never()).findCredentialsByEmail(anyString());
     }
 
     @Test
@@ -146,7 +166,7 @@ class AuthUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_PASSWORD_REQUIRED)
                 .verify();
 
-        verify(userPersistencePort, never()).findByEmail(anyString());
+        verify(userPersistencePort, never()).findCredentialsByEmail(anyString());
     }
 
     @Test
@@ -160,7 +180,7 @@ class AuthUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_PASSWORD_REQUIRED)
                 .verify();
 
-        verify(userPersistencePort, never()).findByEmail(anyString());
+        verify(userPersistencePort, never()).findCredentialsByEmail(anyString());
     }
 
     @Test
@@ -169,9 +189,10 @@ class AuthUseCaseTest {
         User adminUser = new User(1L, "Admin User", "admin@example.com", "encodedPassword", true);
         String token = "admin-jwt-token";
 
-        when(userPersistencePort.findByEmail(anyString())).thenReturn(Mono.just(adminUser));
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(adminUser));
         when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
-        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(token);
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just(token));
+        stubRefreshTokenIssue();
 
         // Act & Assert
         StepVerifier.create(authUseCase.login(validLoginRequest, messageId))
@@ -221,9 +242,10 @@ class AuthUseCaseTest {
         String token = "admin-jwt-token";
         JwtPayload expectedPayload = new JwtPayload(1L, "admin@example.com", true);
 
-        when(userPersistencePort.findByEmail(anyString())).thenReturn(Mono.just(adminUser));
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(adminUser));
         when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
-        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(token);
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just(token));
+        stubRefreshTokenIssue();
 
         // Act & Assert
         StepVerifier.create(authUseCase.login(validLoginRequest, messageId))
@@ -248,9 +270,10 @@ class AuthUseCaseTest {
         User regularUser = new User(2L, "Regular User", "user@example.com", "encodedPassword", false);
         String token = "user-jwt-token";
 
-        when(userPersistencePort.findByEmail(anyString())).thenReturn(Mono.just(regularUser));
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(regularUser));
         when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
-        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(token);
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just(token));
+        stubRefreshTokenIssue();
 
         // Act & Assert
         StepVerifier.create(authUseCase.login(validLoginRequest, messageId))
@@ -306,4 +329,275 @@ class AuthUseCaseTest {
 
         verify(jwtPort).validateAndExtractPayload(userToken);
     }
+
+    @Test
+    void login_WithOutdatedHash_ShouldRehashWithinTheRequestContext() {
+        // Arrange: el hash solo sale si ve el contexto de la petición (lane, deadline)
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(validUser));
+        when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+        when(passwordEncoderPort.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordEncoderPort.encode("password123")).thenReturn(Mono.deferContextual(context ->
+                context.hasKey("request") ? Mono.just("rehashedPassword") : Mono.error(new IllegalStateException("no context"))));
+        when(userPersistencePort.updatePassword(1L, "encodedPassword", "rehashedPassword")).thenReturn(Mono.just(true));
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just("generated-jwt-token"));
+        stubRefreshTokenIssue();
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.login(validLoginRequest, messageId)
+                        .contextWrite(Context.of("request", messageId)))
+                .expectNextMatches(response -> response.userId().equals(1L))
+                .verifyComplete();
+
+        verify(userPersistencePort).updatePassword(1L, "encodedPassword", "rehashedPassword");
+    }
+
+    @Test
+    void login_WhenRehashHangs_ShouldSucceedAfterTheRehashTimeout() {
+        // Arrange
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(validUser));
+        when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+        when(passwordEncoderPort.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordEncoderPort.encode("password123")).thenReturn(Mono.never());
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just("generated-jwt-token"));
+        stubRefreshTokenIssue();
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> authUseCase.login(validLoginRequest, messageId))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(1_900))
+                .thenAwait(Duration.ofMillis(100))
+                .expectNextMatches(response -> response.token().equals("generated-jwt-token"))
+                .verifyComplete();
+
+        verify(userPersistencePort, never()).updatePassword(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void login_WhenDeadlineExpiresDuringRehash_ShouldFailWithDeadlineExceeded() {
+        // Arrange
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(validUser));
+        when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+        when(passwordEncoderPort.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordEncoderPort.encode("password123")).thenReturn(Mono.never());
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.login(validLoginRequest, messageId)
+                        .contextWrite(Context.of(Deadline.CONTEXT_KEY, new Deadline(Instant.now().plusMillis(50)))))
+                .expectErrorMatches(Deadline::isDeadlineExceeded)
+                .verify(Duration.ofSeconds(5));
+
+        verify(jwtPort, never()).generateToken(any(JwtPayload.class));
+    }
+
+    @Test
+    void login_WhenRehashFails_ShouldStillSucceed() {
+        // Arrange
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(validUser));
+        when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+        when(passwordEncoderPort.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordEncoderPort.encode("password123")).thenReturn(Mono.just("rehashedPassword"));
+        when(userPersistencePort.updatePassword(anyLong(), anyString(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("database unavailable")));
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just("generated-jwt-token"));
+        stubRefreshTokenIssue();
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.login(validLoginRequest, messageId))
+                .expectNextMatches(response -> response.token().equals("generated-jwt-token"))
+                .verifyComplete();
+
+        verify(userPersistencePort).updatePassword(1L, "encodedPassword", "rehashedPassword");
+    }
+
+    @Test
+    void login_WithCurrentHash_ShouldNotRehash() {
+        // Arrange
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(validUser));
+        when(passwordEncoderPort.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+        when(passwordEncoderPort.needsRehash("encodedPassword")).thenReturn(false);
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just("generated-jwt-token"));
+        stubRefreshTokenIssue();
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.login(validLoginRequest, messageId))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(passwordEncoderPort, never()).encode(anyString());
+        verify(userPersistencePort, never()).updatePassword(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void refresh_WithValidToken_ShouldRotateWithinFamilyWithoutPasswordCheck() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        givenStoredRefreshToken(familyId, null, null, Instant.now().plusSeconds(60));
+        when(refreshTokenPersistencePort.markUsed("refresh-hash")).thenReturn(Mono.just(true));
+        when(userPersistencePort.findById(1L)).thenReturn(Mono.just(validUser));
+        when(jwtPort.generateToken(any(JwtPayload.class))).thenReturn(Mono.just("refreshed-jwt-token"));
+        stubRefreshTokenIssue();
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("refresh-token", messageId))
+                .expectNextMatches(response ->
+                        response.token().equals("refreshed-jwt-token") &&
+                        response.refreshToken().equals("new-refresh-token") &&
+                        response.userId().equals(1L) &&
+                        response.email().equals("john@example.com")
+                )
+                .verifyComplete();
+
+        verify(refreshTokenPersistencePort).save(argThat(saved ->
+                saved.familyId().equals(familyId) && saved.tokenHash().equals("new-refresh-hash")));
+        verify(refreshTokenPersistencePort, never()).revokeFamily(any());
+        verifyNoInteractions(passwordEncoderPort);
+    }
+
+    @Test
+    void refresh_WithConcurrentlyRotatedToken_ShouldRevokeFamily() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        givenStoredRefreshToken(familyId, null, null, Instant.now().plusSeconds(60));
+        when(refreshTokenPersistencePort.markUsed("refresh-hash")).thenReturn(Mono.just(false));
+        when(refreshTokenPersistencePort.revokeFamily(familyId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("refresh-token", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.REFRESH_TOKEN_REUSED)
+                .verify();
+
+        verify(refreshTokenPersistencePort).revokeFamily(familyId);
+        verify(jwtPort, never()).generateToken(any());
+    }
+
+    @Test
+    void refresh_WithAlreadyUsedToken_ShouldRevokeFamily() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        givenStoredRefreshToken(familyId, Instant.now(), null, Instant.now().plusSeconds(60));
+        when(refreshTokenPersistencePort.revokeFamily(familyId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("refresh-token", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.REFRESH_TOKEN_REUSED)
+                .verify();
+
+        verify(refreshTokenPersistencePort).revokeFamily(familyId);
+        verify(refreshTokenPersistencePort, never()).markUsed(anyString());
+    }
+
+    @Test
+    void refresh_WithRevokedToken_ShouldThrowTokenInvalid() {
+        // Arrange
+        givenStoredRefreshToken(UUID.randomUUID(), null, Instant.now(), Instant.now().plusSeconds(60));
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("refresh-token", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.TOKEN_INVALID)
+                .verify();
+
+        verify(refreshTokenPersistencePort, never()).markUsed(anyString());
+    }
+
+    @Test
+    void refresh_WithExpiredToken_ShouldThrowTokenExpired() {
+        // Arrange
+        givenStoredRefreshToken(UUID.randomUUID(), null, null, Instant.now().minusSeconds(1));
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("refresh-token", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.TOKEN_EXPIRED)
+                .verify();
+
+        verify(refreshTokenPersistencePort, never()).markUsed(anyString());
+    }
+
+    @Test
+    void refresh_WithUnknownToken_ShouldThrowTokenInvalid() {
+        // Arrange
+        when(refreshTokenPort.hash("refresh-token")).thenReturn("refresh-hash");
+        when(refreshTokenPersistencePort.findByTokenHash("refresh-hash")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("refresh-token", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.TOKEN_INVALID)
+                .verify();
+    }
+
+    @Test
+    void refresh_WithBlankToken_ShouldThrowTokenMissing() {
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("  ", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.TOKEN_MISSING)
+                .verify();
+
+        verifyNoInteractions(refreshTokenPersistencePort);
+    }
+
+    @Test
+    void refresh_WithDeletedUser_ShouldRevokeFamily() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        givenStoredRefreshToken(familyId, null, null, Instant.now().plusSeconds(60));
+        when(refreshTokenPersistencePort.markUsed("refresh-hash")).thenReturn(Mono.just(true));
+        when(userPersistencePort.findById(1L)).thenReturn(Mono.empty());
+        when(refreshTokenPersistencePort.revokeFamily(familyId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.refresh("refresh-token", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.TOKEN_INVALID)
+                .verify();
+
+        verify(refreshTokenPersistencePort).revokeFamily(familyId);
+    }
+
+    @Test
+    void revoke_WithKnownToken_ShouldRevokeFamily() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        givenStoredRefreshToken(familyId, null, null, Instant.now().plusSeconds(60));
+        when(refreshTokenPersistencePort.revokeFamily(familyId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.revoke("refresh-token", messageId))
+                .verifyComplete();
+
+        verify(refreshTokenPersistencePort).revokeFamily(familyId);
+    }
+
+    @Test
+    void revoke_WithUnknownToken_ShouldThrowTokenInvalid() {
+        // Arrange
+        when(refreshTokenPort.hash("refresh-token")).thenReturn("refresh-hash");
+        when(refreshTokenPersistencePort.findByTokenHash("refresh-hash")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(authUseCase.revoke("refresh-token", messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.TOKEN_INVALID)
+                .verify();
+
+        verify(refreshTokenPersistencePort, never()).revokeFamily(any());
+    }
+
+    private void stubRefreshTokenIssue() {
+        when(refreshTokenPort.generate()).thenReturn("new-refresh-token");
+        when(refreshTokenPort.hash("new-refresh-token")).thenReturn("new-refresh-hash");
+        when(refreshTokenPort.timeToLive()).thenReturn(Duration.ofDays(30));
+        when(refreshTokenPersistencePort.save(any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    private void givenStoredRefreshToken(UUID familyId, Instant usedAt, Instant revokedAt, Instant expiresAt) {
+        when(refreshTokenPort.hash("refresh-token")).thenReturn("refresh-hash");
+        when(refreshTokenPersistencePort.findByTokenHash("refresh-hash"))
+                .thenReturn(Mono.just(new RefreshToken("refresh-hash", familyId, 1L, expiresAt, usedAt, revokedAt)));
+    }
 }
@@ -3,21 +3,37 @@ package com.example.resilient_api.domain.usecase;
 import com.example.resilient_api.domain.api.PasswordEncoderPort;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.Deadline;
 import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.domain.model.UserExistence;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
 import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.domain.spi.UserSearchPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -30,7 +46,12 @@ class UserUseCaseTest {
     @Mock
     private PasswordEncoderPort passwordEncoderPort;
 
-    @InjectMocks
+    @Mock
+    private UserChangePersistencePort userChangePersistencePort;
+
+    @Mock
+    private UserSearchPort userSearchPort;
+
     private UserUseCase userUseCase;
 
     private User validUser;
@@ -38,6 +59,7 @@ class UserUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        userUseCase = new UserUseCase(userPersistencePort, passwordEncoderPort, userChangePersistencePort, userSearchPort);
         validUser = new User(null, "John Doe", "john@example.com", "password123", false);
         messageId = "test-message-id-123";
     }
@@ -46,24 +68,44 @@ class UserUseCaseTest {
     void registerUser_WithValidData_ShouldReturnSavedUser() {
         // Arrange
         User savedUser = new User(1L, "John Doe", "john@example.com", "encodedPassword", false);
-        when(userPersistencePort.existsByEmail(anyString())).thenReturn(Mono.just(false));
-        when(passwordEncoderPort.encode(anyString())).thenReturn("encodedPassword");
-        when(userPersistencePort.save(any(User.class))).thenReturn(Mono.just(savedUser));
+        when(passwordEncoderPort.encode(anyString())).thenReturn(Mono.just("encodedPassword"));
+        when(userPersistencePort.insertIfAbsent(any(User.class))).thenReturn(Mono.just(savedUser));
 
         // Act & Assert
         StepVerifier.create(userUseCase.registerUser(validUser, messageId))
                 .expectNext(savedUser)
                 .verifyComplete();
 
-        verify(userPersistencePort).existsByEmail("john@example.com");
         verify(passwordEncoderPort).encode("password123");
-        verify(userPersistencePort).save(any(User.class));
+        verify(userPersistencePort).insertIfAbsent(argThat(user ->
+                user.email().equals("john@example.com") && user.password().equals("encodedPassword")));
+        // Un solo viaje a la base de datos por alta
+        verify(userPersistencePort, never()).existsByEmail(anyString());
+        verify(userPersistencePort, never()).save(any(User.class));
     }
 
     @Test
-    void registerUser_WithExistingEmail_ShouldThrowBusinessException() {
+    void registerUser_WithEmailPreCheckAndExistingEmail_ShouldFailWithoutHashing() {
         // Arrange
-        when(userPersistencePort.existsByEmail(anyString())).thenReturn(Mono.just(true));
+        UserUseCase preChecking = new UserUseCase(userPersistencePort, passwordEncoderPort, userChangePersistencePort,
+                userSearchPort, true);
+        when(userPersistencePort.existsByEmail("john@example.com")).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        StepVerifier.create(preChecking.registerUser(validUser, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_ALREADY_EXISTS)
+                .verify();
+
+        verify(passwordEncoderPort, never()).encode(anyString());
+        verify(userPersistencePort, never()).insertIfAbsent(any(User.class));
+    }
+
+    @Test
+    void registerUser_WithExistingEmail_ShouldThrowBusinessException() {
+        // Arrange: el INSERT ... ON CONFLICT DO NOTHING no inserta nada
+        when(passwordEncoderPort.encode(anyString())).thenReturn(Mono.just("encodedPassword"));
+        when(userPersistencePort.insertIfAbsent(any(User.class))).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(userUseCase.registerUser(validUser, messageId))
@@ -71,10 +113,41 @@ class UserUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_ALREADY_EXISTS)
                 .verify();
 
-        verify(userPersistencePort).existsByEmail("john@example.com");
+        verify(userPersistencePort).insertIfAbsent(any(User.class));
         verify(userPersistencePort, never()).save(any(User.class));
     }
 
+    @Test
+    void registerUser_WithExpiredDeadline_ShouldFailWithoutHashingOrInserting() {
+        // Arrange
+        Deadline expired = new Deadline(Instant.now().minusMillis(1));
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.registerUser(validUser, messageId)
+                        .contextWrite(Context.of(Deadline.CONTEXT_KEY, expired)))
+                .expectErrorMatches(throwable -> throwable instanceof TechnicalException &&
+                        ((TechnicalException) throwable).getTechnicalMessage() == TechnicalMessage.DEADLINE_EXCEEDED)
+                .verify();
+
+        verify(userPersistencePort, never()).existsByEmail(anyString());
+        verify(passwordEncoderPort, never()).encode(anyString());
+        verify(userPersistencePort, never()).insertIfAbsent(any(User.class));
+    }
+
+    @Test
+    void registerUser_WithDeadlineInTheFuture_ShouldRegister() {
+        // Arrange
+        User savedUser = new User(1L, "John Doe", "john@example.com", "encodedPassword", false, 1L);
+        when(passwordEncoderPort.encode("password123")).thenReturn(Mono.just("encodedPassword"));
+        when(userPersistencePort.insertIfAbsent(any(User.class))).thenReturn(Mono.just(savedUser));
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.registerUser(validUser, messageId)
+                        .contextWrite(Context.of(Deadline.CONTEXT_KEY, new Deadline(Instant.now().plusSeconds(30)))))
+                .expectNext(savedUser)
+                .verifyComplete();
+    }
+
     @Test
     void registerUser_WithNullName_ShouldThrowBusinessException() {
         // Arrange
@@ -86,7 +159,7 @@ class UserUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_NAME_REQUIRED)
                 .verify();
 
-        verify(userPersistencePort, never()).existsByEmail(anyString());
+        verify(userPersistencePort, never()).insertIfAbsent(any(User.class));
     }
 
     @Test
@@ -203,15 +276,16 @@ class UserUseCaseTest {
     void getUserById_WithValidId_ShouldReturnUser() {
         // Arrange
         Long userId = 1L;
-        User user = new User(userId, "John Doe", "john@example.com", "encodedPassword", false);
-        when(userPersistencePort.findById(userId)).thenReturn(Mono.just(user));
+        UserSummary user = new UserSummary(userId, "John Doe", "john@example.com", false, 1L);
+        when(userPersistencePort.findSummaryById(userId)).thenReturn(Mono.just(user));
 
         // Act & Assert
         StepVerifier.create(userUseCase.getUserById(userId, messageId))
                 .expectNext(user)
                 .verifyComplete();
 
-        verify(userPersistencePort).findById(userId);
+        verify(userPersistencePort).findSummaryById(userId);
+        verify(userPersistencePort, never()).findById(any());
     }
 
     @Test
@@ -222,14 +296,14 @@ class UserUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_ID_REQUIRED)
                 .verify();
 
-        verify(userPersistencePort, never()).findById(any());
+        verify(userPersistencePort, never()).findSummaryById(any());
     }
 
     @Test
     void getUserById_WithNonExistingId_ShouldThrowBusinessException() {
         // Arrange
         Long userId = 999L;
-        when(userPersistencePort.findById(userId)).thenReturn(Mono.empty());
+        when(userPersistencePort.findSummaryById(userId)).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(userUseCase.getUserById(userId, messageId))
@@ -237,7 +311,7 @@ class UserUseCaseTest {
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.USER_NOT_FOUND)
                 .verify();
 
-        verify(userPersistencePort).findById(userId);
+        verify(userPersistencePort).findSummaryById(userId);
     }
 
     @Test
@@ -299,10 +373,10 @@ class UserUseCaseTest {
     void getUsersByIds_WithValidIds_ShouldReturnUsers() {
         // Arrange
         List<Long> ids = List.of(1L, 2L);
-        User user1 = new User(1L, "John Doe", "john@example.com", "pass", false);
-        User user2 = new User(2L, "Jane Doe", "jane@example.com", "pass", false);
+        UserSummary user1 = new UserSummary(1L, "John Doe", "john@example.com", false, 3L);
+        UserSummary user2 = new UserSummary(2L, "Jane Doe", "jane@example.com", false, 1L);
 
-        when(userPersistencePort.findAllByIdIn(ids)).thenReturn(Flux.just(user1, user2));
+        when(userPersistencePort.findSummariesByIds(ids)).thenReturn(Flux.just(user1, user2));
 
         // Act & Assert
         StepVerifier.create(userUseCase.getUsersByIds(ids, messageId))
@@ -310,7 +384,7 @@ class UserUseCaseTest {
                 .expectNext(user2)
                 .verifyComplete();
 
-        verify(userPersistencePort).findAllByIdIn(ids);
+        verify(userPersistencePort).findSummariesByIds(ids);
     }
 
     @Test
@@ -319,7 +393,7 @@ class UserUseCaseTest {
         StepVerifier.create(userUseCase.getUsersByIds(null, messageId))
                 .verifyComplete();
 
-        verify(userPersistencePort, never()).findAllByIdIn(any());
+        verify(userPersistencePort, never()).findSummariesByIds(any());
     }
 
     @Test
@@ -328,6 +402,188 @@ class UserUseCaseTest {
         StepVerifier.create(userUseCase.getUsersByIds(List.of(), messageId))
                 .verifyComplete();
 
-        verify(userPersistencePort, never()).findAllByIdIn(any());
+        verify(userPersistencePort, never()).findSummariesByIds(any());
+    }
+
+    @Test
+    void streamUsersByIds_WithManyIds_ShouldQueryBoundedChunksWithLimitedConcurrency() {
+        // Arrange
+        int totalIds = UserUseCase.ID_CHUNK_SIZE * 10 + 1;
+        java.util.concurrent.atomic.AtomicInteger inFlight = new AtomicInteger();
+        java.util.concurrent.atomic.AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+        when(userPersistencePort.findSummariesByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            return Flux.fromIterable(chunk)
+                    .map(id -> new UserSummary(id, "User " + id, "user" + id + "@example.com", false, 1L))
+                    .delaySubscription(Duration.ofMillis(5))
+                    .doOnSubscribe(subscription -> {
+                        chunkSizes.add(chunk.size());
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    })
+                    .doOnTerminate(inFlight::decrementAndGet);
+        });
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.streamUsersByIds(Flux.range(1, totalIds).map(Long::valueOf), messageId).count())
+                .expectNext((long) totalIds)
+                .verifyComplete();
+
+        assertThat(chunkSizes).hasSize(11).allMatch(size -> size <= UserUseCase.ID_CHUNK_SIZE);
+        assertThat(maxInFlight.get()).isBetween(2, UserUseCase.ID_CHUNK_CONCURRENCY);
+    }
+
+    @Test
+    void streamUsersExistence_ShouldAnswerEveryDistinctIdOfEachChunk() {
+        // Arrange
+        when(userPersistencePort.findExistingIdsByIds(List.of(1L, 999L, 1L))).thenReturn(Flux.just(1L));
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.streamUsersExistence(Flux.just(1L, 999L, 1L), messageId))
+                .expectNext(new UserExistence(1L, true))
+                .expectNext(new UserExistence(999L, false))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamUsersByIds_WithNoIds_ShouldNotQuery() {
+        // Act & Assert
+        StepVerifier.create(userUseCase.streamUsersByIds(Flux.empty(), messageId))
+                .verifyComplete();
+
+        verify(userPersistencePort, never()).findSummariesByIds(any());
+    }
+
+    @Test
+    void searchUsers_ShouldReturnCurrentMatchesInIndexOrder() {
+        // Arrange
+        UserSummary jose = new UserSummary(7L, "José Pérez", "jose@example.com", false, 1L);
+        UserSummary josefina = new UserSummary(3L, "Josefina Ruiz", "jr@example.com", false, 2L);
+        // Renombrado después de indexarse: el índice aún lo devuelve como candidato
+        UserSummary renamed = new UserSummary(5L, "Ana Gil", "ana@example.com", false, 4L);
+
+        when(userSearchPort.findIdsByPrefix("jos", 4)).thenReturn(Flux.just(7L, 5L, 3L));
+        when(userPersistencePort.findSummariesByIds(List.of(7L, 5L, 3L))).thenReturn(Flux.just(josefina, renamed, jose));
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.searchUsers("  JOS ", 2, messageId))
+                .expectNext(jose)
+                .expectNext(josefina)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchUsers_WithoutLimit_ShouldUseDefaultLimit() {
+        // Arrange
+        when(userSearchPort.findIdsByPrefix("ana", 20)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.searchUsers("Ana", null, messageId))
+                .verifyComplete();
+
+        verify(userPersistencePort, never()).findSummariesByIds(any());
+    }
+
+    @Test
+    void searchUsers_WithBlankQuery_ShouldReturnError() {
+        // Act & Assert
+        StepVerifier.create(userUseCase.searchUsers("   ", 10, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.SEARCH_QUERY_REQUIRED)
+                .verify();
+
+        verify(userSearchPort, never()).findIdsByPrefix(anyString(), anyInt());
+    }
+
+    @Test
+    void searchUsers_WithLimitOutOfRange_ShouldReturnError() {
+        // Act & Assert
+        StepVerifier.create(userUseCase.searchUsers("ana", 51, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.INVALID_SEARCH_LIMIT)
+                .verify();
+
+        verify(userSearchPort, never()).findIdsByPrefix(anyString(), anyInt());
+    }
+
+    @Test
+    void getUserVersions_ShouldReturnVersionsFromPersistence() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(userPersistencePort.findVersionsByIds(ids))
+                .thenReturn(Flux.just(new UserVersion(1L, 4L), new UserVersion(3L, 1L)));
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.getUserVersions(ids, messageId))
+                .expectNext(new UserVersion(1L, 4L), new UserVersion(3L, 1L))
+                .verifyComplete();
+
+        verify(userPersistencePort, never()).findSummariesByIds(any());
+    }
+
+    @Test
+    void getUserVersions_WithEmptyIds_ShouldReturnEmpty() {
+        // Act & Assert
+        StepVerifier.create(userUseCase.getUserVersions(List.of(), messageId))
+                .verifyComplete();
+
+        verify(userPersistencePort, never()).findVersionsByIds(any());
+    }
+
+    @Test
+    void getUserChanges_ShouldPageFromLastOffsetAndPollWhenCaughtUp() {
+        // Arrange
+        UserChange first = change(11);
+        UserChange second = change(12);
+        UserChange third = change(13);
+        when(userChangePersistencePort.findChangesAfter(10, UserUseCase.CHANGES_PAGE_SIZE))
+                .thenReturn(Flux.just(first, second));
+        when(userChangePersistencePort.findChangesAfter(12, UserUseCase.CHANGES_PAGE_SIZE))
+                .thenReturn(Flux.empty(), Flux.just(third));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> userUseCase.getUserChanges(10L, messageId))
+                .expectNext(first, second)
+                .expectNoEvent(UserUseCase.CHANGES_POLL_INTERVAL)
+                .expectNext(third)
+                .thenCancel()
+                .verify();
+
+        verify(userChangePersistencePort, times(2)).findChangesAfter(12, UserUseCase.CHANGES_PAGE_SIZE);
+    }
+
+    @Test
+    void getUserChanges_ShouldNotReadAheadOfDemand() {
+        // Arrange
+        when(userChangePersistencePort.findChangesAfter(anyLong(), anyInt()))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    return Flux.range(1, 3).map(i -> change(after + i));
+                });
+
+        // Act & Assert
+        StepVerifier.create(userUseCase.getUserChanges(null, messageId), 4)
+                .expectNextCount(4)
+                .thenCancel()
+                .verify();
+
+        // Solo la página en curso y la siguiente (prefetch), no un bucle de lectura sin consumidor
+        verify(userChangePersistencePort, atMost(3)).findChangesAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void getUserChanges_WithNegativeOffset_ShouldReturnError() {
+        // Act & Assert
+        StepVerifier.create(userUseCase.getUserChanges(-1L, messageId))
+                .expectErrorMatches(throwable -> throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.INVALID_CHANGE_OFFSET)
+                .verify();
+
+        verify(userChangePersistencePort, never()).findChangesAfter(anyLong(), anyInt());
+    }
+
+    private static UserChange change(long offset) {
+        return new UserChange(offset, "UPDATE", offset, "User " + offset, "user" + offset + "@example.com", false,
+                Instant.EPOCH);
     }
 }
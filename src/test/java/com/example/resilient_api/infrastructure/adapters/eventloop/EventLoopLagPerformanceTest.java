@@ -0,0 +1,65 @@
+package com.example.resilient_api.infrastructure.adapters.eventloop;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Tag("performance")
+class EventLoopLagPerformanceTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(10);
+    private static final Duration STALL_THRESHOLD = Duration.ofMillis(100);
+    private static final long BLOCKED_MILLIS = 300;
+
+    @Test
+    void blockedLoop_ShouldPrintLagBeforeAndDuringTheStall() throws InterruptedException {
+        NioEventLoopGroup loops = new NioEventLoopGroup(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventLoopLagProbe probe = new EventLoopLagProbe(loops, INTERVAL, STALL_THRESHOLD, meterRegistry);
+        probe.start();
+        try {
+            Thread.sleep(1_000);
+            Timer lag = meterRegistry.get("eventloop.lag").timer();
+            System.out.printf("%-8s %8s %12s %12s %8s %12s%n", "phase", "probes", "mean ms", "max ms", "stalls", "current ms");
+            print("idle", lag, meterRegistry, 0);
+
+            loops.next().execute(() -> {
+                try {
+                    Thread.sleep(BLOCKED_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            double currentWhileBlocked = 0;
+            for (long waited = 0; waited < BLOCKED_MILLIS; waited += 20) {
+                Thread.sleep(20);
+                currentWhileBlocked = Math.max(currentWhileBlocked,
+                        Math.max(current(meterRegistry, "0"), current(meterRegistry, "1")));
+            }
+            Thread.sleep(200);
+            print("blocked", lag, meterRegistry, currentWhileBlocked);
+        } finally {
+            probe.stop();
+            loops.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    private static double stalls(SimpleMeterRegistry meterRegistry, String loop) {
+        return meterRegistry.get("eventloop.stalls").tag("loop", loop).counter().count();
+    }
+
+    private static double current(SimpleMeterRegistry meterRegistry, String loop) {
+        return meterRegistry.get("eventloop.lag.current").tag("loop", loop).gauge().value();
+    }
+
+    private static void print(String phase, Timer lag, SimpleMeterRegistry meterRegistry, double currentSeconds) {
+        System.out.printf("%-8s %,8d %12.3f %12.3f %8.0f %12.3f%n", phase, lag.count(), lag.mean(TimeUnit.MILLISECONDS),
+                lag.max(TimeUnit.MILLISECONDS), stalls(meterRegistry, "0") + stalls(meterRegistry, "1"),
+                currentSeconds * 1000);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.resilient_api.infrastructure.adapters.eventloop;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.DefaultEventLoopGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventLoopLagProbeTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(5);
+    private static final Duration STALL_THRESHOLD = Duration.ofMillis(50);
+
+    private DefaultEventLoopGroup loops;
+    private SimpleMeterRegistry meterRegistry;
+    private EventLoopLagProbe probe;
+
+    @BeforeEach
+    void setUp() {
+        loops = new DefaultEventLoopGroup(2);
+        meterRegistry = new SimpleMeterRegistry();
+        probe = new EventLoopLagProbe(loops, INTERVAL, STALL_THRESHOLD, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        probe.stop();
+        loops.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    void probe_IdleLoops_ShouldRecordLagWithoutStalls() throws InterruptedException {
+        // Act
+        probe.start();
+        awaitUntil(() -> meterRegistry.get("eventloop.lag").timer().count() >= 10);
+
+        // Assert
+        assertThat(probe.isRunning()).isTrue();
+        assertThat(stalls("0") + stalls("1")).isZero();
+    }
+
+    @Test
+    void probe_BlockedLoop_ShouldCountTheStallOnceAndOnlyOnThatLoop() throws InterruptedException {
+        // Arrange: el loop se atasca en espera activa; BlockHound cortaría sleep u onSpinWait
+        AtomicBoolean released = new AtomicBoolean();
+        probe.start();
+        awaitUntil(() -> meterRegistry.get("eventloop.lag").timer().count() >= 2);
+
+        // Act
+        loops.next().execute(() -> {
+            while (!released.get()) {
+                // espera activa
+            }
+        });
+        awaitUntil(() -> stalls("0") + stalls("1") > 0);
+        String blocked = stalls("0") > 0 ? "0" : "1";
+        String healthy = blocked.equals("0") ? "1" : "0";
+        // Varios umbrales más atascado: sigue siendo un único stall
+        Thread.sleep(STALL_THRESHOLD.toMillis() * 4);
+        double currentWhileBlocked = current(blocked);
+        released.set(true);
+        awaitUntil(() -> current(blocked) < STALL_THRESHOLD.toMillis() / 1000.0);
+
+        // Assert
+        assertThat(stalls(blocked)).isEqualTo(1);
+        assertThat(stalls(healthy)).isZero();
+        assertThat(currentWhileBlocked).isGreaterThan(STALL_THRESHOLD.toMillis() / 1000.0);
+        assertThat(meterRegistry.get("eventloop.lag").timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThan(STALL_THRESHOLD.toMillis());
+    }
+
+    @Test
+    void stop_ShouldStopProbing() throws InterruptedException {
+        // Arrange
+        probe.start();
+        awaitUntil(() -> meterRegistry.get("eventloop.lag").timer().count() > 0);
+
+        // Act
+        probe.stop();
+        long probes = meterRegistry.get("eventloop.lag").timer().count();
+        Thread.sleep(INTERVAL.toMillis() * 10);
+
+        // Assert
+        assertThat(probe.isRunning()).isFalse();
+        assertThat(meterRegistry.get("eventloop.lag").timer().count()).isLessThanOrEqualTo(probes + 2);
+    }
+
+    private double stalls(String loop) {
+        return meterRegistry.get("eventloop.stalls").tag("loop", loop).counter().count();
+    }
+
+    private double current(String loop) {
+        return meterRegistry.get("eventloop.lag.current").tag("loop", loop).gauge().value();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.resilient_api.infrastructure.adapters.lane;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseShareTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseShare share;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        share = new DatabaseShare("public", 1, 1, meterRegistry);
+    }
+
+    @Test
+    void run_OverTheShare_ShouldQueueThenFailWhenTheQueueIsFull() {
+        // Arrange
+        Sinks.One<String> first = Sinks.one();
+        List<String> results = new ArrayList<>();
+        share.run(first.asMono()).subscribe(results::add);
+        share.run(Mono.just("queued")).subscribe(results::add);
+
+        // Act & Assert
+        StepVerifier.create(share.run(Mono.just("rejected")))
+                .expectErrorMatches(ex -> ex instanceof TechnicalException technical
+                        && technical.getTechnicalMessage() == TechnicalMessage.LANE_SATURATED)
+                .verify();
+        assertThat(gauge("lanes.db.waiting")).isEqualTo(1);
+        assertThat(results).isEmpty();
+        // usingWhen libera el permiso antes de emitir, así que el encolado puede adelantarse
+        first.tryEmitValue("first");
+        assertThat(results).containsExactlyInAnyOrder("first", "queued");
+        assertThat(gauge("lanes.db.in_use")).isZero();
+    }
+
+    @Test
+    void run_WhenAQueuedCallIsCancelled_ShouldNotLeakItsPermit() {
+        // Arrange
+        Sinks.One<String> first = Sinks.one();
+        share.run(first.asMono()).subscribe();
+        Disposable queued = share.run(Mono.just("queued")).subscribe();
+
+        // Act
+        queued.dispose();
+        first.tryEmitValue("first");
+
+        // Assert
+        assertThat(gauge("lanes.db.waiting")).isZero();
+        assertThat(gauge("lanes.db.in_use")).isZero();
+        StepVerifier.create(share.run(Mono.just("next"))).expectNext("next").verifyComplete();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("lane", "public").gauge().value();
+    }
+}
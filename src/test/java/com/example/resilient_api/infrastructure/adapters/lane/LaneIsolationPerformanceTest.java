@@ -0,0 +1,167 @@
+package com.example.resilient_api.infrastructure.adapters.lane;
+
+import com.example.resilient_api.domain.model.LoginRequest;
+import com.example.resilient_api.domain.model.RefreshToken;
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.spi.RefreshTokenPersistencePort;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.domain.spi.UserSearchPort;
+import com.example.resilient_api.domain.usecase.AuthUseCase;
+import com.example.resilient_api.domain.usecase.UserUseCase;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.lane.LaneLimitedUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.security.JwtAdapter;
+import com.example.resilient_api.infrastructure.adapters.security.PasswordEncoderAdapter;
+import com.example.resilient_api.infrastructure.adapters.security.RefreshTokenAdapter;
+import com.example.resilient_api.infrastructure.entrypoints.filter.LaneAdmissionFilter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("performance")
+class LaneIsolationPerformanceTest {
+
+    private static final Duration RUN = Duration.ofSeconds(4);
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(5);
+    private static final Duration DB_LATENCY = Duration.ofMillis(1);
+    private static final int PUBLIC_CLIENTS = 16;
+    private static final String PASSWORD = "password123";
+
+    @Test
+    void internalLatency_SharedVersusLanes_ShouldReportWhilePublicTrafficIsSaturated() {
+        Result shared = run(false);
+        Result isolated = run(true);
+
+        System.out.printf("%-10s internal p50 %7.1f ms  p99 %7.1f ms  logins %5d  rejected %5d%n",
+                "shared", shared.p50Millis, shared.p99Millis, shared.logins, shared.rejected);
+        System.out.printf("%-10s internal p50 %7.1f ms  p99 %7.1f ms  logins %5d  rejected %5d%n",
+                "lanes", isolated.p50Millis, isolated.p99Millis, isolated.logins, isolated.rejected);
+    }
+
+    private static Result run(boolean lanesEnabled) {
+        Scheduler eventLoop = Schedulers.newSingle("event-loop");
+        ExecutionLanes executionLanes = lanes();
+        try {
+            BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+            User user = new User(1L, "John Doe", "john@example.com", bcrypt.encode(PASSWORD), false, 1L);
+            UserSummary summary = new UserSummary(user.id(), user.name(), user.email(), user.isAdmin(), user.version());
+            UserPersistencePort database = mock(UserPersistencePort.class);
+            when(database.findCredentialsByEmail(anyString()))
+                    .thenAnswer(invocation -> Mono.just(user).delayElement(DB_LATENCY, eventLoop));
+            when(database.findSummaryById(anyLong()))
+                    .thenAnswer(invocation -> Mono.just(summary).delayElement(DB_LATENCY, eventLoop));
+            RefreshTokenPersistencePort refreshTokens = mock(RefreshTokenPersistencePort.class);
+            when(refreshTokens.save(any(RefreshToken.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.<RefreshToken>getArgument(0)).delayElement(DB_LATENCY, eventLoop));
+
+            UserPersistencePort persistence = lanesEnabled ? new LaneLimitedUserPersistenceAdapter(database) : database;
+            PasswordEncoderAdapter passwordEncoder = new PasswordEncoderAdapter(bcrypt, new SimpleMeterRegistry());
+            AuthUseCase authUseCase = new AuthUseCase(persistence, passwordEncoder,
+                    new JwtAdapter("mySecretKeyForJWT2026ThisIsA32CharacterKeyMinimumForHS256Algorithm", 3_600_000),
+                    refreshTokens, new RefreshTokenAdapter(2_592_000_000L));
+            UserUseCase userUseCase = new UserUseCase(persistence, passwordEncoder, mock(UserChangePersistencePort.class),
+                    mock(UserSearchPort.class));
+            WebFilter filter = lanesEnabled ? new LaneAdmissionFilter(executionLanes) : (exchange, chain) -> chain.filter(exchange);
+
+            LoginRequest loginRequest = new LoginRequest(user.email(), PASSWORD);
+            AtomicLong logins = new AtomicLong();
+            AtomicLong rejected = new AtomicLong();
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            long endAt = System.nanoTime() + RUN.toNanos();
+
+            Flux<Void> publicLoad = Flux.range(0, PUBLIC_CLIENTS)
+                    .flatMap(client -> Mono.defer(() -> {
+                                MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login"));
+                                return handle(filter, exchange, eventLoop, chainExchange -> authUseCase.login(loginRequest, "load")
+                                        .doOnNext(response -> logins.incrementAndGet())
+                                        .then())
+                                        // Un cliente rechazado espera antes de reintentar, como pide Retry-After
+                                        .then(Mono.defer(() -> rejectedBackoff(exchange, rejected)));
+                            })
+                            .repeat(() -> System.nanoTime() < endAt), PUBLIC_CLIENTS);
+
+            // Sondas a ritmo fijo sin esperar a la anterior: la latencia incluye la cola del event loop
+            Flux<Void> internalProbes = Flux.interval(PROBE_INTERVAL)
+                    .takeWhile(tick -> System.nanoTime() < endAt)
+                    .flatMap(tick -> {
+                        long startedAt = System.nanoTime();
+                        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1"));
+                        return handle(filter, exchange, eventLoop, chainExchange -> userUseCase.getUserById(1L, "probe").then())
+                                .doOnSuccess(done -> latencies.add(System.nanoTime() - startedAt));
+                    }, Integer.MAX_VALUE);
+
+            Flux.merge(publicLoad, internalProbes).blockLast(RUN.plusSeconds(30));
+            return Result.of(latencies, logins.get(), rejected.get());
+        } finally {
+            executionLanes.destroy();
+            eventLoop.dispose();
+        }
+    }
+
+    // Como en Netty: la petición entra por el event loop y el filtro y el handler corren en él
+    private static Mono<Void> handle(WebFilter filter, ServerWebExchange exchange, Scheduler eventLoop, WebFilterChain handler) {
+        return Mono.defer(() -> filter.filter(exchange, handler)).subscribeOn(eventLoop);
+    }
+
+    private static Mono<Void> rejectedBackoff(ServerWebExchange exchange, AtomicLong rejected) {
+        if (HttpStatus.SERVICE_UNAVAILABLE.equals(exchange.getResponse().getStatusCode())) {
+            rejected.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(20)).then();
+        }
+        return Mono.empty();
+    }
+
+    private static ExecutionLanes lanes() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BulkheadConfig noWait = BulkheadConfig.custom().maxWaitDuration(Duration.ZERO).build();
+        ExecutionLane publicLane = new ExecutionLane(Lane.PUBLIC,
+                Bulkhead.of("public", BulkheadConfig.from(noWait).maxConcurrentCalls(8).build()),
+                new DatabaseShare("public", 4, 8, meterRegistry),
+                Schedulers.newBoundedElastic(1, 8, "lane-public"));
+        ExecutionLane internalLane = new ExecutionLane(Lane.INTERNAL,
+                Bulkhead.of("internal", BulkheadConfig.from(noWait).maxConcurrentCalls(64).build()),
+                null, null);
+        return new ExecutionLanes(Map.of(Lane.PUBLIC, publicLane, Lane.INTERNAL, internalLane), 8, meterRegistry);
+    }
+
+    private record Result(double p50Millis, double p99Millis, long logins, long rejected) {
+
+        static Result of(List<Long> latencies, long logins, long rejected) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return new Result(percentile(sorted, 0.50), percentile(sorted, 0.99), logins, rejected);
+        }
+
+        private static double percentile(List<Long> sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+}
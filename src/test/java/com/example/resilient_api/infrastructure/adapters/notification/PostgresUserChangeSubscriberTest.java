@@ -0,0 +1,217 @@
+package com.example.resilient_api.infrastructure.adapters.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostgresUserChangeSubscriberTest {
+
+    private static final long WAIT_MILLIS = 2_000;
+
+    private final BlockingQueue<Sinks.Many<Notification>> connections = new LinkedBlockingQueue<>();
+    private SimpleMeterRegistry meterRegistry;
+    private UserChangeListener first;
+    private UserChangeListener second;
+    private PostgresUserChangeSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        first = mock(UserChangeListener.class);
+        second = mock(UserChangeListener.class);
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        // Como el driver: cada suscripción abre una conexión nueva
+        when(connectionFactory.create()).thenAnswer(invocation -> Mono.fromSupplier(this::connection));
+        subscriber = new PostgresUserChangeSubscriber(connectionFactory, List.of(first, second), new ObjectMapper(),
+                meterRegistry, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriber.stop();
+    }
+
+    @Test
+    void notification_ShouldBeParsedAndDispatchedToEveryListener() throws InterruptedException {
+        // Arrange
+        Sinks.Many<Notification> notifications = started();
+        long firedAt = System.currentTimeMillis() - 250;
+
+        // Act
+        notifications.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL, """
+                {"operation":"UPDATE","id":7,"name":"Ana","email":"ana@example.com",
+                 "previousEmail":"old@example.com","version":3,"timestamp":%d}""".formatted(firedAt)));
+
+        // Assert
+        UserChangeNotification expected = new UserChangeNotification(UserChangeNotification.UPDATE, 7L, "Ana",
+                "ana@example.com", "old@example.com", 3L, firedAt);
+        verify(first, timeout(WAIT_MILLIS)).onUserChanged(expected);
+        verify(second, timeout(WAIT_MILLIS)).onUserChanged(expected);
+        verify(first, never()).onResync();
+        Timer lag = meterRegistry.get("users.notifications.lag").timer();
+        assertThat(lag.count()).isEqualTo(1);
+        assertThat(lag.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(250);
+        assertThat(meterRegistry.get("users.notifications.received").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void notificationFromTheFuture_ShouldRecordZeroLag() throws InterruptedException {
+        // Arrange: reloj de la BD adelantado respecto al del nodo
+        Sinks.Many<Notification> notifications = started();
+
+        // Act
+        notifications.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL,
+                payload(UserChangeNotification.INSERT, 1L, System.currentTimeMillis() + 60_000)));
+
+        // Assert
+        verify(first, timeout(WAIT_MILLIS)).onUserChanged(any());
+        assertThat(meterRegistry.get("users.notifications.lag").timer().totalTime(TimeUnit.MILLISECONDS)).isZero();
+    }
+
+    @Test
+    void invalidOrForeignNotifications_ShouldBeSkippedWithoutStoppingTheStream() throws InterruptedException {
+        // Arrange
+        Sinks.Many<Notification> notifications = started();
+        long firedAt = System.currentTimeMillis();
+
+        // Act
+        notifications.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL, "{not json"));
+        notifications.tryEmitNext(notification("other_channel", payload(UserChangeNotification.DELETE, 1L, firedAt)));
+        notifications.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL, null));
+        notifications.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL,
+                payload(UserChangeNotification.DELETE, 2L, firedAt)));
+
+        // Assert: solo llega el último
+        verify(first, timeout(WAIT_MILLIS)).onUserChanged(new UserChangeNotification(UserChangeNotification.DELETE, 2L,
+                "User", "user@example.com", null, 1L, firedAt));
+        verify(first).onUserChanged(any());
+        assertThat(meterRegistry.get("users.notifications.received").counter().count()).isEqualTo(1);
+        assertThat(subscriber.isRunning()).isTrue();
+    }
+
+    @Test
+    void failingListener_ShouldNotKeepTheOthersFromTheChange() throws InterruptedException {
+        // Arrange
+        doThrow(new IllegalStateException("boom")).when(first).onUserChanged(any());
+        Sinks.Many<Notification> notifications = started();
+
+        // Act
+        notifications.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL,
+                payload(UserChangeNotification.INSERT, 5L, System.currentTimeMillis())));
+        notifications.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL,
+                payload(UserChangeNotification.INSERT, 6L, System.currentTimeMillis())));
+
+        // Assert: el segundo listener recibe ambos y la suscripción sigue viva
+        verify(second, timeout(WAIT_MILLIS).times(2)).onUserChanged(any());
+        assertThat(subscriber.isRunning()).isTrue();
+    }
+
+    @Test
+    void connectionLost_ShouldReconnectAndResyncEveryListener() throws InterruptedException {
+        // Arrange
+        Sinks.Many<Notification> lost = started();
+
+        // Act
+        lost.tryEmitError(new IllegalStateException("connection reset"));
+        Sinks.Many<Notification> reconnected = connections.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertThat(reconnected).isNotNull();
+        verify(first, timeout(WAIT_MILLIS)).onResync();
+        verify(second, timeout(WAIT_MILLIS)).onResync();
+        assertThat(meterRegistry.get("users.notifications.reconnects").counter().count()).isEqualTo(1);
+
+        // Y la conexión nueva sigue entregando cambios
+        reconnected.tryEmitNext(notification(PostgresUserChangeSubscriber.CHANNEL,
+                payload(UserChangeNotification.INSERT, 9L, System.currentTimeMillis())));
+        verify(first, timeout(WAIT_MILLIS)).onUserChanged(any());
+    }
+
+    @Test
+    void connectionClosedByTheServer_ShouldBeTreatedAsLostAndResync() throws InterruptedException {
+        // Arrange
+        Sinks.Many<Notification> closed = started();
+        doThrow(new IllegalStateException("boom")).when(first).onResync();
+
+        // Act
+        closed.tryEmitComplete();
+
+        // Assert: un listener que falla al resincronizar no impide el resto
+        assertThat(connections.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS)).isNotNull();
+        verify(second, timeout(WAIT_MILLIS)).onResync();
+        assertThat(subscriber.isRunning()).isTrue();
+    }
+
+    private Sinks.Many<Notification> started() throws InterruptedException {
+        subscriber.start();
+        Sinks.Many<Notification> notifications = connections.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        assertThat(notifications).isNotNull();
+        return notifications;
+    }
+
+    // Conexión falsa: el LISTEN responde y las notificaciones salen de un sink que el test controla
+    private PostgresqlConnection connection() {
+        Sinks.Many<Notification> notifications = Sinks.many().unicast().onBackpressureBuffer();
+        PostgresqlResult result = mock(PostgresqlResult.class);
+        when(result.getRowsUpdated()).thenReturn(Mono.just(0L));
+        PostgresqlStatement statement = mock(PostgresqlStatement.class);
+        when(statement.execute()).thenReturn(Flux.just(result));
+        PostgresqlConnection connection = mock(PostgresqlConnection.class);
+        when(connection.createStatement("LISTEN " + PostgresUserChangeSubscriber.CHANNEL)).thenReturn(statement);
+        when(connection.getNotifications()).thenReturn(notifications.asFlux());
+        when(connection.close()).thenReturn(Mono.empty());
+        connections.add(notifications);
+        return connection;
+    }
+
+    private static String payload(String operation, long id, long timestamp) {
+        return """
+                {"operation":"%s","id":%d,"name":"User","email":"user@example.com","version":1,"timestamp":%d}"""
+                .formatted(operation, id, timestamp);
+    }
+
+    private static Notification notification(String channel, String parameter) {
+        return new Notification() {
+            @Override
+            public String getName() {
+                return channel;
+            }
+
+            @Override
+            public int getProcessId() {
+                return 1;
+            }
+
+            @Override
+            public String getParameter() {
+                return parameter;
+            }
+        };
+    }
+}
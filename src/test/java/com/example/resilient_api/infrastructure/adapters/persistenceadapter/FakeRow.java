@@ -0,0 +1,71 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Fila R2DBC en memoria, en el orden de inserción del mapa
+public record FakeRow(Map<String, Object> values) implements Row, RowMetadata {
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        return type.cast(values.values().toArray()[index]);
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        return type.cast(values.get(name));
+    }
+
+    @Override
+    public RowMetadata getMetadata() {
+        return this;
+    }
+
+    @Override
+    public ColumnMetadata getColumnMetadata(int index) {
+        return getColumnMetadatas().get(index);
+    }
+
+    @Override
+    public ColumnMetadata getColumnMetadata(String name) {
+        return new Column(name, values.get(name).getClass());
+    }
+
+    @Override
+    public List<? extends ColumnMetadata> getColumnMetadatas() {
+        return values.keySet().stream().map(this::getColumnMetadata).toList();
+    }
+
+    @Override
+    public boolean contains(String name) {
+        return values.containsKey(name);
+    }
+
+    private record Column(String name, Class<?> javaType) implements ColumnMetadata {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getJavaType() {
+            return javaType;
+        }
+
+        @Override
+        public Type getType() {
+            return Arrays.stream(R2dbcType.values())
+                    .filter(type -> type.getJavaType().equals(javaType))
+                    .findFirst()
+                    .orElse(R2dbcType.VARCHAR);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapperImpl;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+// El segundo test necesita PERF_R2DBC_URL, como UserPersistenceExecutionModelPerformanceTest
+@Tag("performance")
+class IdArrayQueryPerformanceTest {
+
+    private static final int CALLS = 3_000;
+    private static final int MAX_IDS = 1_000;
+    private static final Pattern PLANNING_TIME = Pattern.compile("Planning Time: ([0-9.]+) ms");
+
+    @Test
+    void idSetQueries_InListVersusArrayParameter_ShouldReportDistinctStatements() {
+        List<String> executed = new ArrayList<>();
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(capturing(executed))
+                .bindMarkers(BindMarkersFactory.indexed("$", 1))
+                .build();
+        UserPersistencePort adapter = adapter(databaseClient);
+
+        run(workload(ids -> Flux.concat(
+                legacy(databaseClient, "SELECT id FROM users", ids),
+                legacy(databaseClient, "SELECT " + UserSummaryRows.COLUMNS + " FROM users", ids),
+                legacy(databaseClient, "SELECT id, version FROM users", ids))));
+        StatementStats inList = StatementStats.of(executed);
+        executed.clear();
+        run(workload(ids -> Flux.concat(
+                adapter.findExistingIdsByIds(ids),
+                adapter.findSummariesByIds(ids),
+                adapter.findVersionsByIds(ids))));
+        StatementStats anyArray = StatementStats.of(executed);
+
+        System.out.printf("%-14s %10s %12s %14s %16s%n", "form", "queries", "statements", "cache hit %", "longest SQL");
+        inList.print("IN (:ids)");
+        anyArray.print("= ANY(:ids)");
+    }
+
+    @Test
+    void idSetQueries_AgainstPostgres_ShouldReportPlanningTimeAndPreparedStatements() {
+        String r2dbcUrl = System.getenv("PERF_R2DBC_URL");
+        assumeTrue(r2dbcUrl != null && !r2dbcUrl.isBlank(), "PERF_R2DBC_URL not set");
+        // Una sola conexión: pg_prepared_statements es por sesión
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                        ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                                .option(ConnectionFactoryOptions.USER, System.getenv().getOrDefault("PERF_DB_USERNAME", "postgres"))
+                                .option(ConnectionFactoryOptions.PASSWORD, System.getenv().getOrDefault("PERF_DB_PASSWORD", "postgres"))
+                                .build()))
+                .maxSize(1)
+                .build());
+        try {
+            ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+            schema.setSeparator(";;");
+            schema.populate(connectionPool).block();
+            DatabaseClient databaseClient = DatabaseClient.create(connectionPool);
+            UserPersistencePort adapter = adapter(databaseClient);
+
+            System.out.printf("%-14s %12s %14s %9s %9s%n", "form", "prepared", "planning ms", "p50 ms", "p99 ms");
+            String sample = String.join(",", LongStream.rangeClosed(1, 500).mapToObj(String::valueOf).toList());
+            double inListPlanning = planningMillis(databaseClient, "IN (" + sample + ")");
+            double anyArrayPlanning = planningMillis(databaseClient, "= ANY('{" + sample + "}'::bigint[])");
+            long[] inList = run(workload(ids -> legacy(databaseClient, "SELECT " + UserSummaryRows.COLUMNS + " FROM users", ids)));
+            long inListPrepared = preparedStatements(databaseClient);
+            long[] anyArray = run(workload(adapter::findSummariesByIds));
+            long anyArrayPrepared = preparedStatements(databaseClient) - inListPrepared;
+            System.out.printf("%-14s %,12d %14.3f %9.2f %9.2f%n", "IN (:ids)", inListPrepared, inListPlanning,
+                    inList[CALLS / 2] / 1_000_000.0, inList[CALLS * 99 / 100] / 1_000_000.0);
+            System.out.printf("%-14s %,12d %14.3f %9.2f %9.2f%n", "= ANY(:ids)", anyArrayPrepared, anyArrayPlanning,
+                    anyArray[CALLS / 2] / 1_000_000.0, anyArray[CALLS * 99 / 100] / 1_000_000.0);
+        } finally {
+            connectionPool.dispose();
+        }
+    }
+
+    private static UserPersistencePort adapter(DatabaseClient databaseClient) {
+        UserRepository userRepository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE))
+                .getRepository(UserRepository.class);
+        return new UserPersistenceAdapter(userRepository, new UserEntityMapperImpl(), databaseClient);
+    }
+
+    // Lo que hacían findAllByIdIn, findVersionsByIdIn y el IN (:ids) de DatabaseClient: un marcador por id
+    private static Flux<?> legacy(DatabaseClient databaseClient, String select, List<Long> ids) {
+        return databaseClient.sql(select + " WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .all();
+    }
+
+    // Mismos tamaños de lista para las dos formas: de 1 a 1000 ids (el tamaño de chunk de by-ids/check-exists)
+    private static List<Mono<?>> workload(Function<List<Long>, Flux<?>> query) {
+        SplittableRandom random = new SplittableRandom(49);
+        List<Mono<?>> calls = new ArrayList<>(CALLS);
+        for (int i = 0; i < CALLS; i++) {
+            int size = 1 + random.nextInt(MAX_IDS);
+            long first = 1 + random.nextInt(100_000);
+            List<Long> ids = LongStream.range(first, first + size).boxed().toList();
+            calls.add(Flux.defer(() -> query.apply(ids)).then());
+        }
+        return calls;
+    }
+
+    private static long[] run(List<Mono<?>> calls) {
+        long[] latencies = new long[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            long startedAt = System.nanoTime();
+            calls.get(i).block();
+            latencies[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static double planningMillis(DatabaseClient databaseClient, String predicate) {
+        List<String> plan = databaseClient.sql("EXPLAIN (SUMMARY) SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id " + predicate)
+                .map((row, metadata) -> row.get(0, String.class))
+                .all()
+                .collectList()
+                .block();
+        return plan.stream()
+                .map(PLANNING_TIME::matcher)
+                .filter(Matcher::find)
+                .mapToDouble(matcher -> Double.parseDouble(matcher.group(1)))
+                .findFirst()
+                .orElse(Double.NaN);
+    }
+
+    private static long preparedStatements(DatabaseClient databaseClient) {
+        return databaseClient.sql("SELECT count(*) FROM pg_prepared_statements")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    // Conexión falsa: guarda el SQL de cada sentencia y devuelve resultados vacíos
+    @SuppressWarnings("unchecked")
+    private static ConnectionFactory capturing(List<String> executed) {
+        Result result = mock(Result.class);
+        doReturn(Flux.empty()).when(result).map(any(BiFunction.class));
+        doReturn(Flux.empty()).when(result).map(any(Function.class));
+        Statement statement = mock(Statement.class, RETURNS_SELF);
+        doReturn(Flux.just(result)).when(statement).execute();
+        Connection connection = mock(Connection.class);
+        doAnswer(invocation -> {
+            executed.add(invocation.getArgument(0));
+            return statement;
+        }).when(connection).createStatement(anyString());
+        doReturn(Mono.empty()).when(connection).close();
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        return connectionFactory;
+    }
+
+    private record StatementStats(int queries, int distinct, int longest) {
+
+        static StatementStats of(List<String> executed) {
+            Set<String> distinct = new HashSet<>(executed);
+            return new StatementStats(executed.size(), distinct.size(),
+                    distinct.stream().mapToInt(String::length).max().orElse(0));
+        }
+
+        // Caché de sentencias sin límite (la del driver por defecto): solo falla la primera vez de cada SQL
+        double hitRate() {
+            return queries == 0 ? 0 : (double) (queries - distinct) / queries;
+        }
+
+        void print(String form) {
+            System.out.printf("%-14s %,10d %,12d %14.1f %,16d%n", form, queries, distinct, hitRate() * 100, longest);
+        }
+    }
+}
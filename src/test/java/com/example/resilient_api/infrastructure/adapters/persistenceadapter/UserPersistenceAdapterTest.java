@@ -0,0 +1,100 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapperImpl;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserRepository;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class UserPersistenceAdapterTest {
+
+    private final List<String> executed = new ArrayList<>();
+    private final List<Object> bound = new ArrayList<>();
+    private UserPersistencePort adapter;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(capturing())
+                .bindMarkers(BindMarkersFactory.indexed("$", 1))
+                .build();
+        UserRepository userRepository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE))
+                .getRepository(UserRepository.class);
+        adapter = new UserPersistenceAdapter(userRepository, new UserEntityMapperImpl(), databaseClient);
+    }
+
+    @Test
+    void idSetQueries_WithListsOfAnySize_ShouldUseTheSameThreeStatements() {
+        // Act
+        for (int size : new int[]{1, 7, 1_000}) {
+            List<Long> ids = LongStream.rangeClosed(1, size).boxed().toList();
+            Flux.concat(adapter.findExistingIdsByIds(ids), adapter.findSummariesByIds(ids), adapter.findVersionsByIds(ids))
+                    .blockLast();
+        }
+
+        // Assert
+        assertThat(executed).hasSize(9);
+        assertThat(executed.stream().distinct()).hasSize(3)
+                .allSatisfy(sql -> assertThat(sql).contains("= ANY($1)").doesNotContain("$2"));
+    }
+
+    @Test
+    void findSummariesByIds_ShouldBindTheIdsAsASingleArray() {
+        // Act
+        adapter.findSummariesByIds(List.of(3L, 1L, 2L)).blockLast();
+
+        // Assert
+        assertThat(bound).singleElement().isEqualTo(new Long[]{3L, 1L, 2L});
+    }
+
+    // Conexión falsa: guarda el SQL y los valores de cada sentencia y devuelve resultados vacíos
+    @SuppressWarnings("unchecked")
+    private ConnectionFactory capturing() {
+        Result result = mock(Result.class);
+        doReturn(Flux.empty()).when(result).map(any(BiFunction.class));
+        doReturn(Flux.empty()).when(result).map(any(Function.class));
+        Statement statement = mock(Statement.class, RETURNS_SELF);
+        doAnswer(invocation -> {
+            Object value = invocation.getArgument(1);
+            bound.add(value instanceof Parameter parameter ? parameter.getValue() : value);
+            return statement;
+        }).when(statement).bind(anyInt(), any());
+        doReturn(Flux.just(result)).when(statement).execute();
+        Connection connection = mock(Connection.class);
+        doAnswer(invocation -> {
+            executed.add(invocation.getArgument(0));
+            return statement;
+        }).when(connection).createStatement(anyString());
+        doReturn(Mono.empty()).when(connection).close();
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        return connectionFactory;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapperImpl;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserSummaryJsonMixin;
+import com.example.resilient_api.infrastructure.entrypoints.mapper.UserMapper;
+import com.example.resilient_api.infrastructure.entrypoints.mapper.UserMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Tag("performance")
+class UserReadProjectionPerformanceTest {
+
+    private static final int USERS_PER_REQUEST = 50;
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int REQUESTS = 50_000;
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOa5n1V3L0Ky4bPb8i5rF6jHkq9O7G8eW";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .mixIn(UserSummary.class, UserSummaryJsonMixin.class)
+            .build();
+
+    @Test
+    void byIds_ProjectionVersusEntityChain_ShouldReportAllocationAndThroughput() throws Exception {
+        // SELECT * de findAllByIdIn frente a las columnas de UserSummaryRows
+        List<Row> fullRows = rows(true);
+        List<Row> summaryRows = rows(false);
+
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE);
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(mappingContext, conversions);
+        UserEntityMapper userEntityMapper = new UserEntityMapperImpl();
+        UserMapper userMapper = new UserMapperImpl();
+
+        Function<List<Row>, byte[]> entityChain = batch -> write(batch.stream()
+                .map(row -> converter.read(UserEntity.class, row, row.getMetadata()))
+                .map(userEntityMapper::toModel)
+                .map(userMapper::userToUserDTO)
+                .toList());
+        Function<List<Row>, byte[]> projection = batch -> write(batch.stream()
+                .map(UserSummaryRows::toSummary)
+                .toList());
+
+        measure(entityChain, fullRows, WARMUP_REQUESTS);
+        measure(projection, summaryRows, WARMUP_REQUESTS);
+        Result entity = measure(entityChain, fullRows, REQUESTS);
+        Result summary = measure(projection, summaryRows, REQUESTS);
+
+        System.out.printf("%-12s %,10.0f bytes/request %,10.0f requests/s%n", "entity chain", entity.bytesPerRequest(), entity.throughput());
+        System.out.printf("%-12s %,10.0f bytes/request %,10.0f requests/s%n", "projection", summary.bytesPerRequest(), summary.throughput());
+    }
+
+    private Result measure(Function<List<Row>, byte[]> chain, List<Row> batch, int requests) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long sink = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            sink += chain.apply(batch).length;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        // Que el JIT no descarte el bucle
+        if (sink == 0) {
+            throw new IllegalStateException("no bytes written");
+        }
+        return new Result((double) allocated / requests, requests / (elapsed / 1_000_000_000.0));
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Row> rows(boolean allColumns) {
+        List<Row> rows = new ArrayList<>(USERS_PER_REQUEST);
+        for (long id = 1; id <= USERS_PER_REQUEST; id++) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("id", id);
+            values.put("name", "User " + id);
+            values.put("email", "user" + id + "@example.com");
+            if (allColumns) {
+                values.put("password", PASSWORD_HASH);
+            }
+            values.put("is_admin", id % 10 == 0);
+            values.put("version", 3L);
+            if (allColumns) {
+                values.put("email_hash", id * 7919);
+                values.put("email_normalized", "user" + id + "@example.com");
+            }
+            rows.add(new FakeRow(values));
+        }
+        return rows;
+    }
+
+    private record Result(double bytesPerRequest, double throughput) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapperImpl;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserSummaryJsonMixin;
+import com.example.resilient_api.infrastructure.entrypoints.mapper.UserMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSummaryRowsTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .mixIn(UserSummary.class, UserSummaryJsonMixin.class)
+            .build();
+
+    @Test
+    void toSummary_ShouldReadOnlyTheSummaryColumns() {
+        // Arrange
+        Row row = row(7L, false);
+
+        // Act
+        UserSummary summary = UserSummaryRows.toSummary(row);
+
+        // Assert
+        assertThat(summary).isEqualTo(new UserSummary(7L, "User 7", "user7@example.com", false, 3L));
+        assertThat(UserSummaryRows.COLUMNS.split(", ")).containsExactlyElementsOf(((FakeRow) row).values().keySet());
+    }
+
+    @Test
+    void toSummary_ShouldSerializeLikeTheEntityChain() throws JsonProcessingException {
+        // Arrange: SELECT * de findAllByIdIn frente a las columnas de UserSummaryRows
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE);
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(mappingContext, conversions);
+        List<Row> fullRows = Arrays.asList(row(1L, true), row(10L, true));
+        List<Row> summaryRows = Arrays.asList(row(1L, false), row(10L, false));
+
+        // Act
+        String viaEntity = objectMapper.writeValueAsString(fullRows.stream()
+                .map(row -> converter.read(UserEntity.class, row, row.getMetadata()))
+                .map(new UserEntityMapperImpl()::toModel)
+                .map(new UserMapperImpl()::userToUserDTO)
+                .toList());
+        String viaProjection = objectMapper.writeValueAsString(summaryRows.stream()
+                .map(UserSummaryRows::toSummary)
+                .toList());
+
+        // Assert: misma respuesta byte a byte, sin el hash
+        assertThat(viaProjection).isEqualTo(viaEntity).doesNotContain("password");
+    }
+
+    private static Row row(long id, boolean allColumns) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("name", "User " + id);
+        values.put("email", "user" + id + "@example.com");
+        if (allColumns) {
+            values.put("password", "$2a$10$7EqJtq98hPqEX7fNZaFWoOa5n1V3L0Ky4bPb8i5rF6jHkq9O7G8eW");
+        }
+        values.put("is_admin", id % 10 == 0);
+        values.put("version", 3L);
+        if (allColumns) {
+            values.put("email_hash", id * 7919);
+            values.put("email_normalized", "user" + id + "@example.com");
+        }
+        return new FakeRow(values);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.batch;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingUserPersistenceAdapterTest {
+
+    @Mock
+    private UserPersistencePort delegate;
+
+    @Mock
+    private UserInsertCoalescer coalescer;
+
+    @InjectMocks
+    private CoalescingUserPersistenceAdapter adapter;
+
+    @Test
+    void save_NewUser_ShouldGoThroughCoalescer() {
+        // Arrange
+        User user = new User(null, "John Doe", "john@example.com", "hash", false);
+        User saved = new User(1L, "John Doe", "john@example.com", "hash", false, 1L);
+        when(coalescer.insertIfAbsent(user)).thenReturn(Mono.just(saved));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(user)).expectNext(saved).verifyComplete();
+        verify(delegate, never()).save(any());
+    }
+
+    @Test
+    void save_NewUserWithTakenEmail_ShouldFailWithDuplicateKey() {
+        // Arrange
+        User user = new User(null, "John Doe", "john@example.com", "hash", false);
+        when(coalescer.insertIfAbsent(user)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(user)).verifyError(DuplicateKeyException.class);
+    }
+
+    @Test
+    void save_ExistingUser_ShouldGoToDelegate() {
+        // Arrange
+        User user = new User(1L, "John Doe", "john@example.com", "hash", false, 1L);
+        when(delegate.save(user)).thenReturn(Mono.just(user));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(user)).expectNext(user).verifyComplete();
+        verify(coalescer, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void insertIfAbsent_ShouldGoThroughCoalescer() {
+        // Arrange
+        User user = new User(null, "John Doe", "john@example.com", "hash", false);
+        when(coalescer.insertIfAbsent(user)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.insertIfAbsent(user)).verifyComplete();
+        verify(delegate, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void reads_ShouldGoToDelegate() {
+        // Arrange
+        User user = new User(1L, "John Doe", "john@example.com", "hash", false, 1L);
+        when(delegate.findById(1L)).thenReturn(Mono.just(user));
+        when(delegate.findByEmail("john@example.com")).thenReturn(Mono.just(user));
+        when(delegate.findExistingIdsByIds(List.of(1L, 2L))).thenReturn(Flux.just(1L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findById(1L)).expectNext(user).verifyComplete();
+        StepVerifier.create(adapter.findByEmail("john@example.com")).expectNext(user).verifyComplete();
+        StepVerifier.create(adapter.findExistingIdsByIds(List.of(1L, 2L))).expectNext(1L).verifyComplete();
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.batch;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserInsertCoalescerTest {
+
+    private static final Duration LONG_LINGER = Duration.ofMinutes(1);
+
+    private final List<List<String>> statements = new CopyOnWriteArrayList<>();
+    private final Set<String> takenEmails = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicLong ids = new AtomicLong();
+    private DatabaseClient databaseClient;
+    private UserPersistencePort fallback;
+    private SimpleMeterRegistry meterRegistry;
+    private UserInsertCoalescer coalescer;
+    private boolean failBatches;
+    private boolean reverseReturning;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = mock(DatabaseClient.class);
+        when(databaseClient.sql(anyString())).thenAnswer(invocation -> statement());
+        fallback = mock(UserPersistencePort.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    void insertIfAbsent_ConcurrentCallsUpToBatchSize_ShouldBeWrittenAsOneStatement() {
+        // Arrange
+        start(3, LONG_LINGER);
+
+        // Act
+        List<User> inserted = Flux.merge(
+                        coalescer.insertIfAbsent(user("a@example.com")),
+                        coalescer.insertIfAbsent(user("b@example.com")),
+                        coalescer.insertIfAbsent(user("c@example.com")))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(statements).containsExactly(List.of("a@example.com", "b@example.com", "c@example.com"));
+        assertThat(inserted).extracting(User::email).containsExactlyInAnyOrder("a@example.com", "b@example.com", "c@example.com");
+        assertThat(inserted).extracting(User::id).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(meterRegistry.get("users.insert.batch.size").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("users.insert.batch.size").summary().totalAmount()).isEqualTo(3);
+        verify(fallback, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void insertIfAbsent_PartialBatch_ShouldBeFlushedAfterLinger() {
+        // Arrange
+        start(64, Duration.ofMillis(20));
+
+        // Act & Assert
+        StepVerifier.create(coalescer.insertIfAbsent(user("a@example.com")))
+                .assertNext(inserted -> assertThat(inserted.id()).isNotNull())
+                .verifyComplete();
+        assertThat(statements).hasSize(1);
+    }
+
+    @Test
+    void insertIfAbsent_SameEmailWithDifferentCaseInOneBatch_ShouldInsertOnlyTheFirst() {
+        // Arrange
+        start(2, LONG_LINGER);
+
+        // Act
+        List<Boolean> results = Flux.mergeSequential(
+                        coalescer.insertIfAbsent(user("john@example.com")).hasElement(),
+                        coalescer.insertIfAbsent(user("John@Example.COM")).hasElement())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(statements).containsExactly(List.of("john@example.com"));
+        assertThat(results).containsExactly(true, false);
+    }
+
+    @Test
+    void insertIfAbsent_ReturningRowsInAnotherOrder_ShouldGiveEachCallerItsOwnRow() {
+        // Arrange: la BD devuelve las filas al revés y un email ya existe
+        reverseReturning = true;
+        takenEmails.add("taken@example.com");
+        start(3, LONG_LINGER);
+        Mono<User> first = coalescer.insertIfAbsent(user("first@example.com")).cache();
+        Mono<User> taken = coalescer.insertIfAbsent(user("taken@example.com")).cache();
+        Mono<User> last = coalescer.insertIfAbsent(user("last@example.com")).cache();
+
+        // Act
+        Flux.merge(first, taken, last).blockLast(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(first.block().email()).isEqualTo("first@example.com");
+        assertThat(last.block().email()).isEqualTo("last@example.com");
+        assertThat(first.block().id()).isNotEqualTo(last.block().id());
+        StepVerifier.create(taken).verifyComplete();
+    }
+
+    @Test
+    void insertIfAbsent_WhenBatchStatementFails_ShouldRetryRowByRowWithOwnErrors() {
+        // Arrange
+        failBatches = true;
+        User saved = new User(7L, "User", "ok@example.com", "hash", false, 1L);
+        when(fallback.insertIfAbsent(any())).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return switch (user.email()) {
+                case "ok@example.com" -> Mono.just(saved);
+                case "taken@example.com" -> Mono.empty();
+                default -> Mono.error(new DuplicateKeyException("constraint"));
+            };
+        });
+        start(3, LONG_LINGER);
+        Mono<User> ok = coalescer.insertIfAbsent(user("ok@example.com")).cache();
+        Mono<User> taken = coalescer.insertIfAbsent(user("taken@example.com")).cache();
+        Mono<User> failing = coalescer.insertIfAbsent(user("failing@example.com")).cache();
+
+        // Act
+        Flux.merge(ok, taken, failing.onErrorResume(ex -> Mono.empty())).blockLast(Duration.ofSeconds(5));
+
+        // Assert
+        StepVerifier.create(ok).expectNext(saved).verifyComplete();
+        StepVerifier.create(taken).verifyComplete();
+        StepVerifier.create(failing).verifyError(DuplicateKeyException.class);
+        assertThat(meterRegistry.get("users.insert.batch.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stop_WithPendingInserts_ShouldFlushThemAndSendLaterCallsToFallback() {
+        // Arrange
+        start(64, LONG_LINGER);
+        Mono<User> pending = coalescer.insertIfAbsent(user("pending@example.com")).cache();
+        pending.subscribe();
+        User direct = new User(9L, "User", "late@example.com", "hash", false, 1L);
+        when(fallback.insertIfAbsent(any())).thenReturn(Mono.just(direct));
+
+        // Act
+        coalescer.stop();
+
+        // Assert
+        StepVerifier.create(pending)
+                .assertNext(inserted -> assertThat(inserted.email()).isEqualTo("pending@example.com"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertThat(statements).containsExactly(List.of("pending@example.com"));
+        assertThat(coalescer.isRunning()).isFalse();
+        StepVerifier.create(coalescer.insertIfAbsent(user("late@example.com"))).expectNext(direct).verifyComplete();
+    }
+
+    @Test
+    void insertIfAbsent_BeforeStart_ShouldUseFallback() {
+        // Arrange
+        coalescer = new UserInsertCoalescer(databaseClient, fallback, 64, LONG_LINGER, 4, meterRegistry);
+        User direct = new User(3L, "User", "early@example.com", "hash", false, 1L);
+        when(fallback.insertIfAbsent(any())).thenReturn(Mono.just(direct));
+
+        // Act & Assert
+        StepVerifier.create(coalescer.insertIfAbsent(user("early@example.com"))).expectNext(direct).verifyComplete();
+        verify(databaseClient, never()).sql(anyString());
+    }
+
+    private void start(int maxBatchSize, Duration linger) {
+        coalescer = new UserInsertCoalescer(databaseClient, fallback, maxBatchSize, linger, 4, meterRegistry);
+        coalescer.start();
+    }
+
+    private static User user(String email) {
+        return new User(null, "User", email, "hash", false);
+    }
+
+    // Un INSERT ... ON CONFLICT DO NOTHING RETURNING de mentira: guarda los emails enlazados y devuelve una fila por email libre
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec statement() {
+        Map<String, Object> binds = new HashMap<>();
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(spec.bind(anyString(), any())).thenAnswer(invocation -> {
+            binds.put(invocation.getArgument(0), invocation.getArgument(1));
+            return spec;
+        });
+        when(spec.map(any(BiFunction.class))).thenAnswer(invocation -> {
+            BiFunction<Row, RowMetadata, User> mapper = invocation.getArgument(0);
+            RowsFetchSpec<User> rows = mock(RowsFetchSpec.class);
+            when(rows.all()).thenAnswer(all -> Flux.defer(() -> {
+                List<String> emails = new ArrayList<>();
+                for (int i = 0; binds.containsKey("email" + i); i++) {
+                    emails.add((String) binds.get("email" + i));
+                }
+                statements.add(emails);
+                if (failBatches) {
+                    return Flux.error(new DataAccessResourceFailureException("connection lost"));
+                }
+                List<User> returned = new ArrayList<>();
+                for (String email : emails) {
+                    if (takenEmails.add(email)) {
+                        returned.add(mapper.apply(row(new User(ids.incrementAndGet(), "User", email, "hash", false, 1L)), null));
+                    }
+                }
+                if (reverseReturning) {
+                    Collections.reverse(returned);
+                }
+                return Flux.fromIterable(returned);
+            }));
+            return rows;
+        });
+        return spec;
+    }
+
+    private static Row row(User user) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", user.id());
+        columns.put("name", user.name());
+        columns.put("email", user.email());
+        columns.put("password", user.password());
+        columns.put("is_admin", user.isAdmin());
+        columns.put("version", user.version());
+        Row row = mock(Row.class);
+        when(row.get(anyString(), any(Class.class))).thenAnswer(invocation -> columns.get(invocation.<String>getArgument(0)));
+        return row;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.fault;
+
+import com.example.resilient_api.domain.model.Deadline;
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjector;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultSpec;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.deadline.DeadlineUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory.InMemoryUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary.SummaryCachingUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary.UserSummaryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("performance")
+class DegradedDatabasePerformanceTest {
+
+    private static final int USERS = 10_000;
+    private static final int HOT_USERS = 500;
+    private static final double HOT_SHARE = 0.9;
+    private static final int REQUESTS = 20_000;
+    private static final int CONCURRENCY = 64;
+    private static final Duration DEADLINE = Duration.ofMillis(250);
+    private static final FaultSpec DEGRADED = new FaultSpec(Duration.ofMillis(5), Duration.ofMillis(200), 0.01, 0.005);
+
+    @Test
+    void degradedDatabase_SummaryCacheAndDeadline_ShouldReportTheTail() {
+        InMemoryUserPersistenceAdapter database = new InMemoryUserPersistenceAdapter();
+        Flux.range(1, USERS)
+                .concatMap(i -> database.save(new User(null, "User " + i, "user" + i + "@example.com", "hash", false)))
+                .blockLast();
+        FaultInjector faults = new FaultInjector(Map.of(), new SimpleMeterRegistry());
+
+        System.out.printf("%-20s %8s %8s %8s %8s %7s %9s%n", "scenario", "p50 ms", "p99 ms", "p999 ms", "max ms",
+                "errors", "deadline");
+        run("healthy", chain(database, faults, false));
+        faults.set("users", DEGRADED);
+        run("degraded", chain(database, faults, false));
+        run("degraded + cache", chain(database, faults, true));
+    }
+
+    private static UserPersistencePort chain(UserPersistencePort database, FaultInjector faults, boolean cached) {
+        UserPersistencePort adapter = new FaultInjectingUserPersistenceAdapter(database, faults);
+        if (cached) {
+            adapter = new SummaryCachingUserPersistenceAdapter(adapter, new UserSummaryCache(USERS, new SimpleMeterRegistry()));
+        }
+        return new DeadlineUserPersistenceAdapter(adapter, new SimpleMeterRegistry());
+    }
+
+    private static void run(String scenario, UserPersistencePort persistence) {
+        SplittableRandom random = new SplittableRandom(11);
+        long[] ids = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            ids[i] = random.nextDouble() < HOT_SHARE ? 1 + random.nextInt(HOT_USERS) : 1 + random.nextInt(USERS);
+        }
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger deadlineExceeded = new AtomicInteger();
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> Mono.defer(() -> {
+                    long startedAt = System.nanoTime();
+                    return persistence.findSummaryById(ids[i])
+                            .contextWrite(Context.of(Deadline.CONTEXT_KEY, new Deadline(Instant.now().plus(DEADLINE))))
+                            .doOnError(ex -> (Deadline.isDeadlineExceeded(ex) ? deadlineExceeded : errors).incrementAndGet())
+                            .onErrorResume(ex -> Mono.empty())
+                            .doFinally(signal -> latencies[i] = System.nanoTime() - startedAt);
+                }), CONCURRENCY)
+                .blockLast();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-20s %8.1f %8.1f %8.1f %8.1f %7d %9d%n", scenario, millis(latencies[REQUESTS / 2]),
+                millis(latencies[REQUESTS * 99 / 100]), millis(latencies[REQUESTS * 999 / 1000]),
+                millis(latencies[REQUESTS - 1]), errors.get(), deadlineExceeded.get());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
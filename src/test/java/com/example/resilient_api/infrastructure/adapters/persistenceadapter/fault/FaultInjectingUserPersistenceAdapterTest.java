@@ -0,0 +1,102 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.fault;
+
+import com.example.resilient_api.domain.model.Deadline;
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultInjector;
+import com.example.resilient_api.infrastructure.adapters.fault.FaultSpec;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.deadline.DeadlineUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory.InMemoryUserPersistenceAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FaultInjectingUserPersistenceAdapterTest {
+
+    private static final Duration DEADLINE = Duration.ofMillis(250);
+
+    private SimpleMeterRegistry meterRegistry;
+    private FaultInjector faults;
+    private UserPersistencePort persistence;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryUserPersistenceAdapter database = new InMemoryUserPersistenceAdapter();
+        userId = database.save(new User(null, "John Doe", "john@example.com", "hash", false)).block().id();
+        meterRegistry = new SimpleMeterRegistry();
+        faults = new FaultInjector(Map.of(), meterRegistry);
+        persistence = new DeadlineUserPersistenceAdapter(new FaultInjectingUserPersistenceAdapter(database, faults), meterRegistry);
+    }
+
+    @Test
+    void findSummaryById_WithoutFaults_ShouldAnswerFromTheDelegate() {
+        StepVerifier.create(persistence.findSummaryById(userId))
+                .assertNext(summary -> assertThat(summary.email()).isEqualTo("john@example.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findSummaryById_WhenTheQueryStalls_ShouldFailAtTheDeadline() {
+        // Arrange
+        faults.set("users", new FaultSpec(Duration.ZERO, Duration.ZERO, 0, 1));
+
+        // Act & Assert: la consulta colgada no retiene la petición más allá de su deadline
+        StepVerifier.withVirtualTime(() -> persistence.findSummaryById(userId)
+                        .contextWrite(Context.of(Deadline.CONTEXT_KEY, new Deadline(Instant.now().plus(DEADLINE)))))
+                .expectSubscription()
+                .thenAwait(DEADLINE)
+                .expectErrorMatches(Deadline::isDeadlineExceeded)
+                .verify(Duration.ofSeconds(5));
+        assertThat(meterRegistry.get("faults.injected").tag("fault", "stall").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("users.persistence.deadline_exceeded").tag("operation", "findSummaryById")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_WithInjectedErrors_ShouldFailWithATransientException() {
+        // Arrange
+        faults.set("users.findById", new FaultSpec(Duration.ZERO, Duration.ZERO, 1, 0));
+
+        // Act & Assert
+        StepVerifier.create(persistence.findById(userId))
+                .expectError(R2dbcTransientResourceException.class)
+                .verify();
+        assertThat(meterRegistry.get("faults.injected").tag("operation", "users.findById").tag("fault", "error")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findSummariesByIds_WithInjectedLatency_ShouldDelayTheRows() {
+        // Arrange
+        faults.set("users", new FaultSpec(Duration.ofMillis(50), Duration.ofMillis(50), 0, 0));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> persistence.findSummariesByIds(List.of(userId)))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(49))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void operationSpec_ShouldOverrideTheGroupSpec() {
+        // Arrange
+        faults.set("users", new FaultSpec(Duration.ZERO, Duration.ZERO, 0, 1));
+        faults.set("users.existsByEmail", FaultSpec.NONE);
+
+        // Act & Assert
+        StepVerifier.create(persistence.existsByEmail("john@example.com")).expectNext(true).verifyComplete();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.index;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedUserPersistenceAdapterTest {
+
+    @Mock
+    private UserPersistencePort delegate;
+
+    private UserIdBitmapIndex index;
+    private IndexedUserPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserIdBitmapIndex(new SimpleMeterRegistry());
+        adapter = new IndexedUserPersistenceAdapter(delegate, index);
+    }
+
+    @Test
+    void findExistingIdsByIds_BeforeIndexIsReady_ShouldAskTheDelegate() {
+        // Arrange
+        when(delegate.findExistingIdsByIds(List.of(1L, 2L))).thenReturn(Flux.just(1L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findExistingIdsByIds(List.of(1L, 2L))).expectNext(1L).verifyComplete();
+    }
+
+    @Test
+    void findExistingIdsByIds_WhenReady_ShouldAnswerFromTheIndexOnly() {
+        // Arrange
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L, 3L));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findExistingIdsByIds(Arrays.asList(3L, 2L, null, 1L, 3L)))
+                .expectNext(3L, 1L)
+                .verifyComplete();
+        verify(delegate, never()).findExistingIdsByIds(anyList());
+    }
+
+    @Test
+    void findVersionsByIds_WhenReady_ShouldOnlyAskForKnownIds() {
+        // Arrange
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L, 3L));
+        when(delegate.findVersionsByIds(List.of(1L, 3L))).thenReturn(Flux.just(new UserVersion(1L, 2L), new UserVersion(3L, 1L)));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findVersionsByIds(List.of(1L, 2L, 3L, 1L))).expectNextCount(2).verifyComplete();
+    }
+
+    @Test
+    void findVersionsByIds_WhenReadyAndNoIdIsKnown_ShouldNotTouchTheDelegate() {
+        index.completeRebuild(new Roaring64Bitmap());
+
+        StepVerifier.create(adapter.findVersionsByIds(List.of(7L, 8L))).verifyComplete();
+
+        verify(delegate, never()).findVersionsByIds(anyList());
+    }
+
+    @Test
+    void findVersionsByIds_BeforeIndexIsReady_ShouldPassAllIdsThrough() {
+        // Arrange
+        when(delegate.findVersionsByIds(List.of(7L, 8L))).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.findVersionsByIds(List.of(7L, 8L))).verifyComplete();
+        verify(delegate).findVersionsByIds(List.of(7L, 8L));
+    }
+
+    @Test
+    void saveAndInsertIfAbsent_ShouldAddTheNewIdToTheIndex() {
+        // Arrange
+        index.completeRebuild(new Roaring64Bitmap());
+        User saved = new User(5L, "John Doe", "john@example.com", "hash", false, 1L);
+        User inserted = new User(6L, "Jane Doe", "jane@example.com", "hash", false, 1L);
+        User newUser = new User(null, "John Doe", "john@example.com", "hash", false);
+        User otherUser = new User(null, "Jane Doe", "jane@example.com", "hash", false);
+        when(delegate.save(newUser)).thenReturn(Mono.just(saved));
+        when(delegate.insertIfAbsent(otherUser)).thenReturn(Mono.just(inserted));
+
+        // Act
+        adapter.save(newUser).block();
+        adapter.insertIfAbsent(otherUser).block();
+
+        // Assert
+        assertThat(index.contains(5L)).isTrue();
+        assertThat(index.contains(6L)).isTrue();
+    }
+
+    @Test
+    void insertIfAbsent_WithTakenEmail_ShouldNotTouchTheIndex() {
+        // Arrange
+        index.completeRebuild(new Roaring64Bitmap());
+        User newUser = new User(null, "John Doe", "john@example.com", "hash", false);
+        when(delegate.insertIfAbsent(newUser)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.insertIfAbsent(newUser)).verifyComplete();
+        assertThat(index.cardinality()).isZero();
+    }
+}
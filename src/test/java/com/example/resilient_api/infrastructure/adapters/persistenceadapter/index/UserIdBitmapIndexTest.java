@@ -0,0 +1,113 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIdBitmapIndexTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserIdBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new UserIdBitmapIndex(meterRegistry);
+    }
+
+    @Test
+    void isReady_BeforeFirstRebuild_ShouldBeFalse() {
+        index.add(1L);
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(meterRegistry.get("users.id.index.ready").gauge().value()).isZero();
+    }
+
+    @Test
+    void completeRebuild_ShouldSwapInTheLoadedIds() {
+        // Arrange
+        index.beginRebuild();
+
+        // Act
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L, 2L, 3L));
+
+        // Assert
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.contains(2L)).isTrue();
+        assertThat(index.contains(4L)).isFalse();
+        assertThat(index.cardinality()).isEqualTo(3);
+        assertThat(meterRegistry.get("users.id.index.cardinality").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void addAndRemove_DuringRebuild_ShouldSurviveTheSwap() {
+        // Arrange: el bitmap leído de la BD aún no tiene el 10 y todavía tiene el 2
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L, 2L));
+        index.beginRebuild();
+
+        // Act
+        index.add(10L);
+        index.remove(2L);
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L, 2L));
+
+        // Assert
+        assertThat(index.contains(10L)).isTrue();
+        assertThat(index.contains(2L)).isFalse();
+        assertThat(index.contains(1L)).isTrue();
+    }
+
+    @Test
+    void abortRebuild_ShouldKeepTheCurrentBitmap() {
+        // Arrange
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L));
+        index.beginRebuild();
+        index.add(5L);
+
+        // Act
+        index.abortRebuild();
+
+        // Assert
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.contains(1L)).isTrue();
+        assertThat(index.contains(5L)).isTrue();
+    }
+
+    @Test
+    void completeRebuild_FromALaggingReplica_ShouldKeepChangesMadeBeforeItBegan() {
+        // Arrange: el 7 y la baja del 3 llegaron entre dos reconstrucciones y la réplica aún no los tiene
+        index.beginRebuild();
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L, 3L));
+        index.add(7L);
+        index.remove(3L);
+
+        // Act
+        index.beginRebuild();
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L, 3L));
+
+        // Assert
+        assertThat(index.contains(7L)).isTrue();
+        assertThat(index.contains(3L)).isFalse();
+        assertThat(index.contains(1L)).isTrue();
+    }
+
+    @Test
+    void abortRebuild_ShouldCarryItsChangesIntoTheNextRebuild() {
+        // Arrange
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L));
+        index.add(5L);
+        index.beginRebuild();
+        index.add(6L);
+        index.abortRebuild();
+
+        // Act: la siguiente lectura tampoco los trae todavía
+        index.beginRebuild();
+        index.completeRebuild(Roaring64Bitmap.bitmapOf(1L));
+
+        // Assert
+        assertThat(index.contains(5L)).isTrue();
+        assertThat(index.contains(6L)).isTrue();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.index;
+
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing.ReadWriteRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIdIndexLoaderTest {
+
+    private UserIdBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserIdBitmapIndex(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rebuild_ShouldLoadEveryIdFromTheReplica() {
+        // Arrange
+        AtomicBoolean readFromReplica = new AtomicBoolean();
+        UserIdIndexLoader loader = new UserIdIndexLoader(() -> Flux.range(1, 25_000)
+                .map(Integer::longValue)
+                .contextWrite(context -> {
+                    readFromReplica.set(ReadWriteRouting.isReadReplica(context));
+                    return context;
+                }), index, Duration.ofMinutes(5));
+
+        // Act
+        StepVerifier.create(loader.rebuild()).expectNextCount(1).verifyComplete();
+
+        // Assert
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.cardinality()).isEqualTo(25_000);
+        assertThat(index.contains(25_000L)).isTrue();
+        assertThat(index.contains(25_001L)).isFalse();
+        assertThat(readFromReplica).isTrue();
+    }
+
+    @Test
+    void onResync_ShouldRebuildFromThePrimary() {
+        // Arrange
+        AtomicBoolean readFromReplica = new AtomicBoolean(true);
+        UserIdIndexLoader loader = new UserIdIndexLoader(() -> Flux.just(1L, 2L)
+                .contextWrite(context -> {
+                    readFromReplica.set(ReadWriteRouting.isReadReplica(context));
+                    return context;
+                }), index, Duration.ofMinutes(5));
+
+        // Act
+        loader.onResync();
+
+        // Assert
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.cardinality()).isEqualTo(2);
+        assertThat(readFromReplica).isFalse();
+    }
+
+    @Test
+    void rebuild_WithEmptyTable_ShouldStillMarkTheIndexReady() {
+        UserIdIndexLoader loader = new UserIdIndexLoader(Flux::empty, index, Duration.ofMinutes(5));
+
+        StepVerifier.create(loader.rebuild()).expectNextCount(1).verifyComplete();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.cardinality()).isZero();
+    }
+
+    @Test
+    void rebuild_WhenSourceFails_ShouldLeaveTheIndexNotReadyAndAllowRetry() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        UserIdIndexLoader loader = new UserIdIndexLoader(() -> attempts.incrementAndGet() == 1
+                ? Flux.concat(Flux.just(1L), Flux.error(new IllegalStateException("connection lost")))
+                : Flux.just(1L, 2L), index, Duration.ofMinutes(5));
+
+        // Act & Assert
+        StepVerifier.create(loader.rebuild()).verifyComplete();
+        assertThat(index.isReady()).isFalse();
+
+        StepVerifier.create(loader.rebuild()).expectNextCount(1).verifyComplete();
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.cardinality()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuild_WhileAnotherIsRunning_ShouldBeSkipped() {
+        // Arrange
+        Sinks.Many<Long> ids = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicInteger loads = new AtomicInteger();
+        UserIdIndexLoader loader = new UserIdIndexLoader(() -> {
+            loads.incrementAndGet();
+            return ids.asFlux();
+        }, index, Duration.ofMinutes(5));
+        loader.rebuild().subscribe();
+
+        // Act & Assert
+        StepVerifier.create(loader.rebuild()).verifyComplete();
+        assertThat(loads).hasValue(1);
+        ids.tryEmitComplete();
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void onUserChanged_ShouldApplyInsertsAndDeletes() {
+        // Arrange
+        UserIdIndexLoader loader = new UserIdIndexLoader(() -> Flux.just(1L, 2L), index, Duration.ofMinutes(5));
+        loader.rebuild().block();
+
+        // Act
+        loader.onUserChanged(notification(UserChangeNotification.INSERT, 3L));
+        loader.onUserChanged(notification(UserChangeNotification.DELETE, 1L));
+        loader.onUserChanged(notification(UserChangeNotification.UPDATE, 9L));
+
+        // Assert
+        assertThat(index.contains(3L)).isTrue();
+        assertThat(index.contains(1L)).isFalse();
+        assertThat(index.contains(9L)).isFalse();
+    }
+
+    @Test
+    void start_ShouldLoadImmediatelyAndStopShouldCancel() {
+        // Arrange
+        UserIdIndexLoader loader = new UserIdIndexLoader(() -> Flux.just(1L), index, Duration.ofMinutes(5));
+
+        // Act
+        loader.start();
+
+        // Assert
+        assertThat(loader.isRunning()).isTrue();
+        StepVerifier.create(Flux.interval(Duration.ofMillis(10)).takeUntil(tick -> index.isReady()))
+                .thenConsumeWhile(tick -> true)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        loader.stop();
+        assertThat(loader.isRunning()).isFalse();
+    }
+
+    private static UserChangeNotification notification(String operation, long id) {
+        return new UserChangeNotification(operation, id, "User", "user@example.com", null, 1L, 0L);
+    }
+}
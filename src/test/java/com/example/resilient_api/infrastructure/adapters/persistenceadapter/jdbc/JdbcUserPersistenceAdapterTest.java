@@ -0,0 +1,194 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.jdbc;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.UserSummaryRows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcUserPersistenceAdapterTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet rows;
+
+    private JdbcUserPersistenceAdapter adapter;
+    private User newUser;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new JdbcUserPersistenceAdapter(dataSource, Schedulers.immediate());
+        newUser = new User(null, "John Doe", "john@example.com", "hash", false);
+    }
+
+    @Test
+    void save_WithUniqueViolation_ShouldFailWithDuplicateKey() throws SQLException {
+        // Arrange
+        givenStatementFails(new SQLException("duplicate key", "23505"));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(newUser)).verifyError(DuplicateKeyException.class);
+        verify(connection).close();
+        verify(statement).close();
+    }
+
+    @Test
+    void save_WithOtherIntegrityViolation_ShouldFailWithDataIntegrityViolation() throws SQLException {
+        // Arrange
+        givenStatementFails(new SQLException("null value in column", "23502"));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(newUser))
+                .expectErrorMatches(ex -> ex instanceof DataIntegrityViolationException && !(ex instanceof DuplicateKeyException))
+                .verify();
+    }
+
+    @Test
+    void findById_WhenConnectionFails_ShouldFailWithResourceFailure() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("connection refused", "08001"));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findById(1L)).verifyError(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void findById_WithUnclassifiedError_ShouldFailWithTransientResourceError() throws SQLException {
+        // Arrange: sin SQLState (p. ej. timeout del pool)
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection is not available"));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findById(1L)).verifyError(TransientDataAccessResourceException.class);
+    }
+
+    @Test
+    void save_ExistingIdThatIsGone_ShouldFailWithTransientResourceError() throws SQLException {
+        // Arrange: el UPDATE ... RETURNING no devuelve fila
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(new User(42L, "John Doe", "john@example.com", "hash", false, 3L)))
+                .expectErrorMatches(ex -> ex instanceof TransientDataAccessResourceException
+                        && ex.getMessage().contains("42"))
+                .verify();
+        verify(statement).setLong(5, 42L);
+    }
+
+    @Test
+    void findById_ShouldMapTheRow() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(true);
+        when(rows.getLong("id")).thenReturn(1L);
+        when(rows.getString("name")).thenReturn("John Doe");
+        when(rows.getString("email")).thenReturn("john@example.com");
+        when(rows.getString("password")).thenReturn("hash");
+        when(rows.getObject("is_admin")).thenReturn(true);
+        when(rows.getLong("version")).thenReturn(7L);
+
+        // Act & Assert
+        StepVerifier.create(adapter.findById(1L))
+                .expectNext(new User(1L, "John Doe", "john@example.com", "hash", true, 7L))
+                .verifyComplete();
+        verify(statement).setLong(1, 1L);
+    }
+
+    @Test
+    void findSummaryById_ShouldReadTheSameColumnsAsTheR2dbcProjection() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(true);
+        when(rows.getLong("id")).thenReturn(1L);
+        when(rows.getString("name")).thenReturn("John Doe");
+        when(rows.getString("email")).thenReturn("john@example.com");
+        when(rows.getObject("is_admin")).thenReturn(null);
+        when(rows.getLong("version")).thenReturn(7L);
+
+        // Act & Assert
+        StepVerifier.create(adapter.findSummaryById(1L))
+                .expectNext(new UserSummary(1L, "John Doe", "john@example.com", null, 7L))
+                .verifyComplete();
+        verify(connection).prepareStatement("SELECT " + UserSummaryRows.COLUMNS + " FROM users WHERE id = ?");
+        verify(rows, never()).getString("password");
+    }
+
+    @Test
+    void findExistingIdsByIds_WithNoIds_ShouldNotTouchTheDatabase() {
+        StepVerifier.create(adapter.findExistingIdsByIds(List.of())).verifyComplete();
+        StepVerifier.create(adapter.findSummariesByIds(List.of())).verifyComplete();
+        StepVerifier.create(adapter.findVersionsByIds(List.of())).verifyComplete();
+
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void findExistingIdsByIds_ShouldBindOneArrayAndFreeIt() throws SQLException {
+        // Arrange
+        Array array = mock(Array.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(eq("bigint"), any())).thenReturn(array);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(true, true, false);
+        when(rows.getLong("id")).thenReturn(1L, 3L);
+
+        // Act & Assert
+        StepVerifier.create(adapter.findExistingIdsByIds(List.of(1L, 2L, 3L)))
+                .expectNext(1L, 3L)
+                .verifyComplete();
+        verify(statement).setArray(1, array);
+        verify(statement, never()).setLong(anyInt(), anyLong());
+        verify(array).free();
+        verify(connection).prepareStatement("SELECT id FROM users WHERE id = ANY(?)");
+    }
+
+    private void givenStatementFails(SQLException failure) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenThrow(failure);
+    }
+}
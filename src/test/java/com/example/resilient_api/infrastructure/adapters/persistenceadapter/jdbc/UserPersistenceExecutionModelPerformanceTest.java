@@ -0,0 +1,169 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.jdbc;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.UserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.UserEntityMapperImpl;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.UserRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Necesita PERF_R2DBC_URL (credenciales en PERF_DB_USERNAME/PERF_DB_PASSWORD); sin ella se salta
+@Tag("performance")
+class UserPersistenceExecutionModelPerformanceTest {
+
+    private static final int USERS = 10_000;
+    private static final int POOL_SIZE = 20;
+    private static final int CONCURRENCY = 256;
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int CALLS = 100_000;
+    private static final int BATCH_SIZE = 20;
+    private static final String EMAIL_FORMAT = "perf-user-%d@example.com";
+
+    @Test
+    void sameWorkload_R2dbcVersusJdbcOnVirtualThreads() {
+        String r2dbcUrl = System.getenv("PERF_R2DBC_URL");
+        assumeTrue(r2dbcUrl != null && !r2dbcUrl.isBlank(), "PERF_R2DBC_URL not set");
+        String username = System.getenv().getOrDefault("PERF_DB_USERNAME", "postgres");
+        String password = System.getenv().getOrDefault("PERF_DB_PASSWORD", "postgres");
+
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                        ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                                .option(ConnectionFactoryOptions.USER, username)
+                                .option(ConnectionFactoryOptions.PASSWORD, password)
+                                .build()))
+                .initialSize(POOL_SIZE)
+                .maxSize(POOL_SIZE)
+                .build());
+        HikariConfig hikari = new HikariConfig();
+        hikari.setJdbcUrl("jdbc:" + r2dbcUrl.substring("r2dbc:".length()));
+        hikari.setUsername(username);
+        hikari.setPassword(password);
+        hikari.setMaximumPoolSize(POOL_SIZE);
+        hikari.setMinimumIdle(POOL_SIZE);
+        ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+
+        try (HikariDataSource dataSource = new HikariDataSource(hikari)) {
+            DatabaseClient databaseClient = DatabaseClient.create(connectionPool);
+            ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+            schema.setSeparator(";;");
+            schema.populate(connectionPool).block();
+            UserRepository userRepository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE))
+                    .getRepository(UserRepository.class);
+            UserPersistencePort r2dbc = new UserPersistenceAdapter(userRepository, new UserEntityMapperImpl(), databaseClient);
+            UserPersistencePort jdbc = new JdbcUserPersistenceAdapter(dataSource, Schedulers.fromExecutorService(virtualThreads));
+
+            List<Long> ids = seed(r2dbc, jdbc);
+            run("r2dbc", r2dbc, ids, WARMUP_CALLS);
+            run("jdbc", jdbc, ids, WARMUP_CALLS);
+
+            System.out.printf("%-6s %12s %9s %9s %14s %16s%n", "model", "calls/s", "p50 ms", "p99 ms",
+                    "peak heap MB", "peak threads");
+            Result r2dbcResult = run("r2dbc", r2dbc, ids, CALLS);
+            Result jdbcResult = run("jdbc", jdbc, ids, CALLS);
+            for (Result result : List.of(r2dbcResult, jdbcResult)) {
+                System.out.printf("%-6s %,12.0f %9.2f %9.2f %,14.0f %,16d%n", result.model(), result.throughput(),
+                        result.p50Millis(), result.p99Millis(), result.peakHeapBytes() / 1_048_576.0, result.peakThreads());
+            }
+        } finally {
+            virtualThreads.close();
+            connectionPool.dispose();
+        }
+    }
+
+    private static List<Long> seed(UserPersistencePort r2dbc, UserPersistencePort jdbc) {
+        Flux.range(0, USERS)
+                .flatMap(i -> r2dbc.insertIfAbsent(new User(null, "Perf User " + i, EMAIL_FORMAT.formatted(i),
+                        "$2a$10$7EqJtq98hPqEX7fNZaFWoOa5n1V3L0Ky4bPb8i5rF6jHkq9O7G8eW", false)), POOL_SIZE)
+                .blockLast();
+        List<Long> ids = Flux.range(0, USERS)
+                .flatMap(i -> r2dbc.findCredentialsByEmail(EMAIL_FORMAT.formatted(i)).map(User::id), POOL_SIZE)
+                .collectList()
+                .block();
+        // Sin esto se compararía trabajo distinto
+        if (ids.size() != USERS || !jdbc.findSummaryById(ids.get(0)).block().equals(r2dbc.findSummaryById(ids.get(0)).block())) {
+            throw new IllegalStateException("JDBC and R2DBC adapters do not see the same seeded users");
+        }
+        return ids;
+    }
+
+    private static Result run(String model, UserPersistencePort persistence, List<Long> ids, int calls) {
+        Function<Integer, Mono<?>> workload = workload(persistence, ids);
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+
+        long[] latencies = new long[calls];
+        long startedAt = System.nanoTime();
+        Flux.range(0, calls)
+                .flatMap(i -> Mono.defer(() -> {
+                    long callStartedAt = System.nanoTime();
+                    return workload.apply(i)
+                            .doFinally(signal -> latencies[i] = System.nanoTime() - callStartedAt);
+                }), CONCURRENCY)
+                .blockLast();
+        long elapsed = System.nanoTime() - startedAt;
+
+        Arrays.sort(latencies);
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new Result(model, calls / (elapsed / 1_000_000_000.0), latencies[calls / 2] / 1_000_000.0,
+                latencies[calls * 99 / 100] / 1_000_000.0, peakHeap, ManagementFactory.getThreadMXBean().getPeakThreadCount());
+    }
+
+    private static Function<Integer, Mono<?>> workload(UserPersistencePort persistence, List<Long> ids) {
+        return i -> {
+            // Misma secuencia para los dos modelos
+            SplittableRandom random = new SplittableRandom(i);
+            int kind = random.nextInt(100);
+            int user = random.nextInt(USERS);
+            if (kind < 60) {
+                return persistence.findSummaryById(ids.get(user));
+            }
+            if (kind < 80) {
+                return persistence.findCredentialsByEmail(EMAIL_FORMAT.formatted(user));
+            }
+            if (kind < 95) {
+                List<Long> batch = LongStream.range(0, BATCH_SIZE)
+                        .mapToObj(offset -> ids.get((int) ((user + offset * 7919) % USERS)))
+                        .toList();
+                return persistence.findSummariesByIds(batch).then();
+            }
+            return persistence.existsByEmail(EMAIL_FORMAT.formatted(user));
+        };
+    }
+
+    private record Result(String model, double throughput, double p50Millis, double p99Millis, long peakHeapBytes,
+                          int peakThreads) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory;
+
+import com.example.resilient_api.domain.api.PasswordEncoderPort;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.usecase.UserUseCase;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryUserPersistenceAdapterTest {
+
+    private final InMemoryUserPersistenceAdapter database = new InMemoryUserPersistenceAdapter();
+
+    @Test
+    void registerUser_WithManyConcurrentRegistrationsForSameEmail_ShouldCreateExactlyOne() {
+        // Arrange: insertIfAbsent atómico, como el INSERT ... ON CONFLICT DO NOTHING de PostgreSQL
+        int registrations = 64;
+        PasswordEncoderPort passwordEncoder = mock(PasswordEncoderPort.class);
+        when(passwordEncoder.encode(anyString())).thenReturn(Mono.just("encodedPassword"));
+        UserUseCase userUseCase = new UserUseCase(database, passwordEncoder, null, null);
+        Scheduler signupThreads = Schedulers.newParallel("signup", registrations);
+
+        // Act: todas a la vez en hilos distintos, con el email en dos grafías
+        List<Signal<User>> results;
+        try {
+            results = Flux.range(0, registrations)
+                    .parallel(registrations)
+                    .runOn(signupThreads)
+                    .flatMap(i -> userUseCase.registerUser(new User(null, "John Doe",
+                                    i % 2 == 0 ? "john@example.com" : "John@Example.com", "password123", false), "race")
+                            .materialize())
+                    .sequential()
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+        } finally {
+            signupThreads.dispose();
+        }
+
+        // Assert
+        assertThat(results).filteredOn(Signal::isOnNext).hasSize(1);
+        assertThat(results).filteredOn(Signal::isOnError)
+                .hasSize(registrations - 1)
+                .allMatch(signal -> signal.getThrowable() instanceof BusinessException exception
+                        && exception.getTechnicalMessage() == TechnicalMessage.USER_ALREADY_EXISTS);
+        Long winner = results.stream().filter(Signal::isOnNext).findFirst().orElseThrow().get().id();
+        assertThat(database.findByEmail("JOHN@example.com").block()).extracting(User::id).isEqualTo(winner);
+        assertThat(database.findExistingIdsByIds(List.of(winner, winner + 1)).collectList().block()).containsExactly(winner);
+    }
+
+    @Test
+    void insertIfAbsent_WithTakenEmailInAnotherCase_ShouldInsertNothing() {
+        // Arrange
+        database.insertIfAbsent(new User(null, "John Doe", "john@example.com", "hash", false)).block();
+
+        // Act & Assert
+        StepVerifier.create(database.insertIfAbsent(new User(null, "Johnny", "JOHN@example.com", "hash", false)))
+                .verifyComplete();
+        assertThat(database.findByEmail("john@example.com").block()).extracting(User::name).isEqualTo("John Doe");
+    }
+}
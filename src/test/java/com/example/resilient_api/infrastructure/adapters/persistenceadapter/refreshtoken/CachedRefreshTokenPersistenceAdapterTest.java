@@ -0,0 +1,145 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.refreshtoken;
+
+import com.example.resilient_api.domain.model.RefreshToken;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.RefreshTokenPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.RefreshTokenEntityMapperImpl;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sobre el adapter R2DBC real (H2 en modo PostgreSQL): la caché no puede ocultar una rotación hecha en la BD
+class CachedRefreshTokenPersistenceAdapterTest {
+
+    private static final UUID FAMILY = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenRepository repository;
+    private CachedRefreshTokenPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = database();
+        repository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory))
+                .getRepository(RefreshTokenRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachedRefreshTokenPersistenceAdapter(
+                new RefreshTokenPersistenceAdapter(repository, new RefreshTokenEntityMapperImpl()), 2, meterRegistry);
+    }
+
+    @Test
+    void findByTokenHash_AfterSave_ShouldBeServedFromTheCache() {
+        // Arrange
+        RefreshToken token = adapter.save(token("a", FAMILY)).block();
+
+        // Act & Assert
+        StepVerifier.create(adapter.findByTokenHash(hash("a"))).expectNext(token).verifyComplete();
+        assertThat(cache("hit")).isEqualTo(1);
+        assertThat(cache("miss")).isZero();
+    }
+
+    @Test
+    void findByTokenHash_AfterRotation_ShouldReadTheUsedRowInsteadOfTheCachedOne() {
+        // Arrange
+        adapter.save(token("a", FAMILY)).block();
+        adapter.findByTokenHash(hash("a")).block();
+
+        // Act
+        Boolean rotated = adapter.markUsed(hash("a")).block();
+
+        // Assert: quien presente el token otra vez ve used_at y dispara la detección de reutilización
+        assertThat(rotated).isTrue();
+        StepVerifier.create(adapter.findByTokenHash(hash("a")))
+                .assertNext(stored -> assertThat(stored.isUsed()).isTrue())
+                .verifyComplete();
+        StepVerifier.create(adapter.markUsed(hash("a"))).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void markUsed_WhenAnotherNodeRotatedTheCachedToken_ShouldStillDetectTheReuse() {
+        // Arrange: la copia local dice "sin usar", pero otro nodo ya lo rotó en la BD
+        adapter.save(token("a", FAMILY)).block();
+        repository.markUsed(hash("a")).block();
+        assertThat(adapter.findByTokenHash(hash("a")).block().isUsed()).isFalse();
+
+        // Act & Assert: el UPDATE condicional decide y la copia obsoleta deja de servirse
+        StepVerifier.create(adapter.markUsed(hash("a"))).expectNext(false).verifyComplete();
+        assertThat(adapter.findByTokenHash(hash("a")).block().isUsed()).isTrue();
+    }
+
+    @Test
+    void revokeFamily_ShouldStopServingEveryCachedTokenOfTheFamily() {
+        // Arrange
+        UUID otherFamily = UUID.randomUUID();
+        adapter.save(token("a", FAMILY)).block();
+        adapter.save(token("b", otherFamily)).block();
+
+        // Act
+        adapter.revokeFamily(FAMILY).block();
+
+        // Assert
+        assertThat(adapter.findByTokenHash(hash("a")).block().isRevoked()).isTrue();
+        assertThat(adapter.findByTokenHash(hash("b")).block().isRevoked()).isFalse();
+        assertThat(cache("miss")).isEqualTo(1);
+        assertThat(cache("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void save_OverTheLimit_ShouldEvictTheLeastRecentlyUsedToken() {
+        // Arrange
+        adapter.save(token("a", FAMILY)).block();
+        adapter.save(token("b", FAMILY)).block();
+        adapter.findByTokenHash(hash("a")).block();
+
+        // Act
+        adapter.save(token("c", FAMILY)).block();
+
+        // Assert: b sale de la caché pero sigue en la BD
+        assertThat(meterRegistry.get("auth.refresh_tokens.cache.size").gauge().value()).isEqualTo(2);
+        assertThat(adapter.findByTokenHash(hash("b")).block()).isNotNull();
+        assertThat(cache("miss")).isEqualTo(1);
+    }
+
+    private double cache(String result) {
+        return meterRegistry.get("auth.refresh_tokens.cache").tag("result", result).counter().count();
+    }
+
+    private static RefreshToken token(String name, UUID familyId) {
+        return new RefreshToken(hash(name), familyId, 1L, Instant.now().plus(Duration.ofDays(7)), null, null);
+    }
+
+    private static String hash(String name) {
+        return name.repeat(64);
+    }
+
+    private static ConnectionFactory database() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///refresh-" + UUID.randomUUID()
+                + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        DatabaseClient.create(connectionFactory)
+                .sql("""
+                        CREATE TABLE refresh_tokens (
+                            token_hash CHAR(64) PRIMARY KEY,
+                            family_id UUID NOT NULL,
+                            user_id BIGINT NOT NULL,
+                            expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                            created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+                            used_at TIMESTAMP WITH TIME ZONE,
+                            revoked_at TIMESTAMP WITH TIME ZONE
+                        )""")
+                .then()
+                .block();
+        return connectionFactory;
+    }
+}
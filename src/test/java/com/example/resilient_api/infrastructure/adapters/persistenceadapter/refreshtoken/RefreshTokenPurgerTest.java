@@ -0,0 +1,124 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.refreshtoken;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.RefreshTokenRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenPurgerTest {
+
+    private static final Duration INTERVAL = Duration.ofHours(1);
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private VirtualTimeScheduler scheduler;
+    private RefreshTokenPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.getOrSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (purger != null) {
+            purger.stop();
+        }
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void tick_ShouldDeleteOnlyTokensExpiredBeforeTheRetention() {
+        // Arrange: usados y revocados siguen sirviendo para detectar reutilizaciones hasta pasar la retención
+        RefreshTokenRepository repository = repository();
+        Instant now = Instant.now();
+        insert(repository, "a", now.minus(RETENTION).minus(Duration.ofDays(1)));
+        insert(repository, "b", now.minus(Duration.ofDays(1)));
+        insert(repository, "c", now.plus(Duration.ofDays(1)));
+        repository.markUsed("b".repeat(64)).block();
+        purger = new RefreshTokenPurger(repository, INTERVAL, RETENTION);
+        purger.start();
+
+        // Act
+        scheduler.advanceTimeBy(INTERVAL);
+
+        // Assert
+        assertThat(repository.findAll().map(token -> token.getTokenHash().substring(0, 1)).collectList().block())
+                .containsExactlyInAnyOrder("b", "c");
+    }
+
+    @Test
+    void tick_WhenThePurgeFails_ShouldKeepPurgingOnTheNextTick() {
+        // Arrange
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+        when(repository.deleteExpiredBefore(any()))
+                .thenReturn(Mono.error(new IllegalStateException("connection lost")), Mono.just(3));
+        purger = new RefreshTokenPurger(repository, INTERVAL, RETENTION);
+        purger.start();
+
+        // Act
+        scheduler.advanceTimeBy(INTERVAL.multipliedBy(2));
+
+        // Assert
+        ArgumentCaptor<Instant> before = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, times(2)).deleteExpiredBefore(before.capture());
+        assertThat(before.getValue()).isBetween(Instant.now().minus(RETENTION).minusSeconds(60), Instant.now().minus(RETENTION));
+        assertThat(purger.isRunning()).isTrue();
+    }
+
+    @Test
+    void stop_ShouldCancelTheSchedule() {
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+        purger = new RefreshTokenPurger(repository, INTERVAL, RETENTION);
+        purger.start();
+
+        purger.stop();
+        scheduler.advanceTimeBy(INTERVAL);
+
+        assertThat(purger.isRunning()).isFalse();
+        verify(repository, never()).deleteExpiredBefore(any());
+    }
+
+    private static void insert(RefreshTokenRepository repository, String name, Instant expiresAt) {
+        repository.insert(name.repeat(64), UUID.randomUUID(), 1L, expiresAt).block();
+    }
+
+    private static RefreshTokenRepository repository() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///purge-" + UUID.randomUUID()
+                + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        DatabaseClient.create(connectionFactory)
+                .sql("""
+                        CREATE TABLE refresh_tokens (
+                            token_hash CHAR(64) PRIMARY KEY,
+                            family_id UUID NOT NULL,
+                            user_id BIGINT NOT NULL,
+                            expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                            created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+                            used_at TIMESTAMP WITH TIME ZONE,
+                            revoked_at TIMESTAMP WITH TIME ZONE
+                        )""")
+                .then()
+                .block();
+        return new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory))
+                .getRepository(RefreshTokenRepository.class);
+    }
+}
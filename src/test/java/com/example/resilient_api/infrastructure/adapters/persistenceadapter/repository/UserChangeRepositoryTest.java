@@ -0,0 +1,103 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserChangeEntity;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 en modo PostgreSQL: el UPDATE ... FROM del secuenciador no existe en H2, así que aquí se numera con la misma
+// regla (coalesce(max(stream_offset), 0) + n) que usa UserChangeSequencer
+class UserChangeRepositoryTest {
+
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private DatabaseClient databaseClient;
+    private UserChangeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///changes-" + UUID.randomUUID()
+                + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql("""
+                        CREATE TABLE user_changes (
+                            id BIGSERIAL PRIMARY KEY,
+                            stream_offset BIGINT UNIQUE,
+                            operation VARCHAR(10) NOT NULL,
+                            user_id BIGINT NOT NULL,
+                            name VARCHAR(100),
+                            email VARCHAR(150),
+                            is_admin BOOLEAN,
+                            occurred_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+                        )""")
+                .then()
+                .block();
+        repository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory))
+                .getRepository(UserChangeRepository.class);
+    }
+
+    @Test
+    void deleteSequencedBefore_AfterAQuietWeek_ShouldLetTheNextOffsetContinuePastTheOldMaximum() {
+        // Arrange: una semana sin cambios, todo queda fuera de la retención
+        Instant weekAgo = Instant.now().minus(RETENTION).minus(Duration.ofDays(1));
+        sequenced(weekAgo, 3);
+
+        // Act
+        Integer purged = repository.deleteSequencedBefore(Instant.now().minus(RETENTION)).block();
+        sequenced(Instant.now(), 2);
+
+        // Assert: quien leyó hasta since=3 recibe los dos cambios nuevos
+        assertThat(purged).isEqualTo(2);
+        assertThat(repository.findChangesAfter(3L, 10).map(UserChangeEntity::getStreamOffset).collectList().block())
+                .containsExactly(4L, 5L);
+        assertThat(repository.findLatestOffset().block()).isEqualTo(5L);
+    }
+
+    @Test
+    void deleteSequencedBefore_ShouldKeepPendingAndRecentChanges() {
+        // Arrange
+        Instant old = Instant.now().minus(RETENTION).minus(Duration.ofDays(1));
+        sequenced(old, 3);
+        sequenced(Instant.now(), 1);
+        pending(old);
+
+        // Act
+        Integer purged = repository.deleteSequencedBefore(Instant.now().minus(RETENTION)).block();
+
+        // Assert
+        assertThat(purged).isEqualTo(3);
+        assertThat(repository.findAll().map(change -> String.valueOf(change.getStreamOffset())).collectList().block())
+                .containsExactlyInAnyOrder("4", "null");
+    }
+
+    private void sequenced(Instant occurredAt, int changes) {
+        for (int i = 0; i < changes; i++) {
+            databaseClient.sql("""
+                            INSERT INTO user_changes (stream_offset, operation, user_id, name, email, is_admin, occurred_at)
+                            SELECT coalesce(max(stream_offset), 0) + 1, 'UPDATE', 1, 'User', 'user@example.com', false, :occurredAt
+                            FROM user_changes""")
+                    .bind("occurredAt", occurredAt)
+                    .then()
+                    .block();
+        }
+    }
+
+    private void pending(Instant occurredAt) {
+        databaseClient.sql("""
+                        INSERT INTO user_changes (operation, user_id, name, email, is_admin, occurred_at)
+                        VALUES ('UPDATE', 1, 'User', 'user@example.com', false, :occurredAt)""")
+                .bind("occurredAt", occurredAt)
+                .then()
+                .block();
+    }
+}
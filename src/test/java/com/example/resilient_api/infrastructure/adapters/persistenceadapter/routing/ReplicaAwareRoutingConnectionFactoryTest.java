@@ -0,0 +1,120 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class ReplicaAwareRoutingConnectionFactoryTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstConnection = mock(Connection.class);
+    private final Connection secondConnection = mock(Connection.class);
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaTarget first;
+    private ReplicaTarget second;
+    private ReplicaAwareRoutingConnectionFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        first = new ReplicaTarget("replica-1", connectionFactory(firstConnection));
+        second = new ReplicaTarget("replica-2", connectionFactory(secondConnection));
+        first.setHealthy(true);
+        second.setHealthy(true);
+        factory = new ReplicaAwareRoutingConnectionFactory(connectionFactory(primaryConnection), List.of(first, second),
+                meterRegistry);
+        factory.afterPropertiesSet();
+    }
+
+    @Test
+    void create_WithoutReadReplicaRoute_ShouldUseThePrimaryEvenWithHealthyReplicas() {
+        StepVerifier.create(factory.determineCurrentLookupKey())
+                .expectNext(ReplicaAwareRoutingConnectionFactory.PRIMARY)
+                .verifyComplete();
+        StepVerifier.create(Mono.from(factory.create()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        assertThat(routed(ReplicaAwareRoutingConnectionFactory.PRIMARY, "primary")).isEqualTo(2);
+    }
+
+    @Test
+    void create_WithReadReplicaRoute_ShouldRoundRobinTheHealthyReplicas() {
+        // Act
+        Map<Connection, Long> connections = IntStream.range(0, 10)
+                .mapToObj(i -> Mono.from(factory.create()).contextWrite(ReadWriteRouting.readReplica()).block())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        // Assert
+        assertThat(connections).containsOnly(Map.entry(firstConnection, 5L), Map.entry(secondConnection, 5L));
+        assertThat(routed("replica-1", "read")).isEqualTo(5);
+        assertThat(routed("replica-2", "read")).isEqualTo(5);
+    }
+
+    @Test
+    void create_WithAnUnhealthyReplica_ShouldSkipIt() {
+        // Arrange
+        first.setHealthy(false);
+
+        // Act & Assert
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(Mono.from(factory.create()).contextWrite(ReadWriteRouting.readReplica()))
+                    .expectNext(secondConnection)
+                    .verifyComplete();
+        }
+        assertThat(routed("replica-1", "read")).isZero();
+    }
+
+    @Test
+    void create_WithoutHealthyReplicas_ShouldFallBackToThePrimary() {
+        // Arrange
+        first.setHealthy(false);
+        second.setHealthy(false);
+
+        // Act & Assert
+        StepVerifier.create(Mono.from(factory.create()).contextWrite(ReadWriteRouting.readReplica()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        assertThat(routed(ReplicaAwareRoutingConnectionFactory.PRIMARY, "replica-fallback")).isEqualTo(1);
+        assertThat(routed(ReplicaAwareRoutingConnectionFactory.PRIMARY, "primary")).isZero();
+    }
+
+    @Test
+    void create_WhenAReplicaRecovers_ShouldRouteToItAgain() {
+        // Arrange
+        first.setHealthy(false);
+        second.setHealthy(false);
+        Mono.from(factory.create()).contextWrite(ReadWriteRouting.readReplica()).block();
+
+        // Act
+        first.setHealthy(true);
+
+        // Assert
+        StepVerifier.create(Mono.from(factory.create()).contextWrite(ReadWriteRouting.readReplica()))
+                .expectNext(firstConnection)
+                .verifyComplete();
+    }
+
+    private double routed(String target, String route) {
+        return meterRegistry.get("users.db.route").tag("target", target).tag("route", route).counter().count();
+    }
+
+    private static ConnectionFactory connectionFactory(Connection connection) {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        return connectionFactory;
+    }
+}
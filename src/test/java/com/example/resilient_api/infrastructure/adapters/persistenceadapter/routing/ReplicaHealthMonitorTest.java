@@ -0,0 +1,156 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaHealthMonitorTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(5);
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(1);
+
+    // Respuesta de cada sondeo, en orden: el retraso en segundos, un error o una conexión que no llega
+    private final Deque<Mono<Double>> probes = new ArrayDeque<>();
+    private VirtualTimeScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaTarget replica;
+    private ReplicaHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.getOrSet();
+        meterRegistry = new SimpleMeterRegistry();
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.create()).thenAnswer(invocation -> {
+            Mono<Double> probe = probes.poll();
+            return probe == null ? Mono.never() : Mono.just(connection(probe));
+        });
+        replica = new ReplicaTarget("replica-1", connectionFactory);
+        monitor = new ReplicaHealthMonitor(List.of(replica), INTERVAL, MAX_LAG, PROBE_TIMEOUT, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void probe_WithLagUnderTheThreshold_ShouldMarkTheReplicaRoutable() {
+        // Arrange
+        probes.add(Mono.just(0.5));
+
+        // Act
+        monitor.start();
+
+        // Assert
+        assertThat(replica.isHealthy()).isTrue();
+        assertThat(gauge("users.db.replica.lag")).isEqualTo(0.5);
+        assertThat(gauge("users.db.replica.healthy")).isEqualTo(1);
+    }
+
+    @Test
+    void probe_WithLagOverTheThreshold_ShouldExcludeTheReplicaAndThePoolShouldFallBack() {
+        // Arrange
+        probes.add(Mono.just(0.5));
+        probes.add(Mono.just(5.0));
+        Connection primaryConnection = mock(Connection.class);
+        ConnectionFactory primary = mock(ConnectionFactory.class);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+        ReplicaAwareRoutingConnectionFactory routing = new ReplicaAwareRoutingConnectionFactory(primary,
+                List.of(replica), meterRegistry);
+        routing.afterPropertiesSet();
+        monitor.start();
+
+        // Act
+        scheduler.advanceTimeBy(INTERVAL);
+
+        // Assert
+        assertThat(replica.isHealthy()).isFalse();
+        assertThat(replica.getLagSeconds()).isEqualTo(5.0);
+        assertThat(Mono.from(routing.create()).contextWrite(ReadWriteRouting.readReplica()).block())
+                .isSameAs(primaryConnection);
+    }
+
+    @Test
+    void probe_ShouldFollowTheReplicaThroughFailureAndRecovery() {
+        // Arrange
+        probes.add(Mono.just(0.5));
+        probes.add(Mono.error(new IllegalStateException("recovery conflict")));
+        probes.add(Mono.just(0.0));
+        monitor.start();
+        assertThat(replica.isHealthy()).isTrue();
+
+        // Act & Assert: un fallo la excluye conservando el último retraso medido
+        scheduler.advanceTimeBy(INTERVAL);
+        assertThat(replica.isHealthy()).isFalse();
+        assertThat(replica.getLagSeconds()).isEqualTo(0.5);
+
+        scheduler.advanceTimeBy(INTERVAL);
+        assertThat(replica.isHealthy()).isTrue();
+        assertThat(replica.getLagSeconds()).isZero();
+    }
+
+    @Test
+    void probe_WhenTheReplicaDoesNotAnswer_ShouldExcludeItAfterTheTimeout() {
+        // Arrange: el primer sondeo la da por buena; el segundo no consigue conexión
+        probes.add(Mono.just(0.5));
+        monitor.start();
+
+        // Act
+        scheduler.advanceTimeBy(INTERVAL);
+        boolean healthyBeforeTimeout = replica.isHealthy();
+        scheduler.advanceTimeBy(PROBE_TIMEOUT);
+
+        // Assert
+        assertThat(healthyBeforeTimeout).isTrue();
+        assertThat(replica.isHealthy()).isFalse();
+        assertThat(gauge("users.db.replica.healthy")).isZero();
+    }
+
+    @Test
+    void probe_ExactlyAtTheThreshold_ShouldKeepTheReplica() {
+        probes.add(Mono.just((double) MAX_LAG.toSeconds()));
+
+        monitor.start();
+
+        assertThat(replica.isHealthy()).isTrue();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("target", "replica-1").gauge().value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Connection connection(Mono<Double> lag) {
+        Result result = mock(Result.class);
+        doReturn(lag).when(result).map(any(BiFunction.class));
+        Statement statement = mock(Statement.class);
+        doReturn(Mono.just(result)).when(statement).execute();
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement(anyString())).thenReturn(statement);
+        doReturn(Mono.empty()).when(connection).close();
+        return connection;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.search;
+
+import com.example.resilient_api.domain.model.UserSearchKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+@Tag("performance")
+class UserPrefixIndexPerformanceTest {
+
+    private static final String[] FIRST_NAMES = {"Ana", "José", "María", "Luis", "Carmen", "Javier", "Lucía", "Pablo",
+            "Elena", "Andrés", "Sofía", "Diego", "Marta", "Álvaro", "Laura", "Jorge", "Paula", "Raúl", "Irene", "Óscar"};
+    private static final String[] LAST_NAMES = {"García", "Fernández", "González", "Rodríguez", "López", "Martínez",
+            "Sánchez", "Pérez", "Gómez", "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez",
+            "Romero", "Alonso", "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Ramírez"};
+    private static final int LIMIT = 20;
+    private static final int WARMUP_QUERIES = 50_000;
+    private static final int QUERIES = 200_000;
+    private static final int SCAN_QUERIES = 20;
+
+    @Test
+    void search_At1MAnd10MUsers_ShouldReportLatencyAgainstALinearScan() {
+        System.out.printf("%-10s %12s %10s %10s %10s %10s %12s%n", "users", "index bytes", "bytes/user", "build ms",
+                "p50 us", "p99 us", "ids found");
+        measure(1_000_000);
+        measure(10_000_000);
+
+        System.out.printf("linear scan of 1,000,000 names: %,.0f us per query%n", scan(1_000_000));
+    }
+
+    private static void measure(int users) {
+        long startedAt = System.nanoTime();
+        UserPrefixIndex.Builder builder = UserPrefixIndex.builder();
+        for (long id = 1; id <= users; id++) {
+            builder.add(id, name(id), email(id));
+        }
+        UserPrefixIndex index = new UserPrefixIndex(new SimpleMeterRegistry());
+        index.beginRebuild();
+        index.completeRebuild(builder);
+        long buildMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        // Altas posteriores a la reconstrucción: cada consulta mezcla también la delta
+        for (long id = users + 1; id <= users + 10_000; id++) {
+            index.add(id, name(id), email(id));
+        }
+
+        List<String> prefixes = prefixes(users, WARMUP_QUERIES + QUERIES);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            sink += index.find(prefixes.get(i), LIMIT).size();
+        }
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long queryStartedAt = System.nanoTime();
+            sink += index.find(prefixes.get(WARMUP_QUERIES + i), LIMIT).size();
+            latencies[i] = System.nanoTime() - queryStartedAt;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%,10d %,12d %,10.1f %,10d %,10.1f %,10.1f %,12d%n", users, index.sizeInBytes(),
+                (double) index.sizeInBytes() / users, buildMillis, latencies[QUERIES / 2] / 1_000.0,
+                latencies[QUERIES * 99 / 100] / 1_000.0, sink);
+    }
+
+    private static double scan(int users) {
+        String[] names = new String[users];
+        String[] emails = new String[users];
+        for (int i = 0; i < users; i++) {
+            names[i] = name(i + 1);
+            emails[i] = email(i + 1);
+        }
+        List<String> prefixes = prefixes(users, SCAN_QUERIES);
+        long found = 0;
+        long startedAt = System.nanoTime();
+        for (String prefix : prefixes) {
+            int matches = 0;
+            for (int i = 0; i < users; i++) {
+                if (UserSearchKeys.matches(names[i], emails[i], prefix)) {
+                    matches++;
+                }
+            }
+            found += matches;
+        }
+        double micros = (System.nanoTime() - startedAt) / 1_000.0 / SCAN_QUERIES;
+        System.out.printf("linear scan matches: %,d%n", found);
+        return micros;
+    }
+
+    private static List<String> prefixes(int users, int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] prefixes = new String[count];
+        for (int i = 0; i < count; i++) {
+            long id = 1 + random.nextInt(users);
+            List<String> keys = UserSearchKeys.keysOf(name(id), email(id));
+            String key = keys.get(random.nextInt(keys.size()));
+            prefixes[i] = key.substring(0, Math.min(key.length(), 1 + random.nextInt(6)));
+        }
+        return List.of(prefixes);
+    }
+
+    private static String name(long id) {
+        return FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " " + LAST_NAMES[(int) (id / FIRST_NAMES.length % LAST_NAMES.length)];
+    }
+
+    private static String email(long id) {
+        return "user" + Long.toString(id, 36) + "@example.com";
+    }
+}
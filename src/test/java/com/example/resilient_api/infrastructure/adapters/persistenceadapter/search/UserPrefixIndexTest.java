@@ -0,0 +1,136 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.search;
+
+import com.example.resilient_api.domain.model.UserSearchKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrefixIndexTest {
+
+    private static final String[] FIRST_NAMES = {"Ana", "José", "María", "Luis", "Álvaro", "Óscar"};
+    private static final String[] LAST_NAMES = {"García", "Pérez", "Muñoz", "Álvarez", "Gil"};
+    private static final int USERS = 3_000;
+
+    private UserPrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserPrefixIndex(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void find_ShouldMatchNamesSurnamesAndEmailsWithoutAccents() {
+        // Arrange
+        rebuild(UserPrefixIndex.builder()
+                .add(1L, "José Álvarez", "jose.alvarez@example.com")
+                .add(2L, "Ana García", "ana@example.com"));
+
+        // Act & Assert
+        assertThat(index.find("jose", 10)).containsExactly(1L);
+        assertThat(index.find("alv", 10)).containsExactly(1L);
+        assertThat(index.find("ana g", 10)).containsExactly(2L);
+        assertThat(index.find("garcia", 10)).containsExactly(2L);
+        assertThat(index.find("jose.alvarez@", 10)).containsExactly(1L);
+        assertThat(index.find("pe", 10)).isEmpty();
+    }
+
+    @Test
+    void find_WithRandomPrefixes_ShouldAgreeWithALinearScan() {
+        // Arrange
+        UserPrefixIndex.Builder builder = UserPrefixIndex.builder();
+        LongStream.rangeClosed(1, USERS).forEach(id -> builder.add(id, name(id), email(id)));
+        rebuild(builder);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int query = 0; query < 200; query++) {
+            long id = 1 + random.nextInt(USERS);
+            List<String> keys = UserSearchKeys.keysOf(name(id), email(id));
+            String key = keys.get(random.nextInt(keys.size()));
+            String prefix = key.substring(0, Math.min(key.length(), 1 + random.nextInt(6)));
+            List<Long> expected = LongStream.rangeClosed(1, USERS)
+                    .filter(candidate -> UserSearchKeys.matches(name(candidate), email(candidate), prefix))
+                    .boxed()
+                    .toList();
+
+            // Act
+            List<Long> all = index.find(prefix, USERS * 4);
+            List<Long> limited = index.find(prefix, 20);
+
+            // Assert
+            assertThat(all).as(prefix).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(limited).as(prefix).isNotEmpty().hasSizeLessThanOrEqualTo(20).isSubsetOf(expected);
+        }
+    }
+
+    @Test
+    void find_ShouldIncludeUsersAddedAfterAndDuringARebuild() {
+        // Arrange
+        rebuild(UserPrefixIndex.builder().add(1L, "Ana García", "ana@example.com"));
+        index.add(2L, "Ana Gil", "ana.gil@example.com");
+
+        // Act: el rebuild se leyó antes de dar de alta al 3
+        index.beginRebuild();
+        index.add(3L, "Ana Muñoz", "ana.munoz@example.com");
+        index.completeRebuild(UserPrefixIndex.builder()
+                .add(1L, "Ana García", "ana@example.com")
+                .add(2L, "Ana Gil", "ana.gil@example.com"));
+
+        // Assert
+        assertThat(index.find("ana", 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.find("munoz", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void abortRebuild_ShouldKeepTheUsersAddedMeanwhile() {
+        // Arrange
+        rebuild(UserPrefixIndex.builder().add(1L, "Ana García", "ana@example.com"));
+        index.beginRebuild();
+        index.add(2L, "Ana Gil", "ana.gil@example.com");
+
+        // Act
+        index.abortRebuild();
+        index.beginRebuild();
+        index.abortRebuild();
+
+        // Assert
+        assertThat(index.find("ana", 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void findIdsByPrefix_ShouldStreamTheFirstIdsUpToTheLimit() {
+        // Arrange
+        UserPrefixIndex.Builder builder = UserPrefixIndex.builder();
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            builder.add(id, "Luis Pérez", "luis" + id + "@example.com");
+            ids.add(id);
+        }
+        rebuild(builder);
+
+        // Act & Assert
+        StepVerifier.create(index.findIdsByPrefix("luis", 5).collectList())
+                .assertNext(found -> assertThat(found).hasSize(5).isSubsetOf(ids))
+                .verifyComplete();
+    }
+
+    private void rebuild(UserPrefixIndex.Builder builder) {
+        index.beginRebuild();
+        index.completeRebuild(builder);
+    }
+
+    private static String name(long id) {
+        return FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " " + LAST_NAMES[(int) (id / FIRST_NAMES.length % LAST_NAMES.length)];
+    }
+
+    private static String email(long id) {
+        return "user" + Long.toString(id, 36) + "@example.com";
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReshardingToolTest {
+
+    private static final String KEPT_URL = "r2dbc:postgresql://shard-0/users";
+    private static final String NEW_URL = "r2dbc:postgresql://shard-1/users";
+
+    private ScriptedDatabaseClient directory;
+    private ScriptedDatabaseClient sourceShard;
+    private ScriptedDatabaseClient newShard;
+    private ShardRouter targetRouter;
+
+    @BeforeEach
+    void setUp() {
+        directory = new ScriptedDatabaseClient();
+        sourceShard = new ScriptedDatabaseClient()
+                .on("FROM users ORDER BY id", bindings -> Flux.fromStream(LongStream.rangeClosed(1, 20).boxed()
+                        .map(id -> Map.of("id", id, "name", "User" + id, "email", "user" + id + "@example.com",
+                                "password", "hash", "is_admin", false, "version", id + 100))));
+        newShard = new ScriptedDatabaseClient();
+        targetRouter = new ShardRouter(2);
+    }
+
+    @Test
+    void run_FromOneShardToTwo_ShouldMoveOnlyTheRowsRoutedToTheNewServer() {
+        // Arrange: el destino 0 es el mismo servidor que el origen
+        ReshardingTool tool = new ReshardingTool(
+                new ShardSet(directory.client(), List.of(sourceShard.client()), List.of(KEPT_URL)),
+                List.of(sourceShard.client(), newShard.client()),
+                List.of(KEPT_URL, NEW_URL));
+        List<Long> moving = LongStream.rangeClosed(1, 20).filter(id -> targetRouter.shardOf(id) == 1).boxed().toList();
+
+        // Act & Assert
+        StepVerifier.create(tool.run()).expectNext((long) moving.size()).verifyComplete();
+
+        assertThat(moving).isNotEmpty().hasSizeLessThan(20);
+        assertThat(newShard.executed("INSERT INTO users")).extracting(insert -> insert.bindings().get("id"))
+                .containsExactlyInAnyOrderElementsOf(moving);
+        // La versión viaja con la fila: los ETag emitidos antes siguen valiendo
+        assertThat(newShard.executed("INSERT INTO users"))
+                .allSatisfy(insert -> assertThat(insert.bindings().get("version")).isEqualTo((Long) insert.bindings().get("id") + 100));
+        // Las filas que se quedan en el mismo servidor no se copian ni se borran
+        assertThat(sourceShard.executed("INSERT INTO users")).isEmpty();
+        assertThat(sourceShard.executed("DELETE FROM users")).extracting(delete -> delete.bindings().get("id"))
+                .containsExactlyInAnyOrderElementsOf(moving);
+        // El directorio apunta al shard nuevo de todos, se muevan o no
+        assertThat(directory.executed("UPDATE user_directory")).extracting(ScriptedDatabaseClient.Statement::bindings)
+                .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, 20)
+                        .mapToObj(id -> Map.<String, Object>of("userId", id, "shard", targetRouter.shardOf(id)))
+                        .toList());
+    }
+
+    @Test
+    void run_IntoDifferentServers_ShouldMoveEveryRow() {
+        // Arrange
+        ScriptedDatabaseClient otherShard = new ScriptedDatabaseClient();
+        ReshardingTool tool = new ReshardingTool(
+                new ShardSet(directory.client(), List.of(sourceShard.client()), List.of(KEPT_URL)),
+                List.of(otherShard.client(), newShard.client()),
+                List.of("r2dbc:postgresql://shard-2/users", NEW_URL));
+
+        // Act & Assert
+        StepVerifier.create(tool.run()).expectNext(20L).verifyComplete();
+        assertThat(sourceShard.executed("DELETE FROM users")).hasSize(20);
+        assertThat(otherShard.executed("INSERT INTO users").size() + newShard.executed("INSERT INTO users").size())
+                .isEqualTo(20);
+    }
+
+    @Test
+    void run_WhenACopyFails_ShouldKeepTheSourceRow() {
+        // Arrange
+        newShard.on("INSERT INTO users", bindings -> Flux.error(new IllegalStateException("target down")));
+        ReshardingTool tool = new ReshardingTool(
+                new ShardSet(directory.client(), List.of(sourceShard.client()), List.of(KEPT_URL)),
+                List.of(sourceShard.client(), newShard.client()),
+                List.of(KEPT_URL, NEW_URL));
+
+        // Act & Assert
+        StepVerifier.create(tool.run()).verifyError(IllegalStateException.class);
+        assertThat(sourceShard.executed("DELETE FROM users")).isEmpty();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.FakeRow;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DatabaseClient falso: el SQL de directorio y resharding (ON CONFLICT ... RETURNING) no corre en H2.
+// Cada sentencia se registra al suscribirse y devuelve las filas del primer guion cuyo fragmento contiene
+final class ScriptedDatabaseClient {
+
+    record Statement(String sql, Map<String, Object> bindings) {
+    }
+
+    private final DatabaseClient client = mock(DatabaseClient.class);
+    private final Map<String, Function<Map<String, Object>, Flux<Map<String, Object>>>> scripts = new LinkedHashMap<>();
+    private final List<Statement> executed = new CopyOnWriteArrayList<>();
+
+    ScriptedDatabaseClient() {
+        when(client.sql(anyString())).thenAnswer(invocation -> spec(invocation.getArgument(0)));
+    }
+
+    ScriptedDatabaseClient on(String fragment, Function<Map<String, Object>, Flux<Map<String, Object>>> rows) {
+        scripts.put(fragment, rows);
+        return this;
+    }
+
+    DatabaseClient client() {
+        return client;
+    }
+
+    List<Statement> executed(String fragment) {
+        return executed.stream().filter(statement -> statement.sql().contains(fragment)).toList();
+    }
+
+    List<Statement> executed() {
+        return List.copyOf(executed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec spec(String sql) {
+        Map<String, Object> bindings = new HashMap<>();
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(spec.bind(anyString(), any())).thenAnswer(invocation -> {
+            bindings.put(invocation.getArgument(0), invocation.getArgument(1));
+            return spec;
+        });
+        when(spec.map(any(BiFunction.class))).thenAnswer(invocation -> {
+            BiFunction<Row, RowMetadata, Object> mapper = invocation.getArgument(0);
+            Flux<Object> rows = run(sql, bindings).map(FakeRow::new).map(row -> mapper.apply(row, row));
+            RowsFetchSpec<Object> fetch = mock(RowsFetchSpec.class);
+            when(fetch.all()).thenReturn(rows);
+            when(fetch.one()).thenReturn(rows.singleOrEmpty());
+            return fetch;
+        });
+        when(spec.then()).thenAnswer(invocation -> run(sql, bindings).then());
+        FetchSpec<Map<String, Object>> fetch = mock(FetchSpec.class);
+        when(fetch.rowsUpdated()).thenAnswer(invocation -> run(sql, bindings).count());
+        when(spec.fetch()).thenReturn(fetch);
+        return spec;
+    }
+
+    private Flux<Map<String, Object>> run(String sql, Map<String, Object> bindings) {
+        return Flux.defer(() -> {
+            executed.add(new Statement(sql, Map.copyOf(bindings)));
+            return scripts.entrySet().stream()
+                    .filter(script -> sql.contains(script.getKey()))
+                    .findFirst()
+                    .map(script -> script.getValue().apply(bindings))
+                    .orElseGet(Flux::empty);
+        });
+    }
+}
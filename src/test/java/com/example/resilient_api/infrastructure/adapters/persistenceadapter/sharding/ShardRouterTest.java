@@ -0,0 +1,47 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRouterTest {
+
+    @Test
+    void shardOf_ConsecutiveIds_ShouldSpreadEvenlyAcrossShards() {
+        // Arrange: ids de la secuencia global, todos seguidos
+        ShardRouter router = new ShardRouter(8);
+        int[] perShard = new int[8];
+
+        // Act
+        LongStream.rangeClosed(1, 100_000).forEach(id -> perShard[router.shardOf(id)]++);
+
+        // Assert: ningún shard se aleja más de un 5% del reparto ideal
+        for (int count : perShard) {
+            assertThat(count).isBetween(11_875, 13_125);
+        }
+    }
+
+    @Test
+    void shardOf_ShouldBeStableAndWithinRangeForAnyId() {
+        ShardRouter router = new ShardRouter(3);
+
+        for (long id : new long[]{0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 123_456_789L}) {
+            assertThat(router.shardOf(id)).isBetween(0, 2).isEqualTo(new ShardRouter(3).shardOf(id));
+        }
+    }
+
+    @Test
+    void shardOf_WithASingleShard_ShouldAlwaysBeZero() {
+        ShardRouter router = new ShardRouter(1);
+
+        assertThat(LongStream.rangeClosed(1, 1_000).map(router::shardOf).distinct()).containsExactly(0L);
+    }
+
+    @Test
+    void constructor_WithoutShards_ShouldFail() {
+        assertThatThrownBy(() -> new ShardRouter(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.sharding;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedUserPersistenceAdapterTest {
+
+    private static final long NEW_ID = 42L;
+
+    private ScriptedDatabaseClient directory;
+    private List<ScriptedDatabaseClient> shards;
+    private ShardSet shardSet;
+    private ShardedUserPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        directory = new ScriptedDatabaseClient()
+                .on("nextval('user_id_seq')", bindings -> Flux.just(Map.of("id", NEW_ID)))
+                .on("INSERT INTO user_directory", bindings -> Flux.just(Map.of("user_id", bindings.get("userId"))));
+        shards = List.of(new ScriptedDatabaseClient(), new ScriptedDatabaseClient());
+        shardSet = new ShardSet(directory.client(), shards.stream().map(ScriptedDatabaseClient::client).toList(),
+                List.of("r2dbc:postgresql://shard-0/users", "r2dbc:postgresql://shard-1/users"));
+        adapter = new ShardedUserPersistenceAdapter(shardSet);
+    }
+
+    @Test
+    void insertIfAbsent_WithFreeEmail_ShouldReserveItInTheDirectoryAndInsertIntoItsShard() {
+        // Arrange
+        int shard = shardSet.shardOf(NEW_ID);
+
+        // Act & Assert
+        StepVerifier.create(adapter.insertIfAbsent(new User(null, "Ana", "Ana@Example.com", "hash", false)))
+                .expectNext(new User(NEW_ID, "Ana", "Ana@Example.com", "hash", false, 1L))
+                .verifyComplete();
+        assertThat(directory.executed("INSERT INTO user_directory"))
+                .singleElement()
+                .extracting(ScriptedDatabaseClient.Statement::bindings)
+                .isEqualTo(Map.of("email", "Ana@Example.com", "userId", NEW_ID, "shard", shard));
+        assertThat(shards.get(shard).executed("INSERT INTO users")).singleElement()
+                .satisfies(insert -> assertThat(insert.bindings()).containsEntry("id", NEW_ID));
+        assertThat(shards.get(1 - shard).executed()).isEmpty();
+    }
+
+    @Test
+    void insertIfAbsent_WithEmailTakenInTheDirectory_ShouldInsertNothing() {
+        // Arrange: ON CONFLICT DO NOTHING no devuelve fila
+        directory.on("INSERT INTO user_directory", bindings -> Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.insertIfAbsent(new User(null, "Ana", "ana@example.com", "hash", false)))
+                .verifyComplete();
+        assertThat(shards).allSatisfy(shard -> assertThat(shard.executed()).isEmpty());
+        StepVerifier.create(adapter.save(new User(null, "Ana", "ana@example.com", "hash", false)))
+                .verifyError(DuplicateKeyException.class);
+    }
+
+    @Test
+    void insertIfAbsent_WhenTheShardInsertFails_ShouldReleaseTheEmailAndPropagateTheError() {
+        // Arrange
+        ScriptedDatabaseClient shard = shards.get(shardSet.shardOf(NEW_ID));
+        shard.on("INSERT INTO users", bindings -> Flux.error(new DataAccessResourceFailureException("shard down")));
+
+        // Act & Assert
+        StepVerifier.create(adapter.insertIfAbsent(new User(null, "Ana", "ana@example.com", "hash", false)))
+                .verifyError(DataAccessResourceFailureException.class);
+        assertThat(directory.executed()).extracting(ScriptedDatabaseClient.Statement::sql)
+                .last().asString().startsWith("DELETE FROM user_directory");
+        assertThat(directory.executed("DELETE FROM user_directory")).singleElement()
+                .extracting(ScriptedDatabaseClient.Statement::bindings)
+                .isEqualTo(Map.of("userId", NEW_ID));
+    }
+
+    @Test
+    void findExistingIdsByIds_ShouldQueryEachShardOnceWithOnlyItsOwnIds() {
+        // Arrange: repetidos y null incluidos, como los manda el cliente
+        Set<Long> existing = Set.of(1L, 2L, 3L, 5L, 8L, 13L);
+        shards.forEach(shard -> shard.on("SELECT id FROM users", bindings ->
+                Flux.fromArray((Long[]) bindings.get("ids")).filter(existing::contains).map(id -> Map.of("id", id))));
+        List<Long> ids = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 2L, null, 13L);
+
+        // Act
+        List<Long> found = adapter.findExistingIdsByIds(ids).collectList().block();
+
+        // Assert
+        assertThat(found).containsExactlyInAnyOrderElementsOf(existing);
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int owner = shard;
+            Long[] expected = LongStream.rangeClosed(1, 13).filter(id -> shardSet.shardOf(id) == owner).boxed()
+                    .toArray(Long[]::new);
+            assertThat(shards.get(shard).executed()).singleElement()
+                    .satisfies(query -> assertThat((Long[]) query.bindings().get("ids")).containsExactly(expected));
+        }
+    }
+
+    @Test
+    void findSummariesByIds_WithIdsOfASingleShard_ShouldNotTouchTheOthers() {
+        // Arrange
+        long id = LongStream.iterate(1, next -> next + 1).filter(next -> shardSet.shardOf(next) == 1).findFirst().orElseThrow();
+        shards.get(1).on("FROM users WHERE id = ANY", bindings -> Flux.just(
+                Map.of("id", id, "name", "Ana", "email", "ana@example.com", "is_admin", false, "version", 4L)));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findSummariesByIds(List.of(id, id)))
+                .expectNext(new UserSummary(id, "Ana", "ana@example.com", false, 4L))
+                .verifyComplete();
+        assertThat(shards.get(0).executed()).isEmpty();
+        assertThat(shards.get(1).executed()).hasSize(1);
+    }
+
+    @Test
+    void findByEmail_ShouldResolveTheShardThroughTheDirectory() {
+        // Arrange
+        directory.on("SELECT user_id FROM user_directory", bindings -> Flux.just(Map.of("user_id", NEW_ID)));
+        shards.get(shardSet.shardOf(NEW_ID)).on("FROM users WHERE id = :id", bindings -> Flux.just(Map.of(
+                "id", NEW_ID, "name", "Ana", "email", "ana@example.com", "password", "hash", "is_admin", false,
+                "version", 2L)));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findByEmail("ANA@example.com"))
+                .expectNext(new User(NEW_ID, "Ana", "ana@example.com", "hash", false, 2L))
+                .verifyComplete();
+        assertThat(directory.executed("SELECT user_id FROM user_directory")).singleElement()
+                .extracting(ScriptedDatabaseClient.Statement::bindings)
+                .isEqualTo(Map.of("email", "ANA@example.com"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserSummaryCacheTest {
+
+    private UserSummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserSummaryCache(100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void record_OlderThanAnAppliedNotification_ShouldBeRejected() {
+        // Arrange: la notificación llega antes que una lectura de réplica con la versión 2
+        cache.onUserChanged(update(1L, 3L));
+
+        // Act
+        cache.record(summary(1L, 2L));
+
+        // Assert
+        assertThat(cache.get(1L)).isNull();
+        cache.record(summary(1L, 3L));
+        assertThat(cache.get(1L)).isEqualTo(summary(1L, 3L));
+    }
+
+    @Test
+    void findSummaryById_WhenTheReadCompletesAfterTheNotification_ShouldNotCacheTheOldVersion() {
+        // Arrange
+        Sinks.One<UserSummary> inFlight = Sinks.one();
+        UserPersistencePort database = mock(UserPersistencePort.class);
+        when(database.findSummaryById(1L)).thenReturn(inFlight.asMono());
+        SummaryCachingUserPersistenceAdapter persistence = new SummaryCachingUserPersistenceAdapter(database, cache);
+        UserSummary[] answered = new UserSummary[1];
+        persistence.findSummaryById(1L).subscribe(user -> answered[0] = user);
+
+        // Act: el cambio a v5 se notifica mientras la lectura de v4 sigue en vuelo
+        cache.onUserChanged(update(1L, 5L));
+        inFlight.tryEmitValue(summary(1L, 4L));
+
+        // Assert: esta petición ya empezó y ve v4, pero la siguiente no la recibe de la caché
+        assertThat(answered[0]).isEqualTo(summary(1L, 4L));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.entries()).isEmpty();
+    }
+
+    @Test
+    void onUserChanged_ShouldKeepTheCachedVersionItAlreadyHolds() {
+        // Arrange
+        cache.record(summary(1L, 3L));
+        cache.record(summary(2L, 3L));
+
+        // Act: el eco de la propia escritura (v3) y un cambio posterior (v4)
+        cache.onUserChanged(update(1L, 3L));
+        cache.onUserChanged(update(2L, 4L));
+
+        // Assert
+        assertThat(cache.get(1L)).isEqualTo(summary(1L, 3L));
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void onUserChanged_Delete_ShouldRejectEveryLaterRead() {
+        // Arrange
+        cache.record(summary(1L, 3L));
+
+        // Act
+        cache.onUserChanged(new UserChangeNotification(UserChangeNotification.DELETE, 1L, null, null, null, null, 0L));
+        cache.record(summary(1L, 3L));
+        cache.record(summary(1L, 99L));
+
+        // Assert
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void restore_ShouldSkipSnapshotEntriesOlderThanAKnownFloor() {
+        // Arrange
+        cache.onUserChanged(update(1L, 4L));
+
+        // Act
+        cache.restore(List.of(summary(1L, 3L), summary(2L, 1L)));
+
+        // Assert
+        assertThat(cache.entries()).containsExactly(summary(2L, 1L));
+    }
+
+    private static UserChangeNotification update(Long id, Long version) {
+        return new UserChangeNotification(UserChangeNotification.UPDATE, id, "User " + id, "user" + id + "@example.com",
+                null, version, 0L);
+    }
+
+    private static UserSummary summary(Long id, Long version) {
+        return new UserSummary(id, "User " + id, "user" + id + "@example.com", false, version);
+    }
+}
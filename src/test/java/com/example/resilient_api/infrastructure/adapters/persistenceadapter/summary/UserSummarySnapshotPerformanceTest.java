@@ -0,0 +1,122 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary;
+
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("performance")
+class UserSummarySnapshotPerformanceTest {
+
+    private static final int USERS = 1_000_000;
+    private static final int HOT_USERS = 100_000;
+    private static final int CACHE_ENTRIES = 200_000;
+    private static final int REQUESTS = 1_000_000;
+    private static final int WINDOW = 50_000;
+    private static final double HOT_SHARE = 0.97;
+    private static final double WARM_HIT_RATE = 0.95;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rollout_WithAndWithoutSnapshot_ShouldReportQueriesPerWindow() {
+        Path file = directory.resolve("users-summary.snapshot");
+        UserChangePersistencePort changes = mock(UserChangePersistencePort.class);
+        when(changes.findLatestOffset()).thenReturn(Mono.just(42L));
+        when(changes.findChangesAfter(anyLong(), anyInt())).thenReturn(Flux.empty());
+
+        // Nodo saliente: se calienta con tráfico y escribe el snapshot al parar
+        Node previous = new Node(changes, file);
+        previous.snapshotter.start();
+        previous.serve(REQUESTS, 1);
+        previous.snapshotter.stop();
+
+        Node cold = new Node(changes, directory.resolve("missing.snapshot"));
+        cold.snapshotter.restore();
+        long restoreStartedAt = System.nanoTime();
+        Node warm = new Node(changes, file);
+        warm.snapshotter.restore();
+        long restoreMillis = Duration.ofNanos(System.nanoTime() - restoreStartedAt).toMillis();
+
+        List<Long> coldQueries = cold.serve(REQUESTS, 2);
+        List<Long> warmQueries = warm.serve(REQUESTS, 2);
+
+        System.out.printf("snapshot: %,d users, %,d bytes, restored in %d ms%n",
+                warm.cache.entries().size(), size(file), restoreMillis);
+        System.out.printf("%-9s %s%n", "requests", "DB queries per window (cold / snapshot)");
+        for (int window = 0; window < coldQueries.size(); window++) {
+            System.out.printf("%,9d %,7d / %,7d%n", (window + 1) * WINDOW, coldQueries.get(window), warmQueries.get(window));
+        }
+        System.out.printf("requests until %.0f%% hits: cold %s, snapshot %s%n", WARM_HIT_RATE * 100,
+                requestsUntilWarm(coldQueries), requestsUntilWarm(warmQueries));
+    }
+
+    private static String requestsUntilWarm(List<Long> queries) {
+        for (int window = 0; window < queries.size(); window++) {
+            if (queries.get(window) <= WINDOW * (1 - WARM_HIT_RATE)) {
+                return String.format("%,d", window * WINDOW);
+            }
+        }
+        return "not reached";
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Node {
+        private final AtomicLong queries = new AtomicLong();
+        private final UserSummaryCache cache = new UserSummaryCache(CACHE_ENTRIES, new SimpleMeterRegistry());
+        private final UserSummarySnapshotter snapshotter;
+        private final UserPersistencePort persistence;
+
+        Node(UserChangePersistencePort changes, Path file) {
+            UserPersistencePort database = mock(UserPersistencePort.class);
+            when(database.findSummaryById(anyLong())).thenAnswer(invocation -> {
+                queries.incrementAndGet();
+                long id = invocation.getArgument(0);
+                return Mono.just(new UserSummary(id, "User " + id, "user" + id + "@example.com", id % 10 == 0, 1L));
+            });
+            this.persistence = new SummaryCachingUserPersistenceAdapter(database, cache);
+            this.snapshotter = new UserSummarySnapshotter(cache, changes, file, Duration.ofHours(1), new SimpleMeterRegistry());
+        }
+
+        List<Long> serve(int requests, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            List<Long> perWindow = new ArrayList<>();
+            long windowStart = queries.get();
+            for (int i = 1; i <= requests; i++) {
+                long id = random.nextDouble() < HOT_SHARE ? 1 + random.nextInt(HOT_USERS) : 1 + random.nextInt(USERS);
+                persistence.findSummaryById(id).block();
+                if (i % WINDOW == 0) {
+                    perWindow.add(queries.get() - windowStart);
+                    windowStart = queries.get();
+                }
+            }
+            return perWindow;
+        }
+    }
+}
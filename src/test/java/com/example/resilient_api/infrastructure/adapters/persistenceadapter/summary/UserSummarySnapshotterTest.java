@@ -0,0 +1,158 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.summary;
+
+import com.example.resilient_api.domain.model.UserChange;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.spi.UserChangePersistencePort;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSummarySnapshotterTest {
+
+    @Mock
+    private UserChangePersistencePort changes;
+
+    @Mock
+    private UserPersistencePort database;
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("users-summary.snapshot");
+    }
+
+    @Test
+    void restore_AfterPreviousNodeStopped_ShouldServeCachedUsersWithoutQueries() {
+        // Arrange: el nodo saliente se calentó con tráfico y escribe el snapshot al parar
+        when(changes.findLatestOffset()).thenReturn(Mono.just(42L));
+        when(changes.findChangesAfter(eq(42L), anyInt())).thenReturn(Flux.empty());
+        UserSummaryCache previous = cache();
+        previous.record(summary(1L));
+        previous.record(new UserSummary(2L, null, "ghost@example.com", null, 3L));
+        snapshotter(previous).stop();
+        UserSummaryCache restored = cache();
+
+        // Act
+        snapshotter(restored).restore();
+
+        // Assert
+        assertThat(restored.entries()).containsExactlyElementsOf(previous.entries());
+        UserPersistencePort persistence = new SummaryCachingUserPersistenceAdapter(database, restored);
+        assertThat(persistence.findSummaryById(1L).block()).isEqualTo(summary(1L));
+        verify(database, never()).findSummaryById(anyLong());
+    }
+
+    @Test
+    void restore_ShouldEvictUsersChangedAfterTheSnapshot() throws IOException {
+        // Arrange
+        UserSummarySnapshot.write(file, 10L, List.of(summary(1L), summary(2L), summary(3L)));
+        when(changes.findChangesAfter(eq(10L), anyInt())).thenReturn(Flux.just(
+                change(11L, UserChangeNotification.UPDATE, 1L),
+                change(12L, UserChangeNotification.INSERT, 3L)));
+        UserSummaryCache restored = cache();
+
+        // Act
+        snapshotter(restored).restore();
+
+        // Assert
+        assertThat(restored.entries()).extracting(UserSummary::id).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void restore_WhenTheFeedNoLongerHoldsTheNextChange_ShouldStartEmpty() throws IOException {
+        // Arrange: la retención ya borró el cambio 11
+        UserSummarySnapshot.write(file, 10L, List.of(summary(1L), summary(2L)));
+        when(changes.findChangesAfter(eq(10L), anyInt())).thenReturn(Flux.just(change(15L, UserChangeNotification.UPDATE, 9L)));
+        UserSummaryCache restored = cache();
+
+        // Act
+        snapshotter(restored).restore();
+
+        // Assert
+        assertThat(restored.entries()).isEmpty();
+    }
+
+    @Test
+    void restore_WhenCatchUpFails_ShouldDiscardTheSnapshot() throws IOException {
+        // Arrange
+        UserSummarySnapshot.write(file, 10L, List.of(summary(1L)));
+        when(changes.findChangesAfter(anyLong(), anyInt())).thenReturn(Flux.error(new IllegalStateException("connection lost")));
+        UserSummaryCache restored = cache();
+
+        // Act
+        snapshotter(restored).restore();
+
+        // Assert
+        assertThat(restored.entries()).isEmpty();
+    }
+
+    @Test
+    void restore_WithCorruptedFile_ShouldStartEmptyAndDeleteIt() throws IOException {
+        // Arrange
+        UserSummarySnapshot.write(file, 10L, List.of(summary(1L), summary(2L)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+        UserSummaryCache restored = cache();
+
+        // Act
+        snapshotter(restored).restore();
+
+        // Assert
+        assertThat(restored.entries()).isEmpty();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void restore_WithoutSnapshot_ShouldStartEmpty() {
+        UserSummaryCache restored = cache();
+
+        snapshotter(restored).restore();
+
+        assertThat(restored.entries()).isEmpty();
+    }
+
+    private UserSummarySnapshotter snapshotter(UserSummaryCache cache) {
+        return new UserSummarySnapshotter(cache, changes, file, Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    private static UserSummaryCache cache() {
+        return new UserSummaryCache(100, new SimpleMeterRegistry());
+    }
+
+    private static UserSummary summary(Long id) {
+        return new UserSummary(id, "User " + id, "user" + id + "@example.com", id % 2 == 0, 1L);
+    }
+
+    private static UserChange change(long offset, String operation, Long userId) {
+        return new UserChange(offset, operation, userId, "User " + userId, "user" + userId + "@example.com", false, Instant.now());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.version;
+
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserVersionCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserVersionCache(3, meterRegistry);
+    }
+
+    @Test
+    void record_OlderVersion_ShouldNotLowerTheCachedOne() {
+        // Arrange: la notificación de v5 llega antes que una lectura de réplica con v4
+        cache.onUserChanged(notification(UserChangeNotification.UPDATE, 1L, 5L));
+
+        // Act
+        cache.record(1L, 4L);
+
+        // Assert
+        assertThat(cache.get(1L)).isEqualTo(5L);
+    }
+
+    @Test
+    void onUserChanged_OutOfOrder_ShouldKeepTheHighestVersion() {
+        cache.onUserChanged(notification(UserChangeNotification.UPDATE, 1L, 7L));
+        cache.onUserChanged(notification(UserChangeNotification.UPDATE, 1L, 6L));
+        cache.onUserChanged(notification(UserChangeNotification.UPDATE, 2L, 1L));
+        cache.onUserChanged(notification(UserChangeNotification.UPDATE, 2L, 2L));
+
+        assertThat(cache.get(1L)).isEqualTo(7L);
+        assertThat(cache.get(2L)).isEqualTo(2L);
+    }
+
+    @Test
+    void onUserChanged_WithDeleteOrWithoutVersion_ShouldEvict() {
+        // Arrange
+        cache.record(1L, 3L);
+        cache.record(2L, 3L);
+
+        // Act
+        cache.onUserChanged(notification(UserChangeNotification.DELETE, 1L, 3L));
+        cache.onUserChanged(notification(UserChangeNotification.UPDATE, 2L, null));
+
+        // Assert
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void onResync_ShouldForgetEveryVersion() {
+        cache.record(1L, 3L);
+
+        cache.onResync();
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(meterRegistry.get("users.version_cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void record_OverTheLimit_ShouldEvictTheLeastRecentlyRead() {
+        // Arrange
+        cache.record(1L, 1L);
+        cache.record(2L, 1L);
+        cache.record(3L, 1L);
+        cache.get(1L);
+
+        // Act
+        cache.record(4L, 1L);
+
+        // Assert
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isEqualTo(1L);
+        assertThat(meterRegistry.get("users.version_cache.size").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("users.version_cache").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("users.version_cache").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    private static UserChangeNotification notification(String operation, Long id, Long version) {
+        return new UserChangeNotification(operation, id, "User", "user@example.com", null, version, 0L);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.version;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.notification.UserChangeNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VersionCachingUserPersistenceAdapterTest {
+
+    private UserPersistencePort delegate;
+    private UserVersionCache versionCache;
+    private VersionCachingUserPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(UserPersistencePort.class);
+        versionCache = new UserVersionCache(100, new SimpleMeterRegistry());
+        adapter = new VersionCachingUserPersistenceAdapter(delegate, versionCache);
+    }
+
+    @Test
+    void findVersionsByIds_ShouldQueryOnlyTheIdsMissingFromTheCache() {
+        // Arrange
+        versionCache.record(1L, 4L);
+        when(delegate.findVersionsByIds(List.of(2L, 3L))).thenReturn(Flux.just(new UserVersion(2L, 1L)));
+
+        // Act & Assert: repetidos y null no llegan a la BD
+        StepVerifier.create(adapter.findVersionsByIds(Arrays.asList(1L, 2L, null, 1L, 3L)))
+                .expectNext(new UserVersion(1L, 4L), new UserVersion(2L, 1L))
+                .verifyComplete();
+        assertThat(versionCache.get(2L)).isEqualTo(1L);
+        assertThat(versionCache.get(3L)).isNull();
+    }
+
+    @Test
+    void findVersionsByIds_WithEveryIdCached_ShouldNotTouchTheDatabase() {
+        versionCache.record(1L, 4L);
+        versionCache.record(2L, 2L);
+
+        StepVerifier.create(adapter.findVersionsByIds(List.of(2L, 1L)))
+                .expectNext(new UserVersion(2L, 2L), new UserVersion(1L, 4L))
+                .verifyComplete();
+        verify(delegate, never()).findVersionsByIds(any());
+    }
+
+    @Test
+    void findSummaryById_FromALaggingReplica_ShouldNotLowerANotifiedVersion() {
+        // Arrange: el cambio a v5 ya se notificó; la réplica todavía devuelve v4
+        versionCache.onUserChanged(new UserChangeNotification(UserChangeNotification.UPDATE, 1L, "User",
+                "user@example.com", null, 5L, 0L));
+        when(delegate.findSummaryById(1L)).thenReturn(Mono.just(new UserSummary(1L, "User", "user@example.com", false, 4L)));
+
+        // Act
+        adapter.findSummaryById(1L).block();
+
+        // Assert: el ETag sigue siendo el de v5 y un If-None-Match con v4 no da 304
+        StepVerifier.create(adapter.findVersionsByIds(List.of(1L)))
+                .expectNext(new UserVersion(1L, 5L))
+                .verifyComplete();
+    }
+
+    @Test
+    void findVersionsByIds_WhenTheDatabaseAnswersAfterANewerNotification_ShouldKeepTheNewerVersion() {
+        // Arrange
+        when(delegate.findVersionsByIds(List.of(1L))).thenReturn(Flux.defer(() -> {
+            versionCache.record(1L, 9L);
+            return Flux.just(new UserVersion(1L, 8L));
+        }));
+
+        // Act
+        adapter.findVersionsByIds(List.of(1L)).blockLast();
+
+        // Assert
+        assertThat(versionCache.get(1L)).isEqualTo(9L);
+    }
+
+    @Test
+    void save_ShouldEvictTheCachedVersion() {
+        // Arrange: la versión que devuelve save() es la de entrada, no la que asigna el trigger
+        versionCache.record(1L, 4L);
+        User user = new User(1L, "Renamed", "user@example.com", "hash", false, 4L);
+        when(delegate.save(user)).thenReturn(Mono.just(user));
+
+        // Act
+        adapter.save(user).block();
+
+        // Assert
+        assertThat(versionCache.get(1L)).isNull();
+    }
+}
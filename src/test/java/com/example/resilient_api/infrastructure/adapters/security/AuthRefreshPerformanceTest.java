@@ -0,0 +1,121 @@
+package com.example.resilient_api.infrastructure.adapters.security;
+
+import com.example.resilient_api.domain.model.LoginRequest;
+import com.example.resilient_api.domain.model.LoginResponse;
+import com.example.resilient_api.domain.model.RefreshToken;
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.spi.RefreshTokenPersistencePort;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.domain.usecase.AuthUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("performance")
+class AuthRefreshPerformanceTest {
+
+    private static final int LOGINS = 200;
+    private static final int REFRESHES = 20_000;
+    private static final String PASSWORD = "password123";
+
+    @Test
+    void refresh_VersusLogin_ShouldReportCpuPerOperation() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        User user = new User(1L, "John Doe", "john@example.com", bcrypt.encode(PASSWORD), false);
+        UserPersistencePort userPersistencePort = mock(UserPersistencePort.class);
+        when(userPersistencePort.findCredentialsByEmail(anyString())).thenReturn(Mono.just(user));
+        when(userPersistencePort.findById(anyLong())).thenReturn(Mono.just(user));
+
+        AuthUseCase authUseCase = new AuthUseCase(userPersistencePort,
+                new PasswordEncoderAdapter(bcrypt, new SimpleMeterRegistry()),
+                new JwtAdapter("mySecretKeyForJWT2026ThisIsA32CharacterKeyMinimumForHS256Algorithm", 3_600_000),
+                new InMemoryRefreshTokens(),
+                new RefreshTokenAdapter(2_592_000_000L));
+        LoginRequest loginRequest = new LoginRequest(user.email(), PASSWORD);
+
+        // Calentamiento (JIT) de ambos caminos
+        String refreshToken = measure(20, () -> authUseCase.login(loginRequest, "warmup").block()).last.refreshToken();
+        refreshToken = measure(2_000, chain(authUseCase, refreshToken)).last.refreshToken();
+
+        Result login = measure(LOGINS, () -> authUseCase.login(loginRequest, "login").block());
+        Result refresh = measure(REFRESHES, chain(authUseCase, refreshToken));
+
+        double ratio = login.cpuMicrosPerOp / refresh.cpuMicrosPerOp;
+        System.out.printf("%-8s %8.1f us CPU/op%n", "login", login.cpuMicrosPerOp);
+        System.out.printf("%-8s %8.1f us CPU/op%n", "refresh", refresh.cpuMicrosPerOp);
+        System.out.printf("refresh uses 1/%.0f of the login CPU%n", ratio);
+    }
+
+    private static Supplier<LoginResponse> chain(AuthUseCase authUseCase, String firstRefreshToken) {
+        String[] current = {firstRefreshToken};
+        return () -> {
+            LoginResponse response = authUseCase.refresh(current[0], "refresh").block();
+            current[0] = response.refreshToken();
+            return response;
+        };
+    }
+
+    private static Result measure(int operations, Supplier<LoginResponse> operation) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        LoginResponse last = null;
+        for (int i = 0; i < operations; i++) {
+            last = operation.get();
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuBefore;
+        return new Result(cpuNanos / 1_000.0 / operations, last);
+    }
+
+    private record Result(double cpuMicrosPerOp, LoginResponse last) {
+    }
+
+    private static class InMemoryRefreshTokens implements RefreshTokenPersistencePort {
+
+        private final Map<String, RefreshToken> tokens = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<RefreshToken> save(RefreshToken refreshToken) {
+            tokens.put(refreshToken.tokenHash(), refreshToken);
+            return Mono.just(refreshToken);
+        }
+
+        @Override
+        public Mono<RefreshToken> findByTokenHash(String tokenHash) {
+            return Mono.justOrEmpty(tokens.get(tokenHash));
+        }
+
+        @Override
+        public Mono<Boolean> markUsed(String tokenHash) {
+            RefreshToken stored = tokens.get(tokenHash);
+            if (stored == null || stored.isUsed() || stored.isRevoked()) {
+                return Mono.just(false);
+            }
+            tokens.put(tokenHash, new RefreshToken(stored.tokenHash(), stored.familyId(), stored.userId(),
+                    stored.expiresAt(), Instant.now(), null));
+            return Mono.just(true);
+        }
+
+        @Override
+        public Mono<Void> revokeFamily(UUID familyId) {
+            tokens.replaceAll((hash, token) -> token.familyId().equals(familyId) && !token.isRevoked()
+                    ? new RefreshToken(hash, familyId, token.userId(), token.expiresAt(), token.usedAt(), Instant.now())
+                    : token);
+            return Mono.empty();
+        }
+    }
+}
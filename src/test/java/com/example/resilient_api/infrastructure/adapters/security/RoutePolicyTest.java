@@ -0,0 +1,193 @@
+package com.example.resilient_api.infrastructure.adapters.security;
+
+import com.example.resilient_api.application.config.SecurityConfig;
+import com.example.resilient_api.domain.api.JwtPort;
+import com.example.resilient_api.domain.model.JwtPayload;
+import com.example.resilient_api.infrastructure.adapters.security.RoutePolicy.Access;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoutePolicyTest {
+
+    private static final String USER_TOKEN = "user-token";
+    private static final String ADMIN_TOKEN = "admin-token";
+
+    private final RoutePolicy routePolicy = SecurityConfig.routePolicy();
+    private JwtPort jwtPort;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        jwtPort = mock(JwtPort.class);
+        when(jwtPort.validateAndExtractPayload(USER_TOKEN)).thenReturn(Mono.just(new JwtPayload(1L, "user@example.com", false)));
+        when(jwtPort.validateAndExtractPayload(ADMIN_TOKEN)).thenReturn(Mono.just(new JwtPayload(2L, "admin@example.com", true)));
+        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtPort, routePolicy);
+        // La cadena real de SecurityConfig delante de un handler que siempre responde 200
+        WebFilterChainProxy securityChain = new WebFilterChainProxy(new SecurityConfig(jwtAuthenticationFilter)
+                .securityWebFilterChain(ServerHttpSecurity.http(), routePolicy));
+        client = WebTestClient.bindToRouterFunction(RouterFunctions.route(RequestPredicates.all(), request -> ServerResponse.ok().build()))
+                .webFilter(securityChain)
+                .build();
+    }
+
+    @Test
+    void searchUsers_AsUser_ShouldBeForbidden() {
+        exchange(HttpMethod.GET, "/users/search?q=jo", USER_TOKEN).expectStatus().isForbidden();
+    }
+
+    @Test
+    void searchUsers_AsAdmin_ShouldBeAllowed() {
+        exchange(HttpMethod.GET, "/users/search?q=jo", ADMIN_TOKEN).expectStatus().isOk();
+    }
+
+    @Test
+    void searchUsers_WithoutToken_ShouldBeUnauthorized() {
+        exchange(HttpMethod.GET, "/users/search", null).expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void updateAndDeleteUser_ShouldRequireAuthentication() {
+        assertThat(routePolicy.accessFor(HttpMethod.PUT, "/users/5")).isEqualTo(Access.AUTHENTICATED);
+        assertThat(routePolicy.accessFor(HttpMethod.DELETE, "/users/5")).isEqualTo(Access.AUTHENTICATED);
+        exchange(HttpMethod.PUT, "/users/5", null).expectStatus().isUnauthorized();
+        exchange(HttpMethod.DELETE, "/users/5", null).expectStatus().isUnauthorized();
+        exchange(HttpMethod.PUT, "/users/5", USER_TOKEN).expectStatus().isOk();
+        exchange(HttpMethod.DELETE, "/users/5", USER_TOKEN).expectStatus().isOk();
+    }
+
+    @Test
+    void internalUserRoutes_ShouldBeOpenForGetAndPostOnly() {
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/users/5")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.POST, "/users/check-exists")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.POST, "/users")).isEqualTo(Access.PERMIT_ALL);
+        // La regla exacta de /users/search es solo para GET: POST cae en la de /users/**
+        assertThat(routePolicy.accessFor(HttpMethod.POST, "/users/search")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.PATCH, "/users/search")).isEqualTo(Access.AUTHENTICATED);
+        exchange(HttpMethod.GET, "/users/5", null).expectStatus().isOk();
+    }
+
+    @Test
+    void usersPrefix_ShouldMatchTrailingSlashAndNestedPathsLikePathPatterns() {
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/users")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/users/")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/users/x/y")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.POST, "/users/")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.PUT, "/users")).isEqualTo(Access.AUTHENTICATED);
+        assertThat(routePolicy.accessFor(HttpMethod.PUT, "/users/x/y")).isEqualTo(Access.AUTHENTICATED);
+        // Un prefijo solo coincide por segmentos completos
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/usersx")).isEqualTo(Access.AUTHENTICATED);
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/actuator")).isEqualTo(Access.PERMIT_ALL);
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/actuator/health/liveness")).isEqualTo(Access.PERMIT_ALL);
+    }
+
+    @Test
+    void authRoutes_ShouldSkipTokenValidation() {
+        assertThat(routePolicy.requiresToken(request(HttpMethod.POST, "/auth/login"))).isFalse();
+        assertThat(routePolicy.requiresToken(request(HttpMethod.POST, "/auth/refresh"))).isFalse();
+        assertThat(routePolicy.requiresToken(request(HttpMethod.POST, "/auth/revoke"))).isFalse();
+
+        exchange(HttpMethod.POST, "/auth/refresh", "expired-or-garbage").expectStatus().isOk();
+        exchange(HttpMethod.POST, "/auth/revoke", "expired-or-garbage").expectStatus().isOk();
+        verify(jwtPort, never()).validateAndExtractPayload(anyString());
+    }
+
+    @Test
+    void internalRoute_WithToken_ShouldSkipTokenValidation() {
+        // Los servicios internos mandan su token igualmente: no se valida en rutas abiertas
+        assertThat(routePolicy.requiresToken(request(HttpMethod.GET, "/users/5"))).isFalse();
+        exchange(HttpMethod.GET, "/users/5", "service-token").expectStatus().isOk();
+        verify(jwtPort, never()).validateAndExtractPayload(anyString());
+    }
+
+    @Test
+    void protectedRoute_WithToken_ShouldValidateIt() {
+        when(jwtPort.validateAndExtractPayload("garbage")).thenReturn(Mono.error(new IllegalArgumentException("bad token")));
+
+        assertThat(routePolicy.requiresToken(request(HttpMethod.PUT, "/users/5"))).isTrue();
+        exchange(HttpMethod.PUT, "/users/5", "garbage").expectStatus().isUnauthorized();
+        verify(jwtPort).validateAndExtractPayload("garbage");
+    }
+
+    @Test
+    void encodedOrMatrixPaths_ShouldBeClassifiedLikeTheRouterMatchesThem() {
+        // El router decodifica %73 = 's' y quita ;params antes de comparar con /users/search
+        assertThat(routePolicy.accessFor(request(HttpMethod.GET, URI.create("/users/%73earch")))).isEqualTo(Access.ADMIN);
+        assertThat(routePolicy.accessFor(request(HttpMethod.GET, URI.create("/users/search;v=1")))).isEqualTo(Access.ADMIN);
+        assertThat(routePolicy.accessFor(request(HttpMethod.GET, URI.create("/%75sers/search")))).isEqualTo(Access.ADMIN);
+        assertThat(routePolicy.accessFor(request(HttpMethod.PUT, URI.create("/%75sers/5")))).isEqualTo(Access.AUTHENTICATED);
+        // Un separador codificado no es un separador para el router
+        assertThat(routePolicy.accessFor(request(HttpMethod.GET, URI.create("/users%2Fsearch")))).isEqualTo(Access.AUTHENTICATED);
+
+        client.get().uri(URI.create("/users/%73earch")).exchange().expectStatus().isUnauthorized();
+        client.get().uri(URI.create("/users/%73earch"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + USER_TOKEN)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void unknownPath_ShouldFallThroughToAuthenticated() {
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/")).isEqualTo(Access.AUTHENTICATED);
+        assertThat(routePolicy.accessFor(HttpMethod.GET, "/reports/daily")).isEqualTo(Access.AUTHENTICATED);
+        assertThat(routePolicy.accessFor(HttpMethod.POST, "/auth/unknown")).isEqualTo(Access.AUTHENTICATED);
+        exchange(HttpMethod.GET, "/reports/daily", null).expectStatus().isUnauthorized();
+        exchange(HttpMethod.GET, "/reports/daily", USER_TOKEN).expectStatus().isOk();
+    }
+
+    @Test
+    void builder_FirstRuleForSamePatternAndMethodWins() {
+        RoutePolicy policy = RoutePolicy.builder()
+                .route(Access.ADMIN, HttpMethod.GET, "/a/**")
+                .route(Access.PERMIT_ALL, HttpMethod.GET, "/a/**")
+                .route(Access.PERMIT_ALL, "/a/**")
+                .otherwise(Access.AUTHENTICATED);
+
+        assertThat(policy.accessFor(HttpMethod.GET, "/a/b")).isEqualTo(Access.ADMIN);
+        assertThat(policy.accessFor(HttpMethod.POST, "/a/b")).isEqualTo(Access.PERMIT_ALL);
+    }
+
+    @Test
+    void builder_WithUnsupportedPattern_ShouldFail() {
+        assertThatThrownBy(() -> RoutePolicy.builder().route(Access.PERMIT_ALL, "/users/*/name"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RoutePolicy.builder().route(Access.PERMIT_ALL, "/users/{id}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private WebTestClient.ResponseSpec exchange(HttpMethod method, String uri, String token) {
+        WebTestClient.RequestBodySpec request = client.method(method).uri(uri);
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return request.exchange();
+    }
+
+    private static MockServerHttpRequest request(HttpMethod method, String path) {
+        return MockServerHttpRequest.method(method, path).build();
+    }
+
+    // Con URI la ruta llega tal cual, sin volver a codificar el %
+    private static MockServerHttpRequest request(HttpMethod method, URI uri) {
+        return MockServerHttpRequest.method(method, uri).build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.resilient_api.infrastructure.adapters.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanHandlerTest {
+
+    private static final long START_MICROS = 1_000_000L;
+    private static final Duration SLOW = Duration.ofMillis(500);
+
+    private record Exported(List<MutableSpan> trace, String reason) {
+    }
+
+    private final List<Exported> exported = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private Tracing tracing;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        tracer(0.0, 10, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void fastSuccessfulTrace_ShouldBeDiscarded() {
+        request(Duration.ofMillis(20), null);
+
+        assertThat(exported).isEmpty();
+        assertThat(meterRegistry.get("tracing.tail.discarded").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tracing.tail.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void slowTrace_ShouldBeExportedWithEverySpan() {
+        request(SLOW, null);
+
+        assertThat(exported).singleElement().satisfies(trace -> {
+            assertThat(trace.reason()).isEqualTo("slow");
+            assertThat(trace.trace()).extracting(MutableSpan::name).containsExactly("child", "root");
+        });
+        assertThat(kept("slow")).isEqualTo(1);
+    }
+
+    @Test
+    void traceWithAFailedChild_ShouldBeExportedAsError() {
+        // Arrange
+        Span root = tracer.newTrace().name("root").start(START_MICROS);
+        tracer.newChild(root.context()).name("child").start(START_MICROS).error(new IllegalStateException("boom"))
+                .finish(START_MICROS + 10);
+
+        // Act
+        root.finish(START_MICROS + 20);
+
+        // Assert
+        assertThat(exported).singleElement().extracting(Exported::reason).isEqualTo("error");
+    }
+
+    @Test
+    void rootRespondingServerError_ShouldBeExportedAsError() {
+        // El handler responde 500 sin propagar la excepción: solo queda la etiqueta del span del servidor
+        request(Duration.ofMillis(20), "500");
+        request(Duration.ofMillis(20), "404");
+
+        assertThat(exported).singleElement().extracting(Exported::reason).isEqualTo("error");
+        assertThat(meterRegistry.get("tracing.tail.discarded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fastSuccessfulTrace_WithFullSampleRate_ShouldBeExportedAsSampled() {
+        tracer(1.0, 10, 10);
+
+        request(Duration.ofMillis(20), null);
+
+        assertThat(exported).singleElement().extracting(Exported::reason).isEqualTo("sampled");
+    }
+
+    @Test
+    void fastSuccessfulTraces_ShouldBeSampledAtTheConfiguredRate() {
+        tracer(0.25, 10, 10);
+
+        for (int i = 0; i < 4_000; i++) {
+            request(Duration.ofMillis(20), null);
+        }
+
+        assertThat(exported).hasSizeBetween(800, 1_200).allSatisfy(trace -> assertThat(trace.reason()).isEqualTo("sampled"));
+    }
+
+    @Test
+    void requestsOverMaxPendingTraces_ShouldNotBeBufferedEvenIfSlow() {
+        // Arrange
+        tracer(0.0, 2, 10);
+        Span first = tracer.newTrace().name("first").start(START_MICROS);
+        Span second = tracer.newTrace().name("second").start(START_MICROS);
+
+        // Act
+        Span third = tracer.newTrace().name("third").start(START_MICROS);
+        third.finish(START_MICROS + SLOW.toNanos() / 1_000);
+
+        // Assert
+        assertThat(exported).isEmpty();
+        assertThat(meterRegistry.get("tracing.tail.overflow").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tracing.tail.pending").gauge().value()).isEqualTo(2);
+        first.finish(START_MICROS + 1);
+        second.finish(START_MICROS + 1);
+        assertThat(meterRegistry.get("tracing.tail.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void traceOverMaxSpansPerTrace_ShouldKeepTheFirstSpansAndStillSeeLaterErrors() {
+        // Arrange
+        tracer(0.0, 10, 3);
+        Span root = tracer.newTrace().name("root").start(START_MICROS);
+        for (int i = 0; i < 5; i++) {
+            tracer.newChild(root.context()).name("child-" + i).start(START_MICROS).finish(START_MICROS + 1);
+        }
+        tracer.newChild(root.context()).name("failed").start(START_MICROS).error(new IllegalStateException("boom"))
+                .finish(START_MICROS + 2);
+
+        // Act
+        root.finish(START_MICROS + 3);
+
+        // Assert
+        assertThat(exported).singleElement().satisfies(trace -> {
+            assertThat(trace.reason()).isEqualTo("error");
+            assertThat(trace.trace()).extracting(MutableSpan::name).containsExactly("child-0", "child-1", "child-2");
+        });
+    }
+
+    @Test
+    void abandonedRoot_ShouldReleaseItsBufferWithoutExporting() {
+        // Arrange
+        Span root = tracer.newTrace().name("root").start(START_MICROS);
+        tracer.newChild(root.context()).name("child").start(START_MICROS).finish(START_MICROS + 1);
+
+        // Act
+        root.abandon();
+
+        // Assert
+        assertThat(exported).isEmpty();
+        assertThat(meterRegistry.get("tracing.tail.pending").gauge().value()).isZero();
+    }
+
+    private void request(Duration duration, String status) {
+        Span root = tracer.newTrace().name("root").start(START_MICROS);
+        tracer.newChild(root.context()).name("child").start(START_MICROS).finish(START_MICROS + 1);
+        if (status != null) {
+            root.tag("status", status);
+        }
+        root.finish(START_MICROS + duration.toNanos() / 1_000);
+    }
+
+    private double kept(String reason) {
+        return meterRegistry.get("tracing.tail.kept").tag("reason", reason).counter().count();
+    }
+
+    // Como en producción: el head sampler no muestrea nada y alwaysSampleLocal hace que el handler vea todos los spans
+    private void tracer(double sampleRate, int maxPendingTraces, int maxSpansPerTrace) {
+        if (tracing != null) {
+            tracing.close();
+        }
+        meterRegistry = new SimpleMeterRegistry();
+        TailSamplingSpanHandler handler = new TailSamplingSpanHandler(SLOW, sampleRate, maxPendingTraces,
+                maxSpansPerTrace, (trace, reason) -> exported.add(new Exported(trace, reason)), meterRegistry);
+        tracing = Tracing.newBuilder()
+                .sampler(Sampler.NEVER_SAMPLE)
+                .alwaysSampleLocal()
+                .addSpanHandler(handler)
+                .build();
+        tracer = tracing.tracer();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.resilient_api.infrastructure.entrypoints;
+
+import com.example.resilient_api.domain.usecase.UserUseCase;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory.InMemoryUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.security.PasswordEncoderAdapter;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserDTO;
+import com.example.resilient_api.infrastructure.entrypoints.handler.UserHandlerImpl;
+import com.example.resilient_api.infrastructure.entrypoints.handler.UserIdsBodyReader;
+import com.example.resilient_api.infrastructure.entrypoints.mapper.UserMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+// Sin lane, como por RSocket: con BlockHound instalado un bloqueo en el event loop da 500
+class NonBlockingHttpIntegrationTest {
+
+    private static DisposableServer server;
+    private static WebClient client;
+
+    @BeforeAll
+    static void startServer() {
+        UserUseCase userUseCase = new UserUseCase(new InMemoryUserPersistenceAdapter(),
+                new PasswordEncoderAdapter(new BCryptPasswordEncoder(4), new SimpleMeterRegistry()), null, null);
+        UserHandlerImpl handler = new UserHandlerImpl(userUseCase, new UserMapperImpl(),
+                new UserIdsBodyReader(new ObjectMapper(), 1_000));
+        // Ruta de control: bloquea en el event loop a propósito
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(
+                route(POST("/users"), handler::createUser)
+                        .andRoute(GET("/users/{id}"), handler::getUserById)
+                        .andRoute(POST("/users/check-exists"), handler::checkUsersExist)
+                        .andRoute(GET("/blocking"), request -> Mono.fromCallable(() -> {
+                            Thread.sleep(1);
+                            return "slept";
+                        }).flatMap(body -> ServerResponse.ok().bodyValue(body)))));
+        server = HttpServer.create().port(0).handle(adapter).bindNow();
+        client = WebClient.builder()
+                .baseUrl("http://localhost:" + server.port())
+                .defaultHeader(X_MESSAGE_ID, "non-blocking-test")
+                .build();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void createUser_WithoutLane_ShouldHashOffTheEventLoop() {
+        ResponseEntity<UserDTO> created = client.post().uri("/users")
+                .bodyValue(UserDTO.builder().name("John Doe").email("john@example.com").password("password123").isAdmin(false).build())
+                .retrieve()
+                .toEntity(UserDTO.class)
+                .block(Duration.ofSeconds(10));
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody().getId()).isNotNull();
+
+        UserDTO read = client.get().uri("/users/{id}", created.getBody().getId())
+                .retrieve()
+                .bodyToMono(UserDTO.class)
+                .block(Duration.ofSeconds(10));
+        assertThat(read.getEmail()).isEqualTo("john@example.com");
+    }
+
+    @Test
+    void checkUsersExist_ShouldAnswerWithoutBlocking() {
+        Map<String, Boolean> existence = client.post().uri("/users/check-exists")
+                .bodyValue(Map.of("ids", new long[]{1, 999}))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Boolean>>() {
+                })
+                .block(Duration.ofSeconds(10));
+
+        assertThat(existence).containsEntry("999", false);
+    }
+
+    @Test
+    void blockingCallOnEventLoop_WithBlockHound_ShouldFailTheRequest() {
+        assumeTrue(Boolean.getBoolean("blockhound.enabled"), "BlockHound not installed");
+
+        HttpStatus status = client.get().uri("/blocking")
+                .exchangeToMono(response -> Mono.just(HttpStatus.valueOf(response.statusCode().value())))
+                .block(Duration.ofSeconds(10));
+
+        assertThat(status).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
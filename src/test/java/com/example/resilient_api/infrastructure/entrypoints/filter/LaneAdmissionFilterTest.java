@@ -0,0 +1,130 @@
+package com.example.resilient_api.infrastructure.entrypoints.filter;
+
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLane;
+import com.example.resilient_api.infrastructure.adapters.lane.ExecutionLanes;
+import com.example.resilient_api.infrastructure.adapters.lane.Lane;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LaneAdmissionFilterTest {
+
+    private static final int PUBLIC_PERMITS = 2;
+    private static final int INTERNAL_PERMITS = 4;
+    private static final int PRIORITY_RESERVE = 2;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutionLanes executionLanes;
+    private LaneAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BulkheadConfig noWait = BulkheadConfig.custom().maxWaitDuration(Duration.ZERO).build();
+        ExecutionLane publicLane = new ExecutionLane(Lane.PUBLIC,
+                Bulkhead.of("public", BulkheadConfig.from(noWait).maxConcurrentCalls(PUBLIC_PERMITS).build()), null, null);
+        ExecutionLane internalLane = new ExecutionLane(Lane.INTERNAL,
+                Bulkhead.of("internal", BulkheadConfig.from(noWait).maxConcurrentCalls(INTERNAL_PERMITS).build()), null, null);
+        executionLanes = new ExecutionLanes(Map.of(Lane.PUBLIC, publicLane, Lane.INTERNAL, internalLane),
+                PRIORITY_RESERVE, meterRegistry);
+        filter = new LaneAdmissionFilter(executionLanes);
+    }
+
+    @Test
+    void filter_WithPublicLaneFull_ShouldRejectLoginsButStillAdmitInternalCalls() {
+        // Arrange: logins colgados ocupando todo el cupo público
+        Sinks.Empty<Void> hanging = Sinks.empty();
+        for (int i = 0; i < PUBLIC_PERMITS; i++) {
+            filter.filter(login(), exchange -> hanging.asMono()).subscribe();
+        }
+        AtomicInteger handled = new AtomicInteger();
+        MockServerWebExchange rejected = login();
+
+        // Act
+        filter.filter(rejected, exchange -> Mono.fromRunnable(handled::incrementAndGet)).block();
+        filter.filter(internal("/users/1"), exchange -> Mono.fromRunnable(handled::incrementAndGet)).block();
+
+        // Assert
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(handled).hasValue(1);
+        assertThat(rejections("public", "quota")).isEqualTo(1);
+        hanging.tryEmitEmpty();
+    }
+
+    @Test
+    void filter_WithInternalLaneUnderItsReserve_ShouldYieldPublicCalls() {
+        // Arrange: quedan menos de PRIORITY_RESERVE permisos internos libres
+        Sinks.Empty<Void> hanging = Sinks.empty();
+        for (int i = 0; i <= INTERNAL_PERMITS - PRIORITY_RESERVE; i++) {
+            filter.filter(internal("/users/" + i), exchange -> hanging.asMono()).subscribe();
+        }
+        MockServerWebExchange login = login();
+
+        // Act
+        filter.filter(login, exchange -> Mono.empty()).block();
+
+        // Assert
+        assertThat(login.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejections("public", "priority")).isEqualTo(1);
+        hanging.tryEmitEmpty();
+    }
+
+    @Test
+    void filter_WhenAdmitted_ShouldExposeTheLaneAndReleaseThePermitAfterwards() {
+        // Arrange
+        AtomicReference<Lane> seen = new AtomicReference<>();
+        WebFilterChain chain = exchange -> Mono.deferContextual(context -> {
+            seen.set(context.<ExecutionLane>get(ExecutionLane.CONTEXT_KEY).lane());
+            return Mono.empty();
+        });
+
+        // Act
+        for (int i = 0; i < PUBLIC_PERMITS * 3; i++) {
+            StepVerifier.create(filter.filter(login(), chain)).verifyComplete();
+        }
+
+        // Assert
+        assertThat(seen).hasValue(Lane.PUBLIC);
+        assertThat(executionLanes.get(Lane.PUBLIC).admission().getMetrics().getAvailableConcurrentCalls())
+                .isEqualTo(PUBLIC_PERMITS);
+    }
+
+    @Test
+    void classify_ShouldLanePublicWritesAndInternalReadsOnly() {
+        assertThat(LaneAdmissionFilter.classify(MockServerHttpRequest.post("/auth/login").build())).isEqualTo(Lane.PUBLIC);
+        assertThat(LaneAdmissionFilter.classify(MockServerHttpRequest.post("/users").build())).isEqualTo(Lane.PUBLIC);
+        assertThat(LaneAdmissionFilter.classify(MockServerHttpRequest.get("/users/1").build())).isEqualTo(Lane.INTERNAL);
+        assertThat(LaneAdmissionFilter.classify(MockServerHttpRequest.get("/users/changes").build())).isNull();
+        assertThat(LaneAdmissionFilter.classify(MockServerHttpRequest.get("/actuator/health").build())).isNull();
+    }
+
+    private double rejections(String lane, String reason) {
+        return meterRegistry.get("lanes.rejected").tag("lane", lane).tag("reason", reason).counter().count();
+    }
+
+    private static MockServerWebExchange login() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login"));
+    }
+
+    private static MockServerWebExchange internal(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
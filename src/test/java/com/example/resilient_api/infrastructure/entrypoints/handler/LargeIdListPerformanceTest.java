@@ -0,0 +1,121 @@
+package com.example.resilient_api.infrastructure.entrypoints.handler;
+
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.usecase.UserUseCase;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory.InMemoryUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.entrypoints.mapper.UserMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Tag("performance")
+class LargeIdListPerformanceTest {
+
+    private static final int USERS = 100_000;
+    private static final int MAX_IDS = 5_000_000;
+    private static final int IDS_PER_BODY_BUFFER = 1_000;
+
+    @Test
+    void checkExists_HugeStreamedBody_ShouldPrintThroughputAndOutstandingIds() {
+        CountingBackend backend = new CountingBackend();
+        Flux.range(1, USERS)
+                .concatMap(i -> backend.save(new User(null, "User " + i, "user" + i + "@example.com", "hash", false)))
+                .blockLast();
+        WebTestClient client = client(backend, MAX_IDS);
+
+        System.out.printf("%-10s %10s %12s %10s %16s%n", "ids", "ms", "ids/s", "answered", "max outstanding");
+        post(client, backend, 200_000);
+        post(client, backend, 2_000_000);
+    }
+
+    private static WebTestClient client(CountingBackend backend, int maxIds) {
+        UserHandlerImpl handler = new UserHandlerImpl(new UserUseCase(backend, null, null, null), new UserMapperImpl(),
+                new UserIdsBodyReader(new ObjectMapper(), maxIds));
+        return WebTestClient.bindToRouterFunction(route(POST("/users/check-exists"), handler::checkUsersExist))
+                .configureClient()
+                .responseTimeout(Duration.ofMinutes(2))
+                .build();
+    }
+
+    private static void post(WebTestClient client, CountingBackend backend, int ids) {
+        backend.reset();
+        long startedAt = System.nanoTime();
+        Long answered = client.post().uri("/users/check-exists")
+                .header(X_MESSAGE_ID, "large-id-list")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(idsBody(ids)))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DataBuffer.class)
+                .getResponseBody()
+                .map(buffer -> {
+                    long entries = 0;
+                    for (int i = buffer.readPosition(); i < buffer.writePosition(); i++) {
+                        if (buffer.getByte(i) == ':') {
+                            entries++;
+                        }
+                    }
+                    DataBufferUtils.release(buffer);
+                    backend.answered.addAndGet(entries);
+                    return entries;
+                })
+                .reduce(0L, Long::sum)
+                .block();
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        System.out.printf("%,-10d %10d %,12.0f %,10d %,16d%n", ids, elapsedMillis, ids * 1000.0 / Math.max(1, elapsedMillis),
+                answered, backend.maxOutstanding.get());
+    }
+
+    // {"ids":[1,2,...]} generado bajo demanda en trozos, sin Content-Length: como un cliente que envía chunked
+    private static Flux<DataBuffer> idsBody(int ids) {
+        int buffers = (ids + IDS_PER_BODY_BUFFER - 1) / IDS_PER_BODY_BUFFER;
+        return Flux.range(0, buffers)
+                .map(buffer -> {
+                    StringBuilder json = new StringBuilder(buffer == 0 ? "{\"ids\":[" : ",");
+                    int from = buffer * IDS_PER_BODY_BUFFER;
+                    int to = Math.min(ids, from + IDS_PER_BODY_BUFFER);
+                    for (int id = from; id < to; id++) {
+                        json.append(id > from ? "," : "").append(1 + id % (USERS * 2));
+                    }
+                    return json;
+                })
+                .concatWith(Flux.just(new StringBuilder("]}")))
+                .map(json -> DefaultDataBufferFactory.sharedInstance.wrap(json.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class CountingBackend extends InMemoryUserPersistenceAdapter {
+
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong answered = new AtomicLong();
+        private final AtomicLong maxOutstanding = new AtomicLong();
+
+        @Override
+        public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+            long outstanding = submitted.addAndGet(ids.size()) - answered.get();
+            maxOutstanding.accumulateAndGet(outstanding, Math::max);
+            return super.findExistingIdsByIds(ids);
+        }
+
+        void reset() {
+            submitted.set(0);
+            answered.set(0);
+            maxOutstanding.set(0);
+        }
+    }
+}
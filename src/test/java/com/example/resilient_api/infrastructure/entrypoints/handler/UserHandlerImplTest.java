@@ -0,0 +1,417 @@
+package com.example.resilient_api.infrastructure.entrypoints.handler;
+
+import com.example.resilient_api.domain.api.UserServicePort;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.model.Deadline;
+import com.example.resilient_api.domain.model.User;
+import com.example.resilient_api.domain.model.UserVersion;
+import com.example.resilient_api.domain.spi.UserPersistencePort;
+import com.example.resilient_api.domain.usecase.UserUseCase;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.deadline.DeadlineUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.memory.InMemoryUserPersistenceAdapter;
+import com.example.resilient_api.infrastructure.entrypoints.mapper.UserMapperImpl;
+import com.example.resilient_api.infrastructure.entrypoints.util.ETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+class UserHandlerImplTest {
+
+    private static final int USERS = 10;
+    private static final int MAX_IDS = 5_000;
+    // Chunks en vuelo, el que está formando buffer() y el lote de respuesta que se está escribiendo
+    private static final long MAX_OUTSTANDING_IDS = (4 + 2) * 1_000 + 512;
+
+    private InMemoryUserPersistenceAdapter backend;
+
+    @BeforeEach
+    void setUp() {
+        backend = new InMemoryUserPersistenceAdapter();
+        Flux.range(1, USERS)
+                .concatMap(i -> backend.save(new User(null, "User " + i, "user" + i + "@example.com", "hash", false)))
+                .blockLast();
+    }
+
+    @Test
+    void checkUsersExist_StreamedBodyWithIdsRepeatedAcrossChunks_ShouldAnswerEachIdOnce() {
+        // Arrange: 1..1000 tres veces, repartidos en chunks distintos
+        String ids = IntStream.range(0, 3_000).mapToObj(i -> String.valueOf(1 + i % 1_000)).collect(Collectors.joining(","));
+
+        // Act
+        String body = post(client(MAX_IDS), "/users/check-exists", chunked("{\"ids\":[" + ids + "]}"))
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertThat(body.chars().filter(c -> c == ':').count()).isEqualTo(1_000);
+        assertThat(body).contains("\"1\":true", "\"10\":true", "\"11\":false", "\"1000\":false");
+    }
+
+    @Test
+    void checkUsersExist_LargeStreamedBody_ShouldKeepOutstandingIdsBounded() {
+        // Arrange
+        CountingBackend counting = new CountingBackend();
+        UserHandlerImpl handler = handler(counting, 100_000);
+        WebTestClient client = WebTestClient.bindToRouterFunction(route(POST("/users/check-exists"), handler::checkUsersExist))
+                .build();
+        String ids = IntStream.rangeClosed(1, 30_000).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        // Act
+        Long answered = post(client, "/users/check-exists", chunked("{\"ids\":[" + ids + "]}"))
+                .expectStatus().isOk()
+                .returnResult(DataBuffer.class)
+                .getResponseBody()
+                .map(buffer -> {
+                    long entries = 0;
+                    for (int i = buffer.readPosition(); i < buffer.writePosition(); i++) {
+                        if (buffer.getByte(i) == ':') {
+                            entries++;
+                        }
+                    }
+                    DataBufferUtils.release(buffer);
+                    counting.answered.addAndGet(entries);
+                    return entries;
+                })
+                .reduce(0L, Long::sum)
+                .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertThat(answered).isEqualTo(30_000);
+        assertThat(counting.maxOutstanding).hasValueLessThanOrEqualTo(MAX_OUTSTANDING_IDS);
+    }
+
+    @Test
+    void checkUsersExist_StreamedBodyOverTheCapAfterTheFirstChunks_ShouldAbortTheResponse() {
+        // Arrange: la respuesta ya empezó cuando se supera el tope, no cabe un 400
+        String ids = IntStream.rangeClosed(1, 6_000).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        // Act
+        String body = post(client(3_000), "/users/check-exists", chunked("{\"ids\":[" + ids + "]}"))
+                .returnResult(String.class)
+                .getResponseBody()
+                .onErrorResume(ex -> Flux.just("<aborted>"))
+                .collectList()
+                .map(parts -> String.join("", parts))
+                .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertThat(body).endsWith("<aborted>");
+    }
+
+    @Test
+    void checkUsersExist_StreamedMalformedBody_ShouldReturnBadRequest() {
+        post(client(MAX_IDS), "/users/check-exists", chunked("{\"ids\":[1,2,\"x\"]}"))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0].code").isEqualTo(TechnicalMessage.USER_IDS_INVALID.getCode())
+                .jsonPath("$.errors[0].message").isEqualTo(TechnicalMessage.USER_IDS_INVALID.getMessage());
+    }
+
+    @Test
+    void getUsersByIds_StreamedMalformedBody_ShouldReturnBadRequest() {
+        post(client(MAX_IDS), "/users/by-ids", chunked("[1,2,3]"))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0].message").isEqualTo(TechnicalMessage.USER_IDS_INVALID.getMessage());
+    }
+
+    @Test
+    void checkUsersExist_BufferedMalformedBody_ShouldReturnBadRequest() {
+        client(MAX_IDS).post().uri("/users/check-exists")
+                .header(X_MESSAGE_ID, "handler-test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"ids\":{}}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0].message").isEqualTo(TechnicalMessage.USER_IDS_INVALID.getMessage());
+    }
+
+    @Test
+    void checkUsersExist_StreamedBodyOverTheCap_ShouldReturnBadRequest() {
+        String ids = IntStream.rangeClosed(1, 20).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        post(client(10), "/users/check-exists", chunked("{\"ids\":[" + ids + "]}"))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0].message").isEqualTo(TechnicalMessage.TOO_MANY_USER_IDS.getMessage());
+    }
+
+    @Test
+    void checkUsersExist_StreamedBodyRepeatingOneIdOverTheCap_ShouldReturnBadRequest() {
+        // Los repetidos cuentan para el límite: el conjunto de ids vistos nunca pasa de maxIds
+        String ids = IntStream.range(0, 20).mapToObj(i -> "1").collect(Collectors.joining(","));
+
+        post(client(10), "/users/check-exists", chunked("{\"ids\":[" + ids + "]}"))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0].message").isEqualTo(TechnicalMessage.TOO_MANY_USER_IDS.getMessage());
+    }
+
+    @Test
+    void getUsersByIds_StreamedBodyOverTheCap_ShouldReturnBadRequest() {
+        String ids = IntStream.rangeClosed(1, 20).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        post(client(10), "/users/by-ids", chunked("{\"ids\":[" + ids + "]}"))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0].message").isEqualTo(TechnicalMessage.TOO_MANY_USER_IDS.getMessage());
+    }
+
+    @Test
+    void checkUsersExist_StreamedBodyWithExpiredDeadline_ShouldReturnGatewayTimeout() {
+        // Arrange
+        Deadline expired = new Deadline(Instant.now().minusMillis(1));
+        UserHandlerImpl handler = handler(new DeadlineUserPersistenceAdapter(backend, new SimpleMeterRegistry()), MAX_IDS);
+        WebTestClient client = WebTestClient.bindToRouterFunction(route(POST("/users/check-exists"), handler::checkUsersExist)
+                        .filter((request, next) -> next.handle(request)
+                                .contextWrite(Context.of(Deadline.CONTEXT_KEY, expired))))
+                .build();
+
+        // Act & Assert
+        post(client, "/users/check-exists", chunked("{\"ids\":[1,2,3]}"))
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void getUsersByIds_StreamedBody_ShouldReturnTheExistingUsers() {
+        post(client(MAX_IDS), "/users/by-ids", chunked("{\"ids\":[1,2,99,2]}"))
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void getUserChanges_WithSinceAndLastEventId_ShouldResumeFromLastEventId() {
+        // Arrange: EventSource reconecta a la URL original y añade el último id recibido
+        UserServicePort userServicePort = changesFeed();
+
+        // Act
+        changesClient(userServicePort).get().uri("/users/changes?since=10")
+                .header(X_MESSAGE_ID, "handler-test")
+                .header("Last-Event-ID", "42")
+                .exchange()
+                .expectStatus().isOk();
+
+        // Assert
+        verify(userServicePort).getUserChanges(42L, "handler-test");
+    }
+
+    @Test
+    void getUserChanges_WithOnlySince_ShouldStartFromSince() {
+        // Arrange
+        UserServicePort userServicePort = changesFeed();
+
+        // Act
+        changesClient(userServicePort).get().uri("/users/changes?since=10")
+                .header(X_MESSAGE_ID, "handler-test")
+                .exchange()
+                .expectStatus().isOk();
+
+        // Assert
+        verify(userServicePort).getUserChanges(10L, "handler-test");
+    }
+
+    @Test
+    void getUserChanges_WithInvalidLastEventId_ShouldReturnBadRequest() {
+        UserServicePort userServicePort = changesFeed();
+
+        changesClient(userServicePort).get().uri("/users/changes?since=10")
+                .header(X_MESSAGE_ID, "handler-test")
+                .header("Last-Event-ID", "not-an-offset")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userServicePort, never()).getUserChanges(any(), anyString());
+    }
+
+    @Test
+    void getUserById_WithoutIfNoneMatch_ShouldReturnTheUserWithAStrongETag() {
+        etagClient(backend).get().uri("/users/1")
+                .header(X_MESSAGE_ID, "handler-test")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void getUserById_WithMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutReadingTheRow() {
+        // Arrange
+        InMemoryUserPersistenceAdapter persistence = spy(backend);
+
+        // Act & Assert: W/"1" vale igual que "1"
+        for (String ifNoneMatch : List.of("\"1\"", "W/\"1\"", "\"7\", \"1\"")) {
+            etagClient(persistence).get().uri("/users/1")
+                    .header(X_MESSAGE_ID, "handler-test")
+                    .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                    .expectBody().isEmpty();
+        }
+        verify(persistence, never()).findSummaryById(any());
+    }
+
+    @Test
+    void getUserById_WithETagOfAnOlderVersion_ShouldReturnTheCurrentUser() {
+        // Arrange
+        backend.save(new User(1L, "Renamed", "user1@example.com", "hash", false)).block();
+
+        // Act & Assert
+        etagClient(backend).get().uri("/users/1")
+                .header(X_MESSAGE_ID, "handler-test")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody().jsonPath("$.name").isEqualTo("Renamed");
+    }
+
+    @Test
+    void getUsersByIds_WithMatchingIfNoneMatch_ShouldReturnNotModifiedFromTheVersionsOnly() {
+        // Arrange: el ETag de la lista es el hash de su mapa id -> versión, sin importar el orden pedido
+        InMemoryUserPersistenceAdapter persistence = spy(backend);
+        String etag = byIds(etagClient(persistence), "[3,1,2]", null)
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        assertThat(etag).isEqualTo(ETags.ofVersions(List.of(new UserVersion(1L, 1L), new UserVersion(2L, 1L),
+                new UserVersion(3L, 1L))));
+
+        // Act & Assert
+        byIds(etagClient(persistence), "[1,2,3]", etag)
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+        verify(persistence).findSummariesByIds(any());
+    }
+
+    @Test
+    void getUsersByIds_WithETagFromBeforeAnUpdate_ShouldReturnTheUsersWithANewETag() {
+        // Arrange
+        String etag = byIds(etagClient(backend), "[1,2]", null).returnResult(String.class).getResponseHeaders().getETag();
+        backend.save(new User(2L, "Renamed", "user2@example.com", "hash", false)).block();
+
+        // Act
+        String current = byIds(etagClient(backend), "[1,2]", etag)
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[1].name").isEqualTo("Renamed")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        // Assert
+        assertThat(current).isNotNull().isNotEqualTo(etag).startsWith("\"").doesNotStartWith("W/");
+    }
+
+    private WebTestClient client(int maxIds) {
+        UserHandlerImpl handler = handler(backend, maxIds);
+        return WebTestClient.bindToRouterFunction(route(POST("/users/check-exists"), handler::checkUsersExist)
+                        .andRoute(POST("/users/by-ids"), handler::getUsersByIds))
+                .build();
+    }
+
+    private static UserHandlerImpl handler(UserPersistencePort persistence, int maxIds) {
+        return new UserHandlerImpl(new UserUseCase(persistence, null, null, null), new UserMapperImpl(),
+                new UserIdsBodyReader(new ObjectMapper(), maxIds));
+    }
+
+    private static WebTestClient etagClient(UserPersistencePort persistence) {
+        UserHandlerImpl handler = handler(persistence, MAX_IDS);
+        return WebTestClient.bindToRouterFunction(route(GET("/users/{id}"), handler::getUserById)
+                        .andRoute(POST("/users/by-ids"), handler::getUsersByIds))
+                .build();
+    }
+
+    private static WebTestClient.ResponseSpec byIds(WebTestClient client, String ids, String ifNoneMatch) {
+        return client.post().uri("/users/by-ids")
+                .header(X_MESSAGE_ID, "handler-test")
+                .headers(headers -> {
+                    if (ifNoneMatch != null) {
+                        headers.setIfNoneMatch(ifNoneMatch);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"ids\":" + ids + "}")
+                .exchange();
+    }
+
+    private static UserServicePort changesFeed() {
+        UserServicePort userServicePort = mock(UserServicePort.class);
+        when(userServicePort.getUserChanges(any(), anyString())).thenReturn(Flux.empty());
+        return userServicePort;
+    }
+
+    private static WebTestClient changesClient(UserServicePort userServicePort) {
+        UserHandlerImpl handler = new UserHandlerImpl(userServicePort, new UserMapperImpl(),
+                new UserIdsBodyReader(new ObjectMapper(), MAX_IDS));
+        return WebTestClient.bindToRouterFunction(route(GET("/users/changes"), handler::getUserChanges)).build();
+    }
+
+    private static WebTestClient.ResponseSpec post(WebTestClient client, String uri, Flux<DataBuffer> body) {
+        return client.post().uri(uri)
+                .header(X_MESSAGE_ID, "handler-test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(body))
+                .exchange();
+    }
+
+    // Sin Content-Length, en trozos de 256 bytes: el camino en streaming
+    private static Flux<DataBuffer> chunked(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return Flux.range(0, (bytes.length + 255) / 256)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, i * 256, Math.min(bytes.length, (i + 1) * 256))));
+    }
+
+    private static final class CountingBackend extends InMemoryUserPersistenceAdapter {
+
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong answered = new AtomicLong();
+        private final AtomicLong maxOutstanding = new AtomicLong();
+
+        CountingBackend() {
+            Flux.range(1, USERS)
+                    .concatMap(i -> save(new User(null, "User " + i, "user" + i + "@example.com", "hash", false)))
+                    .blockLast();
+        }
+
+        @Override
+        public Flux<Long> findExistingIdsByIds(List<Long> ids) {
+            long outstanding = submitted.addAndGet(ids.size()) - answered.get();
+            maxOutstanding.accumulateAndGet(outstanding, Math::max);
+            return super.findExistingIdsByIds(ids);
+        }
+    }
+}
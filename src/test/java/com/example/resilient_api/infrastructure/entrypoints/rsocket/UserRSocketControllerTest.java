@@ -0,0 +1,129 @@
+package com.example.resilient_api.infrastructure.entrypoints.rsocket;
+
+import com.example.resilient_api.domain.api.UserServicePort;
+import com.example.resilient_api.domain.model.UserExistence;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserExistenceDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserIdsRequest;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserRSocketControllerTest {
+
+    @Mock
+    private UserServicePort userServicePort;
+
+    private CloseableChannel server;
+    private RSocketRequester requester;
+
+    @BeforeEach
+    void setUp() {
+        RSocketStrategies strategies = RSocketStrategies.builder()
+                .encoders(encoders -> encoders.add(new Jackson2JsonEncoder()))
+                .decoders(decoders -> decoders.add(new Jackson2JsonDecoder()))
+                .build();
+        RSocketMessageHandler handler = new RSocketMessageHandler();
+        handler.setRSocketStrategies(strategies);
+        handler.setHandlers(List.of(new UserRSocketController(userServicePort)));
+        handler.afterPropertiesSet();
+        server = RSocketServer.create(handler.responder())
+                .bind(TcpServerTransport.create("localhost", 0))
+                .block(Duration.ofSeconds(5));
+        requester = RSocketRequester.builder()
+                .rsocketStrategies(strategies)
+                .tcp("localhost", server.address().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        requester.dispose();
+        server.dispose();
+    }
+
+    @Test
+    void streamUsersByIds_ShouldStreamOneRowPerExistingIdWithAMessageId() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 50).boxed().toList();
+        when(userServicePort.streamUsersByIds(any(), anyString())).thenAnswer(invocation -> {
+            Flux<Long> requested = invocation.getArgument(0);
+            return requested.filter(id -> id % 10 != 0)
+                    .map(UserRSocketControllerTest::summary)
+                    .transformDeferredContextual((rows, context) -> context.hasKey(X_MESSAGE_ID)
+                            ? rows : Flux.error(new IllegalStateException("missing message id")));
+        });
+
+        // Act & Assert
+        StepVerifier.create(requester.route("users.by-ids.stream")
+                        .data(new UserIdsRequest(ids))
+                        .retrieveFlux(UserDTO.class))
+                .expectNextCount(45)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getUsersByIds_WithoutIds_ShouldAnswerAnEmptyList() {
+        // Arrange
+        when(userServicePort.streamUsersByIds(any(), anyString())).thenAnswer(invocation -> {
+            Flux<Long> requested = invocation.getArgument(0);
+            return requested.map(UserRSocketControllerTest::summary);
+        });
+
+        // Act
+        List<?> users = requester.route("users.by-ids")
+                .data(new UserIdsRequest(null))
+                .retrieveMono(List.class)
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(users).isEmpty();
+    }
+
+    @Test
+    void streamUsersExistence_ShouldMapEachExistence() {
+        // Arrange
+        when(userServicePort.streamUsersExistence(any(), anyString())).thenAnswer(invocation -> {
+            Flux<Long> requested = invocation.getArgument(0);
+            return requested.map(id -> new UserExistence(id, id == 1L));
+        });
+
+        // Act & Assert
+        StepVerifier.create(requester.route("users.check-exists.stream")
+                        .data(new UserIdsRequest(List.of(1L, 2L)))
+                        .retrieveFlux(UserExistenceDTO.class))
+                .assertNext(existence -> assertThat(existence.getExists()).isTrue())
+                .assertNext(existence -> assertThat(existence.getExists()).isFalse())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private static UserSummary summary(Long id) {
+        return new UserSummary(id, "User " + id, "user" + id + "@example.com", false, 1L);
+    }
+}
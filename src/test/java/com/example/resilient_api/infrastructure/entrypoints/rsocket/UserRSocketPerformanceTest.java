@@ -0,0 +1,128 @@
+package com.example.resilient_api.infrastructure.entrypoints.rsocket;
+
+import com.example.resilient_api.ResilientApiApplication;
+import com.example.resilient_api.domain.api.UserServicePort;
+import com.example.resilient_api.domain.model.UserSummary;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserIdsRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static com.example.resilient_api.infrastructure.entrypoints.util.Constants.X_MESSAGE_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@Tag("performance")
+@SpringBootTest(classes = ResilientApiApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.sql.init.mode=never",
+                "spring.rsocket.server.port=0",
+                "users.id-index.enabled=false",
+                "users.change-notifications.enabled=false"
+        })
+class UserRSocketPerformanceTest {
+
+    private static final int CONCURRENCY = 64;
+    private static final int REQUESTS = 20_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final List<Long> IDS = LongStream.rangeClosed(1, 50).boxed().toList();
+
+    @MockBean
+    private UserServicePort userServicePort;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @LocalRSocketServerPort
+    private int rsocketPort;
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @BeforeEach
+    void setUp() {
+        when(userServicePort.getUsersByIds(anyList(), any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids)
+                    .map(UserRSocketPerformanceTest::summary);
+        });
+        when(userServicePort.streamUsersByIds(any(), any())).thenAnswer(invocation -> {
+            Flux<Long> ids = invocation.getArgument(0);
+            return ids.map(UserRSocketPerformanceTest::summary);
+        });
+    }
+
+    private static UserSummary summary(Long id) {
+        return new UserSummary(id, "User " + id, "user" + id + "@example.com", id % 10 == 0, 1L);
+    }
+
+    @Test
+    void byIds_RSocketStreamVersusHttp_ShouldReportThroughputAndP99() {
+        WebClient webClient = WebClient.create("http://localhost:" + httpPort);
+        RSocketRequester requester = requesterBuilder.tcp("localhost", rsocketPort);
+
+        Supplier<Mono<Long>> httpCall = () -> webClient.post()
+                .uri("/users/by-ids")
+                .header(X_MESSAGE_ID, UUID.randomUUID().toString())
+                .bodyValue(new UserIdsRequest(IDS))
+                .retrieve()
+                .bodyToFlux(UserDTO.class)
+                .count();
+        Supplier<Mono<Long>> rsocketCall = () -> requester.route("users.by-ids.stream")
+                .data(new UserIdsRequest(IDS))
+                .retrieveFlux(UserDTO.class)
+                .count();
+
+        run(httpCall, WARMUP_REQUESTS);
+        run(rsocketCall, WARMUP_REQUESTS);
+        LoadResult http = run(httpCall, REQUESTS);
+        LoadResult rsocket = run(rsocketCall, REQUESTS);
+
+        System.out.printf("HTTP    POST /users/by-ids       : %,.0f req/s, p99 %.2f ms, %,d/%,d complete%n",
+                http.throughput(), http.p99Millis(), http.completed(), REQUESTS);
+        System.out.printf("RSocket users.by-ids.stream      : %,.0f req/s, p99 %.2f ms, %,d/%,d complete%n",
+                rsocket.throughput(), rsocket.p99Millis(), rsocket.completed(), REQUESTS);
+        requester.dispose();
+    }
+
+    private LoadResult run(Supplier<Mono<Long>> call, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger completed = new AtomicInteger();
+        long startedAt = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long requestStartedAt = System.nanoTime();
+                    return call.get()
+                            .filter(count -> count == IDS.size())
+                            .doOnNext(count -> latencies[completed.getAndIncrement()] = System.nanoTime() - requestStartedAt);
+                }), CONCURRENCY)
+                .blockLast();
+        long elapsed = System.nanoTime() - startedAt;
+        long[] measured = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(measured);
+        double p99 = measured.length == 0 ? 0 : measured[(int) Math.ceil(measured.length * 0.99) - 1] / 1_000_000.0;
+        return new LoadResult(completed.get(), completed.get() / (elapsed / 1_000_000_000.0), p99);
+    }
+
+    private record LoadResult(int completed, double throughput, double p99Millis) {
+    }
+}